@@ -34,7 +34,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.security.access.expression.SecurityExpressionRoot;
 import org.springframework.security.authentication.AuthenticationTrustResolver;
 import org.springframework.security.core.Authentication;
@@ -93,6 +95,35 @@ public class DefaultMethodSecurityExpressionHandlerTests {
 		verify(this.trustResolver).isAnonymous(this.authentication);
 	}
 
+	@Test
+	public void setCompileExpressionsWhenFalseThenKeepsExpressionParser() {
+		ExpressionParser expressionParser = mock(ExpressionParser.class);
+		this.handler.setExpressionParser(expressionParser);
+		this.handler.setCompileExpressions(false);
+		assertThat(this.handler.getExpressionParser()).isSameAs(expressionParser);
+	}
+
+	@Test
+	public void setCompileExpressionsWhenDisabledAgainThenRestoresDefaultExpressionParser() {
+		this.handler.setCompileExpressions(true);
+		ExpressionParser compilingExpressionParser = this.handler.getExpressionParser();
+		this.handler.setCompileExpressions(false);
+		assertThat(this.handler.getExpressionParser()).isNotSameAs(compilingExpressionParser)
+			.isInstanceOf(SpelExpressionParser.class);
+	}
+
+	@Test
+	public void createEvaluationContextWhenCompileExpressionsThenEvaluates() {
+		setupMocks();
+		this.handler.setCompileExpressions(true);
+		Expression expression = this.handler.getExpressionParser().parseExpression("#root.this != null");
+		for (int i = 0; i < 2; i++) {
+			EvaluationContext context = this.handler.createEvaluationContext(this.authentication,
+					this.methodInvocation);
+			assertThat(expression.getValue(context, Boolean.class)).isTrue();
+		}
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	public void filterByKeyWhenUsingMapThenFiltersMap() {
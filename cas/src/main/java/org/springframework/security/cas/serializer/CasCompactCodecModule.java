@@ -0,0 +1,88 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.cas.serializer;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.util.Collection;
+import java.util.List;
+
+import org.apereo.cas.client.validation.Assertion;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.security.cas.authentication.CasAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.serializer.CompactCodec;
+import org.springframework.security.serializer.CompactCodecModule;
+import org.springframework.security.serializer.CompactCodecModules;
+import org.springframework.security.serializer.CompactInput;
+import org.springframework.security.serializer.CompactOutput;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * The {@link CompactCodecModule} for spring-security-cas. This module has a codec for
+ * {@link CasAuthenticationToken}. The CAS {@link Assertion} is written with Java
+ * serialization.
+ *
+ * @since 7.0
+ * @see CompactCodecModules
+ */
+public final class CasCompactCodecModule implements CompactCodecModule {
+
+	@Override
+	public Collection<CompactCodec<?>> getCodecs() {
+		return List.of(CompactCodec.of(CasAuthenticationToken.class, CasCompactCodecModule::writeToken,
+				CasCompactCodecModule::readToken));
+	}
+
+	private static void writeToken(CasAuthenticationToken token, CompactOutput output) throws IOException {
+		output.writeInt(token.getKeyHash());
+		output.writeValue(token.getPrincipal());
+		output.writeValue(token.getCredentials());
+		output.writeAuthorities(token.getAuthorities());
+		output.writeValue(token.getUserDetails());
+		output.writeValue(token.getAssertion());
+		output.writeValue(token.getDetails());
+		output.writeBoolean(token.isAuthenticated());
+	}
+
+	private static CasAuthenticationToken readToken(CompactInput input) throws IOException {
+		CasAuthenticationToken token = withKeyHash(input.readInt(), input.readValue(Object.class),
+				input.readValue(Object.class), input.readAuthorities(), input.readValue(UserDetails.class),
+				input.readValue(Assertion.class));
+		token.setDetails(input.readValue());
+		token.setAuthenticated(input.readBoolean());
+		return token;
+	}
+
+	/**
+	 * Create a token with the private constructor taking the hash of the key, as used by
+	 * the Jackson mixins
+	 */
+	private static CasAuthenticationToken withKeyHash(Object... arguments) {
+		try {
+			Constructor<CasAuthenticationToken> constructor = ReflectionUtils.accessibleConstructor(
+					CasAuthenticationToken.class, Integer.class, Object.class, Object.class, Collection.class,
+					UserDetails.class, Assertion.class);
+			return BeanUtils.instantiateClass(constructor, arguments);
+		}
+		catch (NoSuchMethodException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.cas.serializer;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.apereo.cas.client.authentication.AttributePrincipalImpl;
+import org.apereo.cas.client.validation.Assertion;
+import org.apereo.cas.client.validation.AssertionImpl;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.cas.authentication.CasAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.serializer.CompactCodecModules;
+import org.springframework.security.serializer.CompactSecuritySerializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link CasCompactCodecModule}
+ */
+public class CasCompactCodecModuleTests {
+
+	@Test
+	public void getModulesThenContainsCasModule() {
+		assertThat(CompactCodecModules.getModules(getClass().getClassLoader()))
+			.hasAtLeastOneElementOfType(CasCompactCodecModule.class);
+	}
+
+	@Test
+	public void serializeWhenCasAuthenticationTokenThenRoundTrips() throws IOException {
+		List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("ROLE_USER");
+		User user = new User("user", "password", authorities);
+		Assertion assertion = new AssertionImpl(new AttributePrincipalImpl("user"), new Date(0), new Date(1000),
+				new Date(0), Collections.emptyMap());
+		CasAuthenticationToken token = new CasAuthenticationToken("key", user, "ST-1", authorities, user, assertion);
+		CompactSecuritySerializer serializer = new CompactSecuritySerializer();
+		serializer.setJavaSerializationEnabled(true);
+		CasAuthenticationToken result = (CasAuthenticationToken) serializer
+			.deserializeFromByteArray(serializer.serializeToByteArray(token));
+		assertThat(result.getKeyHash()).isEqualTo("key".hashCode());
+		assertThat(result.getPrincipal()).isEqualTo(user);
+		assertThat(result.getCredentials()).isEqualTo("ST-1");
+		assertThat(result.getAuthorities()).isEqualTo(authorities);
+		assertThat(result.getUserDetails()).isEqualTo(user);
+		assertThat(result.getAssertion().getPrincipal().getName()).isEqualTo("user");
+		assertThat(result.isAuthenticated()).isTrue();
+	}
+
+}
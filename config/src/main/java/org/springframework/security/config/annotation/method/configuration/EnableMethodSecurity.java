@@ -97,4 +97,15 @@ public @interface EnableMethodSecurity {
 	 */
 	int offset() default 0;
 
+	/**
+	 * Determines if the expressions of {@link PreAuthorize}, {@link PostAuthorize},
+	 * {@link PreFilter}, and {@link PostFilter} annotations on singleton beans should be
+	 * resolved and parsed once all singletons are instantiated, instead of on first
+	 * invocation of each method. Any error in resolving an annotation is then reported
+	 * at startup. Default is false.
+	 * @return true if expressions should be resolved at startup, false otherwise
+	 * @since 7.0
+	 */
+	boolean eagerlyResolveExpressions() default false;
+
 }
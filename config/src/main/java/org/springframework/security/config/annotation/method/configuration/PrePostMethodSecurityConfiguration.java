@@ -21,10 +21,14 @@ import org.aopalliance.intercept.MethodInvocation;
 
 import org.springframework.aop.Pointcut;
 import org.springframework.aop.framework.AopInfrastructureBean;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.annotation.Bean;
@@ -62,7 +66,8 @@ import org.springframework.security.core.context.SecurityContextHolderStrategy;
  */
 @Configuration(value = "_prePostMethodSecurityConfiguration", proxyBeanMethods = false)
 @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
-final class PrePostMethodSecurityConfiguration implements ImportAware, ApplicationContextAware, AopInfrastructureBean {
+final class PrePostMethodSecurityConfiguration
+		implements ImportAware, ApplicationContextAware, AopInfrastructureBean, SmartInitializingSingleton {
 
 	private static final Pointcut preFilterPointcut = new PreFilterAuthorizationMethodInterceptor().getPointcut();
 
@@ -88,6 +93,10 @@ final class PrePostMethodSecurityConfiguration implements ImportAware, Applicati
 
 	private final DefaultMethodSecurityExpressionHandler expressionHandler = new DefaultMethodSecurityExpressionHandler();
 
+	private boolean eagerlyResolveExpressions;
+
+	private ApplicationContext context;
+
 	PrePostMethodSecurityConfiguration(
 			ObjectProvider<ObjectPostProcessor<AuthorizationManager<MethodInvocation>>> preAuthorizeProcessor,
 			ObjectProvider<ObjectPostProcessor<AuthorizationManager<MethodInvocationResult>>> postAuthorizeProcessor) {
@@ -107,6 +116,7 @@ final class PrePostMethodSecurityConfiguration implements ImportAware, Applicati
 
 	@Override
 	public void setApplicationContext(ApplicationContext context) throws BeansException {
+		this.context = context;
 		this.expressionHandler.setApplicationContext(context);
 		this.preAuthorizeAuthorizationManager.setApplicationContext(context);
 		this.postAuthorizeAuthorizationManager.setApplicationContext(context);
@@ -204,6 +214,36 @@ final class PrePostMethodSecurityConfiguration implements ImportAware, Applicati
 		this.postAuthorizeMethodInterceptor
 			.setOrder(this.postAuthorizeMethodInterceptor.getOrder() + annotation.offset());
 		this.postFilterMethodInterceptor.setOrder(this.postFilterMethodInterceptor.getOrder() + annotation.offset());
+		this.eagerlyResolveExpressions = annotation.eagerlyResolveExpressions();
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		if (!this.eagerlyResolveExpressions) {
+			return;
+		}
+		if (!(this.context.getAutowireCapableBeanFactory() instanceof ConfigurableListableBeanFactory beanFactory)) {
+			return;
+		}
+		for (String beanName : beanFactory.getBeanDefinitionNames()) {
+			Object bean = beanFactory.getSingleton(beanName);
+			if (bean == null || bean instanceof AopInfrastructureBean) {
+				continue;
+			}
+			Class<?> targetClass = AopProxyUtils.ultimateTargetClass(bean);
+			if (AopUtils.canApply(preFilterPointcut, targetClass)) {
+				this.preFilterMethodInterceptor.resolveAttributes(targetClass);
+			}
+			if (AopUtils.canApply(preAuthorizePointcut, targetClass)) {
+				this.preAuthorizeAuthorizationManager.resolveAttributes(targetClass);
+			}
+			if (AopUtils.canApply(postAuthorizePointcut, targetClass)) {
+				this.postAuthorizeAuthorizationManager.resolveAttributes(targetClass);
+			}
+			if (AopUtils.canApply(postFilterPointcut, targetClass)) {
+				this.postFilterMethodInterceptor.resolveAttributes(targetClass);
+			}
+		}
 	}
 
 }
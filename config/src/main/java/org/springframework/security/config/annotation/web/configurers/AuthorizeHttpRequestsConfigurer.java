@@ -130,6 +130,7 @@ public final class AuthorizeHttpRequestsConfigurer<H extends HttpSecurityBuilder
 		AuthorizationFilter authorizationFilter = new AuthorizationFilter(authorizationManager);
 		authorizationFilter.setAuthorizationEventPublisher(this.publisher);
 		authorizationFilter.setSecurityContextHolderStrategy(getSecurityContextHolderStrategy());
+		authorizationFilter.setCacheAuthorizationResults(this.registry.cacheAuthorizationResults);
 		http.addFilter(postProcess(authorizationFilter));
 	}
 
@@ -162,6 +163,8 @@ public final class AuthorizeHttpRequestsConfigurer<H extends HttpSecurityBuilder
 
 		private int mappingCount;
 
+		private boolean cacheAuthorizationResults;
+
 		private AuthorizationManagerRequestMatcherRegistry(ApplicationContext context) {
 			setApplicationContext(context);
 		}
@@ -197,6 +200,44 @@ public final class AuthorizeHttpRequestsConfigurer<H extends HttpSecurityBuilder
 			return new AuthorizedUrl(requestMatchers, AuthorizeHttpRequestsConfigurer.this.authorizationManagerFactory);
 		}
 
+		/**
+		 * Index the configured {@link RequestMatcher}s so that each request is only
+		 * matched against the rules that could possibly match it. Rules are still
+		 * consulted in the order they are declared, so the same rule is selected as
+		 * without the index.
+		 *
+		 * <p>
+		 * This helps applications with many rules that use
+		 * {@link org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher}s,
+		 * for example through {@code requestMatchers(String...)}.
+		 * @param indexRequestMatchers whether to index the request matchers
+		 * @return the {@link AuthorizationManagerRequestMatcherRegistry} for further
+		 * customizations
+		 * @since 7.0
+		 * @see RequestMatcherDelegatingAuthorizationManager.Builder#indexRequestMatchers(boolean)
+		 */
+		public AuthorizationManagerRequestMatcherRegistry indexRequestMatchers(boolean indexRequestMatchers) {
+			this.managerBuilder.indexRequestMatchers(indexRequestMatchers);
+			return this;
+		}
+
+		/**
+		 * Cache the results of authority checks for the remainder of each request, so
+		 * that the same check is not repeated by later request or method authorization,
+		 * such as {@code @PreAuthorize("hasRole('ADMIN')")} or {@code @Secured}, within
+		 * that request.
+		 * @param cacheAuthorizationResults whether to cache authorization results
+		 * @return the {@link AuthorizationManagerRequestMatcherRegistry} for further
+		 * customizations
+		 * @since 7.0
+		 * @see AuthorizationFilter#setCacheAuthorizationResults(boolean)
+		 */
+		public AuthorizationManagerRequestMatcherRegistry cacheAuthorizationResults(
+				boolean cacheAuthorizationResults) {
+			this.cacheAuthorizationResults = cacheAuthorizationResults;
+			return this;
+		}
+
 		/**
 		 * Adds an {@link ObjectPostProcessor} for this class.
 		 * @param objectPostProcessor the {@link ObjectPostProcessor} to use
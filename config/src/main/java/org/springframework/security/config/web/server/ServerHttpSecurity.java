@@ -1366,6 +1366,22 @@ public class ServerHttpSecurity {
 			return result;
 		}
 
+		/**
+		 * Index the configured {@link ServerWebExchangeMatcher}s so that each exchange
+		 * is only matched against the rules that could possibly match it, and path-based
+		 * rules are evaluated without subscribing to a {@link Mono} per rule. Rules are
+		 * still consulted in the order they are declared, so the same rule is selected
+		 * as without the index.
+		 * @param indexMatchers whether to index the matchers
+		 * @return the {@link AuthorizeExchangeSpec} to configure
+		 * @since 7.0
+		 * @see DelegatingReactiveAuthorizationManager.Builder#indexMatchers(boolean)
+		 */
+		public AuthorizeExchangeSpec indexMatchers(boolean indexMatchers) {
+			this.managerBldr.indexMatchers(indexMatchers);
+			return this;
+		}
+
 		@Override
 		protected PathPatternParser getPathPatternParser() {
 			if (this.pathPatternParser != null) {
@@ -61,6 +61,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Role;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.core.annotation.AnnotationConfigurationException;
 import org.springframework.data.domain.Page;
@@ -71,6 +72,7 @@ import org.springframework.data.geo.Distance;
 import org.springframework.data.geo.GeoPage;
 import org.springframework.data.geo.GeoResult;
 import org.springframework.data.geo.GeoResults;
+import org.springframework.expression.ParseException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
@@ -138,6 +140,7 @@ import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatException;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatNoException;
 import static org.hamcrest.Matchers.nullValue;
@@ -1419,6 +1422,20 @@ public class PrePostMethodSecurityConfigurationTests {
 		assertThatExceptionOfType(AuthorizationDeniedException.class).isThrownBy(() -> service.checkCustomManager(1));
 	}
 
+	@Test
+	void autowireWhenEagerlyResolveExpressionsAndInvalidExpressionThenFailsAtStartup() {
+		assertThatException()
+			.isThrownBy(() -> this.spring.register(EagerlyResolveExpressionsConfig.class).autowire())
+			.matches((ex) -> NestedExceptionUtils.getMostSpecificCause(ex) instanceof ParseException);
+	}
+
+	@Test
+	void autowireWhenInvalidExpressionThenFailsOnInvocation() {
+		this.spring.register(InvalidExpressionConfig.class).autowire();
+		InvalidExpressionService service = this.spring.getContext().getBean(InvalidExpressionService.class);
+		assertThatExceptionOfType(ParseException.class).isThrownBy(service::invalid);
+	}
+
 	private static Consumer<ConfigurableWebApplicationContext> disallowBeanOverriding() {
 		return (context) -> ((AnnotationConfigWebApplicationContext) context).setAllowBeanDefinitionOverriding(false);
 	}
@@ -1442,6 +1459,36 @@ public class PrePostMethodSecurityConfigurationTests {
 
 	}
 
+	@Configuration
+	@EnableMethodSecurity(eagerlyResolveExpressions = true)
+	static class EagerlyResolveExpressionsConfig {
+
+		@Bean
+		InvalidExpressionService invalidExpressionService() {
+			return new InvalidExpressionService();
+		}
+
+	}
+
+	@Configuration
+	@EnableMethodSecurity
+	static class InvalidExpressionConfig {
+
+		@Bean
+		InvalidExpressionService invalidExpressionService() {
+			return new InvalidExpressionService();
+		}
+
+	}
+
+	static class InvalidExpressionService {
+
+		@PreAuthorize("hasRole(")
+		public void invalid() {
+		}
+
+	}
+
 	@Configuration
 	@EnableCustomMethodSecurity
 	static class CustomMethodSecurityServiceConfig {
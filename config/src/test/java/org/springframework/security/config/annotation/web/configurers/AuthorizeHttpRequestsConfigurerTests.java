@@ -791,6 +791,15 @@ public class AuthorizeHttpRequestsConfigurerTests {
 		this.mvc.perform(requestFromOtherHost).andExpect(status().isForbidden());
 	}
 
+	@Test
+	public void requestWhenIndexRequestMatchersThenMatchesInDeclarationOrder() throws Exception {
+		this.spring.register(IndexRequestMatchersConfig.class, BasicController.class).autowire();
+		this.mvc.perform(get("/user/user")).andExpect(status().isOk());
+		this.mvc.perform(get("/user/deny")).andExpect(status().isUnauthorized());
+		this.mvc.perform(get("/admin/resource").with(user("user").roles("USER"))).andExpect(status().isForbidden());
+		this.mvc.perform(get("/").with(user("user").roles("USER"))).andExpect(status().isOk());
+	}
+
 	@Test
 	public void requestWhenMvcMatcherPathVariablesThenMatchesOnPathVariables() throws Exception {
 		this.spring.register(MvcMatcherPathVariablesInLambdaConfig.class).autowire();
@@ -1469,6 +1478,38 @@ public class AuthorizeHttpRequestsConfigurerTests {
 
 	}
 
+	@EnableWebSecurity
+	@Configuration
+	@EnableWebMvc
+	static class IndexRequestMatchersConfig {
+
+		@Bean
+		SecurityFilterChain chain(HttpSecurity http) throws Exception {
+			// @formatter:off
+			http
+				.httpBasic(withDefaults())
+				.authorizeHttpRequests((authorize) -> authorize
+					.indexRequestMatchers(true)
+					.requestMatchers("/admin/**").hasRole("ADMIN")
+					.requestMatchers("/user/{username}").access(new WebExpressionAuthorizationManager("#username == 'user'"))
+					.anyRequest().permitAll()
+				);
+			// @formatter:on
+			return http.build();
+		}
+
+		@RestController
+		static class PathController {
+
+			@RequestMapping("/user/{username}")
+			String path(@PathVariable("username") String username) {
+				return username;
+			}
+
+		}
+
+	}
+
 	@Configuration
 	@EnableWebSecurity
 	static class FullyAuthenticatedConfig {
@@ -17,6 +17,7 @@
 package org.springframework.security.access.expression.method;
 
 import java.lang.reflect.Array;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -24,6 +25,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -32,11 +34,20 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.jspecify.annotations.Nullable;
 
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.core.MethodClassKey;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.core.log.LogMessage;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.security.access.PermissionCacheOptimizer;
 import org.springframework.security.access.expression.AbstractSecurityExpressionHandler;
@@ -47,6 +58,7 @@ import org.springframework.security.authorization.AuthorizationManagerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.parameters.DefaultSecurityParameterNameDiscoverer;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 
 /**
  * The standard implementation of {@code MethodSecurityExpressionHandler}.
@@ -61,7 +73,7 @@ import org.springframework.util.Assert;
  * @since 3.0
  */
 public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpressionHandler<MethodInvocation>
-		implements MethodSecurityExpressionHandler {
+		implements MethodSecurityExpressionHandler, BeanClassLoaderAware {
 
 	private static final String DEFAULT_ROLE_PREFIX = "ROLE_";
 
@@ -75,6 +87,16 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 
 	private String defaultRolePrefix = DEFAULT_ROLE_PREFIX;
 
+	private boolean compileExpressions;
+
+	private @Nullable ClassLoader beanClassLoader = ClassUtils.getDefaultClassLoader();
+
+	private @Nullable ExpressionParser compilingExpressionParser;
+
+	private final Map<MethodClassKey, Method> specificMethods = new ConcurrentHashMap<>();
+
+	private final PropertyAccessor propertyAccessor = new ReflectivePropertyAccessor();
+
 	public DefaultMethodSecurityExpressionHandler() {
 	}
 
@@ -93,12 +115,67 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 	public EvaluationContext createEvaluationContext(Supplier<? extends @Nullable Authentication> authentication,
 			MethodInvocation mi) {
 		MethodSecurityExpressionOperations root = createSecurityExpressionRoot(authentication, mi);
-		MethodSecurityEvaluationContext ctx = new MethodSecurityEvaluationContext(root, mi,
-				getParameterNameDiscoverer());
+		MethodSecurityEvaluationContext ctx;
+		if (this.compileExpressions) {
+			// reuse the parts of the context that do not change between invocations
+			ctx = new MethodSecurityEvaluationContext(root, getSpecificMethod(mi), mi, getParameterNameDiscoverer());
+			ctx.setPropertyAccessors(new ArrayList<>(List.of(this.propertyAccessor)));
+		}
+		else {
+			ctx = new MethodSecurityEvaluationContext(root, mi, getParameterNameDiscoverer());
+		}
 		Optional.ofNullable(getBeanResolver()).ifPresent(ctx::setBeanResolver);
 		return ctx;
 	}
 
+	private Method getSpecificMethod(MethodInvocation mi) {
+		Class<?> targetClass = (mi.getThis() != null) ? AopProxyUtils.ultimateTargetClass(mi.getThis()) : null;
+		MethodClassKey key = new MethodClassKey(mi.getMethod(), targetClass);
+		return this.specificMethods.computeIfAbsent(key,
+				(k) -> MethodSecurityEvaluationContext.getSpecificMethod(mi));
+	}
+
+	/**
+	 * Whether to parse expressions with a {@link SpelExpressionParser} in
+	 * {@link SpelCompilerMode#MIXED} mode so that frequently evaluated expressions are
+	 * compiled to bytecode, falling back to interpretation should a compiled expression
+	 * fail. Compiled expressions are loaded with the bean class loader. This also
+	 * reuses the most specific method and the property accessor of the
+	 * {@link EvaluationContext} between invocations.
+	 *
+	 * <p>
+	 * Enabling this replaces any {@link ExpressionParser} previously set with
+	 * {@link #setExpressionParser}. Disabling it only restores the default
+	 * {@link ExpressionParser} if the compiling one is still in use. Default is
+	 * {@code false}.
+	 * @param compileExpressions whether to compile expressions
+	 * @since 7.0
+	 */
+	public void setCompileExpressions(boolean compileExpressions) {
+		if (compileExpressions) {
+			useCompilingExpressionParser();
+		}
+		else if (this.compilingExpressionParser != null && getExpressionParser() == this.compilingExpressionParser) {
+			setExpressionParser(new SpelExpressionParser());
+		}
+		this.compileExpressions = compileExpressions;
+	}
+
+	@Override
+	public void setBeanClassLoader(ClassLoader beanClassLoader) {
+		this.beanClassLoader = beanClassLoader;
+		if (this.compileExpressions && getExpressionParser() == this.compilingExpressionParser) {
+			useCompilingExpressionParser();
+		}
+	}
+
+	private void useCompilingExpressionParser() {
+		SpelParserConfiguration configuration = new SpelParserConfiguration(SpelCompilerMode.MIXED,
+				this.beanClassLoader);
+		this.compilingExpressionParser = new SpelExpressionParser(configuration);
+		setExpressionParser(this.compilingExpressionParser);
+	}
+
 	/**
 	 * Creates the root object for expression evaluation.
 	 */
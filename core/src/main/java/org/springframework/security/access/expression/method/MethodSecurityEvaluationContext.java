@@ -61,7 +61,12 @@ class MethodSecurityEvaluationContext extends MethodBasedEvaluationContext {
 		super(root, getSpecificMethod(mi), mi.getArguments(), parameterNameDiscoverer);
 	}
 
-	private static Method getSpecificMethod(MethodInvocation mi) {
+	MethodSecurityEvaluationContext(MethodSecurityExpressionOperations root, Method specificMethod,
+			MethodInvocation mi, ParameterNameDiscoverer parameterNameDiscoverer) {
+		super(root, specificMethod, mi.getArguments(), parameterNameDiscoverer);
+	}
+
+	static Method getSpecificMethod(MethodInvocation mi) {
 		Class<?> targetClass = (mi.getThis() != null) ? AopProxyUtils.ultimateTargetClass(mi.getThis()) : null;
 		return AopUtils.getMostSpecificMethod(mi.getMethod(), targetClass);
 	}
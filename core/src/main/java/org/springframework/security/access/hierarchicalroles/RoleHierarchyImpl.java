@@ -17,21 +17,26 @@
 package org.springframework.security.access.hierarchicalroles;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
 
 import org.springframework.core.log.LogMessage;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
 
 /**
  * <p>
@@ -88,8 +93,16 @@ public final class RoleHierarchyImpl implements RoleHierarchy {
 	 */
 	private final Map<String, Set<GrantedAuthority>> rolesReachableInOneOrMoreStepsMap;
 
+	private final @Nullable ReachableAuthoritiesCache reachableAuthoritiesCache;
+
 	private RoleHierarchyImpl(Map<String, Set<GrantedAuthority>> hierarchy) {
+		this(hierarchy, 0);
+	}
+
+	private RoleHierarchyImpl(Map<String, Set<GrantedAuthority>> hierarchy, int cacheSize) {
 		this.rolesReachableInOneOrMoreStepsMap = buildRolesReachableInOneOrMoreStepsMap(hierarchy);
+		this.reachableAuthoritiesCache = (cacheSize > 0)
+				? new ReachableAuthoritiesCache(this.rolesReachableInOneOrMoreStepsMap, cacheSize) : null;
 	}
 
 	/**
@@ -137,6 +150,9 @@ public final class RoleHierarchyImpl implements RoleHierarchy {
 		if (authorities == null || authorities.isEmpty()) {
 			return AuthorityUtils.NO_AUTHORITIES;
 		}
+		if (this.reachableAuthoritiesCache != null) {
+			return this.reachableAuthoritiesCache.getReachableGrantedAuthorities(authorities);
+		}
 		Set<GrantedAuthority> reachableRoles = new HashSet<>();
 		Set<String> processedNames = new HashSet<>();
 		for (GrantedAuthority authority : authorities) {
@@ -243,6 +259,8 @@ public final class RoleHierarchyImpl implements RoleHierarchy {
 
 		private final Map<String, Set<GrantedAuthority>> hierarchy;
 
+		private int cacheSize;
+
 		private Builder(String rolePrefix) {
 			this.rolePrefix = rolePrefix;
 			this.hierarchy = new LinkedHashMap<>();
@@ -259,13 +277,33 @@ public final class RoleHierarchyImpl implements RoleHierarchy {
 			return new ImpliedRoles(role);
 		}
 
+		/**
+		 * Precompute the reachable roles of each role as a bitset and cache the reachable
+		 * authorities of up to {@code cacheSize} distinct sets of granted authorities,
+		 * evicting the least recently used ones.
+		 *
+		 * <p>
+		 * When enabled, {@link RoleHierarchyImpl#getReachableGrantedAuthorities} returns
+		 * an unmodifiable collection that is shared between callers having the same
+		 * granted authorities.
+		 * @param cacheSize the maximum number of distinct sets of granted authorities to
+		 * cache
+		 * @return the same {@link Builder} instance
+		 * @since 7.0
+		 */
+		public Builder cacheReachableAuthorities(int cacheSize) {
+			Assert.isTrue(cacheSize > 0, "cacheSize must be greater than 0");
+			this.cacheSize = cacheSize;
+			return this;
+		}
+
 		/**
 		 * Builds and returns a {@link RoleHierarchyImpl} describing the defined role
 		 * hierarchy.
 		 * @return a {@link RoleHierarchyImpl}
 		 */
 		public RoleHierarchyImpl build() {
-			return new RoleHierarchyImpl(this.hierarchy);
+			return new RoleHierarchyImpl(this.hierarchy, this.cacheSize);
 		}
 
 		private Builder addHierarchy(String role, String... impliedRoles) {
@@ -305,4 +343,133 @@ public final class RoleHierarchyImpl implements RoleHierarchy {
 
 	}
 
+	/**
+	 * Assigns each role in the hierarchy an integer id, stores the roles reachable from
+	 * each role as a {@code long[]} bitset, and caches the reachable authorities per
+	 * distinct set of granted authorities.
+	 */
+	private static final class ReachableAuthoritiesCache {
+
+		private final Map<String, Integer> ids = new HashMap<>();
+
+		private final List<GrantedAuthority> roles = new ArrayList<>();
+
+		private final long[][] reachable;
+
+		private final ConcurrentLruCache<AuthoritiesKey, Collection<GrantedAuthority>> cache;
+
+		private ReachableAuthoritiesCache(Map<String, Set<GrantedAuthority>> rolesReachableInOneOrMoreStepsMap,
+				int cacheSize) {
+			for (Map.Entry<String, Set<GrantedAuthority>> entry : rolesReachableInOneOrMoreStepsMap.entrySet()) {
+				id(entry.getKey(), new SimpleGrantedAuthority(entry.getKey()));
+				for (GrantedAuthority role : entry.getValue()) {
+					String authority = role.getAuthority();
+					if (authority != null) {
+						id(authority, role);
+					}
+				}
+			}
+			int words = (this.roles.size() + 63) >>> 6;
+			this.reachable = new long[this.roles.size()][words];
+			for (Map.Entry<String, Set<GrantedAuthority>> entry : rolesReachableInOneOrMoreStepsMap.entrySet()) {
+				long[] bits = this.reachable[id(entry.getKey(), new SimpleGrantedAuthority(entry.getKey()))];
+				for (GrantedAuthority role : entry.getValue()) {
+					String authority = role.getAuthority();
+					if (authority != null) {
+						set(bits, id(authority, role));
+					}
+				}
+			}
+			this.cache = new ConcurrentLruCache<>(cacheSize, this::computeReachableGrantedAuthorities);
+		}
+
+		private int id(String authority, GrantedAuthority role) {
+			Integer id = this.ids.get(authority);
+			if (id == null) {
+				id = this.roles.size();
+				this.ids.put(authority, id);
+				this.roles.add(role);
+			}
+			return id;
+		}
+
+		private Collection<GrantedAuthority> getReachableGrantedAuthorities(
+				Collection<? extends GrantedAuthority> authorities) {
+			return this.cache.get(new AuthoritiesKey(authorities.toArray(new GrantedAuthority[0])));
+		}
+
+		private Collection<GrantedAuthority> computeReachableGrantedAuthorities(AuthoritiesKey key) {
+			long[] present = new long[(this.roles.size() + 63) >>> 6];
+			long[] reachable = new long[present.length];
+			Set<String> processedNames = new HashSet<>();
+			List<GrantedAuthority> reachableRoles = new ArrayList<>();
+			for (GrantedAuthority authority : key.authorities) {
+				String name = authority.getAuthority();
+				if (name == null) {
+					reachableRoles.add(authority);
+					continue;
+				}
+				Integer id = this.ids.get(name);
+				if (id == null) {
+					if (processedNames.add(name)) {
+						reachableRoles.add(authority);
+					}
+					continue;
+				}
+				if (!isSet(present, id)) {
+					set(present, id);
+					reachableRoles.add(authority);
+					long[] lowerRoles = this.reachable[id];
+					for (int i = 0; i < reachable.length; i++) {
+						reachable[i] |= lowerRoles[i];
+					}
+				}
+			}
+			for (int i = 0; i < reachable.length; i++) {
+				long lowerRoles = reachable[i] & ~present[i];
+				while (lowerRoles != 0) {
+					int bit = Long.numberOfTrailingZeros(lowerRoles);
+					reachableRoles.add(this.roles.get((i << 6) + bit));
+					lowerRoles &= lowerRoles - 1;
+				}
+			}
+			logger.debug(LogMessage.format(
+					"getReachableGrantedAuthorities() - From the roles %s one can reach %s in zero or more steps.",
+					Arrays.asList(key.authorities), reachableRoles));
+			return Collections.unmodifiableList(reachableRoles);
+		}
+
+		private static boolean isSet(long[] bits, int id) {
+			return (bits[id >>> 6] & (1L << id)) != 0;
+		}
+
+		private static void set(long[] bits, int id) {
+			bits[id >>> 6] |= 1L << id;
+		}
+
+	}
+
+	private static final class AuthoritiesKey {
+
+		private final GrantedAuthority[] authorities;
+
+		private final int hashCode;
+
+		private AuthoritiesKey(GrantedAuthority[] authorities) {
+			this.authorities = authorities;
+			this.hashCode = Arrays.hashCode(authorities);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return (obj instanceof AuthoritiesKey other) && Arrays.equals(this.authorities, other.authorities);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+	}
+
 }
@@ -22,7 +22,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import org.jspecify.annotations.Nullable;
 
@@ -49,6 +52,8 @@ public abstract class AbstractAuthenticationToken implements Authentication, Cre
 
 	private final Collection<GrantedAuthority> authorities;
 
+	private transient volatile @Nullable Set<String> authorityNames;
+
 	private @Nullable Object details;
 
 	private boolean authenticated = false;
@@ -80,6 +85,37 @@ public abstract class AbstractAuthenticationToken implements Authentication, Cre
 		return this.authorities;
 	}
 
+	/**
+	 * Return the names of this token's authorities as an immutable, hashed set, so that
+	 * repeated authority checks do not need to scan {@link #getAuthorities()}.
+	 *
+	 * <p>
+	 * The set is computed from {@link #getAuthorities()}. It is cached on first use and
+	 * not serialized, unless a subclass returns other authorities than those it was
+	 * created with, in which case it is computed on every call.
+	 * @return the names of the authorities
+	 * @since 7.0
+	 */
+	public Set<String> getAuthorityNames() {
+		Collection<? extends GrantedAuthority> authorities = getAuthorities();
+		if (authorities != this.authorities) {
+			return toAuthorityNames(authorities);
+		}
+		Set<String> authorityNames = this.authorityNames;
+		if (authorityNames == null) {
+			authorityNames = toAuthorityNames(authorities);
+			this.authorityNames = authorityNames;
+		}
+		return authorityNames;
+	}
+
+	private static Set<String> toAuthorityNames(Collection<? extends GrantedAuthority> authorities) {
+		return authorities.stream()
+			.map(GrantedAuthority::getAuthority)
+			.filter(Objects::nonNull)
+			.collect(Collectors.toUnmodifiableSet());
+	}
+
 	@Override
 	public String getName() {
 		if (this.getPrincipal() instanceof UserDetails userDetails) {
@@ -17,12 +17,14 @@
 package org.springframework.security.authorization;
 
 import java.util.Collection;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import org.jspecify.annotations.Nullable;
 
 import org.springframework.security.access.hierarchicalroles.NullRoleHierarchy;
 import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.AuthorityUtils;
@@ -59,15 +61,28 @@ public final class AuthoritiesAuthorizationManager implements AuthorizationManag
 	@Override
 	public AuthorizationResult authorize(Supplier<? extends @Nullable Authentication> authentication,
 			Collection<String> authorities) {
-		boolean granted = isGranted(authentication.get(), authorities);
+		Authentication current = authentication.get();
+		AuthorizationResultCache cache = AuthorizationResultCache.getCurrent();
+		if (cache != null) {
+			return cache.authorize(this.roleHierarchy, authorities, current, () -> decide(current, authorities));
+		}
+		return decide(current, authorities);
+	}
+
+	private AuthorizationResult decide(@Nullable Authentication authentication, Collection<String> authorities) {
+		boolean granted = isGranted(authentication, authorities);
 		return new AuthorityAuthorizationDecision(granted, AuthorityUtils.createAuthorityList(authorities));
 	}
 
-	private boolean isGranted(Authentication authentication, Collection<String> authorities) {
+	private boolean isGranted(@Nullable Authentication authentication, Collection<String> authorities) {
 		return authentication != null && isAuthorized(authentication, authorities);
 	}
 
 	private boolean isAuthorized(Authentication authentication, Collection<String> authorities) {
+		if (authentication instanceof AbstractAuthenticationToken token
+				&& this.roleHierarchy instanceof NullRoleHierarchy) {
+			return containsAny(token.getAuthorityNames(), authorities);
+		}
 		for (GrantedAuthority grantedAuthority : getGrantedAuthorities(authentication)) {
 			if (authorities.contains(grantedAuthority.getAuthority())) {
 				return true;
@@ -76,6 +91,15 @@ public final class AuthoritiesAuthorizationManager implements AuthorizationManag
 		return false;
 	}
 
+	private boolean containsAny(Set<String> authorityNames, Collection<String> authorities) {
+		for (String authority : authorities) {
+			if (authorityNames.contains(authority)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private Collection<? extends GrantedAuthority> getGrantedAuthorities(Authentication authentication) {
 		return this.roleHierarchy.getReachableGrantedAuthorities(authentication.getAuthorities());
 	}
@@ -17,12 +17,11 @@
 package org.springframework.security.authorization;
 
 import java.util.List;
-import java.util.Objects;
-import java.util.function.Function;
+import java.util.Set;
 
-import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Mono;
 
+import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.AuthorityUtils;
@@ -49,14 +48,40 @@ public class AuthorityReactiveAuthorizationManager<T> implements ReactiveAuthori
 	public Mono<AuthorizationResult> authorize(Mono<Authentication> authentication, T object) {
 		// @formatter:off
 		return authentication.filter(Authentication::isAuthenticated)
-				.flatMapIterable(Authentication::getAuthorities)
-				.mapNotNull((Function<GrantedAuthority, @Nullable String>) GrantedAuthority::getAuthority)
-				.any((grantedAuthority) -> this.authorities.stream().anyMatch((authority) -> Objects.equals(authority.getAuthority(), grantedAuthority)))
+				.map(this::isGranted)
 				.map((granted) -> ((AuthorizationResult) new AuthorityAuthorizationDecision(granted, this.authorities)))
 				.defaultIfEmpty(new AuthorityAuthorizationDecision(false, this.authorities));
 		// @formatter:on
 	}
 
+	private boolean isGranted(Authentication authentication) {
+		if (authentication instanceof AbstractAuthenticationToken token) {
+			Set<String> authorityNames = token.getAuthorityNames();
+			for (GrantedAuthority authority : this.authorities) {
+				if (authorityNames.contains(authority.getAuthority())) {
+					return true;
+				}
+			}
+			return false;
+		}
+		for (GrantedAuthority grantedAuthority : authentication.getAuthorities()) {
+			String name = grantedAuthority.getAuthority();
+			if (name != null && containsAuthority(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean containsAuthority(String name) {
+		for (GrantedAuthority authority : this.authorities) {
+			if (name.equals(authority.getAuthority())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Creates an instance of {@link AuthorityReactiveAuthorizationManager} with the
 	 * provided authority.
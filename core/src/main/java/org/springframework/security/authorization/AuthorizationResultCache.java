@@ -0,0 +1,111 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authorization;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.security.access.hierarchicalroles.NullRoleHierarchy;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.core.Authentication;
+
+/**
+ * A cache of {@link AuthorizationResult}s that is bound to the current thread for the
+ * duration of a request, so that the same authority check is not repeated for the same
+ * {@link Authentication}.
+ *
+ * <p>
+ * The results of {@link AuthoritiesAuthorizationManager} are cached by their decision
+ * inputs: the required authorities, the {@link RoleHierarchy} and the identity of the
+ * {@link Authentication}. Since {@link AuthorityAuthorizationManager},
+ * {@link org.springframework.security.authorization.method.SecuredAuthorizationManager}
+ * and the {@code hasRole} and {@code hasAuthority} family of method security expressions
+ * all delegate to it, a check that was made for a request can be reused by method
+ * security for the remainder of the request, even though each uses its own manager
+ * instance. A change of {@link Authentication} within the request is never served a
+ * stale result.
+ *
+ * <p>
+ * The cache is bound by the servlet {@code AuthorizationFilter}. Reactive applications
+ * are not supported.
+ *
+ * @since 7.0
+ */
+public final class AuthorizationResultCache {
+
+	private static final ThreadLocal<AuthorizationResultCache> cacheHolder = new ThreadLocal<>();
+
+	private final Map<Key, AuthorizationResult> results = new ConcurrentHashMap<>();
+
+	/**
+	 * Return the {@link AuthorizationResultCache} bound to the current thread
+	 * @return the {@link AuthorizationResultCache} or {@code null} if none is bound
+	 */
+	public static @Nullable AuthorizationResultCache getCurrent() {
+		return cacheHolder.get();
+	}
+
+	/**
+	 * Bind this {@link AuthorizationResultCache} to the current thread
+	 * @param cache the {@link AuthorizationResultCache} to bind or {@code null} to unbind
+	 * the current one
+	 */
+	public static void setCurrent(@Nullable AuthorizationResultCache cache) {
+		if (cache == null) {
+			cacheHolder.remove();
+		}
+		else {
+			cacheHolder.set(cache);
+		}
+	}
+
+	AuthorizationResult authorize(RoleHierarchy roleHierarchy, Collection<String> authorities,
+			@Nullable Authentication authentication, Supplier<AuthorizationResult> result) {
+		Key key = new Key((roleHierarchy instanceof NullRoleHierarchy) ? NullRoleHierarchy.class : roleHierarchy,
+				(authorities instanceof Set<String> set) ? set : new HashSet<>(authorities), authentication);
+		AuthorizationResult cached = this.results.get(key);
+		if (cached != null) {
+			return cached;
+		}
+		cached = result.get();
+		this.results.put(key, cached);
+		return cached;
+	}
+
+	private record Key(Object roleHierarchy, Set<String> authorities, @Nullable Authentication authentication) {
+
+		@Override
+		public boolean equals(Object obj) {
+			return (obj instanceof Key other) && this.roleHierarchy.equals(other.roleHierarchy)
+					&& this.authorities.equals(other.authorities) && this.authentication == other.authentication;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * this.roleHierarchy.hashCode() + this.authorities.hashCode())
+					+ System.identityHashCode(this.authentication);
+		}
+
+	}
+
+}
@@ -28,6 +28,8 @@ import org.springframework.security.access.expression.method.DefaultMethodSecuri
 import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.core.annotation.AnnotationTemplateExpressionDefaults;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * For internal use only, as this contract is likely to change
@@ -64,6 +66,22 @@ abstract class AbstractExpressionAttributeRegistry<T extends ExpressionAttribute
 		return this.cachedAttributes.computeIfAbsent(cacheKey, (k) -> resolveAttribute(method, targetClass));
 	}
 
+	/**
+	 * Resolves and caches the {@link ExpressionAttribute}s of all methods that may be
+	 * invoked on an instance of the target class, including the methods of its
+	 * interfaces.
+	 * @param targetClass the target class
+	 */
+	final void resolveAttributes(Class<?> targetClass) {
+		ReflectionUtils.doWithMethods(targetClass, (method) -> getAttribute(method, targetClass),
+				ReflectionUtils.USER_DECLARED_METHODS);
+		for (Class<?> ifc : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+			for (Method method : ifc.getMethods()) {
+				getAttribute(method, targetClass);
+			}
+		}
+	}
+
 	/**
 	 * Returns the {@link MethodSecurityExpressionHandler}.
 	 * @return the {@link MethodSecurityExpressionHandler} to use
@@ -64,6 +64,16 @@ public final class PostAuthorizeAuthorizationManager
 		this.registry.setTemplateDefaults(defaults);
 	}
 
+	/**
+	 * Resolves and caches the {@link PostAuthorize} expressions of the target class's methods
+	 * ahead of the first invocation.
+	 * @param targetClass the target class
+	 * @since 7.0
+	 */
+	public void resolveAttributes(Class<?> targetClass) {
+		this.registry.resolveAttributes(targetClass);
+	}
+
 	/**
 	 * Invokes
 	 * {@link PostAuthorizeExpressionAttributeRegistry#setApplicationContext(ApplicationContext)}
@@ -80,6 +80,16 @@ public final class PostFilterAuthorizationMethodInterceptor implements Authoriza
 		this.registry.setTemplateDefaults(defaults);
 	}
 
+	/**
+	 * Resolves and caches the {@link PostFilter} expressions of the target class's methods
+	 * ahead of the first invocation.
+	 * @param targetClass the target class
+	 * @since 7.0
+	 */
+	public void resolveAttributes(Class<?> targetClass) {
+		this.registry.resolveAttributes(targetClass);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
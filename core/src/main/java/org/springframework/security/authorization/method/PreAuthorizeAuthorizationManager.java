@@ -64,6 +64,16 @@ public final class PreAuthorizeAuthorizationManager
 		this.registry.setTemplateDefaults(defaults);
 	}
 
+	/**
+	 * Resolves and caches the {@link PreAuthorize} expressions of the target class's methods
+	 * ahead of the first invocation.
+	 * @param targetClass the target class
+	 * @since 7.0
+	 */
+	public void resolveAttributes(Class<?> targetClass) {
+		this.registry.resolveAttributes(targetClass);
+	}
+
 	public void setApplicationContext(ApplicationContext context) {
 		this.registry.setApplicationContext(context);
 	}
@@ -0,0 +1,374 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.log.LogMessage;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link SessionRegistry} for a large number of sessions that holds at most a fixed
+ * number of sessions and can sweep sessions that have been inactive for too long.
+ *
+ * <p>
+ * The sessions of each principal are kept in a compact array that is replaced atomically
+ * on each change, so {@link #getSessionCount(Object, boolean)} and
+ * {@link #getAllSessions(Object, boolean)} read a single array without consulting the
+ * session index.
+ *
+ * <p>
+ * Sessions whose last request is older than the
+ * {@link #setMaxInactiveInterval(Duration) maximum inactive interval} are removed by
+ * {@link #cleanupInactiveSessions()}, which is run according to the
+ * {@link #setCleanupCron(String) cleanup cron} and whenever a new session would exceed
+ * the capacity, at most once per {@link #setMinCleanupInterval(Duration) minimum cleanup
+ * interval}. If the capacity is still exceeded, the session is not registered and an
+ * {@link IllegalStateException} is thrown. Like {@link SessionRegistryImpl}, this class
+ * relies on {@link SessionDestroyedEvent}s to remove sessions that are destroyed.
+ *
+ * @since 7.0
+ * @see SessionRegistryImpl
+ */
+public final class BoundedSessionRegistry
+		implements CountingSessionRegistry, ApplicationListener<AbstractSessionEvent>, DisposableBean {
+
+	private static final SessionInformation[] NO_SESSIONS = new SessionInformation[0];
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final Map<Object, SessionInformation[]> principals;
+
+	private final Map<String, SessionInformation> sessionIds;
+
+	private final AtomicInteger sessionCount = new AtomicInteger();
+
+	private final int capacity;
+
+	private @Nullable Duration maxInactiveInterval;
+
+	private Clock clock = Clock.systemUTC();
+
+	private @Nullable ThreadPoolTaskScheduler taskScheduler;
+
+	private Duration minCleanupInterval = Duration.ofSeconds(10);
+
+	private final AtomicReference<@Nullable Instant> lastOnDemandCleanup = new AtomicReference<>();
+
+	private volatile Duration lastCleanupDuration = Duration.ZERO;
+
+	/**
+	 * Constructs a {@code BoundedSessionRegistry} holding at most this many sessions
+	 * @param capacity the maximum number of sessions
+	 */
+	public BoundedSessionRegistry(int capacity) {
+		Assert.isTrue(capacity > 0, "capacity must be greater than 0");
+		this.capacity = capacity;
+		int initialCapacity = Math.min(capacity, 1024);
+		this.principals = new ConcurrentHashMap<>(initialCapacity);
+		this.sessionIds = new ConcurrentHashMap<>(initialCapacity);
+	}
+
+	@Override
+	public List<Object> getAllPrincipals() {
+		return new ArrayList<>(this.principals.keySet());
+	}
+
+	@Override
+	public List<SessionInformation> getAllSessions(Object principal, boolean includeExpiredSessions) {
+		SessionInformation[] sessions = this.principals.getOrDefault(principal, NO_SESSIONS);
+		if (sessions.length == 0) {
+			return Collections.emptyList();
+		}
+		List<SessionInformation> list = new ArrayList<>(sessions.length);
+		for (SessionInformation session : sessions) {
+			if (includeExpiredSessions || !session.isExpired()) {
+				list.add(session);
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public int getSessionCount(Object principal, boolean includeExpiredSessions) {
+		SessionInformation[] sessions = this.principals.getOrDefault(principal, NO_SESSIONS);
+		if (includeExpiredSessions) {
+			return sessions.length;
+		}
+		int count = 0;
+		for (SessionInformation session : sessions) {
+			if (!session.isExpired()) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public @Nullable SessionInformation getSessionInformation(String sessionId) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		return this.sessionIds.get(sessionId);
+	}
+
+	@Override
+	public void onApplicationEvent(AbstractSessionEvent event) {
+		if (event instanceof SessionDestroyedEvent sessionDestroyedEvent) {
+			removeSessionInformation(sessionDestroyedEvent.getId());
+		}
+		else if (event instanceof SessionIdChangedEvent sessionIdChangedEvent) {
+			SessionInformation info = this.sessionIds.get(sessionIdChangedEvent.getOldSessionId());
+			if (info != null) {
+				removeSessionInformation(info.getSessionId());
+				registerNewSession(sessionIdChangedEvent.getNewSessionId(), info.getPrincipal());
+			}
+		}
+	}
+
+	@Override
+	public void refreshLastRequest(String sessionId) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		SessionInformation info = getSessionInformation(sessionId);
+		if (info != null) {
+			info.refreshLastRequest();
+		}
+	}
+
+	@Override
+	public void registerNewSession(String sessionId, Object principal) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		Assert.notNull(principal, "Principal required as per interface contract");
+		removeSessionInformation(sessionId);
+		reserveCapacity();
+		this.logger.debug(LogMessage.format("Registering session %s, for principal %s", sessionId, principal));
+		SessionInformation info = new SessionInformation(principal, sessionId, Date.from(this.clock.instant()));
+		SessionInformation previous = this.sessionIds.put(sessionId, info);
+		if (previous != null) {
+			// registered concurrently, so replace its entry rather than count it twice
+			this.sessionCount.decrementAndGet();
+			this.principals.computeIfPresent(previous.getPrincipal(), (key, sessions) -> without(sessions, previous));
+		}
+		this.principals.merge(principal, new SessionInformation[] { info }, BoundedSessionRegistry::concat);
+		if (this.sessionIds.get(sessionId) != info) {
+			// removed or replaced before it was added to the principal, so do not leave it
+			// behind there
+			this.principals.computeIfPresent(principal, (key, sessions) -> without(sessions, info));
+		}
+	}
+
+	@Override
+	public void removeSessionInformation(String sessionId) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		SessionInformation info = this.sessionIds.remove(sessionId);
+		if (info == null) {
+			return;
+		}
+		this.sessionCount.decrementAndGet();
+		this.logger.debug(LogMessage.format("Removing session %s from set of registered sessions", sessionId));
+		this.principals.computeIfPresent(info.getPrincipal(), (key, sessions) -> without(sessions, info));
+	}
+
+	/**
+	 * Removes all sessions whose last request is older than the
+	 * {@link #setMaxInactiveInterval(Duration) maximum inactive interval}. Does nothing
+	 * when no maximum inactive interval is set.
+	 * @return the number of sessions removed
+	 */
+	public int cleanupInactiveSessions() {
+		Duration maxInactiveInterval = this.maxInactiveInterval;
+		if (maxInactiveInterval == null) {
+			return 0;
+		}
+		long start = System.nanoTime();
+		Instant threshold = this.clock.instant().minus(maxInactiveInterval);
+		List<String> inactive = new ArrayList<>();
+		for (SessionInformation info : this.sessionIds.values()) {
+			if (info.getLastRequest().toInstant().isBefore(threshold)) {
+				inactive.add(info.getSessionId());
+			}
+		}
+		for (String sessionId : inactive) {
+			removeSessionInformation(sessionId);
+		}
+		this.lastCleanupDuration = Duration.ofNanos(System.nanoTime() - start);
+		this.logger.debug(LogMessage.format("Cleaned up %d inactive sessions in %s", inactive.size(),
+				this.lastCleanupDuration));
+		return inactive.size();
+	}
+
+	/**
+	 * Sets the duration after its last request that a session is considered inactive and
+	 * can be removed by {@link #cleanupInactiveSessions()}. This should match the
+	 * session timeout of the container. The default is to never remove sessions that
+	 * have not been destroyed.
+	 * @param maxInactiveInterval the maximum inactive interval
+	 */
+	public void setMaxInactiveInterval(Duration maxInactiveInterval) {
+		Assert.notNull(maxInactiveInterval, "maxInactiveInterval cannot be null");
+		Assert.isTrue(!maxInactiveInterval.isNegative() && !maxInactiveInterval.isZero(),
+				"maxInactiveInterval must be positive");
+		this.maxInactiveInterval = maxInactiveInterval;
+	}
+
+	/**
+	 * Sets the cron expression used for removing inactive sessions. The default is not to
+	 * remove them on a schedule, in which case {@link #cleanupInactiveSessions()} is only
+	 * invoked when the capacity would be exceeded.
+	 * @param cleanupCron the cron expression passed to {@link CronTrigger}
+	 * @see #cleanupInactiveSessions()
+	 */
+	public void setCleanupCron(String cleanupCron) {
+		Assert.hasText(cleanupCron, "cleanupCron cannot be empty");
+		if (this.taskScheduler != null) {
+			this.taskScheduler.shutdown();
+		}
+		ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+		taskScheduler.setThreadNamePrefix("spring-session-registry-");
+		taskScheduler.initialize();
+		taskScheduler.schedule(this::cleanupInactiveSessions, new CronTrigger(cleanupCron));
+		this.taskScheduler = taskScheduler;
+	}
+
+	/**
+	 * Sets the minimum time between two invocations of {@link #cleanupInactiveSessions()}
+	 * caused by a new session exceeding the capacity. Within this interval such sessions
+	 * are rejected without scanning all sessions again, so that repeated logins at
+	 * capacity remain cheap. The default is 10 seconds.
+	 * @param minCleanupInterval the minimum cleanup interval
+	 */
+	public void setMinCleanupInterval(Duration minCleanupInterval) {
+		Assert.notNull(minCleanupInterval, "minCleanupInterval cannot be null");
+		Assert.isTrue(!minCleanupInterval.isNegative(), "minCleanupInterval cannot be negative");
+		this.minCleanupInterval = minCleanupInterval;
+	}
+
+	/**
+	 * Sets the {@link Clock} used for the time of registration and for determining which
+	 * sessions are inactive
+	 * @param clock the clock
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	/**
+	 * Returns the number of registered sessions
+	 * @return the number of registered sessions
+	 */
+	public int getSessionCount() {
+		return this.sessionCount.get();
+	}
+
+	/**
+	 * Returns the number of principals with at least one registered session
+	 * @return the number of principals
+	 */
+	public int getPrincipalCount() {
+		return this.principals.size();
+	}
+
+	/**
+	 * Returns the maximum number of sessions
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Returns how long the last invocation of {@link #cleanupInactiveSessions()} took
+	 * @return the duration of the last cleanup
+	 */
+	public Duration getLastCleanupDuration() {
+		return this.lastCleanupDuration;
+	}
+
+	@Override
+	public void destroy() {
+		if (this.taskScheduler != null) {
+			this.taskScheduler.shutdown();
+		}
+	}
+
+	private void reserveCapacity() {
+		if (this.sessionCount.incrementAndGet() <= this.capacity) {
+			return;
+		}
+		this.sessionCount.decrementAndGet();
+		if (claimOnDemandCleanup()) {
+			cleanupInactiveSessions();
+			if (this.sessionCount.incrementAndGet() <= this.capacity) {
+				return;
+			}
+			this.sessionCount.decrementAndGet();
+		}
+		throw new IllegalStateException("Unable to register more than " + this.capacity + " sessions");
+	}
+
+	private boolean claimOnDemandCleanup() {
+		if (this.maxInactiveInterval == null) {
+			return false;
+		}
+		Instant now = this.clock.instant();
+		Instant last = this.lastOnDemandCleanup.get();
+		if (last != null && now.isBefore(last.plus(this.minCleanupInterval))) {
+			return false;
+		}
+		return this.lastOnDemandCleanup.compareAndSet(last, now);
+	}
+
+	private static SessionInformation[] concat(SessionInformation[] sessions, SessionInformation[] added) {
+		SessionInformation[] result = Arrays.copyOf(sessions, sessions.length + added.length);
+		System.arraycopy(added, 0, result, sessions.length, added.length);
+		return result;
+	}
+
+	private static SessionInformation @Nullable [] without(SessionInformation[] sessions, SessionInformation removed) {
+		for (int i = 0; i < sessions.length; i++) {
+			if (sessions[i] == removed) {
+				if (sessions.length == 1) {
+					return null;
+				}
+				SessionInformation[] result = new SessionInformation[sessions.length - 1];
+				System.arraycopy(sessions, 0, result, 0, i);
+				System.arraycopy(sessions, i + 1, result, i, sessions.length - i - 1);
+				return result;
+			}
+		}
+		return sessions;
+	}
+
+}
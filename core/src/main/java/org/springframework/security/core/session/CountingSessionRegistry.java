@@ -0,0 +1,38 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+/**
+ * A {@link SessionRegistry} that can count the sessions of a principal without
+ * materializing them.
+ *
+ * @since 7.0
+ * @see BoundedSessionRegistry
+ */
+public interface CountingSessionRegistry extends SessionRegistry {
+
+	/**
+	 * Counts the known sessions for the specified principal. This is the same as the size
+	 * of {@link #getAllSessions(Object, boolean)}.
+	 * @param principal to count sessions for (should never be <code>null</code>)
+	 * @param includeExpiredSessions if <code>true</code>, sessions that have expired are
+	 * also counted
+	 * @return the number of matching sessions for this principal
+	 */
+	int getSessionCount(Object principal, boolean includeExpiredSessions);
+
+}
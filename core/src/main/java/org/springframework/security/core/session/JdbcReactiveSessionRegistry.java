@@ -0,0 +1,202 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Function;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.util.Assert;
+
+/**
+ * A JDBC implementation of a {@link ReactiveSessionRegistry} that uses a
+ * {@link JdbcOperations} for {@link ReactiveSessionInformation} persistence, so that the
+ * sessions of a principal can be counted and invalidated across a cluster. Since JDBC is
+ * blocking, all database access is performed on a {@link Scheduler} suitable for
+ * blocking work.
+ *
+ * <p>
+ * Sessions are stored by the name of their principal, as resolved by the
+ * {@link #setPrincipalNameResolver(Function) principal name resolver}, and the
+ * {@link ReactiveSessionInformation} returned by this registry holds that name as its
+ * principal. Invalidating a returned {@link ReactiveSessionInformation} is written to the
+ * database right away, whereas {@link #updateLastAccessTime(String)} is coalesced per
+ * session and written in a single batch every {@link #setFlushInterval(Duration) flush
+ * interval}. Since it does not read the session, {@link #updateLastAccessTime(String)}
+ * completes empty, and a pending last access time is returned by the other methods
+ * until it is written.
+ *
+ * <p>
+ * <b>NOTE:</b> This {@code JdbcReactiveSessionRegistry} depends on the table definition
+ * described in
+ * "classpath:org/springframework/security/core/session/jdbc/session-registry-schema.sql"
+ * and therefore MUST be defined in the database schema.
+ *
+ * @since 7.0
+ * @see JdbcSessionRegistry
+ */
+public final class JdbcReactiveSessionRegistry implements ReactiveSessionRegistry, DisposableBean {
+
+	private final JdbcSessionRegistryOperations operations;
+
+	private Scheduler scheduler = Schedulers.boundedElastic();
+
+	private Clock clock = Clock.systemUTC();
+
+	/**
+	 * Constructs a {@code JdbcReactiveSessionRegistry} using the provided parameters.
+	 * @param jdbcOperations the JDBC operations
+	 */
+	public JdbcReactiveSessionRegistry(JdbcOperations jdbcOperations) {
+		this.operations = new JdbcSessionRegistryOperations(jdbcOperations);
+	}
+
+	@Override
+	public Flux<ReactiveSessionInformation> getAllSessions(Object principal) {
+		return Flux.defer(() -> Flux.fromIterable(this.operations.findByPrincipal(principal)))
+			.map(this::createSessionInformation)
+			.subscribeOn(this.scheduler);
+	}
+
+	@Override
+	public Mono<Void> saveSessionInformation(ReactiveSessionInformation information) {
+		return Mono
+			.fromRunnable(() -> this.operations.save(information.getSessionId(), information.getPrincipal(),
+					information.getLastAccessTime(), information.isExpired()))
+			.subscribeOn(this.scheduler)
+			.then();
+	}
+
+	@Override
+	public Mono<ReactiveSessionInformation> getSessionInformation(String sessionId) {
+		return Mono.fromCallable(() -> this.operations.findBySessionId(sessionId))
+			.map(this::createSessionInformation)
+			.subscribeOn(this.scheduler);
+	}
+
+	@Override
+	public Mono<ReactiveSessionInformation> removeSessionInformation(String sessionId) {
+		return Mono.fromCallable(() -> {
+			JdbcSessionRegistryOperations.Row row = this.operations.findBySessionId(sessionId);
+			if (row != null) {
+				this.operations.delete(sessionId);
+			}
+			return row;
+		}).map(this::createSessionInformation).subscribeOn(this.scheduler);
+	}
+
+	@Override
+	public Mono<ReactiveSessionInformation> updateLastAccessTime(String sessionId) {
+		Mono<ReactiveSessionInformation> update = Mono
+			.fromRunnable(() -> this.operations.updateLastAccessTime(sessionId, this.clock.instant()));
+		// a coalesced update is only queued in memory, so it does not need to block
+		return this.operations.isCoalescing() ? update : update.subscribeOn(this.scheduler);
+	}
+
+	/**
+	 * Writes all pending updates of the last access time to the database
+	 * @return a {@link Mono} that completes when the updates are written
+	 */
+	public Mono<Void> flush() {
+		return Mono.fromRunnable(this.operations::flush).subscribeOn(this.scheduler).then();
+	}
+
+	/**
+	 * Sets the interval at which updates of the last access time are written to the
+	 * database. Use {@link Duration#ZERO} to write each update right away. The default is
+	 * 10 seconds.
+	 * @param flushInterval the flush interval
+	 */
+	public void setFlushInterval(Duration flushInterval) {
+		this.operations.setFlushInterval(flushInterval);
+	}
+
+	/**
+	 * Sets the {@link Function} used to resolve the name that a principal is stored by.
+	 * The default uses {@link org.springframework.security.core.userdetails.UserDetails},
+	 * {@link org.springframework.security.core.AuthenticatedPrincipal} and
+	 * {@link java.security.Principal} names, and {@link Object#toString()} otherwise.
+	 * @param principalNameResolver the {@link Function} to use
+	 */
+	public void setPrincipalNameResolver(Function<Object, String> principalNameResolver) {
+		this.operations.setPrincipalNameResolver(principalNameResolver);
+	}
+
+	/**
+	 * Sets the {@link Scheduler} that database access is performed on. The default is
+	 * {@link Schedulers#boundedElastic()}.
+	 * @param scheduler the {@link Scheduler} to use
+	 */
+	public void setScheduler(Scheduler scheduler) {
+		Assert.notNull(scheduler, "scheduler cannot be null");
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Sets the {@link Clock} used for the time of the last access
+	 * @param clock the clock
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	@Override
+	public void destroy() {
+		this.operations.flush();
+		this.operations.shutdown();
+	}
+
+	private ReactiveSessionInformation createSessionInformation(JdbcSessionRegistryOperations.Row row) {
+		return new JdbcReactiveSessionInformation(row, this.operations, this.scheduler);
+	}
+
+	private static final class JdbcReactiveSessionInformation extends ReactiveSessionInformation {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient JdbcSessionRegistryOperations operations;
+
+		private final transient Scheduler scheduler;
+
+		private JdbcReactiveSessionInformation(JdbcSessionRegistryOperations.Row row,
+				JdbcSessionRegistryOperations operations, Scheduler scheduler) {
+			super(row.principalName(), row.sessionId(), row.lastAccessTime());
+			this.operations = operations;
+			this.scheduler = scheduler;
+			if (row.expired()) {
+				super.invalidate().subscribe();
+			}
+		}
+
+		@Override
+		public Mono<Void> invalidate() {
+			return super.invalidate()
+				.then(Mono.fromRunnable(() -> this.operations.expire(getSessionId())).subscribeOn(this.scheduler))
+				.then();
+		}
+
+	}
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationListener;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.util.Assert;
+
+/**
+ * A JDBC implementation of a {@link SessionRegistry} that uses a {@link JdbcOperations}
+ * for {@link SessionInformation} persistence, so that the sessions of a principal can be
+ * counted and expired across a cluster.
+ *
+ * <p>
+ * Sessions are stored by the name of their principal, as resolved by the
+ * {@link #setPrincipalNameResolver(Function) principal name resolver}, and the
+ * {@link SessionInformation} returned by this registry holds that name as its principal.
+ * Expiring a returned {@link SessionInformation} is written to the database right away,
+ * whereas {@link #refreshLastRequest(String)} is coalesced per session and written in a
+ * single batch every {@link #setFlushInterval(Duration) flush interval}.
+ *
+ * <p>
+ * <b>NOTE:</b> This {@code JdbcSessionRegistry} depends on the table definition
+ * described in
+ * "classpath:org/springframework/security/core/session/jdbc/session-registry-schema.sql"
+ * and therefore MUST be defined in the database schema.
+ *
+ * @since 7.0
+ * @see JdbcReactiveSessionRegistry
+ */
+public final class JdbcSessionRegistry
+		implements CountingSessionRegistry, ApplicationListener<AbstractSessionEvent>, DisposableBean {
+
+	private final JdbcSessionRegistryOperations operations;
+
+	private Clock clock = Clock.systemUTC();
+
+	/**
+	 * Constructs a {@code JdbcSessionRegistry} using the provided parameters.
+	 * @param jdbcOperations the JDBC operations
+	 */
+	public JdbcSessionRegistry(JdbcOperations jdbcOperations) {
+		this.operations = new JdbcSessionRegistryOperations(jdbcOperations);
+	}
+
+	@Override
+	public List<Object> getAllPrincipals() {
+		return this.operations.findAllPrincipalNames();
+	}
+
+	@Override
+	public List<SessionInformation> getAllSessions(Object principal, boolean includeExpiredSessions) {
+		Assert.notNull(principal, "Principal required as per interface contract");
+		List<SessionInformation> sessions = new ArrayList<>();
+		for (JdbcSessionRegistryOperations.Row row : this.operations.findByPrincipal(principal)) {
+			if (includeExpiredSessions || !row.expired()) {
+				sessions.add(new JdbcSessionInformation(row, this.operations));
+			}
+		}
+		return sessions;
+	}
+
+	@Override
+	public int getSessionCount(Object principal, boolean includeExpiredSessions) {
+		Assert.notNull(principal, "Principal required as per interface contract");
+		return this.operations.countByPrincipal(principal, includeExpiredSessions);
+	}
+
+	@Override
+	public @Nullable SessionInformation getSessionInformation(String sessionId) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		JdbcSessionRegistryOperations.Row row = this.operations.findBySessionId(sessionId);
+		return (row != null) ? new JdbcSessionInformation(row, this.operations) : null;
+	}
+
+	@Override
+	public void onApplicationEvent(AbstractSessionEvent event) {
+		if (event instanceof SessionDestroyedEvent sessionDestroyedEvent) {
+			removeSessionInformation(sessionDestroyedEvent.getId());
+		}
+		else if (event instanceof SessionIdChangedEvent sessionIdChangedEvent) {
+			this.operations.changeSessionId(sessionIdChangedEvent.getOldSessionId(),
+					sessionIdChangedEvent.getNewSessionId());
+		}
+	}
+
+	@Override
+	public void refreshLastRequest(String sessionId) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		this.operations.updateLastAccessTime(sessionId, this.clock.instant());
+	}
+
+	@Override
+	public void registerNewSession(String sessionId, Object principal) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		Assert.notNull(principal, "Principal required as per interface contract");
+		this.operations.save(sessionId, principal, this.clock.instant(), false);
+	}
+
+	@Override
+	public void removeSessionInformation(String sessionId) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		this.operations.delete(sessionId);
+	}
+
+	/**
+	 * Writes all pending updates of the last request time to the database
+	 */
+	public void flush() {
+		this.operations.flush();
+	}
+
+	/**
+	 * Sets the interval at which updates of the last request time are written to the
+	 * database. Use {@link Duration#ZERO} to write each update right away. The default is
+	 * 10 seconds.
+	 * @param flushInterval the flush interval
+	 */
+	public void setFlushInterval(Duration flushInterval) {
+		this.operations.setFlushInterval(flushInterval);
+	}
+
+	/**
+	 * Sets the {@link Function} used to resolve the name that a principal is stored by.
+	 * The default uses {@link org.springframework.security.core.userdetails.UserDetails},
+	 * {@link org.springframework.security.core.AuthenticatedPrincipal} and
+	 * {@link java.security.Principal} names, and {@link Object#toString()} otherwise.
+	 * @param principalNameResolver the {@link Function} to use
+	 */
+	public void setPrincipalNameResolver(Function<Object, String> principalNameResolver) {
+		this.operations.setPrincipalNameResolver(principalNameResolver);
+	}
+
+	/**
+	 * Sets the {@link Clock} used for the time of registration and of the last request
+	 * @param clock the clock
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	@Override
+	public void destroy() {
+		this.operations.flush();
+		this.operations.shutdown();
+	}
+
+	private static final class JdbcSessionInformation extends SessionInformation {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient JdbcSessionRegistryOperations operations;
+
+		private JdbcSessionInformation(JdbcSessionRegistryOperations.Row row,
+				JdbcSessionRegistryOperations operations) {
+			super(row.principalName(), row.sessionId(), Date.from(row.lastAccessTime()));
+			this.operations = operations;
+			if (row.expired()) {
+				super.expireNow();
+			}
+		}
+
+		@Override
+		public void expireNow() {
+			super.expireNow();
+			this.operations.expire(getSessionId());
+		}
+
+	}
+
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.security.Principal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.core.log.LogMessage;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.util.Assert;
+
+/**
+ * The JDBC operations shared by {@link JdbcSessionRegistry} and
+ * {@link JdbcReactiveSessionRegistry}. Updates of the last access time are coalesced per
+ * session and written in a single batch every flush interval.
+ */
+final class JdbcSessionRegistryOperations {
+
+	static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(10);
+
+	private static final String TABLE_NAME = "session_registry";
+
+	// @formatter:off
+	private static final String COLUMN_NAMES = "session_id, "
+			+ "principal_name, "
+			+ "last_access_time, "
+			+ "expired";
+	// @formatter:on
+
+	private static final String SELECT_BY_SESSION_ID_SQL = "SELECT " + COLUMN_NAMES + " FROM " + TABLE_NAME
+			+ " WHERE session_id = ?";
+
+	private static final String SELECT_BY_PRINCIPAL_NAME_SQL = "SELECT " + COLUMN_NAMES + " FROM " + TABLE_NAME
+			+ " WHERE principal_name = ?";
+
+	private static final String COUNT_BY_PRINCIPAL_NAME_SQL = "SELECT COUNT(*) FROM " + TABLE_NAME
+			+ " WHERE principal_name = ?";
+
+	private static final String COUNT_UNEXPIRED_BY_PRINCIPAL_NAME_SQL = COUNT_BY_PRINCIPAL_NAME_SQL
+			+ " AND expired = ?";
+
+	private static final String SELECT_PRINCIPAL_NAMES_SQL = "SELECT DISTINCT principal_name FROM " + TABLE_NAME;
+
+	private static final String INSERT_SQL = "INSERT INTO " + TABLE_NAME + " (" + COLUMN_NAMES
+			+ ") VALUES (?, ?, ?, ?)";
+
+	private static final String DELETE_SQL = "DELETE FROM " + TABLE_NAME + " WHERE session_id = ?";
+
+	private static final String UPDATE_EXPIRED_SQL = "UPDATE " + TABLE_NAME + " SET expired = ? WHERE session_id = ?";
+
+	private static final String UPDATE_SESSION_ID_SQL = "UPDATE " + TABLE_NAME
+			+ " SET session_id = ? WHERE session_id = ?";
+
+	private static final String UPDATE_LAST_ACCESS_TIME_SQL = "UPDATE " + TABLE_NAME
+			+ " SET last_access_time = ? WHERE session_id = ? AND last_access_time < ?";
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final JdbcOperations jdbcOperations;
+
+	private final RowMapper<Row> rowMapper = new RowRowMapper();
+
+	private final Map<String, Instant> pendingLastAccessTimes = new ConcurrentHashMap<>();
+
+	private Function<Object, String> principalNameResolver = JdbcSessionRegistryOperations::resolvePrincipalName;
+
+	private Duration flushInterval = DEFAULT_FLUSH_INTERVAL;
+
+	private @Nullable ThreadPoolTaskScheduler taskScheduler;
+
+	JdbcSessionRegistryOperations(JdbcOperations jdbcOperations) {
+		Assert.notNull(jdbcOperations, "jdbcOperations cannot be null");
+		this.jdbcOperations = jdbcOperations;
+		this.taskScheduler = createTaskScheduler(this.flushInterval);
+	}
+
+	void setPrincipalNameResolver(Function<Object, String> principalNameResolver) {
+		Assert.notNull(principalNameResolver, "principalNameResolver cannot be null");
+		this.principalNameResolver = principalNameResolver;
+	}
+
+	void setFlushInterval(Duration flushInterval) {
+		Assert.notNull(flushInterval, "flushInterval cannot be null");
+		Assert.isTrue(!flushInterval.isNegative(), "flushInterval cannot be negative");
+		flush();
+		shutdown();
+		this.flushInterval = flushInterval;
+		this.taskScheduler = createTaskScheduler(flushInterval);
+	}
+
+	String getPrincipalName(Object principal) {
+		return this.principalNameResolver.apply(principal);
+	}
+
+	List<Object> findAllPrincipalNames() {
+		return new ArrayList<>(this.jdbcOperations.queryForList(SELECT_PRINCIPAL_NAMES_SQL, String.class));
+	}
+
+	List<Row> findByPrincipal(Object principal) {
+		List<Row> rows = this.jdbcOperations.query(SELECT_BY_PRINCIPAL_NAME_SQL, this.rowMapper,
+				new SqlParameterValue(Types.VARCHAR, getPrincipalName(principal)));
+		List<Row> result = new ArrayList<>(rows.size());
+		for (Row row : rows) {
+			result.add(withPendingLastAccessTime(row));
+		}
+		return result;
+	}
+
+	int countByPrincipal(Object principal, boolean includeExpired) {
+		SqlParameterValue name = new SqlParameterValue(Types.VARCHAR, getPrincipalName(principal));
+		Integer count = includeExpired
+				? this.jdbcOperations.queryForObject(COUNT_BY_PRINCIPAL_NAME_SQL, Integer.class, name)
+				: this.jdbcOperations.queryForObject(COUNT_UNEXPIRED_BY_PRINCIPAL_NAME_SQL, Integer.class, name,
+						new SqlParameterValue(Types.BOOLEAN, false));
+		return (count != null) ? count : 0;
+	}
+
+	@Nullable Row findBySessionId(String sessionId) {
+		List<Row> rows = this.jdbcOperations.query(SELECT_BY_SESSION_ID_SQL, this.rowMapper,
+				new SqlParameterValue(Types.VARCHAR, sessionId));
+		return rows.isEmpty() ? null : withPendingLastAccessTime(rows.get(0));
+	}
+
+	void save(String sessionId, Object principal, Instant lastAccessTime, boolean expired) {
+		delete(sessionId);
+		this.jdbcOperations.update(INSERT_SQL, new SqlParameterValue(Types.VARCHAR, sessionId),
+				new SqlParameterValue(Types.VARCHAR, getPrincipalName(principal)),
+				new SqlParameterValue(Types.TIMESTAMP, Timestamp.from(lastAccessTime)),
+				new SqlParameterValue(Types.BOOLEAN, expired));
+	}
+
+	boolean delete(String sessionId) {
+		this.pendingLastAccessTimes.remove(sessionId);
+		return this.jdbcOperations.update(DELETE_SQL, new SqlParameterValue(Types.VARCHAR, sessionId)) > 0;
+	}
+
+	void expire(String sessionId) {
+		this.jdbcOperations.update(UPDATE_EXPIRED_SQL, new SqlParameterValue(Types.BOOLEAN, true),
+				new SqlParameterValue(Types.VARCHAR, sessionId));
+	}
+
+	void changeSessionId(String oldSessionId, String newSessionId) {
+		Instant pending = this.pendingLastAccessTimes.remove(oldSessionId);
+		this.jdbcOperations.update(UPDATE_SESSION_ID_SQL, new SqlParameterValue(Types.VARCHAR, newSessionId),
+				new SqlParameterValue(Types.VARCHAR, oldSessionId));
+		if (pending != null) {
+			updateLastAccessTime(newSessionId, pending);
+		}
+	}
+
+	void updateLastAccessTime(String sessionId, Instant lastAccessTime) {
+		if (this.taskScheduler == null) {
+			Object[] parameters = lastAccessTimeParameters(sessionId, lastAccessTime);
+			this.jdbcOperations.update(UPDATE_LAST_ACCESS_TIME_SQL, parameters);
+			return;
+		}
+		this.pendingLastAccessTimes.merge(sessionId, lastAccessTime,
+				(current, updated) -> updated.isAfter(current) ? updated : current);
+	}
+
+	boolean isCoalescing() {
+		return this.taskScheduler != null;
+	}
+
+	/**
+	 * Writes all pending last access times in a single batch
+	 */
+	void flush() {
+		if (this.pendingLastAccessTimes.isEmpty()) {
+			return;
+		}
+		List<Object[]> batch = new ArrayList<>();
+		for (Map.Entry<String, Instant> entry : this.pendingLastAccessTimes.entrySet()) {
+			// only remove the entry if it has not been updated concurrently
+			if (this.pendingLastAccessTimes.remove(entry.getKey(), entry.getValue())) {
+				batch.add(lastAccessTimeParameters(entry.getKey(), entry.getValue()));
+			}
+		}
+		this.jdbcOperations.batchUpdate(UPDATE_LAST_ACCESS_TIME_SQL, batch);
+		this.logger.trace(LogMessage.format("Flushed the last access time of %d sessions", batch.size()));
+	}
+
+	void shutdown() {
+		if (this.taskScheduler != null) {
+			this.taskScheduler.shutdown();
+			this.taskScheduler = null;
+		}
+	}
+
+	private Row withPendingLastAccessTime(Row row) {
+		Instant pending = this.pendingLastAccessTimes.get(row.sessionId());
+		if (pending == null || !pending.isAfter(row.lastAccessTime())) {
+			return row;
+		}
+		return new Row(row.sessionId(), row.principalName(), pending, row.expired());
+	}
+
+	private @Nullable ThreadPoolTaskScheduler createTaskScheduler(Duration flushInterval) {
+		if (flushInterval.isZero()) {
+			return null;
+		}
+		ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+		taskScheduler.setThreadNamePrefix("spring-session-registry-");
+		taskScheduler.initialize();
+		taskScheduler.scheduleWithFixedDelay(this::flushQuietly, flushInterval);
+		return taskScheduler;
+	}
+
+	private void flushQuietly() {
+		try {
+			flush();
+		}
+		catch (RuntimeException ex) {
+			this.logger.warn("Failed to flush the last access time of sessions", ex);
+		}
+	}
+
+	private static Object[] lastAccessTimeParameters(String sessionId, Instant lastAccessTime) {
+		Timestamp timestamp = Timestamp.from(lastAccessTime);
+		return new Object[] { new SqlParameterValue(Types.TIMESTAMP, timestamp),
+				new SqlParameterValue(Types.VARCHAR, sessionId), new SqlParameterValue(Types.TIMESTAMP, timestamp) };
+	}
+
+	private static String resolvePrincipalName(Object principal) {
+		if (principal instanceof UserDetails userDetails) {
+			return userDetails.getUsername();
+		}
+		if (principal instanceof AuthenticatedPrincipal authenticatedPrincipal) {
+			return authenticatedPrincipal.getName();
+		}
+		if (principal instanceof Principal namedPrincipal) {
+			return namedPrincipal.getName();
+		}
+		return principal.toString();
+	}
+
+	record Row(String sessionId, String principalName, Instant lastAccessTime, boolean expired) {
+
+	}
+
+	private static final class RowRowMapper implements RowMapper<Row> {
+
+		@Override
+		public Row mapRow(ResultSet rs, int rowNum) throws SQLException {
+			return new Row(rs.getString("session_id"), rs.getString("principal_name"),
+					rs.getTimestamp("last_access_time").toInstant(), rs.getBoolean("expired"));
+		}
+
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.jackson;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import tools.jackson.databind.DatabindContext;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.jsontype.PolymorphicTypeValidator;
+
+/**
+ * A {@link PolymorphicTypeValidator} that remembers which types its delegate allowed, so
+ * that an allowed type is resolved with a single map lookup instead of going through
+ * every rule the modules registered. Only allowed types are remembered, so that type ids
+ * that are denied cannot grow the cache.
+ *
+ * @since 7.0
+ */
+final class CachingPolymorphicTypeValidator extends PolymorphicTypeValidator {
+
+	@Serial
+	private static final long serialVersionUID = 4466384213427356384L;
+
+	private final PolymorphicTypeValidator delegate;
+
+	private final Map<JavaType, Validity> baseTypes = new ConcurrentHashMap<>();
+
+	private final Map<SubClassName, Validity> subClassNames = new ConcurrentHashMap<>();
+
+	private final Map<SubType, Validity> subTypes = new ConcurrentHashMap<>();
+
+	CachingPolymorphicTypeValidator(PolymorphicTypeValidator delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public Validity validateBaseType(DatabindContext ctxt, JavaType baseType) {
+		Validity validity = this.baseTypes.get(baseType);
+		if (validity != null) {
+			return validity;
+		}
+		validity = this.delegate.validateBaseType(ctxt, baseType);
+		if (validity == Validity.ALLOWED) {
+			this.baseTypes.put(baseType, validity);
+		}
+		return validity;
+	}
+
+	@Override
+	public Validity validateSubClassName(DatabindContext ctxt, JavaType baseType, String subClassName) {
+		SubClassName key = new SubClassName(baseType, subClassName);
+		Validity validity = this.subClassNames.get(key);
+		if (validity != null) {
+			return validity;
+		}
+		validity = this.delegate.validateSubClassName(ctxt, baseType, subClassName);
+		if (validity == Validity.ALLOWED) {
+			this.subClassNames.put(key, validity);
+		}
+		return validity;
+	}
+
+	@Override
+	public Validity validateSubType(DatabindContext ctxt, JavaType baseType, JavaType subType) {
+		SubType key = new SubType(baseType, subType);
+		Validity validity = this.subTypes.get(key);
+		if (validity != null) {
+			return validity;
+		}
+		validity = this.delegate.validateSubType(ctxt, baseType, subType);
+		if (validity == Validity.ALLOWED) {
+			this.subTypes.put(key, validity);
+		}
+		return validity;
+	}
+
+	private record SubClassName(JavaType baseType, String subClassName) implements Serializable {
+
+	}
+
+	private record SubType(JavaType baseType, JavaType subType) implements Serializable {
+
+	}
+
+}
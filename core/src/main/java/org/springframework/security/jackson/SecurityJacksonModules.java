@@ -137,7 +137,9 @@ public final class SecurityJacksonModules {
 	 * Return the list of available security modules in classpath, enable automatic
 	 * inclusion of type information and configure a default
 	 * {@link PolymorphicTypeValidator} customizable with the provided builder that
-	 * handles the validation of class names.
+	 * handles the validation of class names. The validator is built once and remembers
+	 * the types it allowed, so that it can be shared by every mapper built with these
+	 * modules.
 	 * @param loader the ClassLoader to use
 	 * @param typeValidatorBuilder the builder to configure custom types allowed in
 	 * addition to Spring Security ones
@@ -179,10 +181,11 @@ public final class SecurityJacksonModules {
 				securityModule.configurePolymorphicTypeValidator(builder);
 			}
 		}
+		PolymorphicTypeValidator typeValidator = new CachingPolymorphicTypeValidator(builder.build());
 		modules.add(new SimpleModule() {
 			@Override
 			public void setupModule(SetupContext context) {
-				((MapperBuilder<?, ?>) context.getOwner()).activateDefaultTyping(builder.build(),
+				((MapperBuilder<?, ?>) context.getOwner()).activateDefaultTyping(typeValidator,
 						DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
 			}
 		});
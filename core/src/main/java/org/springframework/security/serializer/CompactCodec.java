@@ -0,0 +1,116 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.serializer;
+
+import java.io.IOException;
+
+import org.springframework.util.Assert;
+
+/**
+ * Writes and reads instances of exactly one type for a {@link CompactSecuritySerializer}.
+ *
+ * <p>
+ * The format written by a codec is part of the serialized form, so it must stay readable
+ * by later versions of the codec. A codec that needs to change its format can consult
+ * {@link CompactInput#getVersion()}.
+ *
+ * @param <T> the type of the values
+ * @since 7.0
+ * @see CompactCodecModule
+ */
+public interface CompactCodec<T> {
+
+	/**
+	 * The type of the values. Only values of exactly this type, not of its subtypes, are
+	 * written by this codec.
+	 * @return the type of the values
+	 */
+	Class<T> getType();
+
+	/**
+	 * Write the value
+	 * @param value the value to write
+	 * @param output the {@link CompactOutput} to write to
+	 * @throws IOException if the value cannot be written
+	 */
+	void write(T value, CompactOutput output) throws IOException;
+
+	/**
+	 * Read a value written by {@link #write(Object, CompactOutput)}
+	 * @param input the {@link CompactInput} to read from
+	 * @return the value
+	 * @throws IOException if the value cannot be read
+	 */
+	T read(CompactInput input) throws IOException;
+
+	/**
+	 * Create a {@link CompactCodec} from a {@link Writer} and a {@link Reader}
+	 * @param type the type of the values
+	 * @param writer the {@link Writer}
+	 * @param reader the {@link Reader}
+	 * @param <T> the type of the values
+	 * @return the {@link CompactCodec}
+	 */
+	static <T> CompactCodec<T> of(Class<T> type, Writer<? super T> writer, Reader<? extends T> reader) {
+		Assert.notNull(type, "type cannot be null");
+		Assert.notNull(writer, "writer cannot be null");
+		Assert.notNull(reader, "reader cannot be null");
+		return new CompactCodec<>() {
+
+			@Override
+			public Class<T> getType() {
+				return type;
+			}
+
+			@Override
+			public void write(T value, CompactOutput output) throws IOException {
+				writer.write(value, output);
+			}
+
+			@Override
+			public T read(CompactInput input) throws IOException {
+				return reader.read(input);
+			}
+
+		};
+	}
+
+	/**
+	 * Writes a value to a {@link CompactOutput}
+	 *
+	 * @param <T> the type of the value
+	 */
+	@FunctionalInterface
+	interface Writer<T> {
+
+		void write(T value, CompactOutput output) throws IOException;
+
+	}
+
+	/**
+	 * Reads a value from a {@link CompactInput}
+	 *
+	 * @param <T> the type of the value
+	 */
+	@FunctionalInterface
+	interface Reader<T> {
+
+		T read(CompactInput input) throws IOException;
+
+	}
+
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.serializer;
+
+import java.util.Collection;
+
+/**
+ * A group of {@link CompactCodec}s contributed by a Spring Security module.
+ *
+ * @since 7.0
+ * @see CompactCodecModules
+ */
+public interface CompactCodecModule {
+
+	/**
+	 * The {@link CompactCodec}s of this module
+	 * @return the {@link CompactCodec}s
+	 */
+	Collection<CompactCodec<?>> getCodecs();
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.serializer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.log.LogMessage;
+import org.springframework.util.ClassUtils;
+
+/**
+ * This utility class will find all the {@link CompactCodecModule}s contributed by Spring
+ * Security in the classpath.
+ *
+ * <p>
+ * If needed, you can add your own modules to the list.
+ * <p>
+ * <pre>
+ *     ClassLoader loader = getClass().getClassLoader();
+ *     List&lt;CompactCodecModule&gt; modules = new ArrayList&lt;&gt;(CompactCodecModules.getModules(loader));
+ *     modules.add(new MyCompactCodecModule());
+ *     CompactSecuritySerializer serializer = new CompactSecuritySerializer(loader, modules);
+ * </pre>
+ *
+ * @since 7.0
+ */
+public final class CompactCodecModules {
+
+	private static final Log logger = LogFactory.getLog(CompactCodecModules.class);
+
+	private static final List<String> compactCodecModuleClasses = List.of(
+			"org.springframework.security.web.serializer.WebCompactCodecModule",
+			"org.springframework.security.oauth2.client.serializer.OAuth2ClientCompactCodecModule",
+			"org.springframework.security.saml2.serializer.Saml2CompactCodecModule",
+			"org.springframework.security.cas.serializer.CasCompactCodecModule");
+
+	private CompactCodecModules() {
+	}
+
+	/**
+	 * Return the {@link CoreCompactCodecModule} followed by the modules of the other
+	 * Spring Security modules in the classpath
+	 * @param loader the ClassLoader to use
+	 * @return the available {@link CompactCodecModule}s
+	 */
+	public static List<CompactCodecModule> getModules(ClassLoader loader) {
+		List<CompactCodecModule> modules = new ArrayList<>();
+		modules.add(new CoreCompactCodecModule());
+		for (String className : compactCodecModuleClasses) {
+			if (ClassUtils.isPresent(className, loader)) {
+				addToModulesList(loader, modules, className);
+			}
+		}
+		return modules;
+	}
+
+	private static void addToModulesList(ClassLoader loader, List<CompactCodecModule> modules, String className) {
+		try {
+			Class<?> module = ClassUtils.forName(className, loader);
+			modules.add((CompactCodecModule) module.getConstructor().newInstance());
+			logger.debug(LogMessage.format("Loaded module %s", className));
+		}
+		catch (Exception | LinkageError ex) {
+			logger.debug(LogMessage.format("Cannot load module %s", className), ex);
+		}
+	}
+
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.StreamCorruptedException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * The input of a {@link CompactSecuritySerializer}, read from by the
+ * {@link CompactCodec}s.
+ *
+ * <p>
+ * Lists, sets and maps are read as unmodifiable collections that keep the iteration order
+ * they were written in.
+ *
+ * @since 7.0
+ * @see CompactOutput
+ */
+public final class CompactInput {
+
+	private static final int MAX_LENGTH = 16 * 1024 * 1024;
+
+	private final DataInputStream input;
+
+	private final int version;
+
+	private final Map<String, CompactCodec<?>> codecs;
+
+	private final boolean javaSerialization;
+
+	private final @Nullable ObjectInputFilter objectInputFilter;
+
+	private final @Nullable ClassLoader classLoader;
+
+	private final List<String> strings = new ArrayList<>(WellKnownStrings.STRINGS);
+
+	CompactInput(InputStream input, int version, Map<String, CompactCodec<?>> codecs, boolean javaSerialization,
+			@Nullable ObjectInputFilter objectInputFilter, @Nullable ClassLoader classLoader) {
+		this.input = new DataInputStream(input);
+		this.version = version;
+		this.codecs = codecs;
+		this.javaSerialization = javaSerialization;
+		this.objectInputFilter = objectInputFilter;
+		this.classLoader = classLoader;
+	}
+
+	/**
+	 * The version of the format being read
+	 * @return the version
+	 */
+	public int getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Read a {@code boolean}
+	 * @return the value
+	 * @throws IOException if the value cannot be read
+	 */
+	public boolean readBoolean() throws IOException {
+		int tag = this.input.readUnsignedByte();
+		if (tag != CompactOutput.TRUE_TAG && tag != CompactOutput.FALSE_TAG) {
+			throw new StreamCorruptedException("Expected a boolean but found " + tag);
+		}
+		return tag == CompactOutput.TRUE_TAG;
+	}
+
+	/**
+	 * Read an {@code int}
+	 * @return the value
+	 * @throws IOException if the value cannot be read
+	 */
+	public int readInt() throws IOException {
+		long value = readLong();
+		if (value != (int) value) {
+			throw new StreamCorruptedException("Expected an int but found " + value);
+		}
+		return (int) value;
+	}
+
+	/**
+	 * Read a {@code long}
+	 * @return the value
+	 * @throws IOException if the value cannot be read
+	 */
+	public long readLong() throws IOException {
+		long value = readUnsigned();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * Read an {@link Instant}
+	 * @return the value
+	 * @throws IOException if the value cannot be read
+	 */
+	public Instant readInstant() throws IOException {
+		long seconds = readLong();
+		return Instant.ofEpochSecond(seconds, readLength(999_999_999));
+	}
+
+	/**
+	 * Read a collection of {@link GrantedAuthority}s
+	 * @return the authorities
+	 * @throws IOException if the authorities cannot be read
+	 */
+	public List<GrantedAuthority> readAuthorities() throws IOException {
+		int size = readLength(MAX_LENGTH);
+		List<GrantedAuthority> authorities = new ArrayList<>(Math.min(size, 64));
+		for (int i = 0; i < size; i++) {
+			authorities.add(readValue(GrantedAuthority.class));
+		}
+		return authorities;
+	}
+
+	/**
+	 * Read a value of the given type
+	 * @param type the type of the value
+	 * @param <T> the type of the value
+	 * @return the value
+	 * @throws IOException if the value cannot be read, is {@code null} or is not of the
+	 * given type
+	 */
+	public <T> T readValue(Class<T> type) throws IOException {
+		Object value = readValue();
+		if (!type.isInstance(value)) {
+			throw new InvalidObjectException("Expected a " + type.getName() + " but found " + value);
+		}
+		return type.cast(value);
+	}
+
+	/**
+	 * Read a value of the given type or {@code null}
+	 * @param type the type of the value
+	 * @param <T> the type of the value
+	 * @return the value or {@code null}
+	 * @throws IOException if the value cannot be read or is not of the given type
+	 */
+	public <T> @Nullable T readNullableValue(Class<T> type) throws IOException {
+		Object value = readValue();
+		if (value != null && !type.isInstance(value)) {
+			throw new InvalidObjectException("Expected a " + type.getName() + " but found " + value);
+		}
+		return type.cast(value);
+	}
+
+	/**
+	 * Read a value written by {@link CompactOutput#writeValue(Object)}
+	 * @return the value or {@code null}
+	 * @throws IOException if the value cannot be read
+	 */
+	public @Nullable Object readValue() throws IOException {
+		int tag = this.input.readUnsignedByte();
+		return switch (tag) {
+			case CompactOutput.NULL_TAG -> null;
+			case CompactOutput.TRUE_TAG -> Boolean.TRUE;
+			case CompactOutput.FALSE_TAG -> Boolean.FALSE;
+			case CompactOutput.INT_TAG -> readInt();
+			case CompactOutput.LONG_TAG -> readLong();
+			case CompactOutput.DOUBLE_TAG -> this.input.readDouble();
+			case CompactOutput.STRING_TAG -> readString();
+			case CompactOutput.INSTANT_TAG -> readInstant();
+			case CompactOutput.URL_TAG -> URI.create(readString()).toURL();
+			case CompactOutput.BYTES_TAG -> readBytes();
+			case CompactOutput.LIST_TAG -> Collections.unmodifiableList(readElements(new ArrayList<>()));
+			case CompactOutput.SET_TAG -> Collections.unmodifiableSet(readElements(new LinkedHashSet<>()));
+			case CompactOutput.MAP_TAG -> Collections.unmodifiableMap(readMap());
+			case CompactOutput.CODEC_TAG -> readCodecValue();
+			case CompactOutput.SERIALIZED_TAG -> readSerializedValue();
+			default -> throw new StreamCorruptedException("Unknown value tag " + tag);
+		};
+	}
+
+	private Object readCodecValue() throws IOException {
+		String type = readString();
+		CompactCodec<?> codec = this.codecs.get(type);
+		if (codec == null) {
+			throw new InvalidClassException(type, "No CompactCodec registered");
+		}
+		return codec.read(this);
+	}
+
+	private Object readSerializedValue() throws IOException {
+		if (!this.javaSerialization) {
+			throw new InvalidObjectException("Java serialization is disabled");
+		}
+		byte[] bytes = readBytes();
+		try (ObjectInputStream objects = new ConfigurableObjectInputStream(new ByteArrayInputStream(bytes),
+				this.classLoader)) {
+			if (this.objectInputFilter != null) {
+				objects.setObjectInputFilter(this.objectInputFilter);
+			}
+			return objects.readObject();
+		}
+		catch (ClassNotFoundException ex) {
+			throw new InvalidClassException(ex.getMessage());
+		}
+	}
+
+	private String readString() throws IOException {
+		int index = readLength(Integer.MAX_VALUE);
+		if (index > 0) {
+			if (index > this.strings.size()) {
+				throw new StreamCorruptedException("Unknown string " + index);
+			}
+			return this.strings.get(index - 1);
+		}
+		String value = new String(readBytes(), StandardCharsets.UTF_8);
+		this.strings.add(value);
+		return value;
+	}
+
+	private byte[] readBytes() throws IOException {
+		byte[] bytes = new byte[readLength(MAX_LENGTH)];
+		this.input.readFully(bytes);
+		return bytes;
+	}
+
+	private <C extends Collection<@Nullable Object>> C readElements(C elements) throws IOException {
+		int size = readLength(MAX_LENGTH);
+		for (int i = 0; i < size; i++) {
+			elements.add(readValue());
+		}
+		return elements;
+	}
+
+	private Map<@Nullable Object, @Nullable Object> readMap() throws IOException {
+		int size = readLength(MAX_LENGTH);
+		Map<@Nullable Object, @Nullable Object> map = new LinkedHashMap<>();
+		for (int i = 0; i < size; i++) {
+			map.put(readValue(), readValue());
+		}
+		return map;
+	}
+
+	private int readLength(int max) throws IOException {
+		long length = readUnsigned();
+		if (length < 0 || length > max) {
+			throw new StreamCorruptedException("Invalid length " + length);
+		}
+		return (int) length;
+	}
+
+	private long readUnsigned() throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = this.input.readUnsignedByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new StreamCorruptedException("Invalid variable-length integer");
+	}
+
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * The output of a {@link CompactSecuritySerializer}, written to by the
+ * {@link CompactCodec}s.
+ *
+ * <p>
+ * Numbers are written as variable-length integers and strings are interned, so that a
+ * string that was already written, or that is a well-known type name, authority or claim
+ * name, takes a single byte.
+ *
+ * @since 7.0
+ * @see CompactInput
+ */
+public final class CompactOutput {
+
+	static final int NULL_TAG = 0;
+
+	static final int TRUE_TAG = 1;
+
+	static final int FALSE_TAG = 2;
+
+	static final int INT_TAG = 3;
+
+	static final int LONG_TAG = 4;
+
+	static final int DOUBLE_TAG = 5;
+
+	static final int STRING_TAG = 6;
+
+	static final int INSTANT_TAG = 7;
+
+	static final int URL_TAG = 8;
+
+	static final int BYTES_TAG = 9;
+
+	static final int LIST_TAG = 10;
+
+	static final int SET_TAG = 11;
+
+	static final int MAP_TAG = 12;
+
+	static final int CODEC_TAG = 13;
+
+	static final int SERIALIZED_TAG = 14;
+
+	private final DataOutputStream output;
+
+	private final Map<Class<?>, CompactCodec<?>> codecs;
+
+	private final boolean javaSerialization;
+
+	private final Map<String, Integer> strings = new HashMap<>(WellKnownStrings.INDEXES);
+
+	CompactOutput(OutputStream output, Map<Class<?>, CompactCodec<?>> codecs, boolean javaSerialization) {
+		this.output = new DataOutputStream(output);
+		this.codecs = codecs;
+		this.javaSerialization = javaSerialization;
+	}
+
+	/**
+	 * Write a {@code boolean}
+	 * @param value the value
+	 * @throws IOException if the value cannot be written
+	 */
+	public void writeBoolean(boolean value) throws IOException {
+		this.output.writeByte(value ? TRUE_TAG : FALSE_TAG);
+	}
+
+	/**
+	 * Write an {@code int}
+	 * @param value the value
+	 * @throws IOException if the value cannot be written
+	 */
+	public void writeInt(int value) throws IOException {
+		writeLong(value);
+	}
+
+	/**
+	 * Write a {@code long}
+	 * @param value the value
+	 * @throws IOException if the value cannot be written
+	 */
+	public void writeLong(long value) throws IOException {
+		writeUnsigned((value << 1) ^ (value >> 63));
+	}
+
+	/**
+	 * Write an {@link Instant}
+	 * @param value the value
+	 * @throws IOException if the value cannot be written
+	 */
+	public void writeInstant(Instant value) throws IOException {
+		writeLong(value.getEpochSecond());
+		writeUnsigned(value.getNano());
+	}
+
+	/**
+	 * Write a collection of {@link GrantedAuthority}s
+	 * @param authorities the authorities
+	 * @throws IOException if the authorities cannot be written
+	 */
+	public void writeAuthorities(Collection<? extends GrantedAuthority> authorities) throws IOException {
+		writeUnsigned(authorities.size());
+		for (GrantedAuthority authority : authorities) {
+			writeValue(authority);
+		}
+	}
+
+	/**
+	 * Write a value. Values that have a {@link CompactCodec} are written by that codec;
+	 * strings, numbers, {@link Instant}s, {@link URL}s, byte arrays, lists, sets and maps
+	 * are written directly, and any other value is written with Java serialization when
+	 * it is enabled.
+	 * @param value the value or {@code null}
+	 * @throws IOException if the value cannot be written
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void writeValue(@Nullable Object value) throws IOException {
+		if (value == null) {
+			this.output.writeByte(NULL_TAG);
+			return;
+		}
+		CompactCodec codec = this.codecs.get(value.getClass());
+		if (codec != null) {
+			this.output.writeByte(CODEC_TAG);
+			writeString(value.getClass().getName());
+			codec.write(value, this);
+		}
+		else if (value instanceof String string) {
+			this.output.writeByte(STRING_TAG);
+			writeString(string);
+		}
+		else if (value instanceof Boolean bool) {
+			writeBoolean(bool);
+		}
+		else if (value instanceof Integer number) {
+			this.output.writeByte(INT_TAG);
+			writeInt(number);
+		}
+		else if (value instanceof Long number) {
+			this.output.writeByte(LONG_TAG);
+			writeLong(number);
+		}
+		else if (value instanceof Double number) {
+			this.output.writeByte(DOUBLE_TAG);
+			this.output.writeDouble(number);
+		}
+		else if (value instanceof Instant instant) {
+			this.output.writeByte(INSTANT_TAG);
+			writeInstant(instant);
+		}
+		else if (value instanceof URL url) {
+			this.output.writeByte(URL_TAG);
+			writeString(url.toExternalForm());
+		}
+		else if (value instanceof byte[] bytes) {
+			this.output.writeByte(BYTES_TAG);
+			writeBytes(bytes);
+		}
+		else if (value instanceof List<?> list) {
+			this.output.writeByte(LIST_TAG);
+			writeElements(list);
+		}
+		else if (value instanceof Set<?> set) {
+			this.output.writeByte(SET_TAG);
+			writeElements(set);
+		}
+		else if (value instanceof Map<?, ?> map) {
+			this.output.writeByte(MAP_TAG);
+			writeUnsigned(map.size());
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				writeValue(entry.getKey());
+				writeValue(entry.getValue());
+			}
+		}
+		else if (this.javaSerialization) {
+			this.output.writeByte(SERIALIZED_TAG);
+			writeBytes(javaSerialize(value));
+		}
+		else {
+			throw new NotSerializableException(value.getClass().getName());
+		}
+	}
+
+	void flush() throws IOException {
+		this.output.flush();
+	}
+
+	void writeUnsigned(long value) throws IOException {
+		long remaining = value;
+		while ((remaining & ~0x7FL) != 0) {
+			this.output.writeByte((int) ((remaining & 0x7F) | 0x80));
+			remaining >>>= 7;
+		}
+		this.output.writeByte((int) remaining);
+	}
+
+	private void writeString(String value) throws IOException {
+		Integer index = this.strings.get(value);
+		if (index != null) {
+			writeUnsigned(index + 1);
+			return;
+		}
+		this.strings.put(value, this.strings.size());
+		writeUnsigned(0);
+		writeBytes(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void writeBytes(byte[] bytes) throws IOException {
+		writeUnsigned(bytes.length);
+		this.output.write(bytes);
+	}
+
+	private void writeElements(Collection<?> elements) throws IOException {
+		writeUnsigned(elements.size());
+		for (Object element : elements) {
+			writeValue(element);
+		}
+	}
+
+	private static byte[] javaSerialize(Object value) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+		try (ObjectOutputStream objects = new ObjectOutputStream(bytes)) {
+			objects.writeObject(value);
+		}
+		return bytes.toByteArray();
+	}
+
+}
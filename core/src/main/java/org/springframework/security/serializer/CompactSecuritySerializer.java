@@ -0,0 +1,162 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.serializer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.core.serializer.Deserializer;
+import org.springframework.core.serializer.Serializer;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link Serializer} and {@link Deserializer} that writes a {@code SecurityContext},
+ * an {@code Authentication} or any other value with a {@link CompactCodec} in a compact,
+ * versioned binary form. It is typically used to store the {@code SecurityContext} in a
+ * replicated or remote {@code HttpSession}, where it is much smaller and faster to write
+ * than with Java serialization or Jackson.
+ *
+ * <pre>
+ *     CompactSecuritySerializer serializer = new CompactSecuritySerializer();
+ *     HttpSessionSecurityContextRepository repository = new HttpSessionSecurityContextRepository();
+ *     repository.setSecurityContextSerialization(serializer, serializer);
+ * </pre>
+ *
+ * <p>
+ * Values without a {@link CompactCodec}, such as custom principals or authentication
+ * details, cannot be serialized unless Java serialization is
+ * {@link #setJavaSerializationEnabled(boolean) enabled}, in which case an
+ * {@link #setObjectInputFilter(ObjectInputFilter) ObjectInputFilter} should restrict the
+ * classes that can be read.
+ *
+ * @since 7.0
+ * @see CompactCodecModules
+ */
+public final class CompactSecuritySerializer implements Serializer<Object>, Deserializer<Object> {
+
+	private static final int MAGIC = 0xC5;
+
+	private static final int VERSION = 1;
+
+	private final @Nullable ClassLoader classLoader;
+
+	private final Map<Class<?>, CompactCodec<?>> codecsByType;
+
+	private final Map<String, CompactCodec<?>> codecsByName;
+
+	private boolean javaSerializationEnabled;
+
+	private @Nullable ObjectInputFilter objectInputFilter;
+
+	/**
+	 * Create a {@link CompactSecuritySerializer} with the {@link CompactCodecModule}s
+	 * found by {@link CompactCodecModules#getModules(ClassLoader)}
+	 */
+	public CompactSecuritySerializer() {
+		this(CompactSecuritySerializer.class.getClassLoader());
+	}
+
+	/**
+	 * Create a {@link CompactSecuritySerializer} with the {@link CompactCodecModule}s
+	 * found by {@link CompactCodecModules#getModules(ClassLoader)}
+	 * @param classLoader the {@link ClassLoader} to find the modules and to resolve
+	 * classes written with Java serialization
+	 */
+	public CompactSecuritySerializer(ClassLoader classLoader) {
+		this(classLoader, CompactCodecModules.getModules(classLoader));
+	}
+
+	/**
+	 * Create a {@link CompactSecuritySerializer} with the given
+	 * {@link CompactCodecModule}s. When several modules have a {@link CompactCodec} for
+	 * the same type, the one of the last module is used.
+	 * @param classLoader the {@link ClassLoader} to resolve classes written with Java
+	 * serialization
+	 * @param modules the {@link CompactCodecModule}s
+	 */
+	public CompactSecuritySerializer(@Nullable ClassLoader classLoader, List<? extends CompactCodecModule> modules) {
+		Assert.notNull(modules, "modules cannot be null");
+		Map<Class<?>, CompactCodec<?>> codecsByType = new HashMap<>();
+		Map<String, CompactCodec<?>> codecsByName = new HashMap<>();
+		for (CompactCodecModule module : modules) {
+			for (CompactCodec<?> codec : module.getCodecs()) {
+				codecsByType.put(codec.getType(), codec);
+				codecsByName.put(codec.getType().getName(), codec);
+			}
+		}
+		this.classLoader = classLoader;
+		this.codecsByType = Collections.unmodifiableMap(codecsByType);
+		this.codecsByName = Collections.unmodifiableMap(codecsByName);
+	}
+
+	/**
+	 * Whether values without a {@link CompactCodec} are written and read with Java
+	 * serialization. When disabled, writing such a value fails with a
+	 * {@link java.io.NotSerializableException}, and reading one fails. Defaults to false.
+	 * @param javaSerializationEnabled whether to use Java serialization for values
+	 * without a {@link CompactCodec}
+	 */
+	public void setJavaSerializationEnabled(boolean javaSerializationEnabled) {
+		this.javaSerializationEnabled = javaSerializationEnabled;
+	}
+
+	/**
+	 * The {@link ObjectInputFilter} to apply when reading values with Java serialization,
+	 * for example one created with {@link ObjectInputFilter.Config#createFilter(String)}
+	 * that only allows the expected principal and details classes. Defaults to the
+	 * JVM-wide filter, if any.
+	 * @param objectInputFilter the filter to use, or {@code null} for the JVM-wide filter
+	 * @see #setJavaSerializationEnabled(boolean)
+	 */
+	public void setObjectInputFilter(@Nullable ObjectInputFilter objectInputFilter) {
+		this.objectInputFilter = objectInputFilter;
+	}
+
+	@Override
+	public void serialize(Object object, OutputStream outputStream) throws IOException {
+		outputStream.write(MAGIC);
+		outputStream.write(VERSION);
+		CompactOutput output = new CompactOutput(outputStream, this.codecsByType, this.javaSerializationEnabled);
+		output.writeValue(object);
+		output.flush();
+	}
+
+	@Override
+	public Object deserialize(InputStream inputStream) throws IOException {
+		int magic = inputStream.read();
+		int version = inputStream.read();
+		if (magic != MAGIC) {
+			throw new StreamCorruptedException("Not a compact serialized value");
+		}
+		if (version < 1 || version > VERSION) {
+			throw new StreamCorruptedException("Unsupported version " + version);
+		}
+		CompactInput input = new CompactInput(inputStream, version, this.codecsByName,
+				this.javaSerializationEnabled, this.objectInputFilter, this.classLoader);
+		return input.readValue(Object.class);
+	}
+
+}
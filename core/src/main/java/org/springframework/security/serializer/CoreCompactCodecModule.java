@@ -0,0 +1,183 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.serializer;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.RememberMeAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.FactorGrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * The {@link CompactCodecModule} for spring-security-core. This module has codecs for
+ * {@link SecurityContextImpl}, {@link UsernamePasswordAuthenticationToken},
+ * {@link AnonymousAuthenticationToken}, {@link RememberMeAuthenticationToken},
+ * {@link SimpleGrantedAuthority}, {@link FactorGrantedAuthority} and {@link User}.
+ *
+ * @since 7.0
+ * @see CompactCodecModules
+ */
+public final class CoreCompactCodecModule implements CompactCodecModule {
+
+	@Override
+	public Collection<CompactCodec<?>> getCodecs() {
+		return List.of(
+				CompactCodec.of(SecurityContextImpl.class, CoreCompactCodecModule::writeSecurityContext,
+						CoreCompactCodecModule::readSecurityContext),
+				CompactCodec.of(UsernamePasswordAuthenticationToken.class,
+						CoreCompactCodecModule::writeUsernamePassword, CoreCompactCodecModule::readUsernamePassword),
+				CompactCodec.of(AnonymousAuthenticationToken.class, CoreCompactCodecModule::writeAnonymous,
+						CoreCompactCodecModule::readAnonymous),
+				CompactCodec.of(RememberMeAuthenticationToken.class, CoreCompactCodecModule::writeRememberMe,
+						CoreCompactCodecModule::readRememberMe),
+				CompactCodec.of(SimpleGrantedAuthority.class, CoreCompactCodecModule::writeSimpleGrantedAuthority,
+						CoreCompactCodecModule::readSimpleGrantedAuthority),
+				CompactCodec.of(FactorGrantedAuthority.class, CoreCompactCodecModule::writeFactorGrantedAuthority,
+						CoreCompactCodecModule::readFactorGrantedAuthority),
+				CompactCodec.of(User.class, CoreCompactCodecModule::writeUser, CoreCompactCodecModule::readUser));
+	}
+
+	private static void writeSecurityContext(SecurityContextImpl context, CompactOutput output) throws IOException {
+		output.writeValue(context.getAuthentication());
+	}
+
+	private static SecurityContextImpl readSecurityContext(CompactInput input) throws IOException {
+		SecurityContextImpl context = new SecurityContextImpl();
+		context.setAuthentication(input.readNullableValue(Authentication.class));
+		return context;
+	}
+
+	private static void writeUsernamePassword(UsernamePasswordAuthenticationToken token, CompactOutput output)
+			throws IOException {
+		output.writeValue(token.getPrincipal());
+		output.writeValue(token.getCredentials());
+		output.writeAuthorities(token.getAuthorities());
+		output.writeValue(token.getDetails());
+		output.writeBoolean(token.isAuthenticated());
+	}
+
+	private static UsernamePasswordAuthenticationToken readUsernamePassword(CompactInput input) throws IOException {
+		Object principal = input.readValue();
+		Object credentials = input.readValue();
+		List<GrantedAuthority> authorities = input.readAuthorities();
+		Object details = input.readValue();
+		boolean authenticated = input.readBoolean();
+		return UsernamePasswordAuthenticationToken.unauthenticated(principal, credentials)
+			.toBuilder()
+			.authorities((a) -> a.addAll(authorities))
+			.details(details)
+			.authenticated(authenticated)
+			.build();
+	}
+
+	private static void writeAnonymous(AnonymousAuthenticationToken token, CompactOutput output) throws IOException {
+		output.writeInt(token.getKeyHash());
+		output.writeValue(token.getPrincipal());
+		output.writeAuthorities(token.getAuthorities());
+		output.writeValue(token.getDetails());
+		output.writeBoolean(token.isAuthenticated());
+	}
+
+	private static AnonymousAuthenticationToken readAnonymous(CompactInput input) throws IOException {
+		AnonymousAuthenticationToken token = withKeyHash(AnonymousAuthenticationToken.class, input.readInt(),
+				input.readValue(Object.class), input.readAuthorities());
+		token.setDetails(input.readValue());
+		token.setAuthenticated(input.readBoolean());
+		return token;
+	}
+
+	private static void writeRememberMe(RememberMeAuthenticationToken token, CompactOutput output)
+			throws IOException {
+		output.writeInt(token.getKeyHash());
+		output.writeValue(token.getPrincipal());
+		output.writeAuthorities(token.getAuthorities());
+		output.writeValue(token.getDetails());
+		output.writeBoolean(token.isAuthenticated());
+	}
+
+	private static RememberMeAuthenticationToken readRememberMe(CompactInput input) throws IOException {
+		RememberMeAuthenticationToken token = withKeyHash(RememberMeAuthenticationToken.class, input.readInt(),
+				input.readValue(Object.class), input.readAuthorities());
+		token.setDetails(input.readValue());
+		token.setAuthenticated(input.readBoolean());
+		return token;
+	}
+
+	private static void writeSimpleGrantedAuthority(SimpleGrantedAuthority authority, CompactOutput output)
+			throws IOException {
+		output.writeValue(authority.getAuthority());
+	}
+
+	private static SimpleGrantedAuthority readSimpleGrantedAuthority(CompactInput input) throws IOException {
+		return new SimpleGrantedAuthority(input.readValue(String.class));
+	}
+
+	private static void writeFactorGrantedAuthority(FactorGrantedAuthority authority, CompactOutput output)
+			throws IOException {
+		output.writeValue(authority.getAuthority());
+		output.writeInstant(authority.getIssuedAt());
+	}
+
+	private static FactorGrantedAuthority readFactorGrantedAuthority(CompactInput input) throws IOException {
+		return FactorGrantedAuthority.withAuthority(input.readValue(String.class))
+			.issuedAt(input.readInstant())
+			.build();
+	}
+
+	private static void writeUser(User user, CompactOutput output) throws IOException {
+		output.writeValue(user.getUsername());
+		output.writeValue(user.getPassword());
+		output.writeBoolean(user.isEnabled());
+		output.writeBoolean(user.isAccountNonExpired());
+		output.writeBoolean(user.isCredentialsNonExpired());
+		output.writeBoolean(user.isAccountNonLocked());
+		output.writeAuthorities(user.getAuthorities());
+	}
+
+	private static User readUser(CompactInput input) throws IOException {
+		return new User(input.readValue(String.class), input.readNullableValue(String.class), input.readBoolean(),
+				input.readBoolean(), input.readBoolean(), input.readBoolean(), input.readAuthorities());
+	}
+
+	/**
+	 * Create a token with the private constructor taking the hash of the key, as used by
+	 * the Jackson mixins
+	 */
+	private static <T> T withKeyHash(Class<T> type, int keyHash, Object principal,
+			Collection<GrantedAuthority> authorities) {
+		try {
+			Constructor<T> constructor = ReflectionUtils.accessibleConstructor(type, Integer.class, Object.class,
+					Collection.class);
+			return BeanUtils.instantiateClass(constructor, keyHash, principal, authorities);
+		}
+		catch (NoSuchMethodException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.serializer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The strings that every {@link CompactOutput} and {@link CompactInput} start with in
+ * their interning table, so that well-known type names, authorities and claim names are
+ * written as a single byte. Strings can only ever be appended to this table, since their
+ * position is part of the serialized form.
+ */
+final class WellKnownStrings {
+
+	static final List<String> STRINGS = List.of(
+			// types
+			"org.springframework.security.core.context.SecurityContextImpl",
+			"org.springframework.security.authentication.UsernamePasswordAuthenticationToken",
+			"org.springframework.security.authentication.AnonymousAuthenticationToken",
+			"org.springframework.security.authentication.RememberMeAuthenticationToken",
+			"org.springframework.security.core.authority.SimpleGrantedAuthority",
+			"org.springframework.security.core.authority.FactorGrantedAuthority",
+			"org.springframework.security.core.userdetails.User",
+			"org.springframework.security.web.authentication.WebAuthenticationDetails",
+			"org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken",
+			"org.springframework.security.oauth2.core.user.DefaultOAuth2User",
+			"org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser",
+			"org.springframework.security.oauth2.core.user.OAuth2UserAuthority",
+			"org.springframework.security.oauth2.core.oidc.user.OidcUserAuthority",
+			"org.springframework.security.oauth2.core.oidc.OidcIdToken",
+			"org.springframework.security.oauth2.core.oidc.OidcUserInfo",
+			"org.springframework.security.saml2.provider.service.authentication.Saml2Authentication",
+			"org.springframework.security.saml2.provider.service.authentication.Saml2AssertionAuthentication",
+			"org.springframework.security.saml2.provider.service.authentication.Saml2ResponseAssertion",
+			"org.springframework.security.saml2.provider.service.authentication.DefaultSaml2AuthenticatedPrincipal",
+			"org.springframework.security.cas.authentication.CasAuthenticationToken",
+			// authorities
+			"ROLE_USER", "ROLE_ADMIN", "ROLE_ANONYMOUS", "FACTOR_AUTHORIZATION_CODE", "FACTOR_BEARER", "FACTOR_CAS",
+			"FACTOR_OTT", "FACTOR_PASSWORD", "FACTOR_SAML_RESPONSE", "FACTOR_WEBAUTHN", "FACTOR_X509", "OAUTH2_USER",
+			"OIDC_USER", "SCOPE_openid", "SCOPE_profile", "SCOPE_email", "anonymousUser",
+			// claims
+			"iss", "sub", "aud", "exp", "nbf", "iat", "jti", "auth_time", "nonce", "acr", "amr", "azp", "at_hash",
+			"c_hash", "sid", "name", "given_name", "family_name", "preferred_username", "email", "email_verified",
+			"picture", "locale", "zoneinfo", "updated_at", "id", "login");
+
+	static final Map<String, Integer> INDEXES;
+
+	static {
+		Map<String, Integer> indexes = new HashMap<>();
+		for (int i = 0; i < STRINGS.size(); i++) {
+			indexes.put(STRINGS.get(i), i);
+		}
+		INDEXES = indexes;
+	}
+
+	private WellKnownStrings() {
+	}
+
+}
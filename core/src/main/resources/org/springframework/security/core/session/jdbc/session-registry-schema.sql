@@ -0,0 +1,7 @@
+create table session_registry(
+    session_id       varchar(100) not null primary key,
+    principal_name   varchar(200) not null,
+    last_access_time timestamp    not null,
+    expired          boolean      not null
+);
+create index session_registry_principal_name_idx on session_registry (principal_name);
@@ -17,6 +17,7 @@
 package org.springframework.security.access.hierarchicalroles;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -310,4 +311,55 @@ public class RoleHierarchyImplTests {
 			.isThrownBy(() -> RoleHierarchyImpl.withDefaultRolePrefix().role("A").implies());
 	}
 
+	@Test
+	public void testBuilderThrowIllegalArgumentExceptionWhenCacheSizeNotPositive() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> RoleHierarchyImpl.withDefaultRolePrefix().cacheReachableAuthorities(0));
+	}
+
+	@Test
+	public void testBuilderWithCacheReachableAuthoritiesThenSameAsUncached() {
+		RoleHierarchyImpl cached = RoleHierarchyImpl.withDefaultRolePrefix()
+			.role("A")
+			.implies("B", "C")
+			.role("B")
+			.implies("D")
+			.role("C")
+			.implies("D", "E")
+			.cacheReachableAuthorities(2)
+			.build();
+		RoleHierarchyImpl uncached = RoleHierarchyImpl.withDefaultRolePrefix()
+			.role("A")
+			.implies("B", "C")
+			.role("B")
+			.implies("D")
+			.role("C")
+			.implies("D", "E")
+			.build();
+		List<List<GrantedAuthority>> inputs = List.of(AuthorityUtils.createAuthorityList("ROLE_A"),
+				AuthorityUtils.createAuthorityList("ROLE_B", "ROLE_C"),
+				AuthorityUtils.createAuthorityList("ROLE_D", "ROLE_OTHER", "ROLE_OTHER"),
+				AuthorityUtils.createAuthorityList("ROLE_E", "ROLE_A"), AuthorityUtils.createAuthorityList("ROLE_A"));
+		for (List<GrantedAuthority> authorities : inputs) {
+			assertThat(cached.getReachableGrantedAuthorities(authorities))
+				.containsExactlyInAnyOrderElementsOf(uncached.getReachableGrantedAuthorities(authorities));
+		}
+	}
+
+	@Test
+	public void testBuilderWithCacheReachableAuthoritiesThenCachedAndUnmodifiable() {
+		RoleHierarchyImpl roleHierarchyImpl = RoleHierarchyImpl.withDefaultRolePrefix()
+			.role("A")
+			.implies("B")
+			.cacheReachableAuthorities(10)
+			.build();
+		Collection<? extends GrantedAuthority> reachable = roleHierarchyImpl
+			.getReachableGrantedAuthorities(AuthorityUtils.createAuthorityList("ROLE_A"));
+		assertThat(roleHierarchyImpl.getReachableGrantedAuthorities(AuthorityUtils.createAuthorityList("ROLE_A")))
+			.isSameAs(reachable);
+		assertThat(reachable)
+			.containsExactlyInAnyOrderElementsOf(AuthorityUtils.createAuthorityList("ROLE_A", "ROLE_B"));
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(reachable::clear);
+	}
+
 }
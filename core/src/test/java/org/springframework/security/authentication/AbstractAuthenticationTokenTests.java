@@ -16,7 +16,9 @@
 
 package org.springframework.security.authentication;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -56,6 +58,27 @@ public class AbstractAuthenticationTokenTests {
 			.isThrownBy(() -> gotAuthorities.set(0, new SimpleGrantedAuthority("ROLE_SUPER_USER")));
 	}
 
+	@Test
+	public void getAuthorityNamesThenImmutableAndComputedOnce() {
+		MockAuthenticationImpl token = new MockAuthenticationImpl("Test", "Password", this.authorities);
+		Set<String> authorityNames = token.getAuthorityNames();
+		assertThat(authorityNames).containsExactlyInAnyOrder("ROLE_ONE", "ROLE_TWO");
+		assertThat(token.getAuthorityNames()).isSameAs(authorityNames);
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+			.isThrownBy(() -> authorityNames.add("ROLE_SUPER_USER"));
+	}
+
+	@Test
+	public void getAuthorityNamesWhenGetAuthoritiesOverriddenThenUsesOverride() {
+		MockAuthenticationImpl token = new MockAuthenticationImpl("Test", "Password", this.authorities) {
+			@Override
+			public Collection<GrantedAuthority> getAuthorities() {
+				return AuthorityUtils.createAuthorityList("ROLE_THREE");
+			}
+		};
+		assertThat(token.getAuthorityNames()).containsExactly("ROLE_THREE");
+	}
+
 	@Test
 	public void testGetters() {
 		MockAuthenticationImpl token = new MockAuthenticationImpl("Test", "Password", this.authorities);
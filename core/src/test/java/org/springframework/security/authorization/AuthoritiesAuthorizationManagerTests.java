@@ -27,9 +27,12 @@ import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
 import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 
 /**
  * Tests for {@link AuthoritiesAuthorizationManager}.
@@ -73,6 +76,14 @@ class AuthoritiesAuthorizationManagerTests {
 		assertThat(manager.authorize(authentication, Arrays.asList("ADMIN", "USER")).isGranted()).isFalse();
 	}
 
+	@Test
+	void checkWhenNotAbstractAuthenticationTokenThenScansAuthorities() {
+		AuthoritiesAuthorizationManager manager = new AuthoritiesAuthorizationManager();
+		Authentication authentication = mock(Authentication.class);
+		given(authentication.getAuthorities()).willAnswer((invocation) -> AuthorityUtils.createAuthorityList("USER"));
+		assertThat(manager.authorize(() -> authentication, Arrays.asList("ADMIN", "USER")).isGranted()).isTrue();
+	}
+
 	@Test
 	void checkWhenRoleHierarchySetThenGreaterRoleTakesPrecedence() {
 		AuthoritiesAuthorizationManager manager = new AuthoritiesAuthorizationManager();
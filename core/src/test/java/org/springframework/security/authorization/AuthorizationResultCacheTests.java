@@ -0,0 +1,122 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authorization;
+
+import java.util.List;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.method.MockMethodInvocation;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link AuthorizationResultCache}.
+ */
+public class AuthorizationResultCacheTests {
+
+	private final RoleHierarchy roleHierarchy = mock(RoleHierarchy.class);
+
+	private final Authentication user = new TestingAuthenticationToken("user", "password", "ROLE_USER");
+
+	@BeforeEach
+	public void setup() {
+		given(this.roleHierarchy.getReachableGrantedAuthorities(any()))
+			.willAnswer((invocation) -> invocation.getArgument(0));
+	}
+
+	@AfterEach
+	public void cleanup() {
+		AuthorizationResultCache.setCurrent(null);
+	}
+
+	@Test
+	public void authorizeWhenNoCacheBoundThenCheckedEveryTime() {
+		AuthorityAuthorizationManager<Object> manager = hasRole("USER");
+		manager.authorize(() -> this.user, new Object());
+		manager.authorize(() -> this.user, new Object());
+		verify(this.roleHierarchy, times(2)).getReachableGrantedAuthorities(any());
+	}
+
+	@Test
+	public void authorizeWhenCacheBoundAndSameDecisionInputsThenCheckedOnce() {
+		AuthorizationResultCache.setCurrent(new AuthorizationResultCache());
+		AuthorizationResult granted = hasRole("USER").authorize(() -> this.user, new Object());
+		assertThat(granted.isGranted()).isTrue();
+		assertThat(hasRole("USER").authorize(() -> this.user, new Object())).isSameAs(granted);
+		AuthoritiesAuthorizationManager authorities = new AuthoritiesAuthorizationManager();
+		authorities.setRoleHierarchy(this.roleHierarchy);
+		assertThat(authorities.authorize(() -> this.user, List.of("ROLE_USER"))).isSameAs(granted);
+		verify(this.roleHierarchy).getReachableGrantedAuthorities(any());
+	}
+
+	@Test
+	public void authorizeWhenCacheBoundAndDifferentDecisionInputsThenCheckedAgain() {
+		AuthorizationResultCache.setCurrent(new AuthorizationResultCache());
+		assertThat(hasRole("USER").authorize(() -> this.user, new Object()).isGranted()).isTrue();
+		assertThat(hasRole("ADMIN").authorize(() -> this.user, new Object()).isGranted()).isFalse();
+		Authentication other = new TestingAuthenticationToken("other", "password", "ROLE_OTHER");
+		assertThat(hasRole("USER").authorize(() -> other, new Object()).isGranted()).isFalse();
+		AuthorityAuthorizationManager<Object> otherHierarchy = AuthorityAuthorizationManager.hasRole("USER");
+		assertThat(otherHierarchy.authorize(() -> this.user, new Object()).isGranted()).isTrue();
+		verify(this.roleHierarchy, times(3)).getReachableGrantedAuthorities(any());
+	}
+
+	@Test
+	public void authorizeWhenPreAuthorizeHasRoleAfterRequestCheckThenCached() throws Exception {
+		AuthorizationResultCache.setCurrent(new AuthorizationResultCache());
+		hasRole("USER").authorize(() -> this.user, new Object());
+		DefaultAuthorizationManagerFactory<MethodInvocation> factory = new DefaultAuthorizationManagerFactory<>();
+		factory.setRoleHierarchy(this.roleHierarchy);
+		DefaultMethodSecurityExpressionHandler expressionHandler = new DefaultMethodSecurityExpressionHandler();
+		expressionHandler.setAuthorizationManagerFactory(factory);
+		PreAuthorizeAuthorizationManager preAuthorize = new PreAuthorizeAuthorizationManager();
+		preAuthorize.setExpressionHandler(expressionHandler);
+		MockMethodInvocation invocation = new MockMethodInvocation(new Service(), Service.class, "user");
+		assertThat(preAuthorize.authorize(() -> this.user, invocation).isGranted()).isTrue();
+		verify(this.roleHierarchy).getReachableGrantedAuthorities(any());
+	}
+
+	private AuthorityAuthorizationManager<Object> hasRole(String role) {
+		AuthorityAuthorizationManager<Object> manager = AuthorityAuthorizationManager.hasRole(role);
+		manager.setRoleHierarchy(this.roleHierarchy);
+		return manager;
+	}
+
+	public static class Service {
+
+		@PreAuthorize("hasRole('USER')")
+		public void user() {
+		}
+
+	}
+
+}
@@ -89,6 +89,22 @@ public class PreAuthorizeAuthorizationManagerTests {
 		assertThat(decision.isGranted()).isFalse();
 	}
 
+	@Test
+	public void checkDoSomethingStringWhenCompileExpressionsThenSameDecisions() throws Exception {
+		DefaultMethodSecurityExpressionHandler expressionHandler = new DefaultMethodSecurityExpressionHandler();
+		expressionHandler.setCompileExpressions(true);
+		PreAuthorizeAuthorizationManager manager = new PreAuthorizeAuthorizationManager();
+		manager.setExpressionHandler(expressionHandler);
+		for (int i = 0; i < 200; i++) {
+			MockMethodInvocation grant = new MockMethodInvocation(new TestClass(), TestClass.class,
+					"doSomethingString", new Class[] { String.class }, new Object[] { "grant" });
+			MockMethodInvocation deny = new MockMethodInvocation(new TestClass(), TestClass.class,
+					"doSomethingString", new Class[] { String.class }, new Object[] { "deny" });
+			assertThat(manager.authorize(TestAuthentication::authenticatedUser, grant).isGranted()).isTrue();
+			assertThat(manager.authorize(TestAuthentication::authenticatedUser, deny).isGranted()).isFalse();
+		}
+	}
+
 	@Test
 	public void checkRequiresAdminWhenClassAnnotationsThenMethodAnnotationsTakePrecedence() throws Exception {
 		Supplier<Authentication> authentication = () -> new TestingAuthenticationToken("user", "password", "ROLE_USER");
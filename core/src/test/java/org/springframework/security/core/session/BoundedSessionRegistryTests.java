@@ -0,0 +1,238 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.core.context.SecurityContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link BoundedSessionRegistry}
+ */
+public class BoundedSessionRegistryTests {
+
+	private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+	private BoundedSessionRegistry sessionRegistry;
+
+	@BeforeEach
+	public void setUp() {
+		this.sessionRegistry = new BoundedSessionRegistry(3);
+		this.sessionRegistry.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+	}
+
+	@AfterEach
+	public void cleanup() {
+		this.sessionRegistry.destroy();
+	}
+
+	@Test
+	public void constructorWhenCapacityNotPositiveThenIllegalArgument() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new BoundedSessionRegistry(0));
+	}
+
+	@Test
+	public void registerNewSessionThenIndexedByPrincipal() {
+		this.sessionRegistry.registerNewSession("1", "user");
+		this.sessionRegistry.registerNewSession("2", "user");
+		this.sessionRegistry.registerNewSession("3", "admin");
+		assertThat(this.sessionRegistry.getAllPrincipals()).containsExactlyInAnyOrder("user", "admin");
+		assertThat(this.sessionRegistry.getAllSessions("user", false)).extracting(SessionInformation::getSessionId)
+			.containsExactly("1", "2");
+		assertThat(this.sessionRegistry.getSessionCount("user", false)).isEqualTo(2);
+		assertThat(this.sessionRegistry.getSessionCount()).isEqualTo(3);
+		assertThat(this.sessionRegistry.getPrincipalCount()).isEqualTo(2);
+		assertThat(this.sessionRegistry.getSessionInformation("3").getLastRequest().toInstant()).isEqualTo(NOW);
+	}
+
+	@Test
+	public void registerNewSessionWhenSameSessionIdThenReplaced() {
+		this.sessionRegistry.registerNewSession("1", "user");
+		this.sessionRegistry.registerNewSession("1", "admin");
+		assertThat(this.sessionRegistry.getAllPrincipals()).containsExactly("admin");
+		assertThat(this.sessionRegistry.getSessionCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void registerNewSessionWhenRemovedConcurrentlyThenNotLeftBehind() throws InterruptedException {
+		BoundedSessionRegistry sessionRegistry = new BoundedSessionRegistry(100);
+		Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < 10000; j++) {
+					String sessionId = String.valueOf(j % 4);
+					sessionRegistry.registerNewSession(sessionId, "user");
+					sessionRegistry.removeSessionInformation(sessionId);
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertThat(sessionRegistry.getAllPrincipals()).isEmpty();
+		assertThat(sessionRegistry.getSessionCount("user", true)).isZero();
+		assertThat(sessionRegistry.getSessionCount()).isZero();
+	}
+
+	@Test
+	public void getSessionCountWhenExpiredThenOnlyCountedWhenIncluded() {
+		this.sessionRegistry.registerNewSession("1", "user");
+		this.sessionRegistry.registerNewSession("2", "user");
+		this.sessionRegistry.getSessionInformation("1").expireNow();
+		assertThat(this.sessionRegistry.getSessionCount("user", false)).isEqualTo(1);
+		assertThat(this.sessionRegistry.getSessionCount("user", true)).isEqualTo(2);
+		assertThat(this.sessionRegistry.getAllSessions("user", false)).hasSize(1);
+		assertThat(this.sessionRegistry.getAllSessions("user", true)).hasSize(2);
+		assertThat(this.sessionRegistry.getSessionCount("unknown", true)).isZero();
+		assertThat(this.sessionRegistry.getAllSessions("unknown", true)).isEmpty();
+	}
+
+	@Test
+	public void removeSessionInformationWhenLastSessionThenPrincipalRemoved() {
+		this.sessionRegistry.registerNewSession("1", "user");
+		this.sessionRegistry.registerNewSession("2", "user");
+		this.sessionRegistry.removeSessionInformation("1");
+		assertThat(this.sessionRegistry.getAllSessions("user", true)).extracting(SessionInformation::getSessionId)
+			.containsExactly("2");
+		this.sessionRegistry.removeSessionInformation("2");
+		this.sessionRegistry.removeSessionInformation("2");
+		assertThat(this.sessionRegistry.getAllPrincipals()).isEmpty();
+		assertThat(this.sessionRegistry.getSessionCount()).isZero();
+	}
+
+	@Test
+	public void onApplicationEventWhenSessionDestroyedThenRemoved() {
+		this.sessionRegistry.registerNewSession("1", "user");
+		this.sessionRegistry.onApplicationEvent(new SessionDestroyedEvent("") {
+			@Override
+			public String getId() {
+				return "1";
+			}
+
+			@Override
+			public List<SecurityContext> getSecurityContexts() {
+				return null;
+			}
+		});
+		assertThat(this.sessionRegistry.getSessionInformation("1")).isNull();
+		assertThat(this.sessionRegistry.getAllPrincipals()).isEmpty();
+	}
+
+	@Test
+	public void onApplicationEventWhenSessionIdChangedThenReregistered() {
+		this.sessionRegistry.registerNewSession("1", "user");
+		this.sessionRegistry.onApplicationEvent(new SessionIdChangedEvent("") {
+			@Override
+			public String getOldSessionId() {
+				return "1";
+			}
+
+			@Override
+			public String getNewSessionId() {
+				return "2";
+			}
+		});
+		assertThat(this.sessionRegistry.getSessionInformation("1")).isNull();
+		assertThat(this.sessionRegistry.getSessionInformation("2").getPrincipal()).isEqualTo("user");
+		assertThat(this.sessionRegistry.getSessionCount("user", true)).isEqualTo(1);
+	}
+
+	@Test
+	public void registerNewSessionWhenCapacityExceededThenIllegalState() {
+		this.sessionRegistry.registerNewSession("1", "user");
+		this.sessionRegistry.registerNewSession("2", "user");
+		this.sessionRegistry.registerNewSession("3", "user");
+		assertThatIllegalStateException().isThrownBy(() -> this.sessionRegistry.registerNewSession("4", "user"));
+		assertThat(this.sessionRegistry.getSessionInformation("4")).isNull();
+		assertThat(this.sessionRegistry.getSessionCount()).isEqualTo(3);
+	}
+
+	@Test
+	public void registerNewSessionWhenCapacityExceededAndInactiveSessionsThenInactiveRemoved() {
+		this.sessionRegistry.setMaxInactiveInterval(Duration.ofMinutes(30));
+		this.sessionRegistry.registerNewSession("1", "user");
+		this.sessionRegistry.registerNewSession("2", "user");
+		this.sessionRegistry.setClock(Clock.fixed(NOW.plus(Duration.ofMinutes(20)), ZoneOffset.UTC));
+		this.sessionRegistry.registerNewSession("3", "user");
+		this.sessionRegistry.setClock(Clock.fixed(NOW.plus(Duration.ofMinutes(40)), ZoneOffset.UTC));
+		this.sessionRegistry.registerNewSession("4", "user");
+		assertThat(this.sessionRegistry.getAllSessions("user", true)).extracting(SessionInformation::getSessionId)
+			.containsExactly("3", "4");
+	}
+
+	@Test
+	public void registerNewSessionWhenCapacityExceededWithinMinCleanupIntervalThenNotCleanedUp() {
+		this.sessionRegistry.setMaxInactiveInterval(Duration.ofMinutes(30));
+		this.sessionRegistry.registerNewSession("1", "user");
+		this.sessionRegistry.registerNewSession("2", "user");
+		this.sessionRegistry.registerNewSession("3", "user");
+		assertThatIllegalStateException().isThrownBy(() -> this.sessionRegistry.registerNewSession("4", "user"));
+		this.sessionRegistry.setClock(Clock.fixed(NOW.plus(Duration.ofMinutes(40)), ZoneOffset.UTC));
+		this.sessionRegistry.setMinCleanupInterval(Duration.ofHours(1));
+		assertThatIllegalStateException().isThrownBy(() -> this.sessionRegistry.registerNewSession("4", "user"));
+		assertThat(this.sessionRegistry.getSessionCount()).isEqualTo(3);
+		this.sessionRegistry.setMinCleanupInterval(Duration.ofSeconds(10));
+		this.sessionRegistry.registerNewSession("4", "user");
+		assertThat(this.sessionRegistry.getAllSessions("user", true)).extracting(SessionInformation::getSessionId)
+			.containsExactly("4");
+	}
+
+	@Test
+	public void setMinCleanupIntervalWhenNegativeThenIllegalArgument() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> this.sessionRegistry.setMinCleanupInterval(Duration.ofSeconds(-1)));
+	}
+
+	@Test
+	public void cleanupInactiveSessionsWhenNoMaxInactiveIntervalThenNothingRemoved() {
+		this.sessionRegistry.registerNewSession("1", "user");
+		this.sessionRegistry.setClock(Clock.fixed(NOW.plus(Duration.ofDays(365)), ZoneOffset.UTC));
+		assertThat(this.sessionRegistry.cleanupInactiveSessions()).isZero();
+		assertThat(this.sessionRegistry.getSessionInformation("1")).isNotNull();
+	}
+
+	@Test
+	public void cleanupInactiveSessionsThenInactiveRemovedAndDurationRecorded() {
+		this.sessionRegistry.setMaxInactiveInterval(Duration.ofMinutes(30));
+		this.sessionRegistry.registerNewSession("1", "user");
+		this.sessionRegistry.registerNewSession("2", "admin");
+		this.sessionRegistry.setClock(Clock.fixed(NOW.plus(Duration.ofMinutes(31)), ZoneOffset.UTC));
+		this.sessionRegistry.registerNewSession("3", "admin");
+		assertThat(this.sessionRegistry.cleanupInactiveSessions()).isEqualTo(2);
+		assertThat(this.sessionRegistry.getAllPrincipals()).containsExactly("admin");
+		assertThat(this.sessionRegistry.getLastCleanupDuration()).isGreaterThanOrEqualTo(Duration.ZERO);
+	}
+
+	@Test
+	public void setCleanupCronWhenEmptyThenIllegalArgument() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.sessionRegistry.setCleanupCron(""));
+	}
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link JdbcReactiveSessionRegistry}
+ */
+public class JdbcReactiveSessionRegistryTests {
+
+	private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+	private EmbeddedDatabase db;
+
+	private JdbcOperations jdbcOperations;
+
+	private JdbcReactiveSessionRegistry sessionRegistry;
+
+	@BeforeEach
+	public void setUp() {
+		this.db = JdbcSessionRegistryTests.createDb();
+		this.jdbcOperations = new JdbcTemplate(this.db);
+		this.sessionRegistry = new JdbcReactiveSessionRegistry(this.jdbcOperations);
+		this.sessionRegistry.setFlushInterval(Duration.ofHours(1));
+		this.sessionRegistry.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.sessionRegistry.destroy();
+		this.db.shutdown();
+	}
+
+	@Test
+	public void saveSessionInformationThenFoundByPrincipal() {
+		save("1", "user");
+		save("2", "user");
+		save("3", "admin");
+		StepVerifier.create(this.sessionRegistry.getAllSessions("user").map(ReactiveSessionInformation::getSessionId))
+			.expectNextCount(2)
+			.verifyComplete();
+		ReactiveSessionInformation information = this.sessionRegistry.getSessionInformation("3").block();
+		assertThat(information.getPrincipal()).isEqualTo("admin");
+		assertThat(information.getLastAccessTime()).isEqualTo(NOW);
+	}
+
+	@Test
+	public void invalidateThenPersisted() {
+		save("1", "user");
+		this.sessionRegistry.getSessionInformation("1").flatMap(ReactiveSessionInformation::invalidate).block();
+		assertThat(this.sessionRegistry.getSessionInformation("1").block().isExpired()).isTrue();
+	}
+
+	@Test
+	public void removeSessionInformationThenRemovedAndReturned() {
+		save("1", "user");
+		assertThat(this.sessionRegistry.removeSessionInformation("1").block().getSessionId()).isEqualTo("1");
+		StepVerifier.create(this.sessionRegistry.getSessionInformation("1")).verifyComplete();
+		StepVerifier.create(this.sessionRegistry.removeSessionInformation("1")).verifyComplete();
+	}
+
+	@Test
+	public void updateLastAccessTimeThenCoalescedUntilFlush() {
+		save("1", "user");
+		Instant later = NOW.plus(Duration.ofMinutes(5));
+		this.sessionRegistry.setClock(Clock.fixed(later, ZoneOffset.UTC));
+		StepVerifier.create(this.sessionRegistry.updateLastAccessTime("1")).verifyComplete();
+		assertThat(storedLastAccessTime("1")).isEqualTo(NOW);
+		assertThat(this.sessionRegistry.getSessionInformation("1").block().getLastAccessTime()).isEqualTo(later);
+		this.sessionRegistry.flush().block();
+		assertThat(storedLastAccessTime("1")).isEqualTo(later);
+		StepVerifier.create(this.sessionRegistry.updateLastAccessTime("unknown")).verifyComplete();
+	}
+
+	private void save(String sessionId, Object principal) {
+		this.sessionRegistry.saveSessionInformation(new ReactiveSessionInformation(principal, sessionId, NOW)).block();
+	}
+
+	private Instant storedLastAccessTime(String sessionId) {
+		return this.jdbcOperations
+			.queryForObject("SELECT last_access_time FROM session_registry WHERE session_id = ?", Timestamp.class,
+					sessionId)
+			.toInstant();
+	}
+
+}
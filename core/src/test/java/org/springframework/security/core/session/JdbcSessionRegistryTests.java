@@ -0,0 +1,185 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.userdetails.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link JdbcSessionRegistry}
+ */
+public class JdbcSessionRegistryTests {
+
+	private static final String SESSION_REGISTRY_SQL_RESOURCE = "org/springframework/security/core/session/jdbc/session-registry-schema.sql";
+
+	private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+	private EmbeddedDatabase db;
+
+	private JdbcOperations jdbcOperations;
+
+	private JdbcSessionRegistry sessionRegistry;
+
+	@BeforeEach
+	public void setUp() {
+		this.db = createDb();
+		this.jdbcOperations = new JdbcTemplate(this.db);
+		this.sessionRegistry = new JdbcSessionRegistry(this.jdbcOperations);
+		this.sessionRegistry.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.sessionRegistry.destroy();
+		this.db.shutdown();
+	}
+
+	static EmbeddedDatabase createDb() {
+		// @formatter:off
+		return new EmbeddedDatabaseBuilder()
+				.generateUniqueName(true)
+				.setType(EmbeddedDatabaseType.HSQL)
+				.setScriptEncoding("UTF-8")
+				.addScript(SESSION_REGISTRY_SQL_RESOURCE)
+				.build();
+		// @formatter:on
+	}
+
+	@Test
+	public void constructorWhenJdbcOperationsIsNullThenIllegalArgument() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new JdbcSessionRegistry(null))
+			.withMessage("jdbcOperations cannot be null");
+	}
+
+	@Test
+	public void registerNewSessionThenStoredByPrincipalName() {
+		this.sessionRegistry.registerNewSession("1", User.withUsername("user").password("password").build());
+		this.sessionRegistry.registerNewSession("2", "user");
+		this.sessionRegistry.registerNewSession("3", "admin");
+		assertThat(this.sessionRegistry.getAllPrincipals()).containsExactlyInAnyOrder("user", "admin");
+		assertThat(this.sessionRegistry.getAllSessions("user", false)).extracting(SessionInformation::getSessionId)
+			.containsExactlyInAnyOrder("1", "2");
+		assertThat(this.sessionRegistry.getSessionCount("user", false)).isEqualTo(2);
+		SessionInformation information = this.sessionRegistry.getSessionInformation("3");
+		assertThat(information.getPrincipal()).isEqualTo("admin");
+		assertThat(information.getLastRequest().toInstant()).isEqualTo(NOW);
+	}
+
+	@Test
+	public void expireNowThenPersisted() {
+		this.sessionRegistry.registerNewSession("1", "user");
+		this.sessionRegistry.registerNewSession("2", "user");
+		this.sessionRegistry.getAllSessions("user", false).get(0).expireNow();
+		assertThat(this.sessionRegistry.getAllSessions("user", false)).hasSize(1);
+		assertThat(this.sessionRegistry.getAllSessions("user", true)).hasSize(2);
+		assertThat(this.sessionRegistry.getSessionCount("user", false)).isEqualTo(1);
+		assertThat(this.sessionRegistry.getSessionCount("user", true)).isEqualTo(2);
+	}
+
+	@Test
+	public void refreshLastRequestThenCoalescedUntilFlush() {
+		this.sessionRegistry.setFlushInterval(Duration.ofHours(1));
+		this.sessionRegistry.registerNewSession("1", "user");
+		Instant later = NOW.plus(Duration.ofMinutes(5));
+		this.sessionRegistry.setClock(Clock.fixed(later, ZoneOffset.UTC));
+		this.sessionRegistry.refreshLastRequest("1");
+		assertThat(this.sessionRegistry.getSessionInformation("1").getLastRequest().toInstant()).isEqualTo(later);
+		assertThat(storedLastAccessTime("1")).isEqualTo(NOW);
+		this.sessionRegistry.flush();
+		assertThat(storedLastAccessTime("1")).isEqualTo(later);
+	}
+
+	@Test
+	public void refreshLastRequestWhenNoFlushIntervalThenWrittenImmediately() {
+		this.sessionRegistry.setFlushInterval(Duration.ZERO);
+		this.sessionRegistry.registerNewSession("1", "user");
+		Instant later = NOW.plus(Duration.ofMinutes(5));
+		this.sessionRegistry.setClock(Clock.fixed(later, ZoneOffset.UTC));
+		this.sessionRegistry.refreshLastRequest("1");
+		assertThat(storedLastAccessTime("1")).isEqualTo(later);
+	}
+
+	@Test
+	public void onApplicationEventWhenSessionDestroyedThenRemoved() {
+		this.sessionRegistry.registerNewSession("1", "user");
+		this.sessionRegistry.onApplicationEvent(new SessionDestroyedEvent("") {
+			@Override
+			public String getId() {
+				return "1";
+			}
+
+			@Override
+			public List<SecurityContext> getSecurityContexts() {
+				return null;
+			}
+		});
+		assertThat(this.sessionRegistry.getSessionInformation("1")).isNull();
+		assertThat(this.sessionRegistry.getAllPrincipals()).isEmpty();
+	}
+
+	@Test
+	public void onApplicationEventWhenSessionIdChangedThenMoved() {
+		this.sessionRegistry.registerNewSession("1", "user");
+		this.sessionRegistry.onApplicationEvent(new SessionIdChangedEvent("") {
+			@Override
+			public String getOldSessionId() {
+				return "1";
+			}
+
+			@Override
+			public String getNewSessionId() {
+				return "2";
+			}
+		});
+		assertThat(this.sessionRegistry.getSessionInformation("1")).isNull();
+		assertThat(this.sessionRegistry.getSessionInformation("2").getPrincipal()).isEqualTo("user");
+	}
+
+	@Test
+	public void registerNewSessionWhenSameSessionIdThenReplaced() {
+		this.sessionRegistry.registerNewSession("1", "user");
+		this.sessionRegistry.registerNewSession("1", "admin");
+		assertThat(this.sessionRegistry.getAllPrincipals()).containsExactly("admin");
+	}
+
+	private Instant storedLastAccessTime(String sessionId) {
+		return this.jdbcOperations
+			.queryForObject("SELECT last_access_time FROM session_registry WHERE session_id = ?",
+					Timestamp.class, sessionId)
+			.toInstant();
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.jackson;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.DatabindContext;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.jsontype.PolymorphicTypeValidator;
+import tools.jackson.databind.jsontype.PolymorphicTypeValidator.Validity;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link CachingPolymorphicTypeValidator}
+ */
+public class CachingPolymorphicTypeValidatorTests {
+
+	private final JsonMapper mapper = JsonMapper.builder().build();
+
+	private final JavaType baseType = this.mapper.getTypeFactory().constructType(GrantedAuthority.class);
+
+	private final JavaType subType = this.mapper.getTypeFactory().constructType(SimpleGrantedAuthority.class);
+
+	@Test
+	public void validateSubClassNameWhenAllowedThenDelegateConsultedOnce() {
+		PolymorphicTypeValidator delegate = mock(PolymorphicTypeValidator.class);
+		given(delegate.validateSubClassName(any(), any(), anyString())).willReturn(Validity.ALLOWED);
+		CachingPolymorphicTypeValidator validator = new CachingPolymorphicTypeValidator(delegate);
+		DatabindContext context = mock(DatabindContext.class);
+		String name = SimpleGrantedAuthority.class.getName();
+		assertThat(validator.validateSubClassName(context, this.baseType, name)).isEqualTo(Validity.ALLOWED);
+		assertThat(validator.validateSubClassName(context, this.baseType, name)).isEqualTo(Validity.ALLOWED);
+		verify(delegate).validateSubClassName(context, this.baseType, name);
+	}
+
+	@Test
+	public void validateSubClassNameWhenDeniedThenDelegateConsultedEachTime() {
+		PolymorphicTypeValidator delegate = mock(PolymorphicTypeValidator.class);
+		given(delegate.validateSubClassName(any(), any(), anyString())).willReturn(Validity.DENIED);
+		CachingPolymorphicTypeValidator validator = new CachingPolymorphicTypeValidator(delegate);
+		DatabindContext context = mock(DatabindContext.class);
+		assertThat(validator.validateSubClassName(context, this.baseType, "java.lang.Runtime"))
+			.isEqualTo(Validity.DENIED);
+		assertThat(validator.validateSubClassName(context, this.baseType, "java.lang.Runtime"))
+			.isEqualTo(Validity.DENIED);
+		verify(delegate, times(2)).validateSubClassName(context, this.baseType, "java.lang.Runtime");
+	}
+
+	@Test
+	public void validateSubTypeWhenIndeterminateThenNotCached() {
+		PolymorphicTypeValidator delegate = mock(PolymorphicTypeValidator.class);
+		given(delegate.validateSubType(any(), any(), any())).willReturn(Validity.INDETERMINATE, Validity.ALLOWED);
+		CachingPolymorphicTypeValidator validator = new CachingPolymorphicTypeValidator(delegate);
+		DatabindContext context = mock(DatabindContext.class);
+		assertThat(validator.validateSubType(context, this.baseType, this.subType)).isEqualTo(Validity.INDETERMINATE);
+		assertThat(validator.validateSubType(context, this.baseType, this.subType)).isEqualTo(Validity.ALLOWED);
+		assertThat(validator.validateSubType(context, this.baseType, this.subType)).isEqualTo(Validity.ALLOWED);
+		verify(delegate, times(2)).validateSubType(context, this.baseType, this.subType);
+	}
+
+	@Test
+	public void validateBaseTypeWhenAllowedThenDelegateConsultedOnce() {
+		PolymorphicTypeValidator delegate = mock(PolymorphicTypeValidator.class);
+		given(delegate.validateBaseType(any(), any())).willReturn(Validity.ALLOWED);
+		CachingPolymorphicTypeValidator validator = new CachingPolymorphicTypeValidator(delegate);
+		DatabindContext context = mock(DatabindContext.class);
+		assertThat(validator.validateBaseType(context, this.baseType)).isEqualTo(Validity.ALLOWED);
+		assertThat(validator.validateBaseType(context, this.baseType)).isEqualTo(Validity.ALLOWED);
+		verify(delegate).validateBaseType(context, this.baseType);
+	}
+
+}
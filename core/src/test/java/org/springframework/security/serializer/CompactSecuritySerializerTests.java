@@ -0,0 +1,202 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.serializer;
+
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputFilter;
+import java.io.StreamCorruptedException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.serializer.support.SerializationDelegate;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.RememberMeAuthenticationToken;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.FactorGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.PasswordEncodedUser;
+import org.springframework.security.core.userdetails.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link CompactSecuritySerializer}
+ */
+public class CompactSecuritySerializerTests {
+
+	private final CompactSecuritySerializer serializer = new CompactSecuritySerializer();
+
+	@Test
+	public void constructorWhenNullModulesThenIllegalArgument() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new CompactSecuritySerializer(getClass().getClassLoader(), null));
+	}
+
+	@Test
+	public void serializeWhenUsernamePasswordThenRoundTrips() throws IOException {
+		User user = (User) PasswordEncodedUser.admin();
+		UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(user,
+				"password", List.of(FactorGrantedAuthority.withAuthority(FactorGrantedAuthority.PASSWORD_AUTHORITY)
+					.issuedAt(Instant.ofEpochSecond(1000, 5))
+					.build()));
+		authentication.setDetails("details");
+		SecurityContext context = new SecurityContextImpl(authentication);
+		SecurityContext result = (SecurityContext) roundTrip(context);
+		assertThat(result).isEqualTo(context);
+		User principal = (User) result.getAuthentication().getPrincipal();
+		assertThat(principal.getPassword()).isEqualTo(user.getPassword());
+		assertThat(principal.getAuthorities()).isEqualTo(user.getAuthorities());
+		assertThat(result.getAuthentication().getDetails()).isEqualTo("details");
+	}
+
+	@Test
+	public void serializeWhenUnauthenticatedThenRoundTrips() throws IOException {
+		UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken
+			.unauthenticated("user", null);
+		UsernamePasswordAuthenticationToken result = (UsernamePasswordAuthenticationToken) roundTrip(authentication);
+		assertThat(result).isEqualTo(authentication);
+		assertThat(result.isAuthenticated()).isFalse();
+	}
+
+	@Test
+	public void serializeWhenAnonymousThenKeyHashRoundTrips() throws IOException {
+		AnonymousAuthenticationToken authentication = new AnonymousAuthenticationToken("key", "anonymousUser",
+				AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+		AnonymousAuthenticationToken result = (AnonymousAuthenticationToken) roundTrip(authentication);
+		assertThat(result).isEqualTo(authentication);
+		assertThat(result.getKeyHash()).isEqualTo("key".hashCode());
+	}
+
+	@Test
+	public void serializeWhenRememberMeThenKeyHashRoundTrips() throws IOException {
+		RememberMeAuthenticationToken authentication = new RememberMeAuthenticationToken("key",
+				PasswordEncodedUser.user(), AuthorityUtils.createAuthorityList("ROLE_USER"));
+		RememberMeAuthenticationToken result = (RememberMeAuthenticationToken) roundTrip(authentication);
+		assertThat(result).isEqualTo(authentication);
+		assertThat(result.getKeyHash()).isEqualTo("key".hashCode());
+	}
+
+	@Test
+	public void serializeWhenEmptyContextThenRoundTrips() throws IOException {
+		assertThat(roundTrip(new SecurityContextImpl())).isEqualTo(new SecurityContextImpl());
+	}
+
+	@Test
+	public void serializeWhenValuesThenRoundTrips() throws IOException {
+		Map<String, Object> values = Map.of("string", "value", "int", -1, "long", Long.MAX_VALUE, "double", 1.5,
+				"instant", Instant.ofEpochSecond(-1), "list", List.of("a", "b"), "bytes", "bytes".getBytes(),
+				"nested", Map.of("true", true));
+		@SuppressWarnings("unchecked")
+		Map<String, Object> result = (Map<String, Object>) roundTrip(values);
+		assertThat(result).containsAllEntriesOf(Map.of("string", "value", "int", -1, "long", Long.MAX_VALUE, "double",
+				1.5, "instant", Instant.ofEpochSecond(-1), "list", List.of("a", "b"), "nested", Map.of("true", true)));
+		assertThat((byte[]) result.get("bytes")).isEqualTo("bytes".getBytes());
+	}
+
+	@Test
+	public void serializeWhenWellKnownTypesThenSmallerThanJavaSerialization() throws IOException {
+		SecurityContext context = new SecurityContextImpl(UsernamePasswordAuthenticationToken
+			.authenticated(PasswordEncodedUser.user(), null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+		byte[] compact = this.serializer.serializeToByteArray(context);
+		byte[] java = new SerializationDelegate(getClass().getClassLoader()).serializeToByteArray(context);
+		assertThat(compact.length * 5).isLessThan(java.length);
+	}
+
+	@Test
+	public void serializeWhenNoCodecThenJavaSerialization() throws IOException {
+		this.serializer.setJavaSerializationEnabled(true);
+		TestingAuthenticationToken authentication = new TestingAuthenticationToken("user", "password", "ROLE_USER");
+		assertThat(roundTrip(new SecurityContextImpl(authentication)))
+			.isEqualTo(new SecurityContextImpl(authentication));
+	}
+
+	@Test
+	public void serializeWhenNoCodecByDefaultThenNotSerializable() {
+		TestingAuthenticationToken authentication = new TestingAuthenticationToken("user", "password", "ROLE_USER");
+		assertThatExceptionOfType(NotSerializableException.class)
+			.isThrownBy(() -> this.serializer.serializeToByteArray(authentication));
+	}
+
+	@Test
+	public void deserializeWhenJavaSerializationDisabledThenException() throws IOException {
+		this.serializer.setJavaSerializationEnabled(true);
+		byte[] bytes = this.serializer.serializeToByteArray(new TestingAuthenticationToken("user", "password"));
+		this.serializer.setJavaSerializationEnabled(false);
+		assertThatExceptionOfType(InvalidObjectException.class)
+			.isThrownBy(() -> this.serializer.deserializeFromByteArray(bytes));
+	}
+
+	@Test
+	public void deserializeWhenObjectInputFilterRejectsThenException() throws IOException {
+		this.serializer.setJavaSerializationEnabled(true);
+		byte[] bytes = this.serializer.serializeToByteArray(new TestingAuthenticationToken("user", "password"));
+		this.serializer.setObjectInputFilter(ObjectInputFilter.Config.createFilter("java.*;!*"));
+		assertThatExceptionOfType(InvalidClassException.class)
+			.isThrownBy(() -> this.serializer.deserializeFromByteArray(bytes));
+	}
+
+	@Test
+	public void deserializeWhenNoCodecForTypeThenException() throws IOException {
+		byte[] bytes = this.serializer.serializeToByteArray(new SecurityContextImpl());
+		CompactSecuritySerializer serializer = new CompactSecuritySerializer(getClass().getClassLoader(), List.of());
+		assertThatExceptionOfType(InvalidClassException.class)
+			.isThrownBy(() -> serializer.deserializeFromByteArray(bytes));
+	}
+
+	@Test
+	public void deserializeWhenUnsupportedVersionThenException() throws IOException {
+		byte[] bytes = this.serializer.serializeToByteArray(new SecurityContextImpl());
+		bytes[1] = 2;
+		assertThatExceptionOfType(StreamCorruptedException.class)
+			.isThrownBy(() -> this.serializer.deserializeFromByteArray(bytes));
+	}
+
+	@Test
+	public void deserializeWhenNotCompactThenException() {
+		assertThatExceptionOfType(StreamCorruptedException.class)
+			.isThrownBy(() -> this.serializer.deserializeFromByteArray(new byte[] { 1, 2, 3 }));
+	}
+
+	@Test
+	public void serializeWhenCustomModuleThenUsesCodec() throws IOException {
+		CompactCodecModule module = () -> List.of(CompactCodec.of(TestingAuthenticationToken.class,
+				(token, output) -> output.writeValue(token.getName()),
+				(input) -> new TestingAuthenticationToken(input.readValue(String.class), null)));
+		CompactSecuritySerializer serializer = new CompactSecuritySerializer(getClass().getClassLoader(),
+				List.of(new CoreCompactCodecModule(), module));
+		serializer.setJavaSerializationEnabled(false);
+		Object result = serializer
+			.deserializeFromByteArray(serializer.serializeToByteArray(new TestingAuthenticationToken("user", null)));
+		assertThat(result).isEqualTo(new TestingAuthenticationToken("user", null));
+	}
+
+	private Object roundTrip(Object value) throws IOException {
+		return this.serializer.deserializeFromByteArray(this.serializer.serializeToByteArray(value));
+	}
+
+}
@@ -21,8 +21,9 @@ import java.security.SecureRandom;
 /**
  * A KeyGenerator that uses {@link SecureRandom} to generate byte array-based keys.
  * <p>
- * No specific provider is used for the {@code SecureRandom}, so the platform default will
- * be used.
+ * Keys are generated from the {@link StripedSecureRandom#getSharedInstance() shared}
+ * {@link StripedSecureRandom}, so that concurrent callers do not contend on a single
+ * {@code SecureRandom}.
  *
  * @author Keith Donald
  */
@@ -45,7 +46,7 @@ final class SecureRandomBytesKeyGenerator implements BytesKeyGenerator {
 	 * Creates a secure random key generator with a custom key length.
 	 */
 	SecureRandomBytesKeyGenerator(int keyLength) {
-		this.random = new SecureRandom();
+		this.random = StripedSecureRandom.getSharedInstance();
 		this.keyLength = keyLength;
 	}
 
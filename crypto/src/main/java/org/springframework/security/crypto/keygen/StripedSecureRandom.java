@@ -0,0 +1,272 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.crypto.keygen;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.SecureRandomParameters;
+import java.security.SecureRandomSpi;
+import java.util.function.Supplier;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A {@link SecureRandom} that spreads the generation of random bytes over a fixed number
+ * of independent {@link SecureRandom} instances, selected by the current thread, so that
+ * concurrent callers do not contend on a single instance.
+ *
+ * <p>
+ * By default, each stripe is a {@code DRBG} instance, which seeds itself from the system
+ * entropy source on first use and, unlike {@code NativePRNG}, does not share a lock with
+ * the other instances. If {@code DRBG} is not available, the platform default is used.
+ *
+ * <p>
+ * Since {@link SecureRandom#setSeed(byte[])} supplements rather than replaces the seed,
+ * seed material passed to {@link #setSeed(byte[])} or {@link #setSeed(long)} is added to
+ * every stripe, and {@link #reseed()} reseeds every stripe.
+ *
+ * <p>
+ * The state of the stripes is never serialized. A deserialized instance has the same
+ * number of newly created {@code DRBG} stripes.
+ *
+ * @since 7.0
+ * @see KeyGenerators#secureRandom()
+ */
+public final class StripedSecureRandom extends SecureRandom {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	private static final StripedSecureRandom SHARED_INSTANCE = new StripedSecureRandom();
+
+	private final transient StripedSecureRandomSpi spi;
+
+	/**
+	 * Creates a new instance with twice as many {@code DRBG} stripes as there are
+	 * available processors
+	 */
+	public StripedSecureRandom() {
+		this(2 * Runtime.getRuntime().availableProcessors(), StripedSecureRandom::createStripe);
+	}
+
+	/**
+	 * Creates a new instance
+	 * @param stripes the number of stripes, rounded up to the next power of two
+	 * @param stripeFactory the {@link Supplier} used to create each stripe
+	 */
+	public StripedSecureRandom(int stripes, Supplier<SecureRandom> stripeFactory) {
+		this(new StripedSecureRandomSpi(createStripes(stripes, stripeFactory)));
+	}
+
+	private StripedSecureRandom(StripedSecureRandomSpi spi) {
+		super(spi, spi.stripes[0].getProvider());
+		this.spi = spi;
+	}
+
+	/**
+	 * Return a {@link StripedSecureRandom} that is shared by the components of Spring
+	 * Security that generate random tokens
+	 * @return the shared {@link StripedSecureRandom}
+	 */
+	public static StripedSecureRandom getSharedInstance() {
+		return SHARED_INSTANCE;
+	}
+
+	@Override
+	public String getAlgorithm() {
+		return this.spi.stripe().getAlgorithm();
+	}
+
+	@Override
+	public SecureRandomParameters getParameters() {
+		return this.spi.engineGetParameters();
+	}
+
+	@Override
+	public void nextBytes(byte[] bytes) {
+		this.spi.engineNextBytes(bytes);
+	}
+
+	@Override
+	public void nextBytes(byte[] bytes, SecureRandomParameters params) {
+		if (params == null) {
+			throw new IllegalArgumentException("params cannot be null");
+		}
+		this.spi.engineNextBytes(bytes, params);
+	}
+
+	@Override
+	public byte[] generateSeed(int numBytes) {
+		return this.spi.engineGenerateSeed(numBytes);
+	}
+
+	@Override
+	public void setSeed(byte[] seed) {
+		this.spi.engineSetSeed(seed);
+	}
+
+	@Override
+	public void setSeed(long seed) {
+		// invoked by the Random constructor before the stripes are assigned
+		if (this.spi == null) {
+			return;
+		}
+		for (SecureRandom stripe : this.spi.stripes) {
+			stripe.setSeed(seed);
+		}
+	}
+
+	@Override
+	public void reseed() {
+		this.spi.engineReseed(null);
+	}
+
+	@Override
+	public void reseed(SecureRandomParameters params) {
+		if (params == null) {
+			throw new IllegalArgumentException("params cannot be null");
+		}
+		this.spi.engineReseed(params);
+	}
+
+	@Serial
+	private Object writeReplace() {
+		return new SerializedForm(this.spi.stripes.length);
+	}
+
+	@Serial
+	private void readObject(ObjectInputStream stream) throws InvalidObjectException {
+		throw new InvalidObjectException("SerializedForm required");
+	}
+
+	private static SecureRandom[] createStripes(int stripes, Supplier<SecureRandom> stripeFactory) {
+		if (stripes <= 0) {
+			throw new IllegalArgumentException("stripes must be greater than 0");
+		}
+		if (stripeFactory == null) {
+			throw new IllegalArgumentException("stripeFactory cannot be null");
+		}
+		int size = Integer.highestOneBit(stripes);
+		size = (size < stripes) ? size << 1 : size;
+		SecureRandom[] result = new SecureRandom[size];
+		for (int i = 0; i < size; i++) {
+			SecureRandom stripe = stripeFactory.get();
+			if (stripe == null) {
+				throw new IllegalArgumentException("stripeFactory cannot return null");
+			}
+			result[i] = stripe;
+		}
+		return result;
+	}
+
+	private static SecureRandom createStripe() {
+		try {
+			return SecureRandom.getInstance("DRBG");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			return new SecureRandom();
+		}
+	}
+
+	/**
+	 * Routes every {@link SecureRandom} operation to the stripes, so that no default
+	 * generator is created for the {@link StripedSecureRandom} itself.
+	 */
+	private static final class StripedSecureRandomSpi extends SecureRandomSpi {
+
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+		private final transient SecureRandom[] stripes;
+
+		private StripedSecureRandomSpi(SecureRandom[] stripes) {
+			this.stripes = stripes;
+		}
+
+		private SecureRandom stripe() {
+			int hash = System.identityHashCode(Thread.currentThread());
+			return this.stripes[(hash ^ (hash >>> 16)) & (this.stripes.length - 1)];
+		}
+
+		@Override
+		protected void engineSetSeed(byte[] seed) {
+			for (SecureRandom stripe : this.stripes) {
+				stripe.setSeed(seed);
+			}
+		}
+
+		@Override
+		protected void engineNextBytes(byte[] bytes) {
+			stripe().nextBytes(bytes);
+		}
+
+		@Override
+		protected void engineNextBytes(byte[] bytes, SecureRandomParameters params) {
+			stripe().nextBytes(bytes, params);
+		}
+
+		@Override
+		protected byte[] engineGenerateSeed(int numBytes) {
+			return stripe().generateSeed(numBytes);
+		}
+
+		@Override
+		protected void engineReseed(@Nullable SecureRandomParameters params) {
+			for (SecureRandom stripe : this.stripes) {
+				if (params != null) {
+					stripe.reseed(params);
+				}
+				else {
+					stripe.reseed();
+				}
+			}
+		}
+
+		@Override
+		protected SecureRandomParameters engineGetParameters() {
+			return stripe().getParameters();
+		}
+
+	}
+
+	/**
+	 * The serialized form of a {@link StripedSecureRandom}, which only records the number
+	 * of stripes.
+	 */
+	private static final class SerializedForm implements Serializable {
+
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+		private final int stripes;
+
+		private SerializedForm(int stripes) {
+			this.stripes = stripes;
+		}
+
+		@Serial
+		private Object readResolve() {
+			return new StripedSecureRandom(this.stripes, StripedSecureRandom::createStripe);
+		}
+
+	}
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.crypto.keygen;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.crypto.codec.Hex;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link StripedSecureRandom}
+ */
+public class StripedSecureRandomTests {
+
+	@Test
+	public void constructorWhenStripesNotPositiveThenIllegalArgument() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new StripedSecureRandom(0, SecureRandom::new));
+	}
+
+	@Test
+	public void constructorWhenStripeFactoryNullThenIllegalArgument() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new StripedSecureRandom(1, null));
+	}
+
+	@Test
+	public void constructorWhenStripesNotPowerOfTwoThenRoundedUp() {
+		List<SecureRandom> created = new ArrayList<>();
+		new StripedSecureRandom(5, () -> {
+			SecureRandom stripe = new SecureRandom();
+			created.add(stripe);
+			return stripe;
+		});
+		assertThat(created).hasSize(8);
+	}
+
+	@Test
+	public void nextBytesThenDelegatesToStripe() {
+		SecureRandom stripe = mock(SecureRandom.class);
+		StripedSecureRandom random = new StripedSecureRandom(1, () -> stripe);
+		byte[] bytes = new byte[16];
+		random.nextBytes(bytes);
+		random.nextInt();
+		verify(stripe).nextBytes(bytes);
+		verify(stripe, times(2)).nextBytes(any(byte[].class));
+	}
+
+	@Test
+	public void setSeedThenAddedToEveryStripe() {
+		List<SecureRandom> stripes = new ArrayList<>();
+		StripedSecureRandom random = new StripedSecureRandom(2, () -> {
+			SecureRandom stripe = mock(SecureRandom.class);
+			stripes.add(stripe);
+			return stripe;
+		});
+		byte[] seed = new byte[8];
+		random.setSeed(seed);
+		random.setSeed(1L);
+		for (SecureRandom stripe : stripes) {
+			verify(stripe).setSeed(seed);
+			verify(stripe).setSeed(1L);
+		}
+	}
+
+	@Test
+	public void reseedThenReseedsEveryStripe() {
+		List<SecureRandom> stripes = new ArrayList<>();
+		StripedSecureRandom random = new StripedSecureRandom(2, () -> {
+			SecureRandom stripe = mock(SecureRandom.class);
+			stripes.add(stripe);
+			return stripe;
+		});
+		random.reseed();
+		for (SecureRandom stripe : stripes) {
+			verify(stripe).reseed();
+		}
+	}
+
+	@Test
+	public void getParametersThenDelegatesToStripe() {
+		SecureRandom stripe = mock(SecureRandom.class);
+		StripedSecureRandom random = new StripedSecureRandom(1, () -> stripe);
+		random.getParameters();
+		verify(stripe).getParameters();
+	}
+
+	@Test
+	public void deserializeThenNewStripes() throws Exception {
+		StripedSecureRandom random = new StripedSecureRandom(2, SecureRandom::new);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+			output.writeObject(random);
+		}
+		try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			StripedSecureRandom deserialized = (StripedSecureRandom) input.readObject();
+			assertThat(deserialized).isNotSameAs(random);
+			byte[] next = new byte[16];
+			deserialized.nextBytes(next);
+			assertThat(next).isNotEqualTo(new byte[16]);
+		}
+	}
+
+	@Test
+	public void nextBytesWhenConcurrentThenUniqueValues() throws Exception {
+		StripedSecureRandom random = StripedSecureRandom.getSharedInstance();
+		Set<String> values = ConcurrentHashMap.newKeySet();
+		ExecutorService executor = Executors.newFixedThreadPool(64);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 64; i++) {
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < 100; j++) {
+						byte[] bytes = new byte[16];
+						random.nextBytes(bytes);
+						values.add(new String(Hex.encode(bytes)));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertThat(values).hasSize(6400);
+	}
+
+	@Test
+	public void getSharedInstanceThenSameInstance() {
+		assertThat(StripedSecureRandom.getSharedInstance()).isSameAs(StripedSecureRandom.getSharedInstance());
+	}
+
+}
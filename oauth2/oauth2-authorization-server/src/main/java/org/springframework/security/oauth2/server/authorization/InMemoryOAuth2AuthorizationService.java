@@ -16,17 +16,23 @@
 
 package org.springframework.security.oauth2.server.authorization;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import org.springframework.lang.Nullable;
 import org.springframework.security.oauth2.core.OAuth2AccessToken;
 import org.springframework.security.oauth2.core.OAuth2DeviceCode;
 import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.core.OAuth2Token;
 import org.springframework.security.oauth2.core.OAuth2UserCode;
 import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
 import org.springframework.security.oauth2.core.oidc.OidcIdToken;
@@ -38,6 +44,11 @@ import org.springframework.util.Assert;
  * in-memory.
  *
  * <p>
+ * Authorizations are indexed by the value of each of their tokens, so that
+ * {@link #findByToken(String, OAuth2TokenType)} does not scan every stored authorization.
+ * An authorization is removed once every token it holds has expired.
+ *
+ * <p>
  * <b>NOTE:</b> This implementation should ONLY be used during development/testing.
  *
  * @author Krisztian Toth
@@ -47,6 +58,20 @@ import org.springframework.util.Assert;
  */
 public final class InMemoryOAuth2AuthorizationService implements OAuth2AuthorizationService {
 
+	private static final Map<Class<? extends OAuth2Token>, String> TOKEN_TYPES = Map.of(
+			OAuth2AuthorizationCode.class, OAuth2ParameterNames.CODE, OAuth2AccessToken.class,
+			OAuth2TokenType.ACCESS_TOKEN.getValue(), OidcIdToken.class, OidcParameterNames.ID_TOKEN,
+			OAuth2RefreshToken.class, OAuth2TokenType.REFRESH_TOKEN.getValue(), OAuth2DeviceCode.class,
+			OAuth2ParameterNames.DEVICE_CODE, OAuth2UserCode.class, OAuth2ParameterNames.USER_CODE);
+
+	private static final List<OAuth2TokenType> INDEXED_TOKEN_TYPES = List.of(
+			new OAuth2TokenType(OAuth2ParameterNames.STATE), new OAuth2TokenType(OAuth2ParameterNames.CODE),
+			OAuth2TokenType.ACCESS_TOKEN, new OAuth2TokenType(OidcParameterNames.ID_TOKEN),
+			OAuth2TokenType.REFRESH_TOKEN, new OAuth2TokenType(OAuth2ParameterNames.DEVICE_CODE),
+			new OAuth2TokenType(OAuth2ParameterNames.USER_CODE));
+
+	private static final Duration EXPIRED_AUTHORIZATIONS_REMOVAL_INTERVAL = Duration.ofMinutes(1);
+
 	private int maxInitializedAuthorizations = 100;
 
 	/*
@@ -56,20 +81,38 @@ public final class InMemoryOAuth2AuthorizationService implements OAuth2Authoriza
 	 * but the access token request is not yet initiated.
 	 */
 	private Map<String, OAuth2Authorization> initializedAuthorizations = Collections
-		.synchronizedMap(new MaxSizeHashMap<>(this.maxInitializedAuthorizations));
+		.synchronizedMap(new MaxSizeHashMap<>(this.maxInitializedAuthorizations, this::evicted));
 
 	/*
 	 * Stores "completed" authorizations, where an access token has been granted.
 	 */
 	private final Map<String, OAuth2Authorization> authorizations = new ConcurrentHashMap<>();
 
+	/*
+	 * Maps the value of each token, by token type, to the identifier of the
+	 * authorization it belongs to.
+	 */
+	private final Map<TokenKey, String> tokenIndex = new ConcurrentHashMap<>();
+
+	/*
+	 * Serializes updates of the same authorization, so that the token index stays
+	 * consistent with the stored authorizations.
+	 */
+	private final Object[] locks = new Object[32];
+
+	private Clock clock = Clock.systemUTC();
+
+	@Nullable
+	private volatile Instant nextExpiredAuthorizationsRemoval;
+
 	/*
 	 * Constructor used for testing only.
 	 */
 	InMemoryOAuth2AuthorizationService(int maxInitializedAuthorizations) {
+		this();
 		this.maxInitializedAuthorizations = maxInitializedAuthorizations;
 		this.initializedAuthorizations = Collections
-			.synchronizedMap(new MaxSizeHashMap<>(this.maxInitializedAuthorizations));
+			.synchronizedMap(new MaxSizeHashMap<>(this.maxInitializedAuthorizations, this::evicted));
 	}
 
 	/**
@@ -95,33 +138,49 @@ public final class InMemoryOAuth2AuthorizationService implements OAuth2Authoriza
 	 */
 	public InMemoryOAuth2AuthorizationService(List<OAuth2Authorization> authorizations) {
 		Assert.notNull(authorizations, "authorizations cannot be null");
+		for (int i = 0; i < this.locks.length; i++) {
+			this.locks[i] = new Object();
+		}
 		authorizations.forEach((authorization) -> {
 			Assert.notNull(authorization, "authorization cannot be null");
 			Assert.isTrue(!this.authorizations.containsKey(authorization.getId()),
 					"The authorization must be unique. Found duplicate identifier: " + authorization.getId());
 			this.authorizations.put(authorization.getId(), authorization);
+			index(authorization);
 		});
 	}
 
 	@Override
 	public void save(OAuth2Authorization authorization) {
 		Assert.notNull(authorization, "authorization cannot be null");
-		if (isComplete(authorization)) {
-			this.authorizations.put(authorization.getId(), authorization);
-		}
-		else {
-			this.initializedAuthorizations.put(authorization.getId(), authorization);
+		String id = authorization.getId();
+		synchronized (lock(id)) {
+			OAuth2Authorization previous = findById(id);
+			if (previous != null) {
+				unindex(previous);
+			}
+			if (isComplete(authorization)) {
+				this.authorizations.put(id, authorization);
+				this.initializedAuthorizations.remove(id);
+			}
+			else {
+				this.initializedAuthorizations.put(id, authorization);
+			}
+			index(authorization);
 		}
+		removeExpiredAuthorizationsIfDue();
 	}
 
 	@Override
 	public void remove(OAuth2Authorization authorization) {
 		Assert.notNull(authorization, "authorization cannot be null");
-		if (isComplete(authorization)) {
-			this.authorizations.remove(authorization.getId(), authorization);
-		}
-		else {
-			this.initializedAuthorizations.remove(authorization.getId(), authorization);
+		synchronized (lock(authorization.getId())) {
+			boolean removed = isComplete(authorization)
+					? this.authorizations.remove(authorization.getId(), authorization)
+					: this.initializedAuthorizations.remove(authorization.getId(), authorization);
+			if (removed) {
+				unindex(authorization);
+			}
 		}
 	}
 
@@ -137,19 +196,115 @@ public final class InMemoryOAuth2AuthorizationService implements OAuth2Authoriza
 	@Override
 	public OAuth2Authorization findByToken(String token, @Nullable OAuth2TokenType tokenType) {
 		Assert.hasText(token, "token cannot be empty");
-		for (OAuth2Authorization authorization : this.authorizations.values()) {
-			if (hasToken(authorization, token, tokenType)) {
-				return authorization;
-			}
+		if (tokenType != null) {
+			return findByIndexedToken(token, tokenType);
 		}
-		for (OAuth2Authorization authorization : this.initializedAuthorizations.values()) {
-			if (hasToken(authorization, token, tokenType)) {
+		for (OAuth2TokenType indexedTokenType : INDEXED_TOKEN_TYPES) {
+			OAuth2Authorization authorization = findByIndexedToken(token, indexedTokenType);
+			if (authorization != null) {
 				return authorization;
 			}
 		}
 		return null;
 	}
 
+	/**
+	 * Sets the {@link Clock} used when obtaining the current instant via
+	 * {@link Clock#instant()}, to decide which authorizations have expired. An
+	 * authorization is removed once every token it holds has expired, which is checked
+	 * at most once a minute when an authorization is saved.
+	 * @param clock the {@link Clock} used when obtaining the current instant via
+	 * {@link Clock#instant()}
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	@Nullable
+	private OAuth2Authorization findByIndexedToken(String token, OAuth2TokenType tokenType) {
+		String id = this.tokenIndex.get(new TokenKey(tokenType.getValue(), token));
+		if (id == null) {
+			return null;
+		}
+		OAuth2Authorization authorization = findById(id);
+		return (authorization != null && hasToken(authorization, token, tokenType)) ? authorization : null;
+	}
+
+	private void removeExpiredAuthorizationsIfDue() {
+		Instant now = this.clock.instant();
+		Instant nextRemoval = this.nextExpiredAuthorizationsRemoval;
+		if (nextRemoval != null && now.isBefore(nextRemoval)) {
+			return;
+		}
+		this.nextExpiredAuthorizationsRemoval = now.plus(EXPIRED_AUTHORIZATIONS_REMOVAL_INTERVAL);
+		if (nextRemoval == null) {
+			return;
+		}
+		List<OAuth2Authorization> expired = new ArrayList<>();
+		for (OAuth2Authorization authorization : this.authorizations.values()) {
+			if (isExpired(authorization, now)) {
+				expired.add(authorization);
+			}
+		}
+		synchronized (this.initializedAuthorizations) {
+			for (OAuth2Authorization authorization : this.initializedAuthorizations.values()) {
+				if (isExpired(authorization, now)) {
+					expired.add(authorization);
+				}
+			}
+		}
+		expired.forEach(this::remove);
+	}
+
+	private void evicted(OAuth2Authorization authorization) {
+		unindex(authorization);
+		OAuth2Authorization completed = this.authorizations.get(authorization.getId());
+		if (completed != null) {
+			index(completed);
+		}
+	}
+
+	private void index(OAuth2Authorization authorization) {
+		forEachTokenKey(authorization, (key) -> this.tokenIndex.put(key, authorization.getId()));
+	}
+
+	private void unindex(OAuth2Authorization authorization) {
+		forEachTokenKey(authorization, (key) -> this.tokenIndex.remove(key, authorization.getId()));
+	}
+
+	private Object lock(String id) {
+		return this.locks[(id.hashCode() & Integer.MAX_VALUE) % this.locks.length];
+	}
+
+	private static void forEachTokenKey(OAuth2Authorization authorization, Consumer<TokenKey> action) {
+		Object state = authorization.getAttribute(OAuth2ParameterNames.STATE);
+		if (state instanceof String value) {
+			action.accept(new TokenKey(OAuth2ParameterNames.STATE, value));
+		}
+		TOKEN_TYPES.forEach((tokenClass, tokenType) -> {
+			OAuth2Authorization.Token<? extends OAuth2Token> token = authorization.getToken(tokenClass);
+			if (token != null) {
+				action.accept(new TokenKey(tokenType, token.getToken().getTokenValue()));
+			}
+		});
+	}
+
+	private static boolean isExpired(OAuth2Authorization authorization, Instant now) {
+		boolean expired = false;
+		for (Class<? extends OAuth2Token> tokenType : TOKEN_TYPES.keySet()) {
+			OAuth2Authorization.Token<? extends OAuth2Token> token = authorization.getToken(tokenType);
+			if (token != null) {
+				Instant expiresAt = token.getToken().getExpiresAt();
+				if (expiresAt == null || !now.isAfter(expiresAt)) {
+					return false;
+				}
+				expired = true;
+			}
+		}
+		return expired;
+	}
+
 	private static boolean isComplete(OAuth2Authorization authorization) {
 		return authorization.getAccessToken() != null;
 	}
@@ -230,15 +385,26 @@ public final class InMemoryOAuth2AuthorizationService implements OAuth2Authoriza
 
 		private final int maxSize;
 
-		private MaxSizeHashMap(int maxSize) {
+		private final Consumer<V> evicted;
+
+		private MaxSizeHashMap(int maxSize, Consumer<V> evicted) {
 			this.maxSize = maxSize;
+			this.evicted = evicted;
 		}
 
 		@Override
 		protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
-			return size() > this.maxSize;
+			if (size() > this.maxSize) {
+				this.evicted.accept(eldest.getValue());
+				return true;
+			}
+			return false;
 		}
 
 	}
 
+	private record TokenKey(String type, String value) {
+
+	}
+
 }
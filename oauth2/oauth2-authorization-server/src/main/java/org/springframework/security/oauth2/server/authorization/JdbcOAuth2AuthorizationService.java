@@ -17,6 +17,8 @@
 package org.springframework.security.oauth2.server.authorization;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -27,6 +29,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -37,6 +40,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import tools.jackson.databind.JacksonModule;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
 import tools.jackson.databind.json.JsonMapper;
 
 import org.springframework.aot.hint.RuntimeHints;
@@ -211,6 +216,36 @@ public class JdbcOAuth2AuthorizationService implements OAuth2AuthorizationServic
 
 	private static final String REMOVE_AUTHORIZATION_SQL = "DELETE FROM " + TABLE_NAME + " WHERE " + PK_FILTER;
 
+	private static final String TOKEN_TABLE_NAME = "oauth2_authorization_token";
+
+	// @formatter:off
+	private static final String TOKEN_HASH_FILTER = "id IN (SELECT authorization_id FROM " + TOKEN_TABLE_NAME
+			+ " WHERE token_hash = ?)";
+	// @formatter:on
+
+	// @formatter:off
+	private static final String TOKEN_HASH_AND_TYPE_FILTER = "id IN (SELECT authorization_id FROM " + TOKEN_TABLE_NAME
+			+ " WHERE token_hash = ? AND token_type = ?)";
+	// @formatter:on
+
+	// @formatter:off
+	private static final String SAVE_TOKEN_HASH_SQL = "INSERT INTO " + TOKEN_TABLE_NAME
+			+ " (token_hash, token_type, authorization_id) VALUES (?, ?, ?)";
+	// @formatter:on
+
+	private static final String REMOVE_TOKEN_HASHES_SQL = "DELETE FROM " + TOKEN_TABLE_NAME
+			+ " WHERE authorization_id = ?";
+
+	private static final String LOAD_AUTHORIZATION_IDS_SQL = "SELECT id FROM " + TABLE_NAME;
+
+	private static final int[] TOKEN_HASH_TYPES = { Types.VARCHAR, Types.VARCHAR, Types.VARCHAR };
+
+	private static final Map<Class<? extends OAuth2Token>, String> TOKEN_TYPES = Map.of(
+			OAuth2AuthorizationCode.class, OAuth2ParameterNames.CODE, OAuth2AccessToken.class,
+			OAuth2TokenType.ACCESS_TOKEN.getValue(), OidcIdToken.class, OidcParameterNames.ID_TOKEN,
+			OAuth2RefreshToken.class, OAuth2TokenType.REFRESH_TOKEN.getValue(), OAuth2DeviceCode.class,
+			OAuth2ParameterNames.DEVICE_CODE, OAuth2UserCode.class, OAuth2ParameterNames.USER_CODE);
+
 	private static Map<String, ColumnMetadata> columnMetadataMap;
 
 	private final JdbcOperations jdbcOperations;
@@ -221,6 +256,8 @@ public class JdbcOAuth2AuthorizationService implements OAuth2AuthorizationServic
 
 	private Function<OAuth2Authorization, List<SqlParameterValue>> authorizationParametersMapper;
 
+	private boolean tokenHashLookupEnabled;
+
 	/**
 	 * Constructs a {@code JdbcOAuth2AuthorizationService} using the provided parameters.
 	 * @param jdbcOperations the JDBC operations
@@ -262,6 +299,50 @@ public class JdbcOAuth2AuthorizationService implements OAuth2AuthorizationServic
 		else {
 			updateAuthorization(authorization);
 		}
+		if (this.tokenHashLookupEnabled) {
+			saveTokenHashes(authorization);
+		}
+	}
+
+	/**
+	 * Saves the hash of every token of every stored {@link OAuth2Authorization} to the
+	 * {@code oauth2_authorization_token} table. This is only needed once, for
+	 * authorizations saved before {@link #setTokenHashLookupEnabled(boolean) token hash
+	 * lookup} was enabled.
+	 */
+	public void saveTokenHashes() {
+		List<String> ids = this.jdbcOperations.queryForList(LOAD_AUTHORIZATION_IDS_SQL, String.class);
+		for (String id : ids) {
+			OAuth2Authorization authorization = findById(id);
+			if (authorization != null) {
+				saveTokenHashes(authorization);
+			}
+		}
+	}
+
+	private void saveTokenHashes(OAuth2Authorization authorization) {
+		removeTokenHashes(authorization);
+		List<Object[]> tokenHashes = new ArrayList<>();
+		String state = authorization.getAttribute(OAuth2ParameterNames.STATE);
+		if (StringUtils.hasText(state)) {
+			tokenHashes.add(new Object[] { hash(state), OAuth2ParameterNames.STATE, authorization.getId() });
+		}
+		TOKEN_TYPES.forEach((tokenClass, tokenType) -> {
+			OAuth2Authorization.Token<? extends OAuth2Token> token = authorization.getToken(tokenClass);
+			if (token != null) {
+				tokenHashes.add(new Object[] { hash(token.getToken().getTokenValue()), tokenType,
+						authorization.getId() });
+			}
+		});
+		if (!tokenHashes.isEmpty()) {
+			this.jdbcOperations.batchUpdate(SAVE_TOKEN_HASH_SQL, tokenHashes, TOKEN_HASH_TYPES);
+		}
+	}
+
+	private void removeTokenHashes(OAuth2Authorization authorization) {
+		SqlParameterValue[] parameters = new SqlParameterValue[] {
+				new SqlParameterValue(Types.VARCHAR, authorization.getId()) };
+		this.jdbcOperations.update(REMOVE_TOKEN_HASHES_SQL, new ArgumentPreparedStatementSetter(parameters));
 	}
 
 	private void updateAuthorization(OAuth2Authorization authorization) {
@@ -291,6 +372,9 @@ public class JdbcOAuth2AuthorizationService implements OAuth2AuthorizationServic
 				new SqlParameterValue(Types.VARCHAR, authorization.getId()) };
 		PreparedStatementSetter pss = new ArgumentPreparedStatementSetter(parameters);
 		this.jdbcOperations.update(REMOVE_AUTHORIZATION_SQL, pss);
+		if (this.tokenHashLookupEnabled) {
+			removeTokenHashes(authorization);
+		}
 	}
 
 	@Nullable
@@ -306,6 +390,9 @@ public class JdbcOAuth2AuthorizationService implements OAuth2AuthorizationServic
 	@Override
 	public OAuth2Authorization findByToken(String token, @Nullable OAuth2TokenType tokenType) {
 		Assert.hasText(token, "token cannot be empty");
+		if (this.tokenHashLookupEnabled) {
+			return findByTokenHash(token, tokenType);
+		}
 		List<SqlParameterValue> parameters = new ArrayList<>();
 		if (tokenType == null) {
 			parameters.add(new SqlParameterValue(Types.VARCHAR, token));
@@ -348,6 +435,21 @@ public class JdbcOAuth2AuthorizationService implements OAuth2AuthorizationServic
 		return null;
 	}
 
+	@Nullable
+	private OAuth2Authorization findByTokenHash(String token, @Nullable OAuth2TokenType tokenType) {
+		List<SqlParameterValue> parameters = new ArrayList<>();
+		parameters.add(new SqlParameterValue(Types.VARCHAR, hash(token)));
+		if (tokenType == null) {
+			return findBy(TOKEN_HASH_FILTER, parameters);
+		}
+		if (!OAuth2ParameterNames.STATE.equals(tokenType.getValue())
+				&& !TOKEN_TYPES.containsValue(tokenType.getValue())) {
+			return null;
+		}
+		parameters.add(new SqlParameterValue(Types.VARCHAR, tokenType.getValue()));
+		return findBy(TOKEN_HASH_AND_TYPE_FILTER, parameters);
+	}
+
 	private OAuth2Authorization findBy(String filter, List<SqlParameterValue> parameters) {
 		try (LobCreator lobCreator = getLobHandler().getLobCreator()) {
 			PreparedStatementSetter pss = new LobCreatorArgumentPreparedStatementSetter(lobCreator,
@@ -383,6 +485,24 @@ public class JdbcOAuth2AuthorizationService implements OAuth2AuthorizationServic
 		this.authorizationParametersMapper = authorizationParametersMapper;
 	}
 
+	/**
+	 * Sets whether {@link #findByToken(String, OAuth2TokenType)} looks tokens up by the
+	 * SHA-256 hash of their value in the {@code oauth2_authorization_token} table,
+	 * rather than by comparing the token columns of the {@code oauth2_authorization}
+	 * table. Each lookup is then a single index seek, whether or not the token type is
+	 * known. The default is {@code false}.
+	 *
+	 * <p>
+	 * When enabled, the table described in
+	 * "classpath:org/springframework/security/oauth2/server/authorization/oauth2-authorization-token-schema.sql"
+	 * MUST be defined in the database schema, and authorizations saved before it was
+	 * enabled must be added to it with {@link #saveTokenHashes()}.
+	 * @param tokenHashLookupEnabled {@code true} to look tokens up by their hash
+	 */
+	public final void setTokenHashLookupEnabled(boolean tokenHashLookupEnabled) {
+		this.tokenHashLookupEnabled = tokenHashLookupEnabled;
+	}
+
 	protected final JdbcOperations getJdbcOperations() {
 		return this.jdbcOperations;
 	}
@@ -464,6 +584,16 @@ public class JdbcOAuth2AuthorizationService implements OAuth2AuthorizationServic
 				: new SqlParameterValue(columnMetadata.getDataType(), value);
 	}
 
+	private static String hash(String value) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not available", ex);
+		}
+	}
+
 	/**
 	 * The default {@link RowMapper} that maps the current row in
 	 * {@code java.sql.ResultSet} to {@link OAuth2Authorization} using Jackson 3's
@@ -474,25 +604,23 @@ public class JdbcOAuth2AuthorizationService implements OAuth2AuthorizationServic
 	 */
 	public static class JsonMapperOAuth2AuthorizationRowMapper extends AbstractOAuth2AuthorizationRowMapper {
 
-		private final JsonMapper jsonMapper;
+		private final ObjectReader reader;
 
 		public JsonMapperOAuth2AuthorizationRowMapper(RegisteredClientRepository registeredClientRepository) {
-			this(registeredClientRepository, Jackson3.createJsonMapper());
+			super(registeredClientRepository);
+			this.reader = Jackson3.READER;
 		}
 
 		public JsonMapperOAuth2AuthorizationRowMapper(RegisteredClientRepository registeredClientRepository,
 				JsonMapper jsonMapper) {
 			super(registeredClientRepository);
-			this.jsonMapper = jsonMapper;
+			Assert.notNull(jsonMapper, "jsonMapper cannot be null");
+			this.reader = Jackson3.createReader(jsonMapper);
 		}
 
 		@Override
 		Map<String, Object> readValue(String data) {
-			final ParameterizedTypeReference<Map<String, Object>> typeReference = new ParameterizedTypeReference<>() {
-			};
-			tools.jackson.databind.JavaType javaType = this.jsonMapper.getTypeFactory()
-				.constructType(typeReference.getType());
-			return this.jsonMapper.readValue(data, javaType);
+			return this.reader.readValue(data);
 		}
 
 	}
@@ -737,10 +865,24 @@ public class JdbcOAuth2AuthorizationService implements OAuth2AuthorizationServic
 	/**
 	 * Nested class used to get a common default instance of {@link JsonMapper}. It is in
 	 * a nested class to protect from getting {@link NoClassDefFoundError} when Jackson 3
-	 * is not on the classpath.
+	 * is not on the classpath. The default {@link JsonMapper}, along with the
+	 * {@link ObjectReader} and {@link ObjectWriter} derived from it, is created once and
+	 * shared by every mapper that is not given its own {@link JsonMapper}.
 	 */
 	private static final class Jackson3 {
 
+		static final JsonMapper JSON_MAPPER = createJsonMapper();
+
+		static final ObjectReader READER = createReader(JSON_MAPPER);
+
+		static final ObjectWriter WRITER = JSON_MAPPER.writer();
+
+		static ObjectReader createReader(JsonMapper jsonMapper) {
+			ParameterizedTypeReference<Map<String, Object>> typeReference = new ParameterizedTypeReference<>() {
+			};
+			return jsonMapper.readerFor(jsonMapper.getTypeFactory().constructType(typeReference.getType()));
+		}
+
 		static JsonMapper createJsonMapper() {
 			List<JacksonModule> modules = SecurityJacksonModules.getModules(Jackson3.class.getClassLoader());
 			return JsonMapper.builder()
@@ -784,20 +926,20 @@ public class JdbcOAuth2AuthorizationService implements OAuth2AuthorizationServic
 	public static final class JsonMapperOAuth2AuthorizationParametersMapper
 			extends AbstractOAuth2AuthorizationParametersMapper {
 
-		private final JsonMapper mapper;
+		private final ObjectWriter writer;
 
 		public JsonMapperOAuth2AuthorizationParametersMapper() {
-			this(Jackson3.createJsonMapper());
+			this.writer = Jackson3.WRITER;
 		}
 
 		public JsonMapperOAuth2AuthorizationParametersMapper(JsonMapper mapper) {
 			Assert.notNull(mapper, "mapper cannot be null");
-			this.mapper = mapper;
+			this.writer = mapper.writer();
 		}
 
 		@Override
 		String writeValueAsString(Map<String, Object> data) throws Exception {
-			return this.mapper.writeValueAsString(data);
+			return this.writer.writeValueAsString(data);
 		}
 
 	}
@@ -984,6 +1126,9 @@ public class JdbcOAuth2AuthorizationService implements OAuth2AuthorizationServic
 			hints.resources()
 				.registerResource(new ClassPathResource(
 						"org/springframework/security/oauth2/server/authorization/oauth2-authorization-schema.sql"));
+			hints.resources()
+				.registerResource(new ClassPathResource(
+						"org/springframework/security/oauth2/server/authorization/oauth2-authorization-token-schema.sql"));
 		}
 
 	}
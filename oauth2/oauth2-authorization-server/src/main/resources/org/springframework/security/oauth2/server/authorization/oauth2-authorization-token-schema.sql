@@ -0,0 +1,13 @@
+/*
+IMPORTANT:
+    This table is only used when JdbcOAuth2AuthorizationService#setTokenHashLookupEnabled(true) is set.
+    Authorizations saved before the table was created can be added to it with
+    JdbcOAuth2AuthorizationService#saveTokenHashes().
+*/
+CREATE TABLE oauth2_authorization_token (
+    token_hash varchar(64) NOT NULL,
+    token_type varchar(100) NOT NULL,
+    authorization_id varchar(100) NOT NULL,
+    PRIMARY KEY (token_hash, token_type, authorization_id)
+);
+CREATE INDEX oauth2_authorization_token_authorization_id_idx ON oauth2_authorization_token (authorization_id);
@@ -16,7 +16,9 @@
 
 package org.springframework.security.oauth2.server.authorization;
 
+import java.time.Clock;
 import java.time.Instant;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 
@@ -177,6 +179,76 @@ public class InMemoryOAuth2AuthorizationServiceTests {
 		assertThat(authorization).isNull();
 	}
 
+	@Test
+	public void saveWhenTokenReplacedThenNotFoundByPreviousToken() {
+		OAuth2Authorization authorization = OAuth2Authorization.withRegisteredClient(REGISTERED_CLIENT)
+			.id(ID)
+			.principalName(PRINCIPAL_NAME)
+			.authorizationGrantType(AUTHORIZATION_GRANT_TYPE)
+			.token(AUTHORIZATION_CODE)
+			.build();
+		this.authorizationService.save(authorization);
+		OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "access-token",
+				Instant.now(), Instant.now().plus(5, ChronoUnit.MINUTES));
+		OAuth2Authorization updatedAuthorization = OAuth2Authorization.from(authorization)
+			.token(new OAuth2AuthorizationCode("new-code", Instant.now(), Instant.now().plus(5, ChronoUnit.MINUTES)))
+			.accessToken(accessToken)
+			.build();
+		this.authorizationService.save(updatedAuthorization);
+
+		assertThat(this.authorizationService.findByToken(AUTHORIZATION_CODE.getTokenValue(), null)).isNull();
+		assertThat(this.authorizationService.findByToken("new-code", AUTHORIZATION_CODE_TOKEN_TYPE))
+			.isEqualTo(updatedAuthorization);
+		assertThat(this.authorizationService.findByToken(accessToken.getTokenValue(), OAuth2TokenType.ACCESS_TOKEN))
+			.isEqualTo(updatedAuthorization);
+	}
+
+	@Test
+	public void saveWhenAllTokensExpiredThenExpiredAuthorizationsRemoved() {
+		Instant now = Instant.now();
+		this.authorizationService.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		OAuth2AccessToken expiringAccessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER,
+				"expiring-access-token", now, now.plus(1, ChronoUnit.MINUTES));
+		OAuth2Authorization expiring = OAuth2Authorization.withRegisteredClient(REGISTERED_CLIENT)
+			.id(ID + "-expiring")
+			.principalName(PRINCIPAL_NAME)
+			.authorizationGrantType(AUTHORIZATION_GRANT_TYPE)
+			.accessToken(expiringAccessToken)
+			.build();
+		this.authorizationService.save(expiring);
+		OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "access-token", now,
+				now.plus(1, ChronoUnit.MINUTES));
+		OAuth2Authorization refreshable = OAuth2Authorization.withRegisteredClient(REGISTERED_CLIENT)
+			.id(ID + "-refreshable")
+			.principalName(PRINCIPAL_NAME)
+			.authorizationGrantType(AUTHORIZATION_GRANT_TYPE)
+			.accessToken(accessToken)
+			.refreshToken(new OAuth2RefreshToken("refresh-token", now, now.plus(1, ChronoUnit.HOURS)))
+			.build();
+		this.authorizationService.save(refreshable);
+
+		this.authorizationService.setClock(Clock.fixed(now.plus(2, ChronoUnit.MINUTES), ZoneOffset.UTC));
+		OAuth2Authorization authorization = OAuth2Authorization.withRegisteredClient(REGISTERED_CLIENT)
+			.id(ID)
+			.principalName(PRINCIPAL_NAME)
+			.authorizationGrantType(AUTHORIZATION_GRANT_TYPE)
+			.token(AUTHORIZATION_CODE)
+			.build();
+		this.authorizationService.save(authorization);
+
+		assertThat(this.authorizationService.findById(expiring.getId())).isNull();
+		assertThat(this.authorizationService.findByToken(expiringAccessToken.getTokenValue(), null)).isNull();
+		assertThat(this.authorizationService.findById(refreshable.getId())).isEqualTo(refreshable);
+		assertThat(this.authorizationService.findById(authorization.getId())).isEqualTo(authorization);
+	}
+
+	@Test
+	public void setClockWhenNullThenThrowIllegalArgumentException() {
+		assertThatExceptionOfType(IllegalArgumentException.class)
+			.isThrownBy(() -> this.authorizationService.setClock(null))
+			.withMessage("clock cannot be null");
+	}
+
 	@Test
 	public void removeWhenAuthorizationNullThenThrowIllegalArgumentException() {
 		assertThatExceptionOfType(IllegalArgumentException.class)
@@ -83,6 +83,8 @@ public class JdbcOAuth2AuthorizationServiceTests {
 
 	private static final String CUSTOM_OAUTH2_AUTHORIZATION_SCHEMA_SQL_RESOURCE = "org/springframework/security/oauth2/server/authorization/custom-oauth2-authorization-schema.sql";
 
+	private static final String OAUTH2_AUTHORIZATION_TOKEN_SCHEMA_SQL_RESOURCE = "org/springframework/security/oauth2/server/authorization/oauth2-authorization-token-schema.sql";
+
 	private static final String OAUTH2_AUTHORIZATION_SCHEMA_CLOB_DATA_TYPE_SQL_RESOURCE = "org/springframework/security/oauth2/server/authorization/custom-oauth2-authorization-schema-clob-data-type.sql";
 
 	private static final OAuth2TokenType AUTHORIZATION_CODE_TOKEN_TYPE = new OAuth2TokenType(OAuth2ParameterNames.CODE);
@@ -461,6 +463,103 @@ public class JdbcOAuth2AuthorizationServiceTests {
 		assertThat(result).isNull();
 	}
 
+	@Test
+	public void findByTokenWhenTokenHashLookupEnabledThenFound() {
+		given(this.registeredClientRepository.findById(eq(REGISTERED_CLIENT.getId()))).willReturn(REGISTERED_CLIENT);
+		JdbcOAuth2AuthorizationService authorizationService = createTokenHashAuthorizationService();
+		OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "access-token",
+				Instant.now().minusSeconds(60).truncatedTo(ChronoUnit.MILLIS),
+				Instant.now().truncatedTo(ChronoUnit.MILLIS));
+		OAuth2Authorization authorization = OAuth2Authorization.withRegisteredClient(REGISTERED_CLIENT)
+			.id(ID)
+			.principalName(PRINCIPAL_NAME)
+			.authorizationGrantType(AUTHORIZATION_GRANT_TYPE)
+			.attribute(OAuth2ParameterNames.STATE, "state")
+			.token(AUTHORIZATION_CODE)
+			.accessToken(accessToken)
+			.build();
+		authorizationService.save(authorization);
+
+		assertThat(authorizationService.findByToken("state", STATE_TOKEN_TYPE)).isEqualTo(authorization);
+		assertThat(authorizationService.findByToken(AUTHORIZATION_CODE.getTokenValue(), AUTHORIZATION_CODE_TOKEN_TYPE))
+			.isEqualTo(authorization);
+		assertThat(authorizationService.findByToken(accessToken.getTokenValue(), OAuth2TokenType.ACCESS_TOKEN))
+			.isEqualTo(authorization);
+		assertThat(authorizationService.findByToken(accessToken.getTokenValue(), null)).isEqualTo(authorization);
+		assertThat(authorizationService.findByToken(accessToken.getTokenValue(), OAuth2TokenType.REFRESH_TOKEN))
+			.isNull();
+		assertThat(authorizationService.findByToken("unknown", null)).isNull();
+		List<String> tokenHashes = this.jdbcOperations
+			.queryForList("SELECT token_hash FROM oauth2_authorization_token", String.class);
+		assertThat(tokenHashes).hasSize(3).doesNotContain("state", "code", "access-token");
+	}
+
+	@Test
+	public void saveWhenTokenHashLookupEnabledAndTokenReplacedThenNotFoundByPreviousToken() {
+		given(this.registeredClientRepository.findById(eq(REGISTERED_CLIENT.getId()))).willReturn(REGISTERED_CLIENT);
+		JdbcOAuth2AuthorizationService authorizationService = createTokenHashAuthorizationService();
+		OAuth2Authorization authorization = OAuth2Authorization.withRegisteredClient(REGISTERED_CLIENT)
+			.id(ID)
+			.principalName(PRINCIPAL_NAME)
+			.authorizationGrantType(AUTHORIZATION_GRANT_TYPE)
+			.token(AUTHORIZATION_CODE)
+			.build();
+		authorizationService.save(authorization);
+		OAuth2RefreshToken refreshToken = new OAuth2RefreshToken("refresh-token",
+				Instant.now().truncatedTo(ChronoUnit.MILLIS));
+		OAuth2Authorization updatedAuthorization = OAuth2Authorization.withRegisteredClient(REGISTERED_CLIENT)
+			.id(ID)
+			.principalName(PRINCIPAL_NAME)
+			.authorizationGrantType(AUTHORIZATION_GRANT_TYPE)
+			.refreshToken(refreshToken)
+			.build();
+		authorizationService.save(updatedAuthorization);
+
+		assertThat(authorizationService.findByToken(AUTHORIZATION_CODE.getTokenValue(), null)).isNull();
+		assertThat(authorizationService.findByToken(refreshToken.getTokenValue(), OAuth2TokenType.REFRESH_TOKEN))
+			.isEqualTo(updatedAuthorization);
+	}
+
+	@Test
+	public void removeWhenTokenHashLookupEnabledThenTokenHashesRemoved() {
+		given(this.registeredClientRepository.findById(eq(REGISTERED_CLIENT.getId()))).willReturn(REGISTERED_CLIENT);
+		JdbcOAuth2AuthorizationService authorizationService = createTokenHashAuthorizationService();
+		OAuth2Authorization authorization = OAuth2Authorization.withRegisteredClient(REGISTERED_CLIENT)
+			.id(ID)
+			.principalName(PRINCIPAL_NAME)
+			.authorizationGrantType(AUTHORIZATION_GRANT_TYPE)
+			.token(AUTHORIZATION_CODE)
+			.build();
+		authorizationService.save(authorization);
+		authorizationService.remove(authorization);
+
+		assertThat(authorizationService.findByToken(AUTHORIZATION_CODE.getTokenValue(), null)).isNull();
+		assertThat(this.jdbcOperations.queryForObject("SELECT COUNT(*) FROM oauth2_authorization_token",
+				Integer.class))
+			.isZero();
+	}
+
+	@Test
+	public void saveTokenHashesWhenAuthorizationSavedBeforeEnabledThenFound() {
+		given(this.registeredClientRepository.findById(eq(REGISTERED_CLIENT.getId()))).willReturn(REGISTERED_CLIENT);
+		JdbcOAuth2AuthorizationService authorizationService = createTokenHashAuthorizationService();
+		authorizationService.setTokenHashLookupEnabled(false);
+		OAuth2Authorization authorization = OAuth2Authorization.withRegisteredClient(REGISTERED_CLIENT)
+			.id(ID)
+			.principalName(PRINCIPAL_NAME)
+			.authorizationGrantType(AUTHORIZATION_GRANT_TYPE)
+			.token(AUTHORIZATION_CODE)
+			.build();
+		authorizationService.save(authorization);
+		authorizationService.setTokenHashLookupEnabled(true);
+		assertThat(authorizationService.findByToken(AUTHORIZATION_CODE.getTokenValue(), null)).isNull();
+
+		authorizationService.saveTokenHashes();
+
+		assertThat(authorizationService.findByToken(AUTHORIZATION_CODE.getTokenValue(), null))
+			.isEqualTo(authorization);
+	}
+
 	@Test
 	public void tableDefinitionWhenCustomThenAbleToOverride() {
 		given(this.registeredClientRepository.findById(eq(REGISTERED_CLIENT.getId()))).willReturn(REGISTERED_CLIENT);
@@ -513,17 +612,27 @@ public class JdbcOAuth2AuthorizationServiceTests {
 		db.shutdown();
 	}
 
+	private JdbcOAuth2AuthorizationService createTokenHashAuthorizationService() {
+		this.db.shutdown();
+		this.db = createDb(OAUTH2_AUTHORIZATION_SCHEMA_SQL_RESOURCE, OAUTH2_AUTHORIZATION_TOKEN_SCHEMA_SQL_RESOURCE);
+		this.jdbcOperations = new JdbcTemplate(this.db);
+		JdbcOAuth2AuthorizationService authorizationService = new JdbcOAuth2AuthorizationService(
+				this.jdbcOperations, this.registeredClientRepository);
+		authorizationService.setTokenHashLookupEnabled(true);
+		return authorizationService;
+	}
+
 	private static EmbeddedDatabase createDb() {
 		return createDb(OAUTH2_AUTHORIZATION_SCHEMA_SQL_RESOURCE);
 	}
 
-	private static EmbeddedDatabase createDb(String schema) {
+	private static EmbeddedDatabase createDb(String... schemas) {
 		// @formatter:off
 		return new EmbeddedDatabaseBuilder()
 				.generateUniqueName(true)
 				.setType(EmbeddedDatabaseType.HSQL)
 				.setScriptEncoding("UTF-8")
-				.addScript(schema)
+				.addScripts(schemas)
 				.build();
 		// @formatter:on
 	}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.client.serializer;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.OidcUserInfo;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUserAuthority;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2UserAuthority;
+import org.springframework.security.serializer.CompactCodec;
+import org.springframework.security.serializer.CompactCodecModule;
+import org.springframework.security.serializer.CompactCodecModules;
+import org.springframework.security.serializer.CompactInput;
+import org.springframework.security.serializer.CompactOutput;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * The {@link CompactCodecModule} for spring-security-oauth2-client. This module has
+ * codecs for {@link OAuth2AuthenticationToken}, {@link DefaultOAuth2User},
+ * {@link DefaultOidcUser}, {@link OAuth2UserAuthority}, {@link OidcUserAuthority},
+ * {@link OidcIdToken} and {@link OidcUserInfo}.
+ *
+ * @since 7.0
+ * @see CompactCodecModules
+ */
+public final class OAuth2ClientCompactCodecModule implements CompactCodecModule {
+
+	private static final Field nameAttributeKey = getNameAttributeKeyField();
+
+	@Override
+	public Collection<CompactCodec<?>> getCodecs() {
+		return List.of(
+				CompactCodec.of(OAuth2AuthenticationToken.class, OAuth2ClientCompactCodecModule::writeToken,
+						OAuth2ClientCompactCodecModule::readToken),
+				CompactCodec.of(DefaultOAuth2User.class, OAuth2ClientCompactCodecModule::writeOAuth2User,
+						OAuth2ClientCompactCodecModule::readOAuth2User),
+				CompactCodec.of(DefaultOidcUser.class, OAuth2ClientCompactCodecModule::writeOidcUser,
+						OAuth2ClientCompactCodecModule::readOidcUser),
+				CompactCodec.of(OAuth2UserAuthority.class, OAuth2ClientCompactCodecModule::writeOAuth2UserAuthority,
+						OAuth2ClientCompactCodecModule::readOAuth2UserAuthority),
+				CompactCodec.of(OidcUserAuthority.class, OAuth2ClientCompactCodecModule::writeOidcUserAuthority,
+						OAuth2ClientCompactCodecModule::readOidcUserAuthority),
+				CompactCodec.of(OidcIdToken.class, OAuth2ClientCompactCodecModule::writeIdToken,
+						OAuth2ClientCompactCodecModule::readIdToken),
+				CompactCodec.of(OidcUserInfo.class, OAuth2ClientCompactCodecModule::writeUserInfo,
+						OAuth2ClientCompactCodecModule::readUserInfo));
+	}
+
+	private static void writeToken(OAuth2AuthenticationToken token, CompactOutput output) throws IOException {
+		output.writeValue(token.getPrincipal());
+		output.writeAuthorities(token.getAuthorities());
+		output.writeValue(token.getAuthorizedClientRegistrationId());
+		output.writeValue(token.getDetails());
+		output.writeBoolean(token.isAuthenticated());
+	}
+
+	private static OAuth2AuthenticationToken readToken(CompactInput input) throws IOException {
+		OAuth2AuthenticationToken token = new OAuth2AuthenticationToken(input.readValue(OAuth2User.class),
+				input.readAuthorities(), input.readValue(String.class));
+		token.setDetails(input.readValue());
+		token.setAuthenticated(input.readBoolean());
+		return token;
+	}
+
+	private static void writeOAuth2User(DefaultOAuth2User user, CompactOutput output) throws IOException {
+		output.writeAuthorities(user.getAuthorities());
+		output.writeValue(user.getAttributes());
+		output.writeValue(ReflectionUtils.getField(nameAttributeKey, user));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static DefaultOAuth2User readOAuth2User(CompactInput input) throws IOException {
+		return new DefaultOAuth2User(input.readAuthorities(), input.readValue(Map.class),
+				input.readValue(String.class));
+	}
+
+	private static void writeOidcUser(DefaultOidcUser user, CompactOutput output) throws IOException {
+		output.writeAuthorities(user.getAuthorities());
+		output.writeValue(user.getIdToken());
+		output.writeValue(user.getUserInfo());
+		output.writeValue(ReflectionUtils.getField(nameAttributeKey, user));
+	}
+
+	private static DefaultOidcUser readOidcUser(CompactInput input) throws IOException {
+		return new DefaultOidcUser(input.readAuthorities(), input.readValue(OidcIdToken.class),
+				input.readNullableValue(OidcUserInfo.class), input.readValue(String.class));
+	}
+
+	private static void writeOAuth2UserAuthority(OAuth2UserAuthority authority, CompactOutput output)
+			throws IOException {
+		output.writeValue(authority.getAuthority());
+		output.writeValue(authority.getAttributes());
+		output.writeValue(authority.getUserNameAttributeName());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static OAuth2UserAuthority readOAuth2UserAuthority(CompactInput input) throws IOException {
+		return new OAuth2UserAuthority(input.readValue(String.class), input.readValue(Map.class),
+				input.readNullableValue(String.class));
+	}
+
+	private static void writeOidcUserAuthority(OidcUserAuthority authority, CompactOutput output)
+			throws IOException {
+		output.writeValue(authority.getAuthority());
+		output.writeValue(authority.getIdToken());
+		output.writeValue(authority.getUserInfo());
+		output.writeValue(authority.getUserNameAttributeName());
+	}
+
+	private static OidcUserAuthority readOidcUserAuthority(CompactInput input) throws IOException {
+		return new OidcUserAuthority(input.readValue(String.class), input.readValue(OidcIdToken.class),
+				input.readNullableValue(OidcUserInfo.class), input.readNullableValue(String.class));
+	}
+
+	private static void writeIdToken(OidcIdToken token, CompactOutput output) throws IOException {
+		output.writeValue(token.getTokenValue());
+		output.writeValue(token.getIssuedAt());
+		output.writeValue(token.getExpiresAt());
+		output.writeValue(token.getClaims());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static OidcIdToken readIdToken(CompactInput input) throws IOException {
+		return new OidcIdToken(input.readValue(String.class), input.readNullableValue(Instant.class),
+				input.readNullableValue(Instant.class), input.readValue(Map.class));
+	}
+
+	private static void writeUserInfo(OidcUserInfo userInfo, CompactOutput output) throws IOException {
+		output.writeValue(userInfo.getClaims());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static OidcUserInfo readUserInfo(CompactInput input) throws IOException {
+		return new OidcUserInfo(input.readValue(Map.class));
+	}
+
+	private static Field getNameAttributeKeyField() {
+		Field field = ReflectionUtils.findField(DefaultOAuth2User.class, "nameAttributeKey");
+		if (field == null) {
+			throw new IllegalStateException("Could not find DefaultOAuth2User#nameAttributeKey");
+		}
+		ReflectionUtils.makeAccessible(field);
+		return field;
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.client.serializer;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.core.oidc.user.TestOidcUsers;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.oauth2.core.user.TestOAuth2Users;
+import org.springframework.security.serializer.CompactCodecModules;
+import org.springframework.security.serializer.CompactSecuritySerializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link OAuth2ClientCompactCodecModule}
+ */
+public class OAuth2ClientCompactCodecModuleTests {
+
+	private CompactSecuritySerializer serializer;
+
+	@BeforeEach
+	public void setup() {
+		this.serializer = new CompactSecuritySerializer();
+		this.serializer.setJavaSerializationEnabled(false);
+	}
+
+	@Test
+	public void getModulesThenContainsOAuth2ClientModule() {
+		assertThat(CompactCodecModules.getModules(getClass().getClassLoader()))
+			.hasAtLeastOneElementOfType(OAuth2ClientCompactCodecModule.class);
+	}
+
+	@Test
+	public void serializeWhenOAuth2UserThenRoundTrips() throws IOException {
+		DefaultOAuth2User user = TestOAuth2Users.create();
+		OAuth2AuthenticationToken authentication = new OAuth2AuthenticationToken(user, user.getAuthorities(),
+				"registration-id");
+		OAuth2AuthenticationToken result = (OAuth2AuthenticationToken) roundTrip(authentication);
+		assertThat(result).isEqualTo(authentication);
+		assertThat(result.getName()).isEqualTo(user.getName());
+		assertThat(result.getAuthorizedClientRegistrationId()).isEqualTo("registration-id");
+		assertThat(result.getPrincipal().getAttributes()).isEqualTo(user.getAttributes());
+	}
+
+	@Test
+	public void serializeWhenOidcUserThenRoundTrips() throws IOException {
+		DefaultOidcUser user = TestOidcUsers.create();
+		OAuth2AuthenticationToken authentication = new OAuth2AuthenticationToken(user, user.getAuthorities(),
+				"registration-id");
+		OAuth2AuthenticationToken result = (OAuth2AuthenticationToken) roundTrip(authentication);
+		assertThat(result).isEqualTo(authentication);
+		DefaultOidcUser principal = (DefaultOidcUser) result.getPrincipal();
+		assertThat(principal.getIdToken().getTokenValue()).isEqualTo(user.getIdToken().getTokenValue());
+		assertThat(principal.getIdToken().getClaims()).isEqualTo(user.getIdToken().getClaims());
+		assertThat(principal.getUserInfo()).isEqualTo(user.getUserInfo());
+		assertThat(principal.getAuthorities()).isEqualTo(user.getAuthorities());
+	}
+
+	private Object roundTrip(Object value) throws IOException {
+		return this.serializer.deserializeFromByteArray(this.serializer.serializeToByteArray(value));
+	}
+
+}
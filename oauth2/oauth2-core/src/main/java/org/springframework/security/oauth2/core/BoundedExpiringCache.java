@@ -0,0 +1,188 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.core;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.util.Assert;
+
+/**
+ * A bounded cache whose entries expire after a time to live, used to cache the results of
+ * verifying, introspecting or resolving tokens.
+ *
+ * <p>
+ * When the cache is full, expired entries are removed first. If it is still full, a
+ * batch of arbitrary entries is removed, so that a full cache is not scanned again on
+ * every put.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @since 7.0
+ */
+public final class BoundedExpiringCache<K, V> {
+
+	private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final int maxSize;
+
+	private final Duration timeToLive;
+
+	private Clock clock = Clock.systemUTC();
+
+	/**
+	 * Construct a {@link BoundedExpiringCache}
+	 * @param maxSize the maximum number of entries
+	 * @param timeToLive the maximum time to keep an entry
+	 */
+	public BoundedExpiringCache(int maxSize, Duration timeToLive) {
+		Assert.isTrue(maxSize > 0, "maxSize must be greater than 0");
+		Assert.notNull(timeToLive, "timeToLive cannot be null");
+		Assert.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "timeToLive must be positive");
+		this.maxSize = maxSize;
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * Use this {@link Clock} to decide when an entry expires
+	 * @param clock the {@link Clock} to use
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	/**
+	 * Return the cached value for this key, if it has not expired
+	 * @param key the key
+	 * @return the cached value or {@code null}
+	 */
+	public @Nullable V get(K key) {
+		Entry<V> entry = this.entries.get(key);
+		if (entry != null && this.clock.instant().isBefore(entry.expiresAt())) {
+			this.hits.increment();
+			return entry.value();
+		}
+		if (entry != null) {
+			this.entries.remove(key, entry);
+		}
+		this.misses.increment();
+		return null;
+	}
+
+	/**
+	 * Cache this value for the time to live
+	 * @param key the key
+	 * @param value the value
+	 */
+	public void put(K key, V value) {
+		put(key, value, null);
+	}
+
+	/**
+	 * Cache this value until the earlier of the given expiry and the time to live. A
+	 * value that has already expired is not cached.
+	 * @param key the key
+	 * @param value the value
+	 * @param expiresAt when the value expires, or {@code null} to use the time to live
+	 */
+	public void put(K key, V value, @Nullable Instant expiresAt) {
+		Instant now = this.clock.instant();
+		Instant expiry = now.plus(this.timeToLive);
+		if (expiresAt != null && expiresAt.isBefore(expiry)) {
+			expiry = expiresAt;
+		}
+		if (!now.isBefore(expiry)) {
+			return;
+		}
+		if (this.entries.size() >= this.maxSize) {
+			evict(now);
+		}
+		this.entries.put(key, new Entry<>(value, expiry));
+	}
+
+	/**
+	 * Remove the value cached for this key
+	 * @param key the key
+	 */
+	public void remove(K key) {
+		this.entries.remove(key);
+	}
+
+	/**
+	 * Return the current time according to the {@link Clock} of this cache
+	 * @return the current time
+	 */
+	public Instant now() {
+		return this.clock.instant();
+	}
+
+	/**
+	 * Return how many lookups found an unexpired value
+	 * @return the number of cache hits
+	 */
+	public long getHitCount() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * Return how many lookups did not find an unexpired value
+	 * @return the number of cache misses
+	 */
+	public long getMissCount() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * Return the number of entries, including expired ones not yet removed
+	 * @return the number of entries
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+
+	private void evict(Instant now) {
+		this.entries.values().removeIf((entry) -> !now.isBefore(entry.expiresAt()));
+		int excess = this.entries.size() - this.maxSize + 1;
+		if (excess <= 0) {
+			return;
+		}
+		// evict a batch, so that a full cache is not scanned again on every put
+		int evictions = Math.max(excess, this.maxSize / 10);
+		Iterator<K> keys = this.entries.keySet().iterator();
+		while (evictions-- > 0 && keys.hasNext()) {
+			keys.next();
+			keys.remove();
+		}
+	}
+
+	private record Entry<V>(V value, Instant expiresAt) {
+
+	}
+
+}
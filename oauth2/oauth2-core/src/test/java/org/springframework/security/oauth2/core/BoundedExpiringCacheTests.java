@@ -0,0 +1,101 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.core;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link BoundedExpiringCache}
+ */
+public class BoundedExpiringCacheTests {
+
+	private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+	@Test
+	public void constructorWhenMaxSizeNotPositiveThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new BoundedExpiringCache<>(0, Duration.ofMinutes(5)));
+	}
+
+	@Test
+	public void constructorWhenTimeToLiveNotPositiveThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new BoundedExpiringCache<>(10, Duration.ZERO));
+	}
+
+	@Test
+	public void getWhenPutThenCachedValue() {
+		BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>(10, Duration.ofMinutes(5));
+		cache.put("key", "value");
+		assertThat(cache.get("key")).isEqualTo("value");
+		assertThat(cache.get("other")).isNull();
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		assertThat(cache.getMissCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void getWhenTimeToLiveElapsedThenNull() {
+		BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>(10, Duration.ofMinutes(5));
+		cache.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+		cache.put("key", "value");
+		cache.setClock(Clock.fixed(NOW.plus(Duration.ofMinutes(5)), ZoneOffset.UTC));
+		assertThat(cache.get("key")).isNull();
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	public void getWhenPutWithEarlierExpiryAndExpiryElapsedThenNull() {
+		BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>(10, Duration.ofMinutes(5));
+		cache.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+		cache.put("key", "value", NOW.plus(Duration.ofMinutes(1)));
+		cache.setClock(Clock.fixed(NOW.plus(Duration.ofMinutes(1)), ZoneOffset.UTC));
+		assertThat(cache.get("key")).isNull();
+	}
+
+	@Test
+	public void putWhenAlreadyExpiredThenNotCached() {
+		BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>(10, Duration.ofMinutes(5));
+		cache.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+		cache.put("key", "value", NOW);
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	public void putWhenFullThenEvicts() {
+		BoundedExpiringCache<Integer, String> cache = new BoundedExpiringCache<>(10, Duration.ofMinutes(5));
+		for (int i = 0; i < 100; i++) {
+			cache.put(i, "value");
+		}
+		assertThat(cache.size()).isLessThanOrEqualTo(10);
+		assertThat(cache.get(99)).isEqualTo("value");
+	}
+
+	@Test
+	public void getWhenRemovedThenNull() {
+		BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>(10, Duration.ofMinutes(5));
+		cache.put("key", "value");
+		cache.remove("key");
+		assertThat(cache.get("key")).isNull();
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.jwt;
+
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.SecretKey;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.KeyConverter;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+
+/**
+ * A {@link JWSVerificationKeySelector} that converts each selected {@link JWK} into its
+ * verification {@link Key} once, instead of for every JWT it verifies.
+ *
+ * <p>
+ * Keys are looked up by the {@link JWK} the {@link JWKSource} currently selects, so a JWK
+ * that is removed from or replaced in the JWK Set is no longer used. Its stale entry is
+ * dropped once the cache reaches its maximum size.
+ *
+ * @param <C> the {@link SecurityContext} type
+ * @since 7.0
+ * @see CachingJWSVerifierFactory
+ */
+final class CachingJWSVerificationKeySelector<C extends SecurityContext> extends JWSVerificationKeySelector<C> {
+
+	private static final int MAX_CACHED_JWKS = 64;
+
+	private final Map<JWK, List<Key>> keys = new ConcurrentHashMap<>();
+
+	CachingJWSVerificationKeySelector(JWSAlgorithm jwsAlgorithm, JWKSource<C> jwkSource) {
+		super(jwsAlgorithm, jwkSource);
+	}
+
+	CachingJWSVerificationKeySelector(Set<JWSAlgorithm> jwsAlgorithms, JWKSource<C> jwkSource) {
+		super(jwsAlgorithms, jwkSource);
+	}
+
+	@Override
+	public List<Key> selectJWSKeys(JWSHeader header, C context) throws KeySourceException {
+		if (!isAllowed(header.getAlgorithm())) {
+			return Collections.emptyList();
+		}
+		JWKMatcher jwkMatcher = createJWKMatcher(header);
+		if (jwkMatcher == null) {
+			return Collections.emptyList();
+		}
+		List<JWK> jwks = getJWKSource().get(new JWKSelector(jwkMatcher), context);
+		List<Key> keys = new ArrayList<>(jwks.size());
+		for (JWK jwk : jwks) {
+			keys.addAll(getKeys(jwk));
+		}
+		return keys;
+	}
+
+	private List<Key> getKeys(JWK jwk) {
+		List<Key> keys = this.keys.get(jwk);
+		if (keys != null) {
+			return keys;
+		}
+		if (this.keys.size() >= MAX_CACHED_JWKS) {
+			this.keys.clear();
+		}
+		return this.keys.computeIfAbsent(jwk, CachingJWSVerificationKeySelector::toVerificationKeys);
+	}
+
+	private static List<Key> toVerificationKeys(JWK jwk) {
+		List<Key> keys = new ArrayList<>();
+		for (Key key : KeyConverter.toJavaKeys(List.of(jwk))) {
+			if (key instanceof PublicKey || key instanceof SecretKey) {
+				keys.add(key);
+			}
+		}
+		return Collections.unmodifiableList(keys);
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.jwt;
+
+import java.security.Key;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.factories.DefaultJWSVerifierFactory;
+import com.nimbusds.jose.jca.JCAContext;
+import com.nimbusds.jose.proc.JWSVerifierFactory;
+
+/**
+ * A {@link JWSVerifierFactory} that reuses the {@link JWSVerifier} created for a given
+ * algorithm and {@link Key}, in the same way {@link NimbusJwtEncoder} reuses its
+ * {@link com.nimbusds.jose.JWSSigner signers}.
+ *
+ * <p>
+ * Combined with {@link CachingJWSVerificationKeySelector}, which hands out the same
+ * {@link Key} instance for as long as its JWK is selected, this avoids creating a new
+ * verifier for every JWT.
+ *
+ * @since 7.0
+ */
+final class CachingJWSVerifierFactory implements JWSVerifierFactory {
+
+	private static final int MAX_CACHED_VERIFIERS = 64;
+
+	private final JWSVerifierFactory delegate = new DefaultJWSVerifierFactory();
+
+	private final Map<VerifierKey, JWSVerifier> verifiers = new ConcurrentHashMap<>();
+
+	@Override
+	public JWSVerifier createJWSVerifier(JWSHeader header, Key key) throws JOSEException {
+		VerifierKey verifierKey = new VerifierKey(header.getAlgorithm(), key);
+		JWSVerifier verifier = this.verifiers.get(verifierKey);
+		if (verifier != null) {
+			return verifier;
+		}
+		verifier = this.delegate.createJWSVerifier(header, key);
+		if (this.verifiers.size() >= MAX_CACHED_VERIFIERS) {
+			this.verifiers.clear();
+		}
+		this.verifiers.put(verifierKey, verifier);
+		return verifier;
+	}
+
+	@Override
+	public Set<JWSAlgorithm> supportedJWSAlgorithms() {
+		return this.delegate.supportedJWSAlgorithms();
+	}
+
+	@Override
+	public JCAContext getJCAContext() {
+		return this.delegate.getJCAContext();
+	}
+
+	private record VerifierKey(JWSAlgorithm algorithm, Key key) {
+
+	}
+
+}
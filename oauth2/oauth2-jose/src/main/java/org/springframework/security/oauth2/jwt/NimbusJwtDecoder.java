@@ -19,6 +19,7 @@ package org.springframework.security.oauth2.jwt;
 import java.net.URI;
 import java.security.interfaces.RSAPublicKey;
 import java.text.ParseException;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -45,7 +46,6 @@ import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
 import com.nimbusds.jose.proc.DefaultJOSEObjectTypeVerifier;
 import com.nimbusds.jose.proc.JOSEObjectTypeVerifier;
 import com.nimbusds.jose.proc.JWSKeySelector;
-import com.nimbusds.jose.proc.JWSVerificationKeySelector;
 import com.nimbusds.jose.proc.SecurityContext;
 import com.nimbusds.jose.proc.SingleKeyJWSKeySelector;
 import com.nimbusds.jwt.JWT;
@@ -101,6 +101,8 @@ public final class NimbusJwtDecoder implements JwtDecoder {
 
 	private OAuth2TokenValidator<Jwt> jwtValidator = JwtValidators.createDefault();
 
+	private VerifiedJwtCache verifiedJwtCache;
+
 	/**
 	 * Configures a {@link NimbusJwtDecoder} with the given parameters
 	 * @param jwtProcessor - the {@link JWTProcessor} to use
@@ -128,6 +130,19 @@ public final class NimbusJwtDecoder implements JwtDecoder {
 		this.claimSetConverter = claimSetConverter;
 	}
 
+	/**
+	 * Cache the {@link Jwt}s decoded by this decoder, to skip parsing, verifying and
+	 * validating a token that was already decoded. A cached {@link Jwt} is kept until the
+	 * earlier of its {@code exp} claim and the time to live, and only its timestamps are
+	 * validated again when it is returned. By default, no {@link Jwt} is cached.
+	 * @param maxSize the maximum number of {@link Jwt}s to cache
+	 * @param timeToLive the maximum time to keep a {@link Jwt}
+	 * @since 7.0
+	 */
+	public void setVerifiedJwtCache(int maxSize, Duration timeToLive) {
+		this.verifiedJwtCache = new VerifiedJwtCache(maxSize, timeToLive);
+	}
+
 	/**
 	 * Decode and validate the JWT from its compact claims representation format
 	 * @param token the JWT value
@@ -136,13 +151,24 @@ public final class NimbusJwtDecoder implements JwtDecoder {
 	 */
 	@Override
 	public Jwt decode(String token) throws JwtException {
+		VerifiedJwtCache verifiedJwtCache = this.verifiedJwtCache;
+		if (verifiedJwtCache != null) {
+			Jwt cachedJwt = verifiedJwtCache.get(token);
+			if (cachedJwt != null) {
+				return cachedJwt;
+			}
+		}
 		JWT jwt = parse(token);
 		if (jwt instanceof PlainJWT) {
 			this.logger.trace("Failed to decode unsigned token");
 			throw new BadJwtException("Unsupported algorithm of " + jwt.getHeader().getAlgorithm());
 		}
 		Jwt createdJwt = createJwt(token, jwt);
-		return validateJwt(createdJwt);
+		Jwt validatedJwt = validateJwt(createdJwt);
+		if (verifiedJwtCache != null) {
+			verifiedJwtCache.put(validatedJwt);
+		}
+		return validatedJwt;
 	}
 
 	private JWT parse(String token) {
@@ -299,6 +325,14 @@ public final class NimbusJwtDecoder implements JwtDecoder {
 
 		private Cache cache = new NoOpCache("default");
 
+		private Duration cacheTimeToLive;
+
+		private Duration refreshAheadTime;
+
+		private Duration refreshRateLimit;
+
+		private Duration outageTolerance;
+
 		private Consumer<ConfigurableJWTProcessor<SecurityContext>> jwtProcessorCustomizer;
 
 		private JwkSetUriJwtDecoderBuilder(String jwkSetUri) {
@@ -420,6 +454,70 @@ public final class NimbusJwtDecoder implements JwtDecoder {
 			return this;
 		}
 
+		/**
+		 * Cache the <a href="https://tools.ietf.org/html/rfc7517#section-5">JWK Set</a>
+		 * for the given time to live, refreshing it in the background once it is within
+		 * the given refresh-ahead time of expiring. Only one refresh is in flight at a
+		 * time, so concurrent requests keep being served from the current JWK Set
+		 * instead of all fetching it at once.
+		 *
+		 * <p>
+		 * The refresh-ahead time plus the 15 seconds a refresh may take must be less than
+		 * the time to live. This cannot be combined with {@link #cache(Cache)}, since the
+		 * JWK Set would then be cached twice.
+		 * @param timeToLive how long a fetched JWK Set is cached
+		 * @param refreshAheadTime how long before expiry a background refresh starts
+		 * @return a {@link JwkSetUriJwtDecoderBuilder} for further configurations
+		 * @since 7.0
+		 */
+		public JwkSetUriJwtDecoderBuilder refreshAheadCache(Duration timeToLive, Duration refreshAheadTime) {
+			Assert.notNull(timeToLive, "timeToLive cannot be null");
+			Assert.notNull(refreshAheadTime, "refreshAheadTime cannot be null");
+			Assert.isTrue(!refreshAheadTime.isNegative(), "refreshAheadTime cannot be negative");
+			Assert.isTrue(refreshAheadTime.plusMillis(JWKSourceBuilder.DEFAULT_CACHE_REFRESH_TIMEOUT)
+				.compareTo(timeToLive) < 0, "refreshAheadTime plus the refresh timeout must be less than timeToLive");
+			this.cacheTimeToLive = timeToLive;
+			this.refreshAheadTime = refreshAheadTime;
+			return this;
+		}
+
+		/**
+		 * Refresh the <a href="https://tools.ietf.org/html/rfc7517#section-5">JWK Set</a>
+		 * at most once per given interval. Tokens carrying an unknown key id within that
+		 * interval are rejected without contacting the authorization server, which
+		 * protects it from being flooded by tokens with random key ids.
+		 *
+		 * <p>
+		 * The interval must be less than the time the JWK Set is cached, which is 5
+		 * minutes unless set with {@link #refreshAheadCache(Duration, Duration)}. This
+		 * cannot be combined with {@link #cache(Cache)}.
+		 * @param minTimeInterval the minimum time between two JWK Set refreshes
+		 * @return a {@link JwkSetUriJwtDecoderBuilder} for further configurations
+		 * @since 7.0
+		 */
+		public JwkSetUriJwtDecoderBuilder refreshRateLimit(Duration minTimeInterval) {
+			Assert.notNull(minTimeInterval, "minTimeInterval cannot be null");
+			Assert.isTrue(!minTimeInterval.isNegative(), "minTimeInterval cannot be negative");
+			this.refreshRateLimit = minTimeInterval;
+			return this;
+		}
+
+		/**
+		 * Keep using the last fetched
+		 * <a href="https://tools.ietf.org/html/rfc7517#section-5">JWK Set</a> for the
+		 * given grace period when refreshing it fails, for example because the
+		 * authorization server is temporarily unavailable.
+		 * @param gracePeriod how long a stale JWK Set may be used after a failed refresh
+		 * @return a {@link JwkSetUriJwtDecoderBuilder} for further configurations
+		 * @since 7.0
+		 */
+		public JwkSetUriJwtDecoderBuilder outageTolerance(Duration gracePeriod) {
+			Assert.notNull(gracePeriod, "gracePeriod cannot be null");
+			Assert.isTrue(!gracePeriod.isNegative(), "gracePeriod cannot be negative");
+			this.outageTolerance = gracePeriod;
+			return this;
+		}
+
 		/**
 		 * Enables discovery of supported JWS algorithms from the remote JWK Set.
 		 * @return a {@link JwkSetUriJwtDecoderBuilder} for further configuration
@@ -447,28 +545,52 @@ public final class NimbusJwtDecoder implements JwtDecoder {
 
 		JWSKeySelector<SecurityContext> jwsKeySelector(JWKSource<SecurityContext> jwkSource) {
 			if (this.signatureAlgorithms.isEmpty()) {
-				return new JWSVerificationKeySelector<>(this.defaultAlgorithms.apply(jwkSource), jwkSource);
+				return new CachingJWSVerificationKeySelector<>(this.defaultAlgorithms.apply(jwkSource), jwkSource);
 			}
 			Set<JWSAlgorithm> jwsAlgorithms = new HashSet<>();
 			for (SignatureAlgorithm signatureAlgorithm : this.signatureAlgorithms) {
 				JWSAlgorithm jwsAlgorithm = JWSAlgorithm.parse(signatureAlgorithm.getName());
 				jwsAlgorithms.add(jwsAlgorithm);
 			}
-			return new JWSVerificationKeySelector<>(jwsAlgorithms, jwkSource);
+			return new CachingJWSVerificationKeySelector<>(jwsAlgorithms, jwkSource);
 		}
 
 		JWKSource<SecurityContext> jwkSource() {
+			boolean springCache = !(this.cache instanceof NoOpCache);
+			Assert.state(this.refreshAheadTime == null || !springCache,
+					"refreshAheadCache cannot be combined with cache(Cache)");
+			Assert.state(this.refreshRateLimit == null || !springCache,
+					"refreshRateLimit cannot be combined with cache(Cache)");
+			Duration timeToLive = (this.cacheTimeToLive != null) ? this.cacheTimeToLive
+					: Duration.ofMillis(JWKSourceBuilder.DEFAULT_CACHE_TIME_TO_LIVE);
+			Assert.state(this.refreshRateLimit == null || this.refreshRateLimit.compareTo(timeToLive) < 0,
+					"refreshRateLimit must be less than the JWK Set cache time to live");
 			String jwkSetUri = this.jwkSetUri.apply(this.restOperations);
-			return JWKSourceBuilder.create(new SpringJWKSource<>(this.restOperations, this.cache, jwkSetUri))
-				.refreshAheadCache(false)
-				.rateLimited(false)
-				.cache(this.cache instanceof NoOpCache)
-				.build();
+			JWKSourceBuilder<SecurityContext> builder = JWKSourceBuilder
+				.create(new SpringJWKSource<>(this.restOperations, this.cache, jwkSetUri));
+			if (this.refreshAheadTime != null) {
+				builder.cache(this.cacheTimeToLive.toMillis(), JWKSourceBuilder.DEFAULT_CACHE_REFRESH_TIMEOUT)
+					.refreshAheadCache(this.refreshAheadTime.toMillis(), false);
+			}
+			else {
+				builder.refreshAheadCache(false).cache(this.cache instanceof NoOpCache);
+			}
+			if (this.refreshRateLimit != null) {
+				builder.rateLimited(this.refreshRateLimit.toMillis());
+			}
+			else {
+				builder.rateLimited(false);
+			}
+			if (this.outageTolerance != null) {
+				builder.outageTolerant(this.outageTolerance.toMillis());
+			}
+			return builder.build();
 		}
 
 		JWTProcessor<SecurityContext> processor() {
 			JWKSource<SecurityContext> jwkSource = jwkSource();
 			ConfigurableJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+			jwtProcessor.setJWSVerifierFactory(new CachingJWSVerifierFactory());
 			jwtProcessor.setJWSTypeVerifier(this.typeVerifier);
 			jwtProcessor.setJWSKeySelector(jwsKeySelector(jwkSource));
 			// Spring Security validates the claim set independent from Nimbus
@@ -682,6 +804,7 @@ public final class NimbusJwtDecoder implements JwtDecoder {
 							+ this.jwsAlgorithm + ". Please indicate one of RS256, RS384, or RS512.");
 			JWSKeySelector<SecurityContext> jwsKeySelector = new SingleKeyJWSKeySelector<>(this.jwsAlgorithm, this.key);
 			DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+			jwtProcessor.setJWSVerifierFactory(new CachingJWSVerifierFactory());
 			jwtProcessor.setJWSTypeVerifier(this.typeVerifier);
 			jwtProcessor.setJWSKeySelector(jwsKeySelector);
 			// Spring Security validates the claim set independent from Nimbus
@@ -817,6 +940,7 @@ public final class NimbusJwtDecoder implements JwtDecoder {
 			JWSKeySelector<SecurityContext> jwsKeySelector = new SingleKeyJWSKeySelector<>(this.jwsAlgorithm,
 					this.secretKey);
 			DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+			jwtProcessor.setJWSVerifierFactory(new CachingJWSVerifierFactory());
 			jwtProcessor.setJWSKeySelector(jwsKeySelector);
 			jwtProcessor.setJWSTypeVerifier(this.typeVerifier);
 			// Spring Security validates the claim set independent from Nimbus
@@ -901,18 +1025,19 @@ public final class NimbusJwtDecoder implements JwtDecoder {
 
 		JWSKeySelector<SecurityContext> jwsKeySelector(JWKSource<SecurityContext> jwkSource) {
 			if (this.signatureAlgorithms.isEmpty()) {
-				return new JWSVerificationKeySelector<>(this.defaultAlgorithms.apply(jwkSource), jwkSource);
+				return new CachingJWSVerificationKeySelector<>(this.defaultAlgorithms.apply(jwkSource), jwkSource);
 			}
 			Set<JWSAlgorithm> jwsAlgorithms = new HashSet<>();
 			for (SignatureAlgorithm signatureAlgorithm : this.signatureAlgorithms) {
 				JWSAlgorithm jwsAlgorithm = JWSAlgorithm.parse(signatureAlgorithm.getName());
 				jwsAlgorithms.add(jwsAlgorithm);
 			}
-			return new JWSVerificationKeySelector<>(jwsAlgorithms, jwkSource);
+			return new CachingJWSVerificationKeySelector<>(jwsAlgorithms, jwkSource);
 		}
 
 		JWTProcessor<SecurityContext> processor() {
 			ConfigurableJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+			jwtProcessor.setJWSVerifierFactory(new CachingJWSVerifierFactory());
 			jwtProcessor.setJWSTypeVerifier(this.typeVerifier);
 			jwtProcessor.setJWSKeySelector(jwsKeySelector(this.jwkSource));
 			// Spring Security validates the claim set independent from Nimbus
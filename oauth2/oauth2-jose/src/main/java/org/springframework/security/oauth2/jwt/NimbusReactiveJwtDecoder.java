@@ -101,6 +101,8 @@ public final class NimbusReactiveJwtDecoder implements ReactiveJwtDecoder {
 	private Converter<Map<String, Object>, Map<String, Object>> claimSetConverter = MappedJwtClaimSetConverter
 		.withDefaults(Collections.emptyMap());
 
+	private VerifiedJwtCache verifiedJwtCache;
+
 	/**
 	 * Constructs a {@code NimbusReactiveJwtDecoder} using the provided parameters.
 	 * @param jwkSetUrl the JSON Web Key (JWK) Set {@code URL}
@@ -146,14 +148,35 @@ public final class NimbusReactiveJwtDecoder implements ReactiveJwtDecoder {
 		this.claimSetConverter = claimSetConverter;
 	}
 
+	/**
+	 * Cache the {@link Jwt}s decoded by this decoder, to skip parsing, verifying and
+	 * validating a token that was already decoded. A cached {@link Jwt} is kept until the
+	 * earlier of its {@code exp} claim and the time to live, and only its timestamps are
+	 * validated again when it is returned. By default, no {@link Jwt} is cached.
+	 * @param maxSize the maximum number of {@link Jwt}s to cache
+	 * @param timeToLive the maximum time to keep a {@link Jwt}
+	 * @since 7.0
+	 */
+	public void setVerifiedJwtCache(int maxSize, Duration timeToLive) {
+		this.verifiedJwtCache = new VerifiedJwtCache(maxSize, timeToLive);
+	}
+
 	@Override
 	public Mono<Jwt> decode(String token) {
+		VerifiedJwtCache verifiedJwtCache = this.verifiedJwtCache;
+		if (verifiedJwtCache != null) {
+			Jwt cachedJwt = verifiedJwtCache.get(token);
+			if (cachedJwt != null) {
+				return Mono.just(cachedJwt);
+			}
+		}
 		try {
 			JWT jwt = JWTParser.parse(token);
 			if (jwt instanceof PlainJWT) {
 				return Mono.error(new BadJwtException("Unsupported algorithm of " + jwt.getHeader().getAlgorithm()));
 			}
-			return this.decode(jwt);
+			Mono<Jwt> decoded = this.decode(jwt);
+			return (verifiedJwtCache != null) ? decoded.doOnNext(verifiedJwtCache::put) : decoded;
 		}
 		catch (Exception ex) {
 			return Mono.error(new BadJwtException(
@@ -330,6 +353,14 @@ public final class NimbusReactiveJwtDecoder implements ReactiveJwtDecoder {
 
 		private WebClient webClient = WebClient.create();
 
+		private Duration cacheTimeToLive;
+
+		private Duration refreshAheadTime = Duration.ZERO;
+
+		private Duration refreshRateLimit = Duration.ZERO;
+
+		private Duration outageTolerance = Duration.ZERO;
+
 		private BiFunction<ReactiveRemoteJWKSource, ConfigurableJWTProcessor<JWKSecurityContext>, Mono<ConfigurableJWTProcessor<JWKSecurityContext>>> jwtProcessorCustomizer;
 
 		private JwkSetUriReactiveJwtDecoderBuilder(String jwkSetUri) {
@@ -438,6 +469,62 @@ public final class NimbusReactiveJwtDecoder implements ReactiveJwtDecoder {
 			return this;
 		}
 
+		/**
+		 * Cache the <a href="https://tools.ietf.org/html/rfc7517#section-5">JWK Set</a>
+		 * for the given time to live, refreshing it in the background once it is within
+		 * the given refresh-ahead time of expiring. Only one refresh is in flight at a
+		 * time, so concurrent requests keep being served from the current JWK Set
+		 * instead of all fetching it at once, and a failed refresh is only retried after
+		 * a short delay.
+		 * @param timeToLive how long a fetched JWK Set is cached
+		 * @param refreshAheadTime how long before expiry a background refresh starts
+		 * @return a {@link JwkSetUriReactiveJwtDecoderBuilder} for further configurations
+		 * @since 7.0
+		 */
+		public JwkSetUriReactiveJwtDecoderBuilder refreshAheadCache(Duration timeToLive, Duration refreshAheadTime) {
+			Assert.notNull(timeToLive, "timeToLive cannot be null");
+			Assert.notNull(refreshAheadTime, "refreshAheadTime cannot be null");
+			Assert.isTrue(!refreshAheadTime.isNegative(), "refreshAheadTime cannot be negative");
+			Assert.isTrue(refreshAheadTime.compareTo(timeToLive) < 0, "refreshAheadTime must be less than timeToLive");
+			this.cacheTimeToLive = timeToLive;
+			this.refreshAheadTime = refreshAheadTime;
+			return this;
+		}
+
+		/**
+		 * Refresh the <a href="https://tools.ietf.org/html/rfc7517#section-5">JWK Set</a>
+		 * at most once per given interval. Tokens carrying an unknown key id within that
+		 * interval are rejected without contacting the authorization server, which
+		 * protects it from being flooded by tokens with random key ids.
+		 * @param minTimeInterval the minimum time between two JWK Set refreshes
+		 * @return a {@link JwkSetUriReactiveJwtDecoderBuilder} for further configurations
+		 * @since 7.0
+		 */
+		public JwkSetUriReactiveJwtDecoderBuilder refreshRateLimit(Duration minTimeInterval) {
+			Assert.notNull(minTimeInterval, "minTimeInterval cannot be null");
+			Assert.isTrue(!minTimeInterval.isNegative(), "minTimeInterval cannot be negative");
+			this.refreshRateLimit = minTimeInterval;
+			return this;
+		}
+
+		/**
+		 * Keep using the last fetched
+		 * <a href="https://tools.ietf.org/html/rfc7517#section-5">JWK Set</a> for the
+		 * given grace period after it expires when refreshing it fails, for example
+		 * because the authorization server is temporarily unavailable. Only applies in
+		 * combination with {@link #refreshAheadCache(Duration, Duration)}, since the JWK
+		 * Set is otherwise cached until an unknown key id is encountered.
+		 * @param gracePeriod how long a stale JWK Set may be used after a failed refresh
+		 * @return a {@link JwkSetUriReactiveJwtDecoderBuilder} for further configurations
+		 * @since 7.0
+		 */
+		public JwkSetUriReactiveJwtDecoderBuilder outageTolerance(Duration gracePeriod) {
+			Assert.notNull(gracePeriod, "gracePeriod cannot be null");
+			Assert.isTrue(!gracePeriod.isNegative(), "gracePeriod cannot be negative");
+			this.outageTolerance = gracePeriod;
+			return this;
+		}
+
 		/**
 		 * Use the given {@link Consumer} to customize the {@link JWTProcessor
 		 * ConfigurableJWTProcessor} before passing it to the build
@@ -475,22 +562,26 @@ public final class NimbusReactiveJwtDecoder implements ReactiveJwtDecoder {
 			JWKSecurityContextJWKSet jwkSource = new JWKSecurityContextJWKSet();
 			if (this.signatureAlgorithms.isEmpty()) {
 				return this.defaultAlgorithms.apply(source)
-					.map((algorithms) -> new JWSVerificationKeySelector<>(algorithms, jwkSource));
+					.map((algorithms) -> new CachingJWSVerificationKeySelector<>(algorithms, jwkSource));
 			}
 			Set<JWSAlgorithm> jwsAlgorithms = new HashSet<>();
 			for (SignatureAlgorithm signatureAlgorithm : this.signatureAlgorithms) {
 				JWSAlgorithm jwsAlgorithm = JWSAlgorithm.parse(signatureAlgorithm.getName());
 				jwsAlgorithms.add(jwsAlgorithm);
 			}
-			return Mono.just(new JWSVerificationKeySelector<>(jwsAlgorithms, jwkSource));
+			return Mono.just(new CachingJWSVerificationKeySelector<>(jwsAlgorithms, jwkSource));
 		}
 
 		Converter<JWT, Mono<JWTClaimsSet>> processor() {
 			DefaultJWTProcessor<JWKSecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+			jwtProcessor.setJWSVerifierFactory(new CachingJWSVerifierFactory());
 			jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
 			});
 			ReactiveRemoteJWKSource source = new ReactiveRemoteJWKSource(this.jwkSetUri.apply(this.webClient));
 			source.setWebClient(this.webClient);
+			source.setRefreshAheadCache(this.cacheTimeToLive, this.refreshAheadTime);
+			source.setMinRefreshInterval(this.refreshRateLimit);
+			source.setOutageTolerance(this.outageTolerance);
 			Mono<JWSKeySelector<JWKSecurityContext>> jwsKeySelector = jwsKeySelector(source);
 			Mono<Tuple2<ConfigurableJWTProcessor<JWKSecurityContext>, Function<JWSAlgorithm, Boolean>>> jwtProcessorMono = jwsKeySelector
 				.flatMap((selector) -> {
@@ -653,6 +744,7 @@ public final class NimbusReactiveJwtDecoder implements ReactiveJwtDecoder {
 							+ this.jwsAlgorithm + ". Please indicate one of RS256, RS384, or RS512.");
 			JWSKeySelector<SecurityContext> jwsKeySelector = new SingleKeyJWSKeySelector<>(this.jwsAlgorithm, this.key);
 			DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+			jwtProcessor.setJWSVerifierFactory(new CachingJWSVerifierFactory());
 			jwtProcessor.setJWSKeySelector(jwsKeySelector);
 			jwtProcessor.setJWSTypeVerifier(this.typeVerifier);
 			// Spring Security validates the claim set independent from Nimbus
@@ -786,6 +878,7 @@ public final class NimbusReactiveJwtDecoder implements ReactiveJwtDecoder {
 			JWSKeySelector<SecurityContext> jwsKeySelector = new SingleKeyJWSKeySelector<>(this.jwsAlgorithm,
 					this.secretKey);
 			DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+			jwtProcessor.setJWSVerifierFactory(new CachingJWSVerifierFactory());
 			jwtProcessor.setJWSKeySelector(jwsKeySelector);
 			jwtProcessor.setJWSTypeVerifier(this.typeVerifier);
 			// Spring Security validates the claim set independent from Nimbus
@@ -912,9 +1005,10 @@ public final class NimbusReactiveJwtDecoder implements ReactiveJwtDecoder {
 
 		Converter<JWT, Mono<JWTClaimsSet>> processor() {
 			JWKSecurityContextJWKSet jwkSource = new JWKSecurityContextJWKSet();
-			JWSKeySelector<JWKSecurityContext> jwsKeySelector = new JWSVerificationKeySelector<>(this.jwsAlgorithm,
-					jwkSource);
+			JWSKeySelector<JWKSecurityContext> jwsKeySelector = new CachingJWSVerificationKeySelector<>(
+					this.jwsAlgorithm, jwkSource);
 			DefaultJWTProcessor<JWKSecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+			jwtProcessor.setJWSVerifierFactory(new CachingJWSVerifierFactory());
 			jwtProcessor.setJWSKeySelector(jwsKeySelector);
 			jwtProcessor.setJWSTypeVerifier(this.typeVerifier);
 			jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
@@ -58,7 +58,8 @@ final class ReactiveJwtDecoderProviderConfigurationUtils {
 			return Mono.just(jwtProcessor);
 		}
 		JWKSource<C> delegate = ((JWSVerificationKeySelector<C>) selector).getJWKSource();
-		return getJWSAlgorithms(jwkSource).map((algorithms) -> new JWSVerificationKeySelector<>(algorithms, delegate))
+		return getJWSAlgorithms(jwkSource)
+			.map((algorithms) -> new CachingJWSVerificationKeySelector<>(algorithms, delegate))
 			.map((replacement) -> {
 				jwtProcessor.setJWSKeySelector(replacement);
 				return jwtProcessor;
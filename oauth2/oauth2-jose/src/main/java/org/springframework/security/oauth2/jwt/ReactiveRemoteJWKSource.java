@@ -17,6 +17,9 @@
 package org.springframework.security.oauth2.jwt;
 
 import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -27,6 +30,8 @@ import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKMatcher;
 import com.nimbusds.jose.jwk.JWKSelector;
 import com.nimbusds.jose.jwk.JWKSet;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import reactor.core.publisher.Mono;
 
 import org.springframework.util.Assert;
@@ -38,6 +43,13 @@ import org.springframework.web.reactive.function.client.WebClient;
  */
 class ReactiveRemoteJWKSource implements ReactiveJWKSource {
 
+	/**
+	 * How long to wait before refreshing in the background again after a failed attempt.
+	 */
+	private static final Duration BACKGROUND_REFRESH_RETRY_INTERVAL = Duration.ofSeconds(30);
+
+	private final Log logger = LogFactory.getLog(getClass());
+
 	/**
 	 * The cached JWK set.
 	 */
@@ -48,6 +60,27 @@ class ReactiveRemoteJWKSource implements ReactiveJWKSource {
 	 */
 	private final AtomicReference<String> cachedJwkSetUrl = new AtomicReference<>();
 
+	/**
+	 * The JWK set retrieval currently in flight, shared by all concurrent callers.
+	 */
+	private final AtomicReference<Mono<JWKSet>> refreshingJWKSet = new AtomicReference<>();
+
+	private volatile Instant refreshedAt;
+
+	private volatile Instant refreshAttemptedAt;
+
+	private volatile Instant backgroundRefreshFailedAt;
+
+	private Duration timeToLive;
+
+	private Duration refreshAheadTime = Duration.ZERO;
+
+	private Duration minRefreshInterval = Duration.ZERO;
+
+	private Duration outageTolerance = Duration.ZERO;
+
+	private Clock clock = Clock.systemUTC();
+
 	private WebClient webClient = WebClient.create();
 
 	private final Mono<String> jwkSetUrlProvider;
@@ -66,15 +99,60 @@ class ReactiveRemoteJWKSource implements ReactiveJWKSource {
 	@Override
 	public Mono<List<JWK>> get(JWKSelector jwkSelector) {
 		// @formatter:off
-		return this.cachedJWKSet.get()
+		return getCachedJWKSet()
 				.switchIfEmpty(Mono.defer(this::getJWKSet))
 				.flatMap((jwkSet) -> get(jwkSelector, jwkSet))
-				.switchIfEmpty(Mono.defer(() -> getJWKSet()
-						.map(jwkSelector::select))
-				);
+				.switchIfEmpty(Mono.defer(() -> refreshForUnknownKey(jwkSelector)));
 		// @formatter:on
 	}
 
+	private Mono<JWKSet> getCachedJWKSet() {
+		return Mono.defer(() -> {
+			Mono<JWKSet> cached = this.cachedJWKSet.get();
+			Instant refreshedAt = this.refreshedAt;
+			if (this.timeToLive == null || refreshedAt == null) {
+				return cached;
+			}
+			Instant now = this.clock.instant();
+			Instant expiresAt = refreshedAt.plus(this.timeToLive);
+			if (!now.isBefore(expiresAt)) {
+				if (now.isBefore(expiresAt.plus(this.outageTolerance))) {
+					// Serve the stale JWK set while the authorization server is unavailable
+					return isRefreshRateLimited(now) ? cached : getJWKSet().onErrorResume((ex) -> cached);
+				}
+				return getJWKSet();
+			}
+			if (!now.isBefore(expiresAt.minus(this.refreshAheadTime)) && !isRefreshRateLimited(now)
+					&& !isBackingOff(now)) {
+				// Refresh in the background and keep serving the current JWK set
+				getJWKSet().subscribe((jwkSet) -> {
+				}, (ex) -> {
+					this.backgroundRefreshFailedAt = this.clock.instant();
+					this.logger.warn("Failed to refresh the JWK Set in the background", ex);
+				});
+			}
+			return cached;
+		});
+	}
+
+	private Mono<List<JWK>> refreshForUnknownKey(JWKSelector jwkSelector) {
+		if (isRefreshRateLimited(this.clock.instant())) {
+			// The JWK set was refreshed recently, treat the key ID as unknown
+			return Mono.just(Collections.emptyList());
+		}
+		return getJWKSet().map(jwkSelector::select);
+	}
+
+	private boolean isRefreshRateLimited(Instant now) {
+		Instant refreshAttemptedAt = this.refreshAttemptedAt;
+		return refreshAttemptedAt != null && now.isBefore(refreshAttemptedAt.plus(this.minRefreshInterval));
+	}
+
+	private boolean isBackingOff(Instant now) {
+		Instant failedAt = this.backgroundRefreshFailedAt;
+		return failedAt != null && now.isBefore(failedAt.plus(BACKGROUND_REFRESH_RETRY_INTERVAL));
+	}
+
 	private Mono<List<JWK>> get(JWKSelector jwkSelector, JWKSet jwkSet) {
 		return Mono.defer(() -> {
 			// Run the selector on the JWK set
@@ -100,22 +178,31 @@ class ReactiveRemoteJWKSource implements ReactiveJWKSource {
 	}
 
 	/**
-	 * Updates the cached JWK set from the configured URL.
+	 * Updates the cached JWK set from the configured URL, joining the retrieval already
+	 * in flight if there is one.
 	 * @return The updated JWK set.
 	 * @throws RemoteKeySourceException If JWK retrieval failed.
 	 */
 	private Mono<JWKSet> getJWKSet() {
+		return Mono.defer(() -> this.refreshingJWKSet
+			.updateAndGet((refreshing) -> (refreshing != null) ? refreshing : fetchJWKSet()));
+	}
+
+	private Mono<JWKSet> fetchJWKSet() {
 		// @formatter:off
 		return this.jwkSetUrlProvider
+				.doOnSubscribe((subscription) -> this.refreshAttemptedAt = this.clock.instant())
 				.flatMap((jwkSetURL) -> this.webClient.get()
 					.uri(jwkSetURL)
 					.retrieve()
 					.bodyToMono(String.class)
 				)
 				.map(this::parse)
-				.doOnNext((jwkSet) -> this.cachedJWKSet
-					.set(Mono.just(jwkSet))
-				)
+				.doOnNext((jwkSet) -> {
+					this.cachedJWKSet.set(Mono.just(jwkSet));
+					this.refreshedAt = this.clock.instant();
+				})
+				.doFinally((signal) -> this.refreshingJWKSet.set(null))
 				.cache();
 		// @formatter:on
 	}
@@ -151,4 +238,21 @@ class ReactiveRemoteJWKSource implements ReactiveJWKSource {
 		this.webClient = webClient;
 	}
 
+	void setRefreshAheadCache(Duration timeToLive, Duration refreshAheadTime) {
+		this.timeToLive = timeToLive;
+		this.refreshAheadTime = refreshAheadTime;
+	}
+
+	void setMinRefreshInterval(Duration minRefreshInterval) {
+		this.minRefreshInterval = minRefreshInterval;
+	}
+
+	void setOutageTolerance(Duration outageTolerance) {
+		this.outageTolerance = outageTolerance;
+	}
+
+	void setClock(Clock clock) {
+		this.clock = clock;
+	}
+
 }
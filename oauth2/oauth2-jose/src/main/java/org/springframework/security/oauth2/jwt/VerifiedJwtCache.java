@@ -0,0 +1,109 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.jwt;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.security.oauth2.core.BoundedExpiringCache;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.util.Assert;
+
+/**
+ * A bounded cache of {@link Jwt}s that have already been verified and validated, so that
+ * {@link NimbusJwtDecoder} and {@link NimbusReactiveJwtDecoder} do not parse, verify the
+ * signature of and validate the same token again each time it is presented.
+ *
+ * <p>
+ * A {@link Jwt} is kept until the earlier of its {@code exp} claim and the configured
+ * time to live. On each hit, only the time-based validator is run again, which is a
+ * {@link JwtTimestampValidator} by default. A {@link Jwt} that fails it is removed, so
+ * that the token is decoded and validated again in full.
+ *
+ * <p>
+ * Since other validators are not run again on a hit, the time to live bounds how long a
+ * change to them, or to the keys used to verify signatures, takes to apply to tokens
+ * already in the cache. Each decoder creates its own cache, so that a {@link Jwt}
+ * validated by one decoder is never returned by another one with different validators or
+ * keys.
+ *
+ * @since 7.0
+ * @see NimbusJwtDecoder#setVerifiedJwtCache(int, Duration)
+ * @see NimbusReactiveJwtDecoder#setVerifiedJwtCache(int, Duration)
+ */
+final class VerifiedJwtCache {
+
+	private final BoundedExpiringCache<String, Jwt> jwts;
+
+	private OAuth2TokenValidator<Jwt> jwtValidator = new JwtTimestampValidator();
+
+	/**
+	 * Construct a {@link VerifiedJwtCache}
+	 * @param maxSize the maximum number of {@link Jwt}s to cache
+	 * @param timeToLive the maximum time to keep a {@link Jwt}
+	 */
+	VerifiedJwtCache(int maxSize, Duration timeToLive) {
+		this.jwts = new BoundedExpiringCache<>(maxSize, timeToLive);
+	}
+
+	/**
+	 * Use this {@link OAuth2TokenValidator} to validate a cached {@link Jwt} each time it
+	 * is returned. The default is a {@link JwtTimestampValidator}.
+	 * @param jwtValidator the {@link OAuth2TokenValidator} to use
+	 */
+	void setJwtValidator(OAuth2TokenValidator<Jwt> jwtValidator) {
+		Assert.notNull(jwtValidator, "jwtValidator cannot be null");
+		this.jwtValidator = jwtValidator;
+	}
+
+	/**
+	 * Use this {@link Clock} to decide when a cached {@link Jwt} expires
+	 * @param clock the {@link Clock} to use
+	 */
+	void setClock(Clock clock) {
+		this.jwts.setClock(clock);
+	}
+
+	/**
+	 * Return the cached {@link Jwt} for this token, if it has not expired and still
+	 * passes the time-based validation
+	 * @param token the JWT value
+	 * @return the cached {@link Jwt} or {@code null}
+	 */
+	@Nullable Jwt get(String token) {
+		Jwt jwt = this.jwts.get(token);
+		if (jwt == null) {
+			return null;
+		}
+		if (this.jwtValidator.validate(jwt).hasErrors()) {
+			this.jwts.remove(token);
+			return null;
+		}
+		return jwt;
+	}
+
+	/**
+	 * Cache this verified and validated {@link Jwt}
+	 * @param jwt the {@link Jwt}
+	 */
+	void put(Jwt jwt) {
+		this.jwts.put(jwt.getTokenValue(), jwt, jwt.getExpiresAt());
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.jwt;
+
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.oauth2.jose.TestJwks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link CachingJWSVerificationKeySelector}
+ */
+public class CachingJWSVerificationKeySelectorTests {
+
+	private final JWSHeader header = new JWSHeader(JWSAlgorithm.RS256);
+
+	@Test
+	public void selectJWSKeysWhenSameJwkThenSameKey() throws Exception {
+		JWKSource<SecurityContext> jwkSource = (selector, context) -> selector
+			.select(new JWKSet(TestJwks.DEFAULT_RSA_JWK.toPublicJWK()));
+		CachingJWSVerificationKeySelector<SecurityContext> keySelector = new CachingJWSVerificationKeySelector<>(
+				JWSAlgorithm.RS256, jwkSource);
+		List<Key> keys = keySelector.selectJWSKeys(this.header, null);
+		assertThat(keys).hasSize(1);
+		assertThat(keySelector.selectJWSKeys(this.header, null).get(0)).isSameAs(keys.get(0));
+	}
+
+	@Test
+	public void selectJWSKeysWhenJwkSetChangesThenNewKey() throws Exception {
+		AtomicReference<JWKSet> jwkSet = new AtomicReference<>(new JWKSet(TestJwks.DEFAULT_RSA_JWK));
+		JWKSource<SecurityContext> jwkSource = (selector, context) -> selector.select(jwkSet.get());
+		CachingJWSVerificationKeySelector<SecurityContext> keySelector = new CachingJWSVerificationKeySelector<>(
+				JWSAlgorithm.RS256, jwkSource);
+		Key key = keySelector.selectJWSKeys(this.header, null).get(0);
+		jwkSet.set(new JWKSet(TestJwks.generateRsa().build()));
+		List<Key> keys = keySelector.selectJWSKeys(this.header, null);
+		assertThat(keys).hasSize(1);
+		assertThat(keys.get(0)).isNotEqualTo(key);
+	}
+
+	@Test
+	public void selectJWSKeysWhenPrivateJwkThenOnlyPublicKey() throws Exception {
+		JWKSource<SecurityContext> jwkSource = (selector, context) -> selector
+			.select(new JWKSet(TestJwks.DEFAULT_RSA_JWK));
+		CachingJWSVerificationKeySelector<SecurityContext> keySelector = new CachingJWSVerificationKeySelector<>(
+				JWSAlgorithm.RS256, jwkSource);
+		List<Key> keys = keySelector.selectJWSKeys(this.header, null);
+		assertThat(keys).singleElement().isInstanceOf(PublicKey.class);
+	}
+
+	@Test
+	public void selectJWSKeysWhenAlgorithmNotAllowedThenEmpty() throws Exception {
+		JWKSource<SecurityContext> jwkSource = (selector, context) -> selector
+			.select(new JWKSet(TestJwks.DEFAULT_RSA_JWK));
+		CachingJWSVerificationKeySelector<SecurityContext> keySelector = new CachingJWSVerificationKeySelector<>(
+				JWSAlgorithm.RS512, jwkSource);
+		assertThat(keySelector.selectJWSKeys(this.header, null)).isEmpty();
+	}
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.jwt;
+
+import java.security.interfaces.RSAPublicKey;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.oauth2.jose.TestJwks;
+import org.springframework.security.oauth2.jose.TestKeys;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link CachingJWSVerifierFactory}
+ */
+public class CachingJWSVerifierFactoryTests {
+
+	private final CachingJWSVerifierFactory factory = new CachingJWSVerifierFactory();
+
+	@Test
+	public void createJWSVerifierWhenSameAlgorithmAndKeyThenSameVerifier() throws Exception {
+		JWSHeader header = new JWSHeader(JWSAlgorithm.RS256);
+		JWSVerifier verifier = this.factory.createJWSVerifier(header, TestKeys.DEFAULT_PUBLIC_KEY);
+		assertThat(this.factory.createJWSVerifier(header, TestKeys.DEFAULT_PUBLIC_KEY)).isSameAs(verifier);
+	}
+
+	@Test
+	public void createJWSVerifierWhenDifferentKeyThenDifferentVerifier() throws Exception {
+		JWSHeader header = new JWSHeader(JWSAlgorithm.RS256);
+		JWSVerifier verifier = this.factory.createJWSVerifier(header, TestKeys.DEFAULT_PUBLIC_KEY);
+		RSAPublicKey other = TestJwks.generateRsa().build().toRSAPublicKey();
+		assertThat(this.factory.createJWSVerifier(header, other)).isNotSameAs(verifier);
+	}
+
+}
@@ -25,7 +25,10 @@ import java.security.spec.EncodedKeySpec;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.X509EncodedKeySpec;
 import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
@@ -73,6 +76,7 @@ import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
 import org.springframework.security.oauth2.jose.TestKeys;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestOperations;
 
@@ -83,6 +87,7 @@ import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -162,6 +167,67 @@ public class NimbusJwtDecoderTests {
 		// @formatter:on
 	}
 
+	@Test
+	public void setVerifiedJwtCacheWhenInvalidMaxSizeThenThrowIllegalArgumentException() {
+		// @formatter:off
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.jwtDecoder.setVerifiedJwtCache(0, Duration.ofMinutes(5)));
+		// @formatter:on
+	}
+
+	@Test
+	public void decodeWhenVerifiedJwtCacheThenValidatesOnce() {
+		OAuth2TokenValidator<Jwt> jwtValidator = mock(OAuth2TokenValidator.class);
+		given(jwtValidator.validate(any(Jwt.class))).willReturn(OAuth2TokenValidatorResult.success());
+		this.jwtDecoder.setJwtValidator(jwtValidator);
+		this.jwtDecoder.setVerifiedJwtCache(10, Duration.ofMinutes(5));
+		Jwt jwt = this.jwtDecoder.decode(SIGNED_JWT);
+		assertThat(this.jwtDecoder.decode(SIGNED_JWT)).isSameAs(jwt);
+		verify(jwtValidator).validate(any(Jwt.class));
+	}
+
+	@Test
+	public void decodeWhenVerifiedJwtCacheTimeToLiveElapsedThenValidatesAgain() {
+		OAuth2TokenValidator<Jwt> jwtValidator = mock(OAuth2TokenValidator.class);
+		given(jwtValidator.validate(any(Jwt.class))).willReturn(OAuth2TokenValidatorResult.success());
+		this.jwtDecoder.setJwtValidator(jwtValidator);
+		this.jwtDecoder.setVerifiedJwtCache(10, Duration.ofMinutes(5));
+		VerifiedJwtCache verifiedJwtCache = (VerifiedJwtCache) ReflectionTestUtils.getField(this.jwtDecoder,
+				"verifiedJwtCache");
+		Instant now = Instant.now();
+		verifiedJwtCache.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		this.jwtDecoder.decode(SIGNED_JWT);
+		verifiedJwtCache.setClock(Clock.fixed(now.plus(Duration.ofMinutes(10)), ZoneOffset.UTC));
+		this.jwtDecoder.decode(SIGNED_JWT);
+		verify(jwtValidator, times(2)).validate(any(Jwt.class));
+	}
+
+	@Test
+	public void decodeWhenCachedJwtFailsTimeValidationThenValidatesAgain() {
+		OAuth2TokenValidator<Jwt> jwtValidator = mock(OAuth2TokenValidator.class);
+		given(jwtValidator.validate(any(Jwt.class))).willReturn(OAuth2TokenValidatorResult.success());
+		this.jwtDecoder.setJwtValidator(jwtValidator);
+		this.jwtDecoder.setVerifiedJwtCache(10, Duration.ofMinutes(5));
+		VerifiedJwtCache verifiedJwtCache = (VerifiedJwtCache) ReflectionTestUtils.getField(this.jwtDecoder,
+				"verifiedJwtCache");
+		OAuth2Error error = new OAuth2Error("mock-error", "mock-description", "mock-uri");
+		verifiedJwtCache.setJwtValidator((jwt) -> OAuth2TokenValidatorResult.failure(error));
+		this.jwtDecoder.decode(SIGNED_JWT);
+		this.jwtDecoder.decode(SIGNED_JWT);
+		verify(jwtValidator, times(2)).validate(any(Jwt.class));
+	}
+
+	@Test
+	public void decodeWhenVerifiedJwtCacheAndJwtFailsValidationThenNotCached() {
+		OAuth2Error failure = new OAuth2Error("mock-error", "mock-description", "mock-uri");
+		OAuth2TokenValidator<Jwt> jwtValidator = mock(OAuth2TokenValidator.class);
+		given(jwtValidator.validate(any(Jwt.class))).willReturn(OAuth2TokenValidatorResult.failure(failure));
+		this.jwtDecoder.setJwtValidator(jwtValidator);
+		this.jwtDecoder.setVerifiedJwtCache(10, Duration.ofMinutes(5));
+		assertThatExceptionOfType(JwtValidationException.class).isThrownBy(() -> this.jwtDecoder.decode(SIGNED_JWT));
+		assertThatExceptionOfType(JwtValidationException.class).isThrownBy(() -> this.jwtDecoder.decode(SIGNED_JWT));
+	}
+
 	@Test
 	public void decodeWhenJwtInvalidThenThrowJwtException() {
 		// @formatter:off
@@ -789,6 +855,93 @@ public class NimbusJwtDecoderTests {
 				APPLICATION_JWK_SET_JSON);
 	}
 
+	@Test
+	public void decodeWhenRefreshAheadCacheThenFetchesJwkSetOnce() {
+		RestOperations restOperations = mock(RestOperations.class);
+		given(restOperations.exchange(any(RequestEntity.class), eq(String.class)))
+			.willReturn(new ResponseEntity<>(JWK_SET, HttpStatus.OK));
+		// @formatter:off
+		NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withJwkSetUri(JWK_SET_URI)
+				.restOperations(restOperations)
+				.refreshAheadCache(Duration.ofMinutes(5), Duration.ofSeconds(30))
+				.build();
+		// @formatter:on
+		jwtDecoder.decode(SIGNED_JWT);
+		jwtDecoder.decode(SIGNED_JWT);
+		verify(restOperations, times(1)).exchange(any(RequestEntity.class), eq(String.class));
+	}
+
+	@Test
+	public void decodeWhenRefreshRateLimitAndUnknownKidThenLimitsJwkSetFetches() {
+		RestOperations restOperations = mock(RestOperations.class);
+		given(restOperations.exchange(any(RequestEntity.class), eq(String.class)))
+			.willReturn(new ResponseEntity<>(JWK_SET, HttpStatus.OK));
+		// @formatter:off
+		NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withJwkSetUri(JWK_SET_URI)
+				.restOperations(restOperations)
+				.refreshRateLimit(Duration.ofMinutes(1))
+				.build();
+		// @formatter:on
+		jwtDecoder.decode(SIGNED_JWT);
+		for (int i = 0; i < 3; i++) {
+			assertThatExceptionOfType(JwtException.class).isThrownBy(() -> jwtDecoder.decode(NEW_KID_SIGNED_JWT));
+		}
+		verify(restOperations, atMost(2)).exchange(any(RequestEntity.class), eq(String.class));
+	}
+
+	@Test
+	public void refreshAheadCacheWhenRefreshAheadTimeNotLessThanTimeToLiveThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> NimbusJwtDecoder.withJwkSetUri(JWK_SET_URI)
+			.refreshAheadCache(Duration.ofMinutes(5), Duration.ofMinutes(5)));
+	}
+
+	@Test
+	public void refreshAheadCacheWhenRefreshAheadTimeLeavesNoTimeForRefreshThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> NimbusJwtDecoder.withJwkSetUri(JWK_SET_URI)
+			.refreshAheadCache(Duration.ofMinutes(5), Duration.ofSeconds(290)));
+	}
+
+	@Test
+	public void buildWhenRefreshAheadCacheAndCacheThenIllegalStateException() {
+		// @formatter:off
+		NimbusJwtDecoder.JwkSetUriJwtDecoderBuilder builder = NimbusJwtDecoder.withJwkSetUri(JWK_SET_URI)
+				.cache(new ConcurrentMapCache("test-jwk-set-cache"))
+				.refreshAheadCache(Duration.ofMinutes(5), Duration.ofSeconds(30));
+		// @formatter:on
+		assertThatIllegalStateException().isThrownBy(builder::build);
+	}
+
+	@Test
+	public void buildWhenRefreshRateLimitAndCacheThenIllegalStateException() {
+		// @formatter:off
+		NimbusJwtDecoder.JwkSetUriJwtDecoderBuilder builder = NimbusJwtDecoder.withJwkSetUri(JWK_SET_URI)
+				.cache(new ConcurrentMapCache("test-jwk-set-cache"))
+				.refreshRateLimit(Duration.ofMinutes(1));
+		// @formatter:on
+		assertThatIllegalStateException().isThrownBy(builder::build);
+	}
+
+	@Test
+	public void buildWhenRefreshRateLimitNotLessThanDefaultTimeToLiveThenIllegalStateException() {
+		// @formatter:off
+		NimbusJwtDecoder.JwkSetUriJwtDecoderBuilder builder = NimbusJwtDecoder.withJwkSetUri(JWK_SET_URI)
+				.refreshRateLimit(Duration.ofMinutes(5));
+		// @formatter:on
+		assertThatIllegalStateException().isThrownBy(builder::build);
+	}
+
+	@Test
+	public void buildWhenRefreshRateLimitLessThanRefreshAheadTimeToLiveThenBuilds() {
+		// @formatter:off
+		NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withJwkSetUri(JWK_SET_URI)
+				.restOperations(mock(RestOperations.class))
+				.refreshAheadCache(Duration.ofMinutes(10), Duration.ofSeconds(30))
+				.refreshRateLimit(Duration.ofMinutes(6))
+				.build();
+		// @formatter:on
+		assertThat(jwtDecoder).isNotNull();
+	}
+
 	@Test
 	public void decodeWhenCacheIsConfiguredAndValueLoaderErrorsThenThrowsJwtException() {
 		Cache cache = new ConcurrentMapCache("test-jwk-set-cache");
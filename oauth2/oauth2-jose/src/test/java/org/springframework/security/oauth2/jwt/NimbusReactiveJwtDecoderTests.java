@@ -26,6 +26,7 @@ import java.security.spec.EncodedKeySpec;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.X509EncodedKeySpec;
 import java.text.ParseException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Base64;
 import java.util.Collections;
@@ -250,6 +251,25 @@ public class NimbusReactiveJwtDecoderTests {
 		// @formatter:on
 	}
 
+	@Test
+	public void decodeWhenVerifiedJwtCacheThenValidatesOnce() {
+		OAuth2TokenValidator<Jwt> jwtValidator = mock(OAuth2TokenValidator.class);
+		given(jwtValidator.validate(any(Jwt.class))).willReturn(OAuth2TokenValidatorResult.success());
+		this.decoder.setJwtValidator(jwtValidator);
+		this.decoder.setVerifiedJwtCache(10, Duration.ofMinutes(5));
+		Jwt jwt = this.decoder.decode(this.messageReadToken).block();
+		assertThat(this.decoder.decode(this.messageReadToken).block()).isSameAs(jwt);
+		verify(jwtValidator).validate(any(Jwt.class));
+	}
+
+	@Test
+	public void setVerifiedJwtCacheWhenInvalidTimeToLiveThenThrowsIllegalArgumentException() {
+		// @formatter:off
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.decoder.setVerifiedJwtCache(10, Duration.ZERO));
+		// @formatter:on
+	}
+
 	@Test
 	public void decodeWhenReadingErrorPickTheFirstErrorMessage() {
 		OAuth2TokenValidator<Jwt> jwtValidator = mock(OAuth2TokenValidator.class);
@@ -340,6 +360,26 @@ public class NimbusReactiveJwtDecoderTests {
 		// @formatter:on
 	}
 
+	@Test
+	public void refreshAheadCacheWhenRefreshAheadTimeNotLessThanTimeToLiveThenThrowsException() {
+		NimbusReactiveJwtDecoder.JwkSetUriReactiveJwtDecoderBuilder builder = NimbusReactiveJwtDecoder
+			.withJwkSetUri(this.jwkSetUri);
+		// @formatter:off
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> builder.refreshAheadCache(Duration.ofMinutes(5), Duration.ofMinutes(5)));
+		// @formatter:on
+	}
+
+	@Test
+	public void refreshRateLimitWhenNegativeThenThrowsException() {
+		NimbusReactiveJwtDecoder.JwkSetUriReactiveJwtDecoderBuilder builder = NimbusReactiveJwtDecoder
+			.withJwkSetUri(this.jwkSetUri);
+		// @formatter:off
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> builder.refreshRateLimit(Duration.ofSeconds(-1)));
+		// @formatter:on
+	}
+
 	// gh-5603
 	@Test
 	public void decodeWhenSignedThenOk() {
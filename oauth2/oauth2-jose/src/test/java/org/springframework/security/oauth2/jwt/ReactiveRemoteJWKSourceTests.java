@@ -16,8 +16,13 @@
 
 package org.springframework.security.oauth2.jwt;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import com.nimbusds.jose.jwk.JWK;
@@ -180,4 +185,88 @@ public class ReactiveRemoteJWKSourceTests {
 		assertThat(actual).isNotEmpty();
 	}
 
+	@Test
+	public void getWhenConcurrentRequestsThenFetchesOnce() {
+		given(this.matcher.matches(any())).willReturn(true);
+		this.server = new MockWebServer();
+		this.server.enqueue(new MockResponse().setBody(this.keys).setBodyDelay(200, TimeUnit.MILLISECONDS));
+		this.source = new ReactiveRemoteJWKSource(this.server.url("/").toString());
+		Mono.zip(this.source.get(this.selector), this.source.get(this.selector)).block();
+		assertThat(this.server.getRequestCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void getWhenWithinRefreshAheadTimeThenRefreshesInBackground() throws Exception {
+		given(this.matcher.matches(any())).willReturn(true);
+		Clock clock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+		this.source.setClock(clock);
+		this.source.setRefreshAheadCache(Duration.ofMinutes(5), Duration.ofMinutes(1));
+		this.source.get(this.selector).block();
+		this.server.takeRequest();
+		this.server.enqueue(new MockResponse().setBody(this.keys2));
+		this.source.setClock(Clock.offset(clock, Duration.ofMinutes(4).plusSeconds(30)));
+		List<JWK> keys = this.source.get(this.selector).block();
+		assertThat(keys).hasSize(2);
+		assertThat(this.server.takeRequest(5, TimeUnit.SECONDS)).isNotNull();
+	}
+
+	@Test
+	public void getWhenBackgroundRefreshFailsThenBacksOffWithinRefreshAheadTime() throws Exception {
+		given(this.matcher.matches(any())).willReturn(true);
+		Clock clock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+		this.source.setClock(clock);
+		this.source.setRefreshAheadCache(Duration.ofMinutes(5), Duration.ofMinutes(1));
+		this.source.get(this.selector).block();
+		this.server.takeRequest();
+		this.server.enqueue(new MockResponse().setResponseCode(503));
+		this.server.enqueue(new MockResponse().setBody(this.keys2));
+		this.source.setClock(Clock.offset(clock, Duration.ofMinutes(4).plusSeconds(30)));
+		assertThat(this.source.get(this.selector).block()).hasSize(2);
+		assertThat(this.server.takeRequest(5, TimeUnit.SECONDS)).isNotNull();
+		for (int i = 0; i < 10; i++) {
+			assertThat(this.source.get(this.selector).block()).hasSize(2);
+		}
+		assertThat(this.server.takeRequest(1, TimeUnit.SECONDS)).isNull();
+		assertThat(this.server.getRequestCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void getWhenExpiredAndRefreshFailsWithinOutageToleranceThenStaleKeys() {
+		given(this.matcher.matches(any())).willReturn(true);
+		Clock clock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+		this.source.setClock(clock);
+		this.source.setRefreshAheadCache(Duration.ofMinutes(5), Duration.ZERO);
+		this.source.setOutageTolerance(Duration.ofMinutes(10));
+		this.source.get(this.selector).block();
+		this.server.enqueue(new MockResponse().setResponseCode(503));
+		this.source.setClock(Clock.offset(clock, Duration.ofMinutes(6)));
+		List<JWK> keys = this.source.get(this.selector).block();
+		assertThat(keys).hasSize(2);
+		assertThat(this.server.getRequestCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void getWhenExpiredAndRefreshFailsAfterOutageToleranceThenError() {
+		Clock clock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+		this.source.setClock(clock);
+		this.source.setRefreshAheadCache(Duration.ofMinutes(5), Duration.ZERO);
+		this.source.setOutageTolerance(Duration.ofMinutes(10));
+		given(this.matcher.matches(any())).willReturn(true);
+		this.source.get(this.selector).block();
+		this.server.enqueue(new MockResponse().setResponseCode(503));
+		this.source.setClock(Clock.offset(clock, Duration.ofMinutes(16)));
+		assertThatExceptionOfType(WebClientResponseException.ServiceUnavailable.class)
+			.isThrownBy(() -> this.source.get(this.selector).block());
+	}
+
+	@Test
+	public void getWhenKeyIdNotMatchWithinMinRefreshIntervalThenEmptyWithoutRefresh() {
+		this.server.enqueue(new MockResponse().setBody(this.keys2));
+		this.source.setMinRefreshInterval(Duration.ofMinutes(1));
+		given(this.matcher.matches(any())).willReturn(false);
+		given(this.matcher.getKeyIDs()).willReturn(Collections.singleton("rotated"));
+		assertThat(this.source.get(this.selector).block()).isEmpty();
+		assertThat(this.server.getRequestCount()).isEqualTo(1);
+	}
+
 }
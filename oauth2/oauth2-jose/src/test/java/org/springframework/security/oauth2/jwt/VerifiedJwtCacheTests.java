@@ -0,0 +1,84 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.jwt;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link VerifiedJwtCache}
+ */
+public class VerifiedJwtCacheTests {
+
+	@Test
+	public void constructorWhenMaxSizeNotPositiveThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new VerifiedJwtCache(0, Duration.ofMinutes(5)));
+	}
+
+	@Test
+	public void constructorWhenTimeToLiveNotPositiveThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new VerifiedJwtCache(10, null));
+		assertThatIllegalArgumentException().isThrownBy(() -> new VerifiedJwtCache(10, Duration.ZERO));
+	}
+
+	@Test
+	public void getWhenPutThenCachedJwt() {
+		VerifiedJwtCache cache = new VerifiedJwtCache(10, Duration.ofMinutes(5));
+		Jwt jwt = TestJwts.jwt().build();
+		cache.put(jwt);
+		assertThat(cache.get(jwt.getTokenValue())).isSameAs(jwt);
+		assertThat(cache.get("other")).isNull();
+	}
+
+	@Test
+	public void getWhenExpiresAtPassedThenNull() {
+		Instant now = Instant.now();
+		VerifiedJwtCache cache = new VerifiedJwtCache(10, Duration.ofMinutes(5));
+		cache.setJwtValidator((jwt) -> OAuth2TokenValidatorResult.success());
+		cache.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		Jwt jwt = TestJwts.jwt().issuedAt(now).expiresAt(now.plusSeconds(30)).build();
+		cache.put(jwt);
+		assertThat(cache.get(jwt.getTokenValue())).isSameAs(jwt);
+		cache.setClock(Clock.fixed(now.plusSeconds(30), ZoneOffset.UTC));
+		assertThat(cache.get(jwt.getTokenValue())).isNull();
+	}
+
+	@Test
+	public void putWhenFullThenBounded() {
+		VerifiedJwtCache cache = new VerifiedJwtCache(10, Duration.ofMinutes(5));
+		for (int i = 0; i < 100; i++) {
+			cache.put(Jwt.withTokenValue("token-" + i).header("alg", "none").claim("sub", "subject").build());
+		}
+		int cached = 0;
+		for (int i = 0; i < 100; i++) {
+			if (cache.get("token-" + i) != null) {
+				cached++;
+			}
+		}
+		assertThat(cached).isPositive().isLessThanOrEqualTo(10);
+	}
+
+}
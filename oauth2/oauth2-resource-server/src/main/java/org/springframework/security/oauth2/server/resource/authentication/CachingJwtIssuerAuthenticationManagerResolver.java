@@ -0,0 +1,201 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.server.resource.authentication;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.log.LogMessage;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationManagerResolver;
+import org.springframework.security.oauth2.core.BoundedExpiringCache;
+import org.springframework.security.oauth2.jwt.JwtDecoders;
+import org.springframework.util.Assert;
+
+/**
+ * An {@link AuthenticationManagerResolver} that resolves a JWT-based
+ * {@link AuthenticationManager} for each trusted issuer, and keeps it in a bounded cache
+ * that expires each issuer's manager after a time to live.
+ *
+ * <p>
+ * Compared to {@link JwtIssuerAuthenticationManagerResolver#fromTrustedIssuers}, which
+ * keeps the manager of every issuer it has seen for good, this bounds memory when there
+ * are many issuers, and picks up changes to an issuer's configuration once its manager
+ * expires. Concurrent requests for an issuer that is not cached share a single discovery,
+ * and {@link #warmUp(Collection, Executor)} resolves a known list of issuers ahead of the
+ * first request.
+ *
+ * <p>
+ * To use, pass it to the {@link JwtIssuerAuthenticationManagerResolver} constructor.
+ *
+ * @since 7.0
+ * @see CachingJwtIssuerReactiveAuthenticationManagerResolver
+ */
+public final class CachingJwtIssuerAuthenticationManagerResolver implements AuthenticationManagerResolver<String> {
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final Map<String, CompletableFuture<AuthenticationManager>> discoveries = new ConcurrentHashMap<>();
+
+	private final Predicate<String> trustedIssuer;
+
+	private final BoundedExpiringCache<String, AuthenticationManager> cache;
+
+	private Function<String, AuthenticationManager> authenticationManagerFactory = (issuer) -> new JwtAuthenticationProvider(
+			JwtDecoders.fromIssuerLocation(issuer))::authenticate;
+
+	/**
+	 * Construct a {@link CachingJwtIssuerAuthenticationManagerResolver}
+	 * @param trustedIssuer a predicate to validate issuers
+	 * @param maxSize the maximum number of issuers to cache
+	 * @param timeToLive the time to cache the {@link AuthenticationManager} of an issuer
+	 */
+	public CachingJwtIssuerAuthenticationManagerResolver(Predicate<String> trustedIssuer, int maxSize,
+			Duration timeToLive) {
+		Assert.notNull(trustedIssuer, "trustedIssuer cannot be null");
+		this.trustedIssuer = trustedIssuer;
+		this.cache = new BoundedExpiringCache<>(maxSize, timeToLive);
+	}
+
+	@Override
+	public AuthenticationManager resolve(String issuer) {
+		if (!this.trustedIssuer.test(issuer)) {
+			this.logger.debug("Did not resolve AuthenticationManager since issuer is not trusted");
+			return null;
+		}
+		AuthenticationManager authenticationManager = this.cache.get(issuer);
+		if (authenticationManager != null) {
+			return authenticationManager;
+		}
+		CompletableFuture<AuthenticationManager> discovery = new CompletableFuture<>();
+		CompletableFuture<AuthenticationManager> inFlight = this.discoveries.putIfAbsent(issuer, discovery);
+		if (inFlight != null) {
+			return await(inFlight);
+		}
+		try {
+			this.logger.debug("Constructing AuthenticationManager");
+			authenticationManager = this.authenticationManagerFactory.apply(issuer);
+			this.cache.put(issuer, authenticationManager);
+			this.logger.debug(LogMessage.format("Resolved AuthenticationManager for issuer '%s'", issuer));
+			discovery.complete(authenticationManager);
+			return authenticationManager;
+		}
+		catch (RuntimeException | Error ex) {
+			discovery.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			this.discoveries.remove(issuer, discovery);
+		}
+	}
+
+	private static AuthenticationManager await(CompletableFuture<AuthenticationManager> discovery) {
+		try {
+			return discovery.join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Resolve the {@link AuthenticationManager} of each of these issuers on the given
+	 * {@link Executor}, so that the first request for them does not wait for discovery.
+	 * The parallelism is bounded by the {@link Executor}. Issuers that are not trusted
+	 * are skipped, and failures are logged without failing the warm-up.
+	 * @param issuers the issuers to resolve
+	 * @param executor the {@link Executor} to resolve them on
+	 * @return a {@link CompletableFuture} that completes once every issuer was attempted
+	 */
+	public CompletableFuture<Void> warmUp(Collection<String> issuers, Executor executor) {
+		Assert.notNull(issuers, "issuers cannot be null");
+		Assert.notNull(executor, "executor cannot be null");
+		CompletableFuture<?>[] warmUps = issuers.stream()
+			.map((issuer) -> CompletableFuture.runAsync(() -> warmUp(issuer), executor))
+			.toArray(CompletableFuture[]::new);
+		return CompletableFuture.allOf(warmUps);
+	}
+
+	private void warmUp(String issuer) {
+		try {
+			resolve(issuer);
+		}
+		catch (RuntimeException ex) {
+			this.logger.debug(LogMessage.format("Failed to resolve AuthenticationManager for issuer '%s'", issuer),
+					ex);
+		}
+	}
+
+	/**
+	 * Use this {@link Function} to create the {@link AuthenticationManager} for a trusted
+	 * issuer. The default performs discovery through
+	 * {@link JwtDecoders#fromIssuerLocation(String)}.
+	 * @param authenticationManagerFactory the {@link Function} to use
+	 */
+	public void setAuthenticationManagerFactory(Function<String, AuthenticationManager> authenticationManagerFactory) {
+		Assert.notNull(authenticationManagerFactory, "authenticationManagerFactory cannot be null");
+		this.authenticationManagerFactory = authenticationManagerFactory;
+	}
+
+	/**
+	 * Use this {@link Clock} to decide when a cached {@link AuthenticationManager} expires
+	 * @param clock the {@link Clock} to use
+	 */
+	public void setClock(Clock clock) {
+		this.cache.setClock(clock);
+	}
+
+	/**
+	 * Return how many resolutions were answered from the cache
+	 * @return the number of cache hits
+	 */
+	public long getHitCount() {
+		return this.cache.getHitCount();
+	}
+
+	/**
+	 * Return how many resolutions were not found in the cache. Concurrent misses for the
+	 * same issuer share a single discovery.
+	 * @return the number of cache misses
+	 */
+	public long getMissCount() {
+		return this.cache.getMissCount();
+	}
+
+	/**
+	 * Return how many issuers are currently cached
+	 * @return the number of cached issuers
+	 */
+	public int getCacheSize() {
+		return this.cache.size();
+	}
+
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.server.resource.authentication;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.core.log.LogMessage;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.ReactiveAuthenticationManagerResolver;
+import org.springframework.security.oauth2.core.BoundedExpiringCache;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoders;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link ReactiveAuthenticationManagerResolver} that resolves a JWT-based
+ * {@link ReactiveAuthenticationManager} for each trusted issuer, and keeps it in a
+ * bounded cache that expires each issuer's manager after a time to live.
+ *
+ * <p>
+ * This is the reactive counterpart of
+ * {@link CachingJwtIssuerAuthenticationManagerResolver}. To use, pass it to the
+ * {@link JwtIssuerReactiveAuthenticationManagerResolver} constructor.
+ *
+ * @since 7.0
+ * @see CachingJwtIssuerAuthenticationManagerResolver
+ */
+public final class CachingJwtIssuerReactiveAuthenticationManagerResolver
+		implements ReactiveAuthenticationManagerResolver<String> {
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final Map<String, Mono<ReactiveAuthenticationManager>> discoveries = new ConcurrentHashMap<>();
+
+	private final Predicate<String> trustedIssuer;
+
+	private final BoundedExpiringCache<String, ReactiveAuthenticationManager> cache;
+
+	private Function<String, Mono<ReactiveAuthenticationManager>> authenticationManagerFactory = (issuer) -> Mono
+		.<ReactiveAuthenticationManager>fromCallable(
+				() -> new JwtReactiveAuthenticationManager(ReactiveJwtDecoders.fromIssuerLocation(issuer)))
+		.subscribeOn(Schedulers.boundedElastic());
+
+	/**
+	 * Construct a {@link CachingJwtIssuerReactiveAuthenticationManagerResolver}
+	 * @param trustedIssuer a predicate to validate issuers
+	 * @param maxSize the maximum number of issuers to cache
+	 * @param timeToLive the time to cache the {@link ReactiveAuthenticationManager} of an
+	 * issuer
+	 */
+	public CachingJwtIssuerReactiveAuthenticationManagerResolver(Predicate<String> trustedIssuer, int maxSize,
+			Duration timeToLive) {
+		Assert.notNull(trustedIssuer, "trustedIssuer cannot be null");
+		this.trustedIssuer = trustedIssuer;
+		this.cache = new BoundedExpiringCache<>(maxSize, timeToLive);
+	}
+
+	@Override
+	public Mono<ReactiveAuthenticationManager> resolve(String issuer) {
+		return Mono.defer(() -> {
+			if (!this.trustedIssuer.test(issuer)) {
+				this.logger.debug("Did not resolve AuthenticationManager since issuer is not trusted");
+				return Mono.empty();
+			}
+			ReactiveAuthenticationManager authenticationManager = this.cache.get(issuer);
+			if (authenticationManager != null) {
+				return Mono.just(authenticationManager);
+			}
+			return this.discoveries.computeIfAbsent(issuer, this::discover);
+		});
+	}
+
+	private Mono<ReactiveAuthenticationManager> discover(String issuer) {
+		AtomicReference<Mono<ReactiveAuthenticationManager>> discovery = new AtomicReference<>();
+		// @formatter:off
+		discovery.set(this.authenticationManagerFactory.apply(issuer)
+				.doOnNext((manager) -> {
+					this.cache.put(issuer, manager);
+					this.logger.debug(LogMessage.format("Resolved AuthenticationManager for issuer '%s'", issuer));
+				})
+				// only remove this discovery, not a newer one for the same issuer
+				.doFinally((signal) -> this.discoveries.remove(issuer, discovery.get()))
+				.cache());
+		// @formatter:on
+		return discovery.get();
+	}
+
+	/**
+	 * Resolve the {@link ReactiveAuthenticationManager} of each of these issuers, at most
+	 * {@code concurrency} at a time, so that the first request for them does not wait for
+	 * discovery. Issuers that are not trusted are skipped, and failures are logged
+	 * without failing the warm-up.
+	 * @param issuers the issuers to resolve
+	 * @param concurrency the maximum number of issuers to resolve in parallel
+	 * @return a {@link Mono} that completes once every issuer was attempted
+	 */
+	public Mono<Void> warmUp(Collection<String> issuers, int concurrency) {
+		Assert.notNull(issuers, "issuers cannot be null");
+		Assert.isTrue(concurrency > 0, "concurrency must be greater than 0");
+		// @formatter:off
+		return Flux.fromIterable(issuers)
+				.flatMap((issuer) -> resolve(issuer)
+						.onErrorResume((ex) -> {
+							this.logger.debug(LogMessage.format(
+									"Failed to resolve AuthenticationManager for issuer '%s'", issuer), ex);
+							return Mono.empty();
+						}), concurrency)
+				.then();
+		// @formatter:on
+	}
+
+	/**
+	 * Use this {@link Function} to create the {@link ReactiveAuthenticationManager} for a
+	 * trusted issuer. The default performs discovery through
+	 * {@link ReactiveJwtDecoders#fromIssuerLocation(String)}.
+	 * @param authenticationManagerFactory the {@link Function} to use
+	 */
+	public void setAuthenticationManagerFactory(
+			Function<String, Mono<ReactiveAuthenticationManager>> authenticationManagerFactory) {
+		Assert.notNull(authenticationManagerFactory, "authenticationManagerFactory cannot be null");
+		this.authenticationManagerFactory = authenticationManagerFactory;
+	}
+
+	/**
+	 * Use this {@link Clock} to decide when a cached
+	 * {@link ReactiveAuthenticationManager} expires
+	 * @param clock the {@link Clock} to use
+	 */
+	public void setClock(Clock clock) {
+		this.cache.setClock(clock);
+	}
+
+	/**
+	 * Return how many resolutions were answered from the cache
+	 * @return the number of cache hits
+	 */
+	public long getHitCount() {
+		return this.cache.getHitCount();
+	}
+
+	/**
+	 * Return how many resolutions were not found in the cache. Concurrent misses for the
+	 * same issuer share a single discovery.
+	 * @return the number of cache misses
+	 */
+	public long getMissCount() {
+		return this.cache.getMissCount();
+	}
+
+	/**
+	 * Return how many issuers are currently cached
+	 * @return the number of cached issuers
+	 */
+	public int getCacheSize() {
+		return this.cache.size();
+	}
+
+}
@@ -58,6 +58,7 @@ import org.springframework.util.Assert;
  *
  * @author Josh Cummings
  * @since 5.3
+ * @see CachingJwtIssuerAuthenticationManagerResolver
  */
 public final class JwtIssuerAuthenticationManagerResolver implements AuthenticationManagerResolver<HttpServletRequest> {
 
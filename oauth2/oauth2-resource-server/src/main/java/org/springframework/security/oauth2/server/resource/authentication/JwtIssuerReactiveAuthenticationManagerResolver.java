@@ -62,6 +62,7 @@ import org.springframework.web.server.ServerWebExchange;
  * @author Josh Cummings
  * @author Roman Matiushchenko
  * @since 5.3
+ * @see CachingJwtIssuerReactiveAuthenticationManagerResolver
  */
 public final class JwtIssuerReactiveAuthenticationManagerResolver
 		implements ReactiveAuthenticationManagerResolver<ServerWebExchange> {
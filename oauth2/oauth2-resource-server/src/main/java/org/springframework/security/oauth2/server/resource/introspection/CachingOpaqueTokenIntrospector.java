@@ -0,0 +1,149 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.server.resource.introspection;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.util.Assert;
+
+/**
+ * An {@link OpaqueTokenIntrospector} that caches the results of another
+ * {@link OpaqueTokenIntrospector}, so that a token presented repeatedly is only sent to
+ * the introspection endpoint once per time to live.
+ *
+ * <p>
+ * An active token is cached until the earlier of its {@code exp} attribute and the
+ * configured time to live. A token rejected with a {@link BadOpaqueTokenException}, for
+ * example because it is not active, is cached for the
+ * {@link #setInactiveTimeToLive(Duration) inactive time to live}. Other
+ * {@link OAuth2IntrospectionException}s, such as the endpoint being unavailable, are not
+ * cached. Concurrent requests for a token that is not cached share a single call to the
+ * delegate.
+ *
+ * <p>
+ * Since a cached token is not introspected again, the time to live bounds how long it
+ * takes for a revoked token to be rejected.
+ *
+ * @since 7.0
+ * @see CachingReactiveOpaqueTokenIntrospector
+ */
+public final class CachingOpaqueTokenIntrospector implements OpaqueTokenIntrospector {
+
+	private final Map<String, CompletableFuture<OAuth2AuthenticatedPrincipal>> introspections = new ConcurrentHashMap<>();
+
+	private final OpaqueTokenIntrospector delegate;
+
+	private final OpaqueTokenIntrospectionCache cache;
+
+	/**
+	 * Construct a {@link CachingOpaqueTokenIntrospector}
+	 * @param delegate the {@link OpaqueTokenIntrospector} to cache the results of
+	 * @param maxSize the maximum number of tokens to cache
+	 * @param timeToLive the maximum time to cache an active token
+	 */
+	public CachingOpaqueTokenIntrospector(OpaqueTokenIntrospector delegate, int maxSize, Duration timeToLive) {
+		Assert.notNull(delegate, "delegate cannot be null");
+		this.delegate = delegate;
+		this.cache = new OpaqueTokenIntrospectionCache(maxSize, timeToLive);
+	}
+
+	@Override
+	public OAuth2AuthenticatedPrincipal introspect(String token) {
+		OpaqueTokenIntrospectionCache.Entry entry = this.cache.get(token);
+		if (entry != null) {
+			if (entry.principal() == null) {
+				throw entry.inactive();
+			}
+			return entry.principal();
+		}
+		CompletableFuture<OAuth2AuthenticatedPrincipal> introspection = new CompletableFuture<>();
+		CompletableFuture<OAuth2AuthenticatedPrincipal> inFlight = this.introspections.putIfAbsent(token,
+				introspection);
+		if (inFlight != null) {
+			return await(inFlight);
+		}
+		try {
+			OAuth2AuthenticatedPrincipal principal = this.delegate.introspect(token);
+			this.cache.put(token, principal);
+			introspection.complete(principal);
+			return principal;
+		}
+		catch (RuntimeException | Error ex) {
+			if (ex instanceof BadOpaqueTokenException bad) {
+				this.cache.putInactive(token, bad);
+			}
+			introspection.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			this.introspections.remove(token, introspection);
+		}
+	}
+
+	private static OAuth2AuthenticatedPrincipal await(CompletableFuture<OAuth2AuthenticatedPrincipal> introspection) {
+		try {
+			return introspection.join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Use this time to live for tokens rejected with a {@link BadOpaqueTokenException}.
+	 * The default is 10 seconds; use {@link Duration#ZERO} to not cache rejected tokens.
+	 * @param inactiveTimeToLive the time to cache a rejected token
+	 */
+	public void setInactiveTimeToLive(Duration inactiveTimeToLive) {
+		this.cache.setInactiveTimeToLive(inactiveTimeToLive);
+	}
+
+	/**
+	 * Use this {@link Clock} to decide when a cached result expires
+	 * @param clock the {@link Clock} to use
+	 */
+	public void setClock(Clock clock) {
+		this.cache.setClock(clock);
+	}
+
+	/**
+	 * Return how many introspections were answered from the cache
+	 * @return the number of cache hits
+	 */
+	public long getHitCount() {
+		return this.cache.getHitCount();
+	}
+
+	/**
+	 * Return how many introspections were not found in the cache. Concurrent misses for
+	 * the same token share a single call to the delegate.
+	 * @return the number of cache misses
+	 */
+	public long getMissCount() {
+		return this.cache.getMissCount();
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.server.resource.introspection;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link ReactiveOpaqueTokenIntrospector} that caches the results of another
+ * {@link ReactiveOpaqueTokenIntrospector}, so that a token presented repeatedly is only
+ * sent to the introspection endpoint once per time to live.
+ *
+ * <p>
+ * Results are cached in the same way as by {@link CachingOpaqueTokenIntrospector}, and
+ * concurrent subscriptions for a token that is not cached share a single introspection.
+ *
+ * @since 7.0
+ * @see CachingOpaqueTokenIntrospector
+ */
+public final class CachingReactiveOpaqueTokenIntrospector implements ReactiveOpaqueTokenIntrospector {
+
+	private final Map<String, Mono<OAuth2AuthenticatedPrincipal>> introspections = new ConcurrentHashMap<>();
+
+	private final ReactiveOpaqueTokenIntrospector delegate;
+
+	private final OpaqueTokenIntrospectionCache cache;
+
+	/**
+	 * Construct a {@link CachingReactiveOpaqueTokenIntrospector}
+	 * @param delegate the {@link ReactiveOpaqueTokenIntrospector} to cache the results of
+	 * @param maxSize the maximum number of tokens to cache
+	 * @param timeToLive the maximum time to cache an active token
+	 */
+	public CachingReactiveOpaqueTokenIntrospector(ReactiveOpaqueTokenIntrospector delegate, int maxSize,
+			Duration timeToLive) {
+		Assert.notNull(delegate, "delegate cannot be null");
+		this.delegate = delegate;
+		this.cache = new OpaqueTokenIntrospectionCache(maxSize, timeToLive);
+	}
+
+	@Override
+	public Mono<OAuth2AuthenticatedPrincipal> introspect(String token) {
+		return Mono.defer(() -> {
+			OpaqueTokenIntrospectionCache.Entry entry = this.cache.get(token);
+			if (entry != null) {
+				return (entry.principal() != null) ? Mono.just(entry.principal()) : Mono.error(entry.inactive());
+			}
+			return this.introspections.computeIfAbsent(token, this::introspectAndCache);
+		});
+	}
+
+	private Mono<OAuth2AuthenticatedPrincipal> introspectAndCache(String token) {
+		AtomicReference<Mono<OAuth2AuthenticatedPrincipal>> introspection = new AtomicReference<>();
+		// @formatter:off
+		introspection.set(this.delegate.introspect(token)
+				.doOnNext((principal) -> this.cache.put(token, principal))
+				.doOnError(BadOpaqueTokenException.class, (ex) -> this.cache.putInactive(token, ex))
+				// only remove this introspection, not a newer one for the same token
+				.doFinally((signal) -> this.introspections.remove(token, introspection.get()))
+				.cache());
+		// @formatter:on
+		return introspection.get();
+	}
+
+	/**
+	 * Use this time to live for tokens rejected with a {@link BadOpaqueTokenException}.
+	 * The default is 10 seconds; use {@link Duration#ZERO} to not cache rejected tokens.
+	 * @param inactiveTimeToLive the time to cache a rejected token
+	 */
+	public void setInactiveTimeToLive(Duration inactiveTimeToLive) {
+		this.cache.setInactiveTimeToLive(inactiveTimeToLive);
+	}
+
+	/**
+	 * Use this {@link Clock} to decide when a cached result expires
+	 * @param clock the {@link Clock} to use
+	 */
+	public void setClock(Clock clock) {
+		this.cache.setClock(clock);
+	}
+
+	/**
+	 * Return how many introspections were answered from the cache
+	 * @return the number of cache hits
+	 */
+	public long getHitCount() {
+		return this.cache.getHitCount();
+	}
+
+	/**
+	 * Return how many introspections were not found in the cache. Concurrent misses for
+	 * the same token share a single call to the delegate.
+	 * @return the number of cache misses
+	 */
+	public long getMissCount() {
+		return this.cache.getMissCount();
+	}
+
+}
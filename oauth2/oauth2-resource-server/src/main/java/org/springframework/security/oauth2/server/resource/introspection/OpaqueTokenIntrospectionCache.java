@@ -0,0 +1,107 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.server.resource.introspection;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.security.oauth2.core.BoundedExpiringCache;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.core.OAuth2TokenIntrospectionClaimNames;
+import org.springframework.util.Assert;
+
+/**
+ * The bounded cache of introspection results shared by
+ * {@link CachingOpaqueTokenIntrospector} and
+ * {@link CachingReactiveOpaqueTokenIntrospector}.
+ *
+ * @since 7.0
+ */
+final class OpaqueTokenIntrospectionCache {
+
+	private final BoundedExpiringCache<String, Entry> entries;
+
+	private Duration inactiveTimeToLive = Duration.ofSeconds(10);
+
+	OpaqueTokenIntrospectionCache(int maxSize, Duration timeToLive) {
+		this.entries = new BoundedExpiringCache<>(maxSize, timeToLive);
+	}
+
+	void setInactiveTimeToLive(Duration inactiveTimeToLive) {
+		Assert.notNull(inactiveTimeToLive, "inactiveTimeToLive cannot be null");
+		Assert.isTrue(!inactiveTimeToLive.isNegative(), "inactiveTimeToLive cannot be negative");
+		this.inactiveTimeToLive = inactiveTimeToLive;
+	}
+
+	void setClock(Clock clock) {
+		this.entries.setClock(clock);
+	}
+
+	long getHitCount() {
+		return this.entries.getHitCount();
+	}
+
+	long getMissCount() {
+		return this.entries.getMissCount();
+	}
+
+	/**
+	 * Return the cached result for this token, if it has not expired
+	 * @param token the token value
+	 * @return the cached {@link Entry} or {@code null}
+	 */
+	@Nullable Entry get(String token) {
+		return this.entries.get(token);
+	}
+
+	/**
+	 * Cache this principal until the earlier of its {@code exp} attribute and the time
+	 * to live
+	 * @param token the token value
+	 * @param principal the introspected principal
+	 */
+	void put(String token, OAuth2AuthenticatedPrincipal principal) {
+		Object exp = principal.getAttribute(OAuth2TokenIntrospectionClaimNames.EXP);
+		this.entries.put(token, new Entry(principal, null), (exp instanceof Instant instant) ? instant : null);
+	}
+
+	/**
+	 * Cache that this token is not active for the inactive time to live
+	 * @param token the token value
+	 * @param ex the exception the delegate introspector threw for the token
+	 */
+	void putInactive(String token, BadOpaqueTokenException ex) {
+		Instant expiresAt = this.entries.now().plus(this.inactiveTimeToLive);
+		this.entries.put(token, new Entry(null, ex.getMessage()), expiresAt);
+	}
+
+	/**
+	 * A cached introspection result, either an active token's principal or the message
+	 * the token was rejected with
+	 */
+	record Entry(@Nullable OAuth2AuthenticatedPrincipal principal, @Nullable String inactiveMessage) {
+
+		BadOpaqueTokenException inactive() {
+			return new BadOpaqueTokenException(this.inactiveMessage);
+		}
+
+	}
+
+}
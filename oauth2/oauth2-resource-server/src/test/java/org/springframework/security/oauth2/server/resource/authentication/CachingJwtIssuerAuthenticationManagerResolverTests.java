@@ -0,0 +1,181 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.server.resource.authentication;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.authentication.AuthenticationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link CachingJwtIssuerAuthenticationManagerResolver}
+ */
+public class CachingJwtIssuerAuthenticationManagerResolverTests {
+
+	private final AtomicInteger discoveries = new AtomicInteger();
+
+	private final CachingJwtIssuerAuthenticationManagerResolver resolver = new CachingJwtIssuerAuthenticationManagerResolver(
+			Set.of("one", "two", "three")::contains, 2, Duration.ofMinutes(5));
+
+	@Test
+	public void constructorWhenTrustedIssuerNullThenIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new CachingJwtIssuerAuthenticationManagerResolver(null, 2, Duration.ofMinutes(5)));
+	}
+
+	@Test
+	public void resolveWhenUntrustedIssuerThenNull() {
+		this.resolver.setAuthenticationManagerFactory(this::authenticationManager);
+		assertThat(this.resolver.resolve("untrusted")).isNull();
+		assertThat(this.discoveries).hasValue(0);
+	}
+
+	@Test
+	public void resolveWhenSameIssuerThenDiscoversOnce() {
+		this.resolver.setAuthenticationManagerFactory(this::authenticationManager);
+		AuthenticationManager authenticationManager = this.resolver.resolve("one");
+		assertThat(this.resolver.resolve("one")).isSameAs(authenticationManager);
+		assertThat(this.discoveries).hasValue(1);
+		assertThat(this.resolver.getHitCount()).isEqualTo(1);
+		assertThat(this.resolver.getMissCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void resolveWhenTimeToLiveElapsedThenDiscoversAgain() {
+		Clock clock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+		this.resolver.setClock(clock);
+		this.resolver.setAuthenticationManagerFactory(this::authenticationManager);
+		AuthenticationManager authenticationManager = this.resolver.resolve("one");
+		this.resolver.setClock(Clock.offset(clock, Duration.ofMinutes(6)));
+		assertThat(this.resolver.resolve("one")).isNotSameAs(authenticationManager);
+		assertThat(this.discoveries).hasValue(2);
+	}
+
+	@Test
+	public void resolveWhenMaxSizeReachedThenEvicts() {
+		this.resolver.setAuthenticationManagerFactory(this::authenticationManager);
+		this.resolver.resolve("one");
+		this.resolver.resolve("two");
+		this.resolver.resolve("three");
+		assertThat(this.resolver.getCacheSize()).isLessThanOrEqualTo(2);
+		assertThat(this.resolver.resolve("three")).isNotNull();
+	}
+
+	@Test
+	public void resolveWhenDiscoveryFailsThenDoesNotCache() {
+		this.resolver.setAuthenticationManagerFactory((issuer) -> {
+			this.discoveries.incrementAndGet();
+			throw new IllegalArgumentException("discovery failed");
+		});
+		assertThatIllegalArgumentException().isThrownBy(() -> this.resolver.resolve("one"));
+		assertThatIllegalArgumentException().isThrownBy(() -> this.resolver.resolve("one"));
+		assertThat(this.discoveries).hasValue(2);
+	}
+
+	@Test
+	public void resolveWhenConcurrentRequestsThenDiscoversOnce() throws Exception {
+		CountDownLatch discovering = new CountDownLatch(1);
+		CountDownLatch respond = new CountDownLatch(1);
+		this.resolver.setAuthenticationManagerFactory((issuer) -> {
+			discovering.countDown();
+			try {
+				respond.await(5, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return authenticationManager(issuer);
+		});
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<AuthenticationManager> first = executor.submit(() -> this.resolver.resolve("one"));
+			discovering.await(5, TimeUnit.SECONDS);
+			AtomicReference<Thread> waiting = new AtomicReference<>();
+			Future<AuthenticationManager> second = executor.submit(() -> {
+				waiting.set(Thread.currentThread());
+				return this.resolver.resolve("one");
+			});
+			// wait until the second request is blocked on the first one's discovery
+			for (int i = 0; i < 500 && !isWaiting(waiting.get()); i++) {
+				Thread.sleep(10);
+			}
+			respond.countDown();
+			assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertThat(this.discoveries).hasValue(1);
+	}
+
+	@Test
+	public void warmUpWhenIssuersThenResolvesTrustedIssuers() {
+		this.resolver.setAuthenticationManagerFactory(this::authenticationManager);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			this.resolver.warmUp(List.of("one", "two", "untrusted"), executor).join();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertThat(this.discoveries).hasValue(2);
+		assertThat(this.resolver.getCacheSize()).isEqualTo(2);
+		this.resolver.resolve("one");
+		assertThat(this.discoveries).hasValue(2);
+	}
+
+	@Test
+	public void warmUpWhenDiscoveryFailsThenCompletes() {
+		this.resolver.setAuthenticationManagerFactory((issuer) -> {
+			throw new IllegalArgumentException("discovery failed");
+		});
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			this.resolver.warmUp(List.of("one"), executor).join();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertThat(this.resolver.getCacheSize()).isZero();
+	}
+
+	private AuthenticationManager authenticationManager(String issuer) {
+		this.discoveries.incrementAndGet();
+		return (authentication) -> authentication;
+	}
+
+	private static boolean isWaiting(Thread thread) {
+		return thread != null && thread.getState() == Thread.State.WAITING;
+	}
+
+}
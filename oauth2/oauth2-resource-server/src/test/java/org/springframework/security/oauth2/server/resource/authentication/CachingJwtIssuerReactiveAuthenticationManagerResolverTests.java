@@ -0,0 +1,107 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.server.resource.authentication;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link CachingJwtIssuerReactiveAuthenticationManagerResolver}
+ */
+public class CachingJwtIssuerReactiveAuthenticationManagerResolverTests {
+
+	private final AtomicInteger discoveries = new AtomicInteger();
+
+	private final CachingJwtIssuerReactiveAuthenticationManagerResolver resolver = new CachingJwtIssuerReactiveAuthenticationManagerResolver(
+			Set.of("one", "two")::contains, 10, Duration.ofMinutes(5));
+
+	@Test
+	public void constructorWhenTrustedIssuerNullThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(
+				() -> new CachingJwtIssuerReactiveAuthenticationManagerResolver(null, 10, Duration.ofMinutes(5)));
+	}
+
+	@Test
+	public void resolveWhenUntrustedIssuerThenEmpty() {
+		this.resolver.setAuthenticationManagerFactory(this::authenticationManager);
+		assertThat(this.resolver.resolve("untrusted").block()).isNull();
+		assertThat(this.discoveries).hasValue(0);
+	}
+
+	@Test
+	public void resolveWhenSameIssuerThenDiscoversOnce() {
+		this.resolver.setAuthenticationManagerFactory(this::authenticationManager);
+		ReactiveAuthenticationManager authenticationManager = this.resolver.resolve("one").block();
+		assertThat(this.resolver.resolve("one").block()).isSameAs(authenticationManager);
+		assertThat(this.discoveries).hasValue(1);
+		assertThat(this.resolver.getHitCount()).isEqualTo(1);
+		assertThat(this.resolver.getMissCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void resolveWhenDiscoveryFailsThenDoesNotCache() {
+		this.resolver.setAuthenticationManagerFactory((issuer) -> Mono.defer(() -> {
+			this.discoveries.incrementAndGet();
+			return Mono.error(new IllegalArgumentException("discovery failed"));
+		}));
+		assertThatIllegalArgumentException().isThrownBy(() -> this.resolver.resolve("one").block());
+		assertThatIllegalArgumentException().isThrownBy(() -> this.resolver.resolve("one").block());
+		assertThat(this.discoveries).hasValue(2);
+	}
+
+	@Test
+	public void resolveWhenConcurrentRequestsThenDiscoversOnce() {
+		this.resolver.setAuthenticationManagerFactory(
+				(issuer) -> authenticationManager(issuer).delayElement(Duration.ofMillis(100)));
+		Mono.zip(this.resolver.resolve("one"), this.resolver.resolve("one")).block();
+		assertThat(this.discoveries).hasValue(1);
+	}
+
+	@Test
+	public void warmUpWhenIssuersThenResolvesTrustedIssuers() {
+		this.resolver.setAuthenticationManagerFactory(this::authenticationManager);
+		this.resolver.warmUp(List.of("one", "two", "untrusted"), 2).block();
+		assertThat(this.discoveries).hasValue(2);
+		assertThat(this.resolver.getCacheSize()).isEqualTo(2);
+	}
+
+	@Test
+	public void warmUpWhenDiscoveryFailsThenCompletes() {
+		this.resolver
+			.setAuthenticationManagerFactory((issuer) -> Mono.error(new IllegalArgumentException("discovery failed")));
+		this.resolver.warmUp(List.of("one"), 2).block();
+		assertThat(this.resolver.getCacheSize()).isZero();
+	}
+
+	private Mono<ReactiveAuthenticationManager> authenticationManager(String issuer) {
+		return Mono.defer(() -> {
+			this.discoveries.incrementAndGet();
+			return Mono.just((authentication) -> Mono.just(authentication));
+		});
+	}
+
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.server.resource.introspection;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.core.OAuth2TokenIntrospectionClaimNames;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link CachingOpaqueTokenIntrospector}
+ */
+public class CachingOpaqueTokenIntrospectorTests {
+
+	// @formatter:off
+	private static final String ACTIVE_RESPONSE = "{\n"
+			+ "      \"active\": true,\n"
+			+ "      \"client_id\": \"l238j323ds-23ij4\",\n"
+			+ "      \"sub\": \"Z5O3upPC88QrAjx00dis\",\n"
+			+ "      \"exp\": 4683897776\n"
+			+ "     }";
+	// @formatter:on
+
+	// @formatter:off
+	private static final String INACTIVE_RESPONSE = "{\n"
+			+ "      \"active\": false\n"
+			+ "     }";
+	// @formatter:on
+
+	@Test
+	public void constructorWhenDelegateNullThenIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new CachingOpaqueTokenIntrospector(null, 10, Duration.ofMinutes(5)));
+	}
+
+	@Test
+	public void constructorWhenTimeToLiveNotPositiveThenIllegalArgumentException() {
+		OpaqueTokenIntrospector delegate = mock(OpaqueTokenIntrospector.class);
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new CachingOpaqueTokenIntrospector(delegate, 10, Duration.ZERO));
+	}
+
+	@Test
+	public void introspectWhenActiveTokenThenIntrospectsOnce() throws Exception {
+		try (MockWebServer server = new MockWebServer()) {
+			server.enqueue(json(ACTIVE_RESPONSE));
+			CachingOpaqueTokenIntrospector introspector = new CachingOpaqueTokenIntrospector(introspector(server), 10,
+					Duration.ofMinutes(5));
+			OAuth2AuthenticatedPrincipal principal = introspector.introspect("token");
+			assertThat(introspector.introspect("token")).isSameAs(principal);
+			assertThat(server.getRequestCount()).isEqualTo(1);
+			assertThat(introspector.getHitCount()).isEqualTo(1);
+			assertThat(introspector.getMissCount()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	public void introspectWhenInactiveTokenThenCachesRejection() throws Exception {
+		try (MockWebServer server = new MockWebServer()) {
+			server.enqueue(json(INACTIVE_RESPONSE));
+			CachingOpaqueTokenIntrospector introspector = new CachingOpaqueTokenIntrospector(introspector(server), 10,
+					Duration.ofMinutes(5));
+			assertThatExceptionOfType(BadOpaqueTokenException.class)
+				.isThrownBy(() -> introspector.introspect("token"));
+			assertThatExceptionOfType(BadOpaqueTokenException.class)
+				.isThrownBy(() -> introspector.introspect("token"));
+			assertThat(server.getRequestCount()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	public void introspectWhenInactiveTimeToLiveZeroThenDoesNotCacheRejection() {
+		OpaqueTokenIntrospector delegate = mock(OpaqueTokenIntrospector.class);
+		given(delegate.introspect("token")).willThrow(new BadOpaqueTokenException("inactive"));
+		CachingOpaqueTokenIntrospector introspector = new CachingOpaqueTokenIntrospector(delegate, 10,
+				Duration.ofMinutes(5));
+		introspector.setInactiveTimeToLive(Duration.ZERO);
+		assertThatExceptionOfType(BadOpaqueTokenException.class).isThrownBy(() -> introspector.introspect("token"));
+		assertThatExceptionOfType(BadOpaqueTokenException.class).isThrownBy(() -> introspector.introspect("token"));
+		verify(delegate, times(2)).introspect("token");
+	}
+
+	@Test
+	public void introspectWhenIntrospectionFailsThenDoesNotCache() {
+		OpaqueTokenIntrospector delegate = mock(OpaqueTokenIntrospector.class);
+		given(delegate.introspect("token")).willThrow(new OAuth2IntrospectionException("unavailable"));
+		CachingOpaqueTokenIntrospector introspector = new CachingOpaqueTokenIntrospector(delegate, 10,
+				Duration.ofMinutes(5));
+		assertThatExceptionOfType(OAuth2IntrospectionException.class)
+			.isThrownBy(() -> introspector.introspect("token"));
+		assertThatExceptionOfType(OAuth2IntrospectionException.class)
+			.isThrownBy(() -> introspector.introspect("token"));
+		verify(delegate, times(2)).introspect("token");
+	}
+
+	@Test
+	public void introspectWhenExpBeforeTimeToLiveThenIntrospectsAgainAfterExp() {
+		Clock clock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+		OAuth2AuthenticatedPrincipal principal = principal(clock.instant().plus(Duration.ofMinutes(1)));
+		OpaqueTokenIntrospector delegate = mock(OpaqueTokenIntrospector.class);
+		given(delegate.introspect("token")).willReturn(principal);
+		CachingOpaqueTokenIntrospector introspector = new CachingOpaqueTokenIntrospector(delegate, 10,
+				Duration.ofMinutes(10));
+		introspector.setClock(clock);
+		introspector.introspect("token");
+		introspector.introspect("token");
+		verify(delegate, times(1)).introspect("token");
+		introspector.setClock(Clock.offset(clock, Duration.ofMinutes(2)));
+		introspector.introspect("token");
+		verify(delegate, times(2)).introspect("token");
+	}
+
+	@Test
+	public void introspectWhenConcurrentRequestsThenIntrospectsOnce() throws Exception {
+		OAuth2AuthenticatedPrincipal principal = principal(Instant.now().plus(Duration.ofMinutes(5)));
+		CountDownLatch introspecting = new CountDownLatch(1);
+		CountDownLatch respond = new CountDownLatch(1);
+		OpaqueTokenIntrospector delegate = mock(OpaqueTokenIntrospector.class);
+		willAnswer((invocation) -> {
+			introspecting.countDown();
+			respond.await(5, TimeUnit.SECONDS);
+			return principal;
+		}).given(delegate).introspect("token");
+		CachingOpaqueTokenIntrospector introspector = new CachingOpaqueTokenIntrospector(delegate, 10,
+				Duration.ofMinutes(5));
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<OAuth2AuthenticatedPrincipal> first = executor.submit(() -> introspector.introspect("token"));
+			introspecting.await(5, TimeUnit.SECONDS);
+			AtomicReference<Thread> waiting = new AtomicReference<>();
+			Future<OAuth2AuthenticatedPrincipal> second = executor.submit(() -> {
+				waiting.set(Thread.currentThread());
+				return introspector.introspect("token");
+			});
+			// wait until the second request is blocked on the first one's introspection
+			for (int i = 0; i < 500 && !isWaiting(waiting.get()); i++) {
+				Thread.sleep(10);
+			}
+			respond.countDown();
+			assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(principal);
+			assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(principal);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		verify(delegate, times(1)).introspect("token");
+	}
+
+	private static boolean isWaiting(Thread thread) {
+		return thread != null && thread.getState() == Thread.State.WAITING;
+	}
+
+	private static OpaqueTokenIntrospector introspector(MockWebServer server) {
+		return SpringOpaqueTokenIntrospector.withIntrospectionUri(server.url("/introspect").toString())
+			.clientId("client")
+			.clientSecret("secret")
+			.build();
+	}
+
+	private static OAuth2AuthenticatedPrincipal principal(Instant expiresAt) {
+		Map<String, Object> attributes = Map.of(OAuth2TokenIntrospectionClaimNames.SUB, "user",
+				OAuth2TokenIntrospectionClaimNames.EXP, expiresAt);
+		return new OAuth2IntrospectionAuthenticatedPrincipal(attributes, Collections.emptyList());
+	}
+
+	private static MockResponse json(String body) {
+		return new MockResponse().setBody(body).setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+	}
+
+}
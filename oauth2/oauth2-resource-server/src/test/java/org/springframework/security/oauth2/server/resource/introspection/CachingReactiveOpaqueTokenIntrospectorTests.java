@@ -0,0 +1,104 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.server.resource.introspection;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.core.OAuth2TokenIntrospectionClaimNames;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link CachingReactiveOpaqueTokenIntrospector}
+ */
+public class CachingReactiveOpaqueTokenIntrospectorTests {
+
+	private final AtomicInteger introspections = new AtomicInteger();
+
+	@Test
+	public void constructorWhenDelegateNullThenIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new CachingReactiveOpaqueTokenIntrospector(null, 10, Duration.ofMinutes(5)));
+	}
+
+	@Test
+	public void introspectWhenActiveTokenThenIntrospectsOnce() {
+		OAuth2AuthenticatedPrincipal principal = principal();
+		CachingReactiveOpaqueTokenIntrospector introspector = new CachingReactiveOpaqueTokenIntrospector(
+				delegate(Mono.just(principal)), 10, Duration.ofMinutes(5));
+		assertThat(introspector.introspect("token").block()).isSameAs(principal);
+		assertThat(introspector.introspect("token").block()).isSameAs(principal);
+		assertThat(this.introspections).hasValue(1);
+		assertThat(introspector.getHitCount()).isEqualTo(1);
+		assertThat(introspector.getMissCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void introspectWhenInactiveTokenThenCachesRejection() {
+		CachingReactiveOpaqueTokenIntrospector introspector = new CachingReactiveOpaqueTokenIntrospector(
+				delegate(Mono.error(new BadOpaqueTokenException("inactive"))), 10, Duration.ofMinutes(5));
+		assertThatExceptionOfType(BadOpaqueTokenException.class)
+			.isThrownBy(() -> introspector.introspect("token").block());
+		assertThatExceptionOfType(BadOpaqueTokenException.class)
+			.isThrownBy(() -> introspector.introspect("token").block());
+		assertThat(this.introspections).hasValue(1);
+	}
+
+	@Test
+	public void introspectWhenIntrospectionFailsThenDoesNotCache() {
+		CachingReactiveOpaqueTokenIntrospector introspector = new CachingReactiveOpaqueTokenIntrospector(
+				delegate(Mono.error(new OAuth2IntrospectionException("unavailable"))), 10, Duration.ofMinutes(5));
+		assertThatExceptionOfType(OAuth2IntrospectionException.class)
+			.isThrownBy(() -> introspector.introspect("token").block());
+		assertThatExceptionOfType(OAuth2IntrospectionException.class)
+			.isThrownBy(() -> introspector.introspect("token").block());
+		assertThat(this.introspections).hasValue(2);
+	}
+
+	@Test
+	public void introspectWhenConcurrentRequestsThenIntrospectsOnce() {
+		OAuth2AuthenticatedPrincipal principal = principal();
+		CachingReactiveOpaqueTokenIntrospector introspector = new CachingReactiveOpaqueTokenIntrospector(
+				delegate(Mono.just(principal).delayElement(Duration.ofMillis(100))), 10, Duration.ofMinutes(5));
+		Mono.zip(introspector.introspect("token"), introspector.introspect("token")).block();
+		assertThat(this.introspections).hasValue(1);
+	}
+
+	private ReactiveOpaqueTokenIntrospector delegate(Mono<OAuth2AuthenticatedPrincipal> result) {
+		return (token) -> Mono.defer(() -> {
+			this.introspections.incrementAndGet();
+			return result;
+		});
+	}
+
+	private static OAuth2AuthenticatedPrincipal principal() {
+		Map<String, Object> attributes = Map.of(OAuth2TokenIntrospectionClaimNames.SUB, "user",
+				OAuth2TokenIntrospectionClaimNames.EXP, Instant.now().plus(Duration.ofMinutes(5)));
+		return new OAuth2IntrospectionAuthenticatedPrincipal(attributes, Collections.emptyList());
+	}
+
+}
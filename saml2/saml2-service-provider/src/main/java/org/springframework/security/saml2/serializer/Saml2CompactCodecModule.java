@@ -0,0 +1,134 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.saml2.serializer;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.security.saml2.provider.service.authentication.DefaultSaml2AuthenticatedPrincipal;
+import org.springframework.security.saml2.provider.service.authentication.Saml2AssertionAuthentication;
+import org.springframework.security.saml2.provider.service.authentication.Saml2Authentication;
+import org.springframework.security.saml2.provider.service.authentication.Saml2ResponseAssertion;
+import org.springframework.security.saml2.provider.service.authentication.Saml2ResponseAssertionAccessor;
+import org.springframework.security.serializer.CompactCodec;
+import org.springframework.security.serializer.CompactCodecModule;
+import org.springframework.security.serializer.CompactCodecModules;
+import org.springframework.security.serializer.CompactInput;
+import org.springframework.security.serializer.CompactOutput;
+
+/**
+ * The {@link CompactCodecModule} for spring-security-saml2-service-provider. This module
+ * has codecs for {@link Saml2Authentication}, {@link Saml2AssertionAuthentication},
+ * {@link Saml2ResponseAssertion} and {@link DefaultSaml2AuthenticatedPrincipal}.
+ *
+ * <p>
+ * Since strings are interned, the SAML 2.0 response that is both the credentials of the
+ * authentication and part of its principal is only written once.
+ *
+ * @since 7.0
+ * @see CompactCodecModules
+ */
+public final class Saml2CompactCodecModule implements CompactCodecModule {
+
+	@Override
+	public Collection<CompactCodec<?>> getCodecs() {
+		return List.of(
+				CompactCodec.of(Saml2Authentication.class, Saml2CompactCodecModule::writeAuthentication,
+						Saml2CompactCodecModule::readAuthentication),
+				CompactCodec.of(Saml2AssertionAuthentication.class,
+						Saml2CompactCodecModule::writeAssertionAuthentication,
+						Saml2CompactCodecModule::readAssertionAuthentication),
+				CompactCodec.of(Saml2ResponseAssertion.class, Saml2CompactCodecModule::writeAssertion,
+						Saml2CompactCodecModule::readAssertion),
+				CompactCodec.of(DefaultSaml2AuthenticatedPrincipal.class, Saml2CompactCodecModule::writePrincipal,
+						Saml2CompactCodecModule::readPrincipal));
+	}
+
+	private static void writeAuthentication(Saml2Authentication authentication, CompactOutput output)
+			throws IOException {
+		output.writeValue(authentication.getPrincipal());
+		output.writeValue(authentication.getSaml2Response());
+		output.writeAuthorities(authentication.getAuthorities());
+		output.writeValue(authentication.getDetails());
+		output.writeBoolean(authentication.isAuthenticated());
+	}
+
+	private static Saml2Authentication readAuthentication(CompactInput input) throws IOException {
+		Saml2Authentication authentication = new Saml2Authentication(input.readValue(Object.class),
+				input.readValue(String.class), input.readAuthorities());
+		authentication.setDetails(input.readValue());
+		authentication.setAuthenticated(input.readBoolean());
+		return authentication;
+	}
+
+	private static void writeAssertionAuthentication(Saml2AssertionAuthentication authentication,
+			CompactOutput output) throws IOException {
+		output.writeValue(authentication.getPrincipal());
+		output.writeValue(authentication.getCredentials());
+		output.writeAuthorities(authentication.getAuthorities());
+		output.writeValue(authentication.getRelyingPartyRegistrationId());
+		output.writeValue(authentication.getDetails());
+		output.writeBoolean(authentication.isAuthenticated());
+	}
+
+	private static Saml2AssertionAuthentication readAssertionAuthentication(CompactInput input) throws IOException {
+		Saml2AssertionAuthentication authentication = new Saml2AssertionAuthentication(input.readValue(Object.class),
+				input.readValue(Saml2ResponseAssertionAccessor.class), input.readAuthorities(),
+				input.readValue(String.class));
+		authentication.setDetails(input.readValue());
+		authentication.setAuthenticated(input.readBoolean());
+		return authentication;
+	}
+
+	private static void writeAssertion(Saml2ResponseAssertion assertion, CompactOutput output) throws IOException {
+		output.writeValue(assertion.getResponseValue());
+		output.writeValue(assertion.getNameId());
+		output.writeValue(assertion.getSessionIndexes());
+		output.writeValue(assertion.getAttributes());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Saml2ResponseAssertion readAssertion(CompactInput input) throws IOException {
+		return Saml2ResponseAssertion.withResponseValue(input.readValue(String.class))
+			.nameId(input.readValue(String.class))
+			.sessionIndexes(input.readValue(List.class))
+			.attributes(input.readValue(Map.class))
+			.build();
+	}
+
+	private static void writePrincipal(DefaultSaml2AuthenticatedPrincipal principal, CompactOutput output)
+			throws IOException {
+		output.writeValue(principal.getName());
+		output.writeValue(principal.getAttributes());
+		output.writeValue(principal.getSessionIndexes());
+		output.writeValue(principal.getRelyingPartyRegistrationId());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static DefaultSaml2AuthenticatedPrincipal readPrincipal(CompactInput input) throws IOException {
+		DefaultSaml2AuthenticatedPrincipal principal = new DefaultSaml2AuthenticatedPrincipal(
+				input.readValue(String.class), input.readValue(Map.class), input.readValue(List.class));
+		String registrationId = input.readNullableValue(String.class);
+		if (registrationId != null) {
+			principal.setRelyingPartyRegistrationId(registrationId);
+		}
+		return principal;
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.saml2.serializer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.saml2.provider.service.authentication.DefaultSaml2AuthenticatedPrincipal;
+import org.springframework.security.saml2.provider.service.authentication.Saml2AssertionAuthentication;
+import org.springframework.security.saml2.provider.service.authentication.Saml2Authentication;
+import org.springframework.security.saml2.provider.service.authentication.Saml2ResponseAssertion;
+import org.springframework.security.saml2.provider.service.authentication.Saml2ResponseAssertionAccessor;
+import org.springframework.security.saml2.provider.service.authentication.TestSaml2Authentications;
+import org.springframework.security.serializer.CompactCodecModules;
+import org.springframework.security.serializer.CompactSecuritySerializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link Saml2CompactCodecModule}
+ */
+public class Saml2CompactCodecModuleTests {
+
+	private CompactSecuritySerializer serializer;
+
+	@BeforeEach
+	public void setup() {
+		this.serializer = new CompactSecuritySerializer();
+		this.serializer.setJavaSerializationEnabled(false);
+	}
+
+	@Test
+	public void getModulesThenContainsSaml2Module() {
+		assertThat(CompactCodecModules.getModules(getClass().getClassLoader()))
+			.hasAtLeastOneElementOfType(Saml2CompactCodecModule.class);
+	}
+
+	@Test
+	public void serializeWhenSaml2AuthenticationThenRoundTrips() throws IOException {
+		Saml2Authentication authentication = TestSaml2Authentications.authentication();
+		Saml2Authentication result = (Saml2Authentication) roundTrip(authentication);
+		assertThat(result).isEqualTo(authentication);
+		DefaultSaml2AuthenticatedPrincipal principal = (DefaultSaml2AuthenticatedPrincipal) result.getPrincipal();
+		assertThat(principal.getRelyingPartyRegistrationId()).isEqualTo("simplesamlphp");
+		assertThat(result.getSaml2Response()).isEqualTo("response");
+	}
+
+	@Test
+	public void serializeWhenSaml2AssertionAuthenticationThenResponseWrittenOnce() throws IOException {
+		String response = "<saml2p:Response>" + "a".repeat(1000) + "</saml2p:Response>";
+		Saml2ResponseAssertion assertion = Saml2ResponseAssertion.withResponseValue(response)
+			.nameId("user")
+			.sessionIndexes(List.of("index"))
+			.attributes(Map.of("email", List.of("user@example.org")))
+			.build();
+		Saml2AssertionAuthentication authentication = new Saml2AssertionAuthentication(assertion,
+				AuthorityUtils.createAuthorityList("ROLE_USER"), "simplesamlphp");
+		byte[] bytes = this.serializer.serializeToByteArray(authentication);
+		assertThat(bytes.length).isLessThan(response.length() + 200);
+		Saml2AssertionAuthentication result = (Saml2AssertionAuthentication) this.serializer
+			.deserializeFromByteArray(bytes);
+		assertThat(result.getRelyingPartyRegistrationId()).isEqualTo("simplesamlphp");
+		assertThat(result.getSaml2Response()).isEqualTo(response);
+		Saml2ResponseAssertionAccessor credentials = result.getCredentials();
+		assertThat(credentials.getNameId()).isEqualTo("user");
+		assertThat(credentials.getSessionIndexes()).containsExactly("index");
+		assertThat(credentials.getAttributes()).isEqualTo(assertion.getAttributes());
+		assertThat(result.getAuthorities()).isEqualTo(authentication.getAuthorities());
+	}
+
+	private Object roundTrip(Object value) throws IOException {
+		return this.serializer.deserializeFromByteArray(this.serializer.serializeToByteArray(value));
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.springframework.security.web;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -42,9 +43,12 @@ import org.springframework.security.web.firewall.HttpStatusRequestRejectedHandle
 import org.springframework.security.web.firewall.RequestRejectedException;
 import org.springframework.security.web.firewall.RequestRejectedHandler;
 import org.springframework.security.web.firewall.StrictHttpFirewall;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.servlet.util.matcher.RequestMatcherIndex;
 import org.springframework.security.web.util.ThrowableAnalyzer;
 import org.springframework.security.web.util.UrlUtils;
 import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcherEntry;
 import org.springframework.util.Assert;
 import org.springframework.web.filter.DelegatingFilterProxy;
 import org.springframework.web.filter.GenericFilterBean;
@@ -154,6 +158,8 @@ public class FilterChainProxy extends GenericFilterBean {
 
 	private List<SecurityFilterChain> filterChains;
 
+	private @Nullable RequestMatcherIndex<SecurityFilterChain> filterChainIndex;
+
 	private FilterChainValidator filterChainValidator = new NullFilterChainValidator();
 
 	private HttpFirewall firewall = new StrictHttpFirewall();
@@ -243,6 +249,9 @@ public class FilterChainProxy extends GenericFilterBean {
 	 * @return an ordered array of Filters defining the filter chain
 	 */
 	private @Nullable List<Filter> getFilters(HttpServletRequest request) {
+		if (this.filterChainIndex != null) {
+			return getIndexedFilters(this.filterChainIndex, request);
+		}
 		int count = 0;
 		for (SecurityFilterChain chain : this.filterChains) {
 			if (logger.isTraceEnabled()) {
@@ -256,6 +265,23 @@ public class FilterChainProxy extends GenericFilterBean {
 		return null;
 	}
 
+	private @Nullable List<Filter> getIndexedFilters(RequestMatcherIndex<SecurityFilterChain> index,
+			HttpServletRequest request) {
+		List<RequestMatcherEntry<SecurityFilterChain>> candidates = index.getCandidates(request);
+		int count = 0;
+		for (RequestMatcherEntry<SecurityFilterChain> candidate : candidates) {
+			SecurityFilterChain chain = candidate.getEntry();
+			if (logger.isTraceEnabled()) {
+				logger.trace(LogMessage.format("Trying to match request against %s (%d/%d candidates)", chain,
+						++count, candidates.size()));
+			}
+			if (chain.matches(request)) {
+				return chain.getFilters();
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Convenience method, mainly for testing.
 	 * @param url the URL
@@ -286,6 +312,37 @@ public class FilterChainProxy extends GenericFilterBean {
 		this.securityContextHolderStrategy = securityContextHolderStrategy;
 	}
 
+	/**
+	 * Whether to index the configured {@link SecurityFilterChain}s by the literal path
+	 * segments and HTTP method of their {@link PathPatternRequestMatcher}s.
+	 *
+	 * <p>
+	 * When enabled, each request is only matched against the chains that could possibly
+	 * match it, which helps applications with many filter chains. Chains are still
+	 * consulted in their declared order, so the first matching chain is the same as
+	 * without the index. Chains whose {@link RequestMatcher} cannot be analyzed are
+	 * consulted for every request.
+	 *
+	 * <p>
+	 * The default is {@code false}.
+	 * @param indexFilterChains whether to index the filter chains
+	 * @since 7.0
+	 * @see RequestMatcherIndex
+	 */
+	public void setIndexFilterChains(boolean indexFilterChains) {
+		if (!indexFilterChains) {
+			this.filterChainIndex = null;
+			return;
+		}
+		List<RequestMatcherEntry<SecurityFilterChain>> entries = new ArrayList<>(this.filterChains.size());
+		for (SecurityFilterChain chain : this.filterChains) {
+			RequestMatcher matcher = (chain instanceof DefaultSecurityFilterChain defaultChain)
+					? defaultChain.getRequestMatcher() : chain::matches;
+			entries.add(new RequestMatcherEntry<>(matcher, chain));
+		}
+		this.filterChainIndex = RequestMatcherIndex.build(entries);
+	}
+
 	/**
 	 * Used (internally) to specify a validation strategy for the filters in each
 	 * configured chain.
@@ -34,6 +34,7 @@ import org.springframework.security.authorization.AuthorizationDeniedException;
 import org.springframework.security.authorization.AuthorizationEventPublisher;
 import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.AuthorizationResultCache;
 import org.springframework.security.authorization.event.AuthorizationDeniedEvent;
 import org.springframework.security.authorization.event.AuthorizationGrantedEvent;
 import org.springframework.security.core.Authentication;
@@ -64,6 +65,8 @@ public class AuthorizationFilter extends GenericFilterBean {
 
 	private boolean filterAsyncDispatch = true;
 
+	private boolean cacheAuthorizationResults = false;
+
 	/**
 	 * Creates an instance.
 	 * @param authorizationManager the {@link AuthorizationManager} to use
@@ -92,6 +95,10 @@ public class AuthorizationFilter extends GenericFilterBean {
 
 		String alreadyFilteredAttributeName = getAlreadyFilteredAttributeName();
 		request.setAttribute(alreadyFilteredAttributeName, Boolean.TRUE);
+		AuthorizationResultCache previousCache = AuthorizationResultCache.getCurrent();
+		if (this.cacheAuthorizationResults && previousCache == null) {
+			AuthorizationResultCache.setCurrent(new AuthorizationResultCache());
+		}
 		try {
 			AuthorizationResult result = this.authorizationManager.authorize(this::getAuthentication, request);
 			this.eventPublisher.publishAuthorizationEvent(this::getAuthentication, request, result);
@@ -101,6 +108,7 @@ public class AuthorizationFilter extends GenericFilterBean {
 			chain.doFilter(request, response);
 		}
 		finally {
+			AuthorizationResultCache.setCurrent(previousCache);
 			request.removeAttribute(alreadyFilteredAttributeName);
 		}
 	}
@@ -199,6 +207,18 @@ public class AuthorizationFilter extends GenericFilterBean {
 		this.filterAsyncDispatch = filterAsyncDispatch;
 	}
 
+	/**
+	 * Sets whether to cache the {@link AuthorizationResult}s of authority checks for the
+	 * remainder of the request, including those made by method security. Defaults to
+	 * {@code false}.
+	 * @param cacheAuthorizationResults whether to cache {@link AuthorizationResult}s
+	 * @since 7.0
+	 * @see AuthorizationResultCache
+	 */
+	public void setCacheAuthorizationResults(boolean cacheAuthorizationResults) {
+		this.cacheAuthorizationResults = cacheAuthorizationResults;
+	}
+
 	private static class NoopAuthorizationEventPublisher implements AuthorizationEventPublisher {
 
 		@Override
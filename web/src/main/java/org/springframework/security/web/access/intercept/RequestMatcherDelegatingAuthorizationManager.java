@@ -34,6 +34,8 @@ import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.authorization.AuthorizationResult;
 import org.springframework.security.authorization.SingleResultAuthorizationManager;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.servlet.util.matcher.RequestMatcherIndex;
 import org.springframework.security.web.util.UrlUtils;
 import org.springframework.security.web.util.matcher.AnyRequestMatcher;
 import org.springframework.security.web.util.matcher.RequestMatcher;
@@ -57,10 +59,14 @@ public final class RequestMatcherDelegatingAuthorizationManager implements Autho
 
 	private final List<RequestMatcherEntry<AuthorizationManager<? super RequestAuthorizationContext>>> mappings;
 
+	private final @Nullable RequestMatcherIndex<AuthorizationManager<? super RequestAuthorizationContext>> index;
+
 	private RequestMatcherDelegatingAuthorizationManager(
-			List<RequestMatcherEntry<AuthorizationManager<? super RequestAuthorizationContext>>> mappings) {
+			List<RequestMatcherEntry<AuthorizationManager<? super RequestAuthorizationContext>>> mappings,
+			boolean indexRequestMatchers) {
 		Assert.notEmpty(mappings, "mappings cannot be empty");
 		this.mappings = mappings;
+		this.index = indexRequestMatchers ? RequestMatcherIndex.build(mappings) : null;
 	}
 
 	@Override
@@ -69,7 +75,8 @@ public final class RequestMatcherDelegatingAuthorizationManager implements Autho
 		if (this.logger.isTraceEnabled()) {
 			this.logger.trace(LogMessage.format("Authorizing %s", requestLine(request)));
 		}
-		for (RequestMatcherEntry<AuthorizationManager<? super RequestAuthorizationContext>> mapping : this.mappings) {
+		for (RequestMatcherEntry<AuthorizationManager<? super RequestAuthorizationContext>> mapping : getMappings(
+				request)) {
 
 			RequestMatcher matcher = mapping.getRequestMatcher();
 			MatchResult matchResult = matcher.matcher(request);
@@ -89,6 +96,11 @@ public final class RequestMatcherDelegatingAuthorizationManager implements Autho
 		return DENY;
 	}
 
+	private List<RequestMatcherEntry<AuthorizationManager<? super RequestAuthorizationContext>>> getMappings(
+			HttpServletRequest request) {
+		return (this.index != null) ? this.index.getCandidates(request) : this.mappings;
+	}
+
 	private static String requestLine(HttpServletRequest request) {
 		return request.getMethod() + " " + UrlUtils.buildRequestUrl(request);
 	}
@@ -108,6 +120,8 @@ public final class RequestMatcherDelegatingAuthorizationManager implements Autho
 
 		private boolean anyRequestConfigured;
 
+		private boolean indexRequestMatchers;
+
 		private final List<RequestMatcherEntry<AuthorizationManager<? super RequestAuthorizationContext>>> mappings = new ArrayList<>();
 
 		/**
@@ -162,12 +176,34 @@ public final class RequestMatcherDelegatingAuthorizationManager implements Autho
 			return new AuthorizedUrl(matchers);
 		}
 
+		/**
+		 * Whether to index the {@link RequestMatcher}s by the literal path segments and
+		 * HTTP method of any {@link PathPatternRequestMatcher}s so that each request is
+		 * only matched against the mappings that could possibly match it.
+		 *
+		 * <p>
+		 * Mappings are still consulted in the order they were added, so the
+		 * {@link AuthorizationManager} selected for a request is the same as without the
+		 * index. Other {@link RequestMatcher}s are consulted for every request.
+		 *
+		 * <p>
+		 * The default is {@code false}.
+		 * @param indexRequestMatchers whether to index the request matchers
+		 * @return the {@link Builder} for further customizations
+		 * @since 7.0
+		 * @see RequestMatcherIndex
+		 */
+		public Builder indexRequestMatchers(boolean indexRequestMatchers) {
+			this.indexRequestMatchers = indexRequestMatchers;
+			return this;
+		}
+
 		/**
 		 * Creates a {@link RequestMatcherDelegatingAuthorizationManager} instance.
 		 * @return the {@link RequestMatcherDelegatingAuthorizationManager} instance
 		 */
 		public RequestMatcherDelegatingAuthorizationManager build() {
-			return new RequestMatcherDelegatingAuthorizationManager(this.mappings);
+			return new RequestMatcherDelegatingAuthorizationManager(this.mappings, this.indexRequestMatchers);
 		}
 
 		/**
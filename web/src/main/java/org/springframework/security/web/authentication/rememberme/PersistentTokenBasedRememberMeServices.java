@@ -29,6 +29,7 @@ import org.springframework.core.log.LogMessage;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.keygen.StripedSecureRandom;
 import org.springframework.security.web.authentication.RememberMeServices;
 import org.springframework.util.Assert;
 
@@ -76,7 +77,7 @@ public class PersistentTokenBasedRememberMeServices extends AbstractRememberMeSe
 	public PersistentTokenBasedRememberMeServices(String key, UserDetailsService userDetailsService,
 			PersistentTokenRepository tokenRepository) {
 		super(key, userDetailsService);
-		this.random = new SecureRandom();
+		this.random = StripedSecureRandom.getSharedInstance();
 		this.tokenRepository = tokenRepository;
 	}
 
@@ -182,6 +183,18 @@ public class PersistentTokenBasedRememberMeServices extends AbstractRememberMeSe
 				response);
 	}
 
+	/**
+	 * Sets the {@link SecureRandom} used to generate the series and token values. The
+	 * default is the {@link StripedSecureRandom#getSharedInstance() shared}
+	 * {@link StripedSecureRandom}.
+	 * @param random the {@link SecureRandom} to use
+	 * @since 7.0
+	 */
+	public void setSecureRandom(SecureRandom random) {
+		Assert.notNull(random, "random cannot be null");
+		this.random = random;
+	}
+
 	public void setSeriesLength(int seriesLength) {
 		this.seriesLength = seriesLength;
 	}
@@ -28,6 +28,7 @@ import org.springframework.context.MessageSourceAware;
 import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.SpringSecurityMessageSource;
+import org.springframework.security.core.session.CountingSessionRegistry;
 import org.springframework.security.core.session.SessionInformation;
 import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.web.authentication.AbstractAuthenticationProcessingFilter;
@@ -101,6 +102,11 @@ public class ConcurrentSessionControlAuthenticationStrategy
 		}
 		Object principal = authentication.getPrincipal();
 		Assert.notNull(principal, "Authentication.getPrincipal() cannot be null");
+		if (this.sessionRegistry instanceof CountingSessionRegistry counting
+				&& counting.getSessionCount(principal, false) < allowedSessions) {
+			// Skip materializing the sessions when the principal is clearly within bounds
+			return;
+		}
 		List<SessionInformation> sessions = this.sessionRegistry.getAllSessions(principal, false);
 		int sessionCount = sessions.size();
 		if (sessionCount < allowedSessions) {
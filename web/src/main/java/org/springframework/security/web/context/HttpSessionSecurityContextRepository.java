@@ -16,6 +16,10 @@
 
 package org.springframework.security.web.context;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import jakarta.servlet.AsyncContext;
@@ -31,9 +35,12 @@ import org.jspecify.annotations.Nullable;
 
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.log.LogMessage;
+import org.springframework.core.serializer.Deserializer;
+import org.springframework.core.serializer.Serializer;
 import org.springframework.security.authentication.AuthenticationTrustResolver;
 import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.Transient;
 import org.springframework.security.core.context.DeferredSecurityContext;
 import org.springframework.security.core.context.SecurityContext;
@@ -80,6 +87,15 @@ import org.springframework.web.util.WebUtils;
  * need to conserve server memory and ensure all classes using the
  * {@code SecurityContextHolder} are designed to have no persistence of the
  * {@code SecurityContext} between web requests.
+ * <p>
+ * When the {@code HttpSession} is replicated or stored remotely, every
+ * {@code setAttribute} may cause a write. Setting
+ * {@link #setSaveOnlyChangedContext(boolean) saveOnlyChangedContext} skips storing a
+ * {@code SecurityContext} whose authentication has the same type, name and authorities
+ * as when it was loaded, and a
+ * {@link #setSecurityContextSerialization(Serializer, Deserializer) serializer} can be
+ * used to store a compact form of the {@code SecurityContext} instead of the object
+ * itself.
  *
  * @author Luke Taylor
  * @since 3.0
@@ -91,6 +107,13 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 	 */
 	public static final String SPRING_SECURITY_CONTEXT_KEY = "SPRING_SECURITY_CONTEXT";
 
+	/**
+	 * The session attribute that Spring Session's {@code FindByIndexNameSessionRepository}
+	 * reads the principal name from before falling back to the {@code SecurityContext}.
+	 */
+	private static final String PRINCIPAL_NAME_INDEX_NAME = "org.springframework.session."
+			+ "FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME";
+
 	protected final Log logger = LogFactory.getLog(this.getClass());
 
 	private SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder
@@ -110,6 +133,14 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 
 	private AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
 
+	private final String fingerprintAttributeName = getClass().getName() + ".FINGERPRINT";
+
+	private boolean saveOnlyChangedContext;
+
+	private @Nullable Serializer<? super SecurityContext> serializer;
+
+	private @Nullable Deserializer<?> deserializer;
+
 	/**
 	 * Gets the security context for the current request (if available) and returns it.
 	 * <p>
@@ -124,7 +155,7 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		HttpServletRequest request = requestResponseHolder.getRequest();
 		HttpServletResponse response = requestResponseHolder.getResponse();
 		HttpSession httpSession = request.getSession(false);
-		SecurityContext context = readSecurityContextFromSession(httpSession);
+		SecurityContext context = readSecurityContextFromSession(request, httpSession);
 		if (context == null) {
 			context = generateNewContext();
 			if (this.logger.isTraceEnabled()) {
@@ -143,7 +174,7 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 
 	@Override
 	public DeferredSecurityContext loadDeferredContext(HttpServletRequest request) {
-		Supplier<SecurityContext> supplier = () -> readSecurityContextFromSession(request.getSession(false));
+		Supplier<SecurityContext> supplier = () -> readSecurityContextFromSession(request, request.getSession(false));
 		return new SupplierDeferredSecurityContext(supplier, this.securityContextHolderStrategy);
 	}
 
@@ -170,22 +201,73 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		else {
 			boolean createSession = this.allowSessionCreation;
 			HttpSession session = request.getSession(createSession);
-			setContextInSession(context, session);
+			setContextInSession(context, request, session);
 		}
 	}
 
-	private void setContextInSession(SecurityContext context, HttpSession session) {
+	private void setContextInSession(SecurityContext context, HttpServletRequest request, HttpSession session) {
 		if (session != null) {
-			session.setAttribute(this.springSecurityContextKey, context);
+			Object value = (this.serializer != null) ? serialize(this.serializer, context) : context;
+			if (this.saveOnlyChangedContext && isUnchanged(context, value, request, session)) {
+				if (this.logger.isTraceEnabled()) {
+					this.logger.trace(LogMessage.format("Did not store unchanged %s to HttpSession [%s]", context,
+							session));
+				}
+				return;
+			}
+			session.setAttribute(this.springSecurityContextKey, value);
+			if (value instanceof byte[]) {
+				setPrincipalNameInSession(context, session);
+			}
+			if (this.saveOnlyChangedContext && !(value instanceof byte[])) {
+				request.setAttribute(this.fingerprintAttributeName, ContextFingerprint.of(context));
+			}
 			if (this.logger.isDebugEnabled()) {
 				this.logger.debug(LogMessage.format("Stored %s to HttpSession [%s]", context, session));
 			}
 		}
 	}
 
+	private boolean isUnchanged(SecurityContext context, Object value, HttpServletRequest request,
+			HttpSession session) {
+		Object stored = session.getAttribute(this.springSecurityContextKey);
+		if (stored == null) {
+			return false;
+		}
+		if (value instanceof byte[] bytes) {
+			return stored instanceof byte[] storedBytes && Arrays.equals(bytes, storedBytes);
+		}
+		// compare with the fingerprint taken when the context was loaded, since the
+		// stored context may be the same instance and have been modified in place
+		Object fingerprint = request.getAttribute(this.fingerprintAttributeName);
+		return fingerprint != null && fingerprint.equals(ContextFingerprint.of(context));
+	}
+
+	private void setPrincipalNameInSession(SecurityContext context, HttpSession session) {
+		Authentication authentication = context.getAuthentication();
+		if (authentication != null) {
+			session.setAttribute(PRINCIPAL_NAME_INDEX_NAME, authentication.getName());
+		}
+		else {
+			session.removeAttribute(PRINCIPAL_NAME_INDEX_NAME);
+		}
+	}
+
+	private static byte[] serialize(Serializer<? super SecurityContext> serializer, SecurityContext context) {
+		try {
+			return serializer.serializeToByteArray(context);
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to serialize " + context, ex);
+		}
+	}
+
 	private void removeContextFromSession(SecurityContext context, HttpSession session) {
 		if (session != null) {
 			session.removeAttribute(this.springSecurityContextKey);
+			if (this.serializer != null) {
+				session.removeAttribute(PRINCIPAL_NAME_INDEX_NAME);
+			}
 			if (this.logger.isDebugEnabled()) {
 				this.logger.debug(LogMessage.format("Removed %s from HttpSession [%s]", context, session));
 			}
@@ -202,9 +284,11 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 	}
 
 	/**
+	 * @param request the request
 	 * @param httpSession the session obtained from the request.
 	 */
-	private @Nullable SecurityContext readSecurityContextFromSession(HttpSession httpSession) {
+	private @Nullable SecurityContext readSecurityContextFromSession(HttpServletRequest request,
+			HttpSession httpSession) {
 		if (httpSession == null) {
 			this.logger.trace("No HttpSession currently exists");
 			return null;
@@ -219,6 +303,13 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 			return null;
 		}
 
+		if (contextFromSession instanceof byte[] bytes && this.deserializer != null) {
+			contextFromSession = deserialize(this.deserializer, bytes);
+			if (contextFromSession == null) {
+				return null;
+			}
+		}
+
 		// We now have the security context object from the session.
 		if (!(contextFromSession instanceof SecurityContext)) {
 			this.logger.warn(LogMessage.format(
@@ -236,10 +327,25 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		else if (this.logger.isDebugEnabled()) {
 			this.logger.debug(LogMessage.format("Retrieved %s", contextFromSession));
 		}
+		if (this.saveOnlyChangedContext && this.serializer == null) {
+			request.setAttribute(this.fingerprintAttributeName,
+					ContextFingerprint.of((SecurityContext) contextFromSession));
+		}
 		// Everything OK. The only non-null return from this method.
 		return (SecurityContext) contextFromSession;
 	}
 
+	private @Nullable Object deserialize(Deserializer<?> deserializer, byte[] bytes) {
+		try {
+			return deserializer.deserializeFromByteArray(bytes);
+		}
+		catch (IOException | RuntimeException ex) {
+			this.logger.warn(LogMessage.format("Failed to deserialize the SecurityContext stored in %s",
+					this.springSecurityContextKey), ex);
+			return null;
+		}
+	}
+
 	/**
 	 * By default, calls {@link SecurityContextHolder#createEmptyContext()} to obtain a
 	 * new context (there should be no context present in the holder when this method is
@@ -296,6 +402,45 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		this.contextObject = this.securityContextHolderStrategy.createEmptyContext();
 	}
 
+	/**
+	 * If set to true, a {@code SecurityContext} is not stored again when its
+	 * authentication has the same type, name, authenticated state and authorities as when
+	 * it was loaded from the {@code HttpSession}, or, when a
+	 * {@link #setSecurityContextSerialization(Serializer, Deserializer) serializer} is
+	 * set, when its
+	 * serialized form is the same as the one stored. This avoids a write for every
+	 * request when sessions are replicated or stored remotely. Note that changes to other
+	 * parts of the {@code SecurityContext}, such as the authentication details, are then
+	 * not stored on their own. Defaults to false.
+	 * @param saveOnlyChangedContext whether to skip storing unchanged contexts
+	 * @since 7.0
+	 */
+	public void setSaveOnlyChangedContext(boolean saveOnlyChangedContext) {
+		this.saveOnlyChangedContext = saveOnlyChangedContext;
+	}
+
+	/**
+	 * Sets the {@link Serializer} used to store the {@code SecurityContext} in the
+	 * {@code HttpSession} as a {@code byte[]} instead of as the object itself, and the
+	 * matching {@link Deserializer} used to read it back.
+	 * <p>
+	 * Components that read the {@code SecurityContext} directly from the session
+	 * attribute will then find a {@code byte[]} instead. For Spring Session's
+	 * {@code FindByIndexNameSessionRepository}, the name of the authenticated principal is
+	 * also stored in its {@code PRINCIPAL_NAME_INDEX_NAME} session attribute, so that
+	 * sessions can still be found by principal name.
+	 * @param serializer the {@link Serializer} to use
+	 * @param deserializer the {@link Deserializer} to use
+	 * @since 7.0
+	 */
+	public void setSecurityContextSerialization(Serializer<? super SecurityContext> serializer,
+			Deserializer<?> deserializer) {
+		Assert.notNull(serializer, "serializer cannot be null");
+		Assert.notNull(deserializer, "deserializer cannot be null");
+		this.serializer = serializer;
+		this.deserializer = deserializer;
+	}
+
 	private boolean isTransient(@Nullable Object object) {
 		if (object == null) {
 			return false;
@@ -314,6 +459,28 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		this.trustResolver = trustResolver;
 	}
 
+	/**
+	 * The parts of a {@link SecurityContext} that determine whether it needs to be stored
+	 * again
+	 */
+	private record ContextFingerprint(Class<?> contextType, @Nullable Class<?> authenticationType,
+			@Nullable String name, boolean authenticated, Set<String> authorities) {
+
+		static ContextFingerprint of(SecurityContext context) {
+			Authentication authentication = context.getAuthentication();
+			if (authentication == null) {
+				return new ContextFingerprint(context.getClass(), null, null, false, Set.of());
+			}
+			Set<String> authorities = new HashSet<>();
+			for (GrantedAuthority authority : authentication.getAuthorities()) {
+				authorities.add(String.valueOf(authority.getAuthority()));
+			}
+			return new ContextFingerprint(context.getClass(), authentication.getClass(), authentication.getName(),
+					authentication.isAuthenticated(), authorities);
+		}
+
+	}
+
 	private static class SaveToSessionRequestWrapper extends HttpServletRequestWrapper {
 
 		private final SaveContextOnUpdateOrErrorResponseWrapper response;
@@ -408,7 +575,7 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 				if (httpSession != null && this.authBeforeExecution != null) {
 					// SEC-1587 A non-anonymous context may still be in the session
 					// SEC-1735 remove if the contextBeforeExecution was not anonymous
-					httpSession.removeAttribute(springSecurityContextKey);
+					HttpSessionSecurityContextRepository.this.removeContextFromSession(context, httpSession);
 					this.isSaveContextInvoked = true;
 				}
 				if (this.logger.isDebugEnabled()) {
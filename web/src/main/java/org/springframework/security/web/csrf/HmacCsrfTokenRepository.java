@@ -0,0 +1,301 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.csrf;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.crypto.SecretKey;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * A stateless {@link CsrfTokenRepository} that derives the {@link CsrfToken} as an HMAC of
+ * an identifier of the user and a time bucket, so that no session is needed to store it.
+ *
+ * <p>
+ * A token is accepted during the time bucket it was issued in and the one that follows.
+ * It is signed with the first of the configured keys and verified with any of them, so
+ * that keys can be rotated by adding the new key to the front of the list and removing
+ * the old one once its tokens have expired.
+ *
+ * <p>
+ * Since there is no stored token to compare to, {@link #loadToken(HttpServletRequest)}
+ * verifies the token submitted with the request, resolved using the same
+ * {@link CsrfTokenRequestResolver} as {@link CsrfFilter}, and returns it when it is valid.
+ * Otherwise, it returns the token for the current time bucket.
+ *
+ * <p>
+ * By default, the identifier is the name of the current {@link Authentication}, or the
+ * empty string when the user is not authenticated. The identifier must resolve to the
+ * same value when the token is rendered and when {@link CsrfFilter} validates it. When the
+ * identifier is empty, the token is instead bound to a random nonce that is stored in an
+ * HttpOnly cookie, so that tokens issued to one unauthenticated client cannot be used by
+ * another one.
+ *
+ * @since 7.0
+ * @see XorCsrfTokenRequestAttributeHandler
+ */
+public final class HmacCsrfTokenRepository implements CsrfTokenRepository {
+
+	private static final String DEFAULT_CSRF_PARAMETER_NAME = "_csrf";
+
+	private static final String DEFAULT_CSRF_HEADER_NAME = "X-CSRF-TOKEN";
+
+	private static final String DEFAULT_NONCE_COOKIE_NAME = "XSRF-NONCE";
+
+	private static final String NONCE_ATTRIBUTE_NAME = HmacCsrfTokenRepository.class.getName().concat(".NONCE");
+
+	private final HmacCsrfTokenSigner signer;
+
+	private String parameterName = DEFAULT_CSRF_PARAMETER_NAME;
+
+	private String headerName = DEFAULT_CSRF_HEADER_NAME;
+
+	private String nonceCookieName = DEFAULT_NONCE_COOKIE_NAME;
+
+	private Consumer<ResponseCookie.ResponseCookieBuilder> nonceCookieCustomizer = (builder) -> {
+	};
+
+	private CsrfTokenRequestResolver requestResolver = new XorCsrfTokenRequestAttributeHandler();
+
+	private SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder
+		.getContextHolderStrategy();
+
+	private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+	private Function<HttpServletRequest, String> identifierResolver = this::resolveIdentifier;
+
+	private Duration timeBucketDuration = Duration.ofMinutes(30);
+
+	private Clock clock = Clock.systemUTC();
+
+	/**
+	 * Creates a new instance
+	 * @param key the key used to sign and verify tokens
+	 */
+	public HmacCsrfTokenRepository(SecretKey key) {
+		this(List.of(key));
+	}
+
+	/**
+	 * Creates a new instance
+	 * @param keys the keys used to verify tokens, the first of which is also used to sign
+	 * them
+	 */
+	public HmacCsrfTokenRepository(List<SecretKey> keys) {
+		this.signer = new HmacCsrfTokenSigner(keys);
+	}
+
+	@Override
+	public CsrfToken generateToken(HttpServletRequest request) {
+		String identifier = this.identifierResolver.apply(request);
+		String nonce = "";
+		if (identifier.isEmpty()) {
+			nonce = loadNonce(request);
+			if (!StringUtils.hasLength(nonce)) {
+				nonce = this.signer.createNonce();
+			}
+			request.setAttribute(NONCE_ATTRIBUTE_NAME, nonce);
+		}
+		return new DefaultCsrfToken(this.headerName, this.parameterName,
+				this.signer.sign(identifier, nonce, currentBucket()));
+	}
+
+	/**
+	 * Writes the nonce cookie when the token was generated for a user without an
+	 * identifier, or removes it when the token is {@code null}. Otherwise, does nothing,
+	 * since tokens are derived rather than stored.
+	 */
+	@Override
+	public void saveToken(@Nullable CsrfToken token, HttpServletRequest request, HttpServletResponse response) {
+		Cookie cookie = WebUtils.getCookie(request, this.nonceCookieName);
+		String nonce = (String) request.getAttribute(NONCE_ATTRIBUTE_NAME);
+		if (token == null) {
+			if (cookie != null || StringUtils.hasLength(nonce)) {
+				writeNonceCookie("", request, response);
+			}
+			request.setAttribute(NONCE_ATTRIBUTE_NAME, "");
+		}
+		else if (StringUtils.hasLength(nonce) && (cookie == null || !nonce.equals(cookie.getValue()))) {
+			writeNonceCookie(nonce, request, response);
+		}
+	}
+
+	@Override
+	public @Nullable CsrfToken loadToken(HttpServletRequest request) {
+		String identifier = this.identifierResolver.apply(request);
+		String nonce = "";
+		if (identifier.isEmpty()) {
+			nonce = loadNonce(request);
+			if (!StringUtils.hasLength(nonce)) {
+				return null;
+			}
+		}
+		long bucket = currentBucket();
+		CsrfToken current = new DefaultCsrfToken(this.headerName, this.parameterName,
+				this.signer.sign(identifier, nonce, bucket));
+		String actualToken = this.requestResolver.resolveCsrfTokenValue(request, current);
+		if (actualToken != null && this.signer.verify(actualToken, identifier, nonce, bucket)) {
+			return new DefaultCsrfToken(this.headerName, this.parameterName, actualToken);
+		}
+		return current;
+	}
+
+	/**
+	 * Sets the {@link HttpServletRequest} parameter name that the {@link CsrfToken} is
+	 * expected to appear on
+	 * @param parameterName the new parameter name to use
+	 */
+	public void setParameterName(String parameterName) {
+		Assert.hasLength(parameterName, "parameterName cannot be null or empty");
+		this.parameterName = parameterName;
+	}
+
+	/**
+	 * Sets the header name that the {@link CsrfToken} is expected to appear on and the
+	 * header that the response will contain the {@link CsrfToken}.
+	 * @param headerName the new header name to use
+	 */
+	public void setHeaderName(String headerName) {
+		Assert.hasLength(headerName, "headerName cannot be null or empty");
+		this.headerName = headerName;
+	}
+
+	/**
+	 * Sets the name of the cookie that the nonce of users without an identifier is stored
+	 * in. The default is {@code XSRF-NONCE}.
+	 * @param nonceCookieName the name of the cookie
+	 */
+	public void setNonceCookieName(String nonceCookieName) {
+		Assert.hasLength(nonceCookieName, "nonceCookieName cannot be null or empty");
+		this.nonceCookieName = nonceCookieName;
+	}
+
+	/**
+	 * Sets a {@link Consumer} for the {@code ResponseCookieBuilder} of the nonce cookie,
+	 * invoked just before the call to {@code build()}. By default, the cookie is
+	 * HttpOnly, scoped to the context path, and secure when the request is.
+	 * @param nonceCookieCustomizer the {@link Consumer} to use
+	 */
+	public void setNonceCookieCustomizer(Consumer<ResponseCookie.ResponseCookieBuilder> nonceCookieCustomizer) {
+		Assert.notNull(nonceCookieCustomizer, "nonceCookieCustomizer cannot be null");
+		this.nonceCookieCustomizer = nonceCookieCustomizer;
+	}
+
+	/**
+	 * Sets the {@link CsrfTokenRequestResolver} used to resolve the token submitted with
+	 * the request. This should be the same as the {@link CsrfTokenRequestHandler} used by
+	 * {@link CsrfFilter}. The default is {@link XorCsrfTokenRequestAttributeHandler}.
+	 * @param requestResolver the {@link CsrfTokenRequestResolver} to use
+	 */
+	public void setRequestResolver(CsrfTokenRequestResolver requestResolver) {
+		Assert.notNull(requestResolver, "requestResolver cannot be null");
+		this.requestResolver = requestResolver;
+	}
+
+	/**
+	 * Sets the {@link Function} used to resolve the identifier of the user that tokens
+	 * are bound to. The default is the name of the current {@link Authentication}, or the
+	 * empty string when the user is not authenticated. Tokens of users whose identifier
+	 * is empty are bound to a nonce cookie instead.
+	 * @param identifierResolver the {@link Function} to use
+	 */
+	public void setIdentifierResolver(Function<HttpServletRequest, String> identifierResolver) {
+		Assert.notNull(identifierResolver, "identifierResolver cannot be null");
+		this.identifierResolver = identifierResolver;
+	}
+
+	/**
+	 * Sets the {@link SecurityContextHolderStrategy} to use. The default action is to use
+	 * the {@link SecurityContextHolderStrategy} stored in {@link SecurityContextHolder}.
+	 * @param securityContextHolderStrategy the {@link SecurityContextHolderStrategy} to
+	 * use
+	 */
+	public void setSecurityContextHolderStrategy(SecurityContextHolderStrategy securityContextHolderStrategy) {
+		Assert.notNull(securityContextHolderStrategy, "securityContextHolderStrategy cannot be null");
+		this.securityContextHolderStrategy = securityContextHolderStrategy;
+	}
+
+	/**
+	 * Sets the duration of the time buckets that tokens are derived from. A token is
+	 * accepted during the bucket it was issued in and the one that follows. The default
+	 * is 30 minutes.
+	 * @param timeBucketDuration the duration of a time bucket
+	 */
+	public void setTimeBucketDuration(Duration timeBucketDuration) {
+		Assert.notNull(timeBucketDuration, "timeBucketDuration cannot be null");
+		Assert.isTrue(timeBucketDuration.toMillis() > 0, "timeBucketDuration must be positive");
+		this.timeBucketDuration = timeBucketDuration;
+	}
+
+	/**
+	 * Sets the {@link Clock} used to determine the current time bucket
+	 * @param clock the {@link Clock} to use
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private String resolveIdentifier(HttpServletRequest request) {
+		Authentication authentication = this.securityContextHolderStrategy.getContext().getAuthentication();
+		return this.trustResolver.isAuthenticated(authentication) ? authentication.getName() : "";
+	}
+
+	private long currentBucket() {
+		return this.clock.millis() / this.timeBucketDuration.toMillis();
+	}
+
+	private @Nullable String loadNonce(HttpServletRequest request) {
+		String nonce = (String) request.getAttribute(NONCE_ATTRIBUTE_NAME);
+		if (nonce != null) {
+			return nonce;
+		}
+		Cookie cookie = WebUtils.getCookie(request, this.nonceCookieName);
+		return (cookie != null) ? cookie.getValue() : null;
+	}
+
+	private void writeNonceCookie(String nonce, HttpServletRequest request, HttpServletResponse response) {
+		String contextPath = request.getContextPath();
+		ResponseCookie.ResponseCookieBuilder cookie = ResponseCookie.from(this.nonceCookieName, nonce)
+			.secure(request.isSecure())
+			.path(StringUtils.hasLength(contextPath) ? contextPath : "/")
+			.maxAge(StringUtils.hasLength(nonce) ? -1 : 0)
+			.httpOnly(true);
+		this.nonceCookieCustomizer.accept(cookie);
+		response.addHeader(HttpHeaders.SET_COOKIE, cookie.build().toString());
+	}
+
+}
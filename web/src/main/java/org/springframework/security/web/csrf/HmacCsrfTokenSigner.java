@@ -0,0 +1,165 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.csrf;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+import org.springframework.util.Assert;
+
+/**
+ * Signs and verifies the tokens of {@link HmacCsrfTokenRepository} and
+ * {@link org.springframework.security.web.server.csrf.HmacServerCsrfTokenRepository}.
+ *
+ * <p>
+ * A token is the time bucket it was issued in, followed by an HMAC-SHA256 of that bucket,
+ * the identifier of the user and a nonce. Tokens are signed with the first of the keys
+ * and verified with any of them. A {@link Mac} is initialized once per key and cloned for
+ * each signature, falling back to a new instance when the provider does not support
+ * cloning.
+ *
+ * @since 7.0
+ */
+public final class HmacCsrfTokenSigner {
+
+	private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+	private static final int SIGNATURE_LENGTH = 32;
+
+	private static final int NONCE_LENGTH = 16;
+
+	private final SecureRandom random = new SecureRandom();
+
+	private final List<KeyedMac> macs;
+
+	/**
+	 * Creates a new instance
+	 * @param keys the keys used to verify tokens, the first of which is also used to sign
+	 * them
+	 */
+	public HmacCsrfTokenSigner(List<SecretKey> keys) {
+		Assert.notEmpty(keys, "keys cannot be empty");
+		Assert.noNullElements(keys, "keys cannot contain null values");
+		List<KeyedMac> macs = new ArrayList<>(keys.size());
+		for (SecretKey key : keys) {
+			macs.add(new KeyedMac(key, createMac(key)));
+		}
+		this.macs = macs;
+	}
+
+	/**
+	 * Creates a token for the given identifier, nonce and time bucket
+	 * @param identifier the identifier of the user, or the empty string
+	 * @param nonce the nonce the token is bound to, or the empty string
+	 * @param bucket the time bucket
+	 * @return the token
+	 */
+	public String sign(String identifier, String nonce, long bucket) {
+		byte[] signature = sign(this.macs.get(0), identifier, nonce, bucket);
+		byte[] token = ByteBuffer.allocate(Long.BYTES + signature.length).putLong(bucket).put(signature).array();
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+	}
+
+	/**
+	 * Verifies that the token was signed for the given identifier and nonce, during the
+	 * current time bucket or the one before it
+	 * @param token the token to verify
+	 * @param identifier the identifier of the user, or the empty string
+	 * @param nonce the nonce the token is bound to, or the empty string
+	 * @param currentBucket the current time bucket
+	 * @return {@code true} if the token is valid
+	 */
+	public boolean verify(String token, String identifier, String nonce, long currentBucket) {
+		byte[] bytes;
+		try {
+			bytes = Base64.getUrlDecoder().decode(token);
+		}
+		catch (IllegalArgumentException ex) {
+			return false;
+		}
+		if (bytes.length != Long.BYTES + SIGNATURE_LENGTH) {
+			return false;
+		}
+		long bucket = ByteBuffer.wrap(bytes).getLong();
+		if (bucket != currentBucket && bucket != currentBucket - 1) {
+			return false;
+		}
+		byte[] signature = Arrays.copyOfRange(bytes, Long.BYTES, bytes.length);
+		for (KeyedMac mac : this.macs) {
+			if (MessageDigest.isEqual(sign(mac, identifier, nonce, bucket), signature)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Creates a random nonce that tokens of users without an identifier are bound to
+	 * @return the nonce
+	 */
+	public String createNonce() {
+		byte[] nonce = new byte[NONCE_LENGTH];
+		this.random.nextBytes(nonce);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(nonce);
+	}
+
+	private static byte[] sign(KeyedMac keyedMac, String identifier, String nonce, long bucket) {
+		Mac mac = keyedMac.copy();
+		byte[] identifierBytes = identifier.getBytes(StandardCharsets.UTF_8);
+		mac.update(ByteBuffer.allocate(Long.BYTES + Integer.BYTES)
+			.putLong(bucket)
+			.putInt(identifierBytes.length)
+			.array());
+		mac.update(identifierBytes);
+		return mac.doFinal(nonce.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static Mac createMac(SecretKey key) {
+		try {
+			Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+			mac.init(key);
+			return mac;
+		}
+		catch (GeneralSecurityException ex) {
+			throw new IllegalArgumentException("Unable to sign CSRF tokens with key " + key.getAlgorithm(), ex);
+		}
+	}
+
+	private record KeyedMac(SecretKey key, Mac prototype) {
+
+		Mac copy() {
+			try {
+				return (Mac) this.prototype.clone();
+			}
+			catch (CloneNotSupportedException ex) {
+				return createMac(this.key);
+			}
+		}
+
+	}
+
+}
@@ -28,6 +28,7 @@ import org.jspecify.annotations.Nullable;
 
 import org.springframework.core.log.LogMessage;
 import org.springframework.security.crypto.codec.Utf8;
+import org.springframework.security.crypto.keygen.StripedSecureRandom;
 import org.springframework.util.Assert;
 
 /**
@@ -43,11 +44,12 @@ public final class XorCsrfTokenRequestAttributeHandler extends CsrfTokenRequestA
 
 	private static final Log logger = LogFactory.getLog(XorCsrfTokenRequestAttributeHandler.class);
 
-	private SecureRandom secureRandom = new SecureRandom();
+	private SecureRandom secureRandom = StripedSecureRandom.getSharedInstance();
 
 	/**
 	 * Specifies the {@code SecureRandom} used to generate random bytes that are used to
-	 * mask the value of the {@link CsrfToken} on each request.
+	 * mask the value of the {@link CsrfToken} on each request. The default is the
+	 * {@link StripedSecureRandom#getSharedInstance() shared} {@link StripedSecureRandom}.
 	 * @param secureRandom the {@code SecureRandom} to use to generate random bytes
 	 */
 	public void setSecureRandom(SecureRandom secureRandom) {
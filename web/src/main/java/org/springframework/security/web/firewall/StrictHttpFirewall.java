@@ -24,6 +24,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
@@ -117,9 +118,9 @@ public class StrictHttpFirewall implements HttpFirewall {
 	private static final List<String> FORBIDDEN_PARAGRAPH_SEPARATOR = Collections
 		.unmodifiableList(Arrays.asList("\u2029"));
 
-	private Set<String> encodedUrlBlocklist = new HashSet<>();
+	private final UrlBlocklist encodedUrlBlocklist = new UrlBlocklist();
 
-	private Set<String> decodedUrlBlocklist = new HashSet<>();
+	private final UrlBlocklist decodedUrlBlocklist = new UrlBlocklist();
 
 	private Set<String> allowedHttpMethods = createDefaultAllowedHttpMethods();
 
@@ -515,20 +516,16 @@ public class StrictHttpFirewall implements HttpFirewall {
 	@Override
 	public FirewalledRequest getFirewalledRequest(HttpServletRequest request) throws RequestRejectedException {
 		rejectForbiddenHttpMethod(request);
-		rejectedBlocklistedUrls(request);
+		int violations = scanUrl(request);
 		rejectedUntrustedHosts(request);
-		if (!isNormalized(request)) {
+		if ((violations & UrlBlocklist.NOT_NORMALIZED) != 0) {
 			throw new RequestRejectedException("The request was rejected because the URL was not normalized.");
 		}
-		rejectNonPrintableAsciiCharactersInFieldName(request.getRequestURI(), "requestURI");
-		return new StrictFirewalledRequest(request);
-	}
-
-	private void rejectNonPrintableAsciiCharactersInFieldName(String toCheck, String propertyName) {
-		if (!containsOnlyPrintableAsciiCharacters(toCheck)) {
-			throw new RequestRejectedException(String
-				.format("The %s was rejected because it can only contain printable ASCII characters.", propertyName));
+		if ((violations & UrlBlocklist.NOT_PRINTABLE) != 0) {
+			throw new RequestRejectedException(
+					"The requestURI was rejected because it can only contain printable ASCII characters.");
 		}
+		return new StrictFirewalledRequest(request);
 	}
 
 	private void rejectForbiddenHttpMethod(HttpServletRequest request) {
@@ -542,21 +539,26 @@ public class StrictHttpFirewall implements HttpFirewall {
 		}
 	}
 
-	private void rejectedBlocklistedUrls(HttpServletRequest request) {
-		for (String forbidden : this.encodedUrlBlocklist) {
-			if (encodedUrlContains(request, forbidden)) {
-				throw new RequestRejectedException(
-						"The request was rejected because the URL contained a potentially malicious String \""
-								+ forbidden + "\"");
-			}
-		}
-		for (String forbidden : this.decodedUrlBlocklist) {
-			if (decodedUrlContains(request, forbidden)) {
-				throw new RequestRejectedException(
-						"The request was rejected because the URL contained a potentially malicious String \""
-								+ forbidden + "\"");
-			}
-		}
+	/**
+	 * Scans the context path, request URI, servlet path and path info once each,
+	 * rejecting blocklisted values as soon as they are found, and collects whether any of
+	 * them is not normalized and whether the request URI contains non-printable
+	 * characters, so that those rejections can be reported in their usual order.
+	 */
+	private int scanUrl(HttpServletRequest request) {
+		Function<String, RequestRejectedException> reject = StrictHttpFirewall::rejectBlocklisted;
+		int violations = this.encodedUrlBlocklist.scan(request.getContextPath(), reject)
+				& UrlBlocklist.NOT_NORMALIZED;
+		violations |= this.encodedUrlBlocklist.scan(request.getRequestURI(), reject);
+		violations |= this.decodedUrlBlocklist.scan(request.getServletPath(), reject) & UrlBlocklist.NOT_NORMALIZED;
+		violations |= this.decodedUrlBlocklist.scan(request.getPathInfo(), reject) & UrlBlocklist.NOT_NORMALIZED;
+		return violations;
+	}
+
+	private static RequestRejectedException rejectBlocklisted(String forbidden) {
+		return new RequestRejectedException(
+				"The request was rejected because the URL contained a potentially malicious String \"" + forbidden
+						+ "\"");
 	}
 
 	private void rejectedUntrustedHosts(HttpServletRequest request) {
@@ -584,78 +586,6 @@ public class StrictHttpFirewall implements HttpFirewall {
 		return result;
 	}
 
-	private static boolean isNormalized(HttpServletRequest request) {
-		if (!isNormalized(request.getRequestURI())) {
-			return false;
-		}
-		if (!isNormalized(request.getContextPath())) {
-			return false;
-		}
-		if (!isNormalized(request.getServletPath())) {
-			return false;
-		}
-		if (!isNormalized(request.getPathInfo())) {
-			return false;
-		}
-		return true;
-	}
-
-	private static boolean encodedUrlContains(HttpServletRequest request, String value) {
-		if (valueContains(request.getContextPath(), value)) {
-			return true;
-		}
-		return valueContains(request.getRequestURI(), value);
-	}
-
-	private static boolean decodedUrlContains(HttpServletRequest request, String value) {
-		if (valueContains(request.getServletPath(), value)) {
-			return true;
-		}
-		return valueContains(request.getPathInfo(), value);
-	}
-
-	private static boolean containsOnlyPrintableAsciiCharacters(String uri) {
-		if (uri == null) {
-			return true;
-		}
-		int length = uri.length();
-		for (int i = 0; i < length; i++) {
-			char ch = uri.charAt(i);
-			if (ch < '\u0020' || ch > '\u007e') {
-				return false;
-			}
-		}
-		return true;
-	}
-
-	private static boolean valueContains(String value, String contains) {
-		return value != null && value.contains(contains);
-	}
-
-	/**
-	 * Checks whether a path is normalized (doesn't contain path traversal sequences like
-	 * "./", "/../" or "/.")
-	 * @param path the path to test
-	 * @return true if the path doesn't contain any path-traversal character sequences.
-	 */
-	private static boolean isNormalized(String path) {
-		if (path == null) {
-			return true;
-		}
-		for (int i = path.length(); i > 0;) {
-			int slashIndex = path.lastIndexOf('/', i - 1);
-			int gap = i - slashIndex;
-			if (gap == 2 && path.charAt(slashIndex + 1) == '.') {
-				return false; // ".", "/./" or "/."
-			}
-			if (gap == 3 && path.charAt(slashIndex + 1) == '.' && path.charAt(slashIndex + 2) == '.') {
-				return false;
-			}
-			i = slashIndex;
-		}
-		return true;
-	}
-
 	/**
 	 * Provides the existing encoded url blocklist which can add/remove entries from
 	 * @return the existing encoded url blocklist, never null
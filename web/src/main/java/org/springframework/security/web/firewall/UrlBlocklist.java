@@ -0,0 +1,257 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.firewall;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The URL blocklist of {@link StrictHttpFirewall} and
+ * {@link org.springframework.security.web.server.firewall.StrictServerWebExchangeFirewall}.
+ * It is compiled into a character-class lookup table for the ASCII range, so that a URL
+ * is checked against all blocklisted values, and for path traversal and non-printable
+ * characters, in a single pass. The table is discarded whenever the blocklist is
+ * modified.
+ *
+ * @since 7.0
+ */
+public final class UrlBlocklist extends AbstractSet<String> {
+
+	/**
+	 * Returned by {@link #scan(String, Function)} when the value contains a "." or ".."
+	 * path segment
+	 */
+	public static final int NOT_NORMALIZED = 1;
+
+	/**
+	 * Returned by {@link #scan(String, Function)} when the value contains a character
+	 * outside of the printable ASCII range
+	 */
+	public static final int NOT_PRINTABLE = 2;
+
+	private final Set<String> values = new HashSet<>();
+
+	private volatile @Nullable Compiled compiled;
+
+	@Override
+	public boolean add(String value) {
+		boolean added = this.values.add(value);
+		if (added) {
+			this.compiled = null;
+		}
+		return added;
+	}
+
+	@Override
+	public boolean remove(Object value) {
+		boolean removed = this.values.remove(value);
+		if (removed) {
+			this.compiled = null;
+		}
+		return removed;
+	}
+
+	@Override
+	public boolean contains(Object value) {
+		return this.values.contains(value);
+	}
+
+	@Override
+	public int size() {
+		return this.values.size();
+	}
+
+	@Override
+	public Iterator<String> iterator() {
+		Iterator<String> values = this.values.iterator();
+		return new Iterator<>() {
+
+			@Override
+			public boolean hasNext() {
+				return values.hasNext();
+			}
+
+			@Override
+			public String next() {
+				return values.next();
+			}
+
+			@Override
+			public void remove() {
+				values.remove();
+				UrlBlocklist.this.compiled = null;
+			}
+
+		};
+	}
+
+	/**
+	 * Scans this value once, rejecting it as soon as a blocklisted value is found, and
+	 * collects whether it is not normalized and whether it contains non-printable
+	 * characters.
+	 * @param value the value to scan
+	 * @param rejection creates the exception to throw for a blocklisted value
+	 * @return the {@link #NOT_NORMALIZED} and {@link #NOT_PRINTABLE} violations found
+	 */
+	public int scan(@Nullable String value, Function<String, ? extends RuntimeException> rejection) {
+		if (value == null) {
+			return 0;
+		}
+		Compiled blocklist = compile();
+		if (blocklist.containsEmpty) {
+			throw rejection.apply("");
+		}
+		byte[] classes = blocklist.classes;
+		int violations = 0;
+		int segmentStart = 0;
+		int length = value.length();
+		for (int i = 0; i < length; i++) {
+			char ch = value.charAt(i);
+			int characterClass = (ch < classes.length) ? classes[ch] : blocklist.otherClass;
+			if (characterClass == 0) {
+				continue;
+			}
+			if ((characterClass & Compiled.CANDIDATE) != 0) {
+				String forbidden = blocklist.find(value, i, ch);
+				if (forbidden != null) {
+					throw rejection.apply(forbidden);
+				}
+			}
+			if ((characterClass & Compiled.SLASH) != 0) {
+				if (isDotSegment(value, segmentStart, i)) {
+					violations |= NOT_NORMALIZED;
+				}
+				segmentStart = i + 1;
+			}
+			if ((characterClass & Compiled.NOT_PRINTABLE) != 0) {
+				violations |= NOT_PRINTABLE;
+			}
+		}
+		if (isDotSegment(value, segmentStart, length)) {
+			violations |= NOT_NORMALIZED;
+		}
+		return violations;
+	}
+
+	private Compiled compile() {
+		Compiled compiled = this.compiled;
+		if (compiled == null) {
+			compiled = new Compiled(this.values);
+			this.compiled = compiled;
+		}
+		return compiled;
+	}
+
+	/**
+	 * Checks whether a path segment is a path traversal sequence ("." or "..")
+	 * @param path the path containing the segment
+	 * @param start the index of the first character of the segment
+	 * @param end the index after the last character of the segment
+	 * @return true if the segment is "." or ".."
+	 */
+	private static boolean isDotSegment(String path, int start, int end) {
+		int length = end - start;
+		if (length == 1) {
+			return path.charAt(start) == '.';
+		}
+		return length == 2 && path.charAt(start) == '.' && path.charAt(start + 1) == '.';
+	}
+
+	/**
+	 * A character-class lookup table for the ASCII range that marks slashes,
+	 * non-printable characters and the first characters of blocklisted values, along with
+	 * the blocklisted values grouped by their first character.
+	 */
+	private static final class Compiled {
+
+		private static final int CANDIDATE = 1;
+
+		private static final int SLASH = 2;
+
+		private static final int NOT_PRINTABLE = 4;
+
+		private final byte[] classes = new byte[128];
+
+		private final String[][] candidates = new String[128][];
+
+		private final String[] otherCandidates;
+
+		private final int otherClass;
+
+		private final boolean containsEmpty;
+
+		private Compiled(Set<String> values) {
+			for (int ch = 0; ch < this.classes.length; ch++) {
+				if (ch < ' ' || ch > '~') {
+					this.classes[ch] |= NOT_PRINTABLE;
+				}
+			}
+			this.classes['/'] |= SLASH;
+			List<String> others = new ArrayList<>();
+			boolean containsEmpty = false;
+			for (String value : values) {
+				if (value == null) {
+					continue;
+				}
+				if (value.isEmpty()) {
+					containsEmpty = true;
+					continue;
+				}
+				char first = value.charAt(0);
+				if (first < this.classes.length) {
+					this.classes[first] |= CANDIDATE;
+					this.candidates[first] = append(this.candidates[first], value);
+				}
+				else {
+					others.add(value);
+				}
+			}
+			this.otherCandidates = others.toArray(new String[0]);
+			this.otherClass = NOT_PRINTABLE | (others.isEmpty() ? 0 : CANDIDATE);
+			this.containsEmpty = containsEmpty;
+		}
+
+		private @Nullable String find(String value, int index, char ch) {
+			String[] candidates = (ch < this.candidates.length) ? this.candidates[ch] : this.otherCandidates;
+			for (String candidate : candidates) {
+				if (value.startsWith(candidate, index)) {
+					return candidate;
+				}
+			}
+			return null;
+		}
+
+		private static String[] append(String @Nullable [] values, String value) {
+			if (values == null) {
+				return new String[] { value };
+			}
+			String[] result = Arrays.copyOf(values, values.length + 1);
+			result[values.length] = value;
+			return result;
+		}
+
+	}
+
+}
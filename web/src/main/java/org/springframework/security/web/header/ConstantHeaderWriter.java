@@ -0,0 +1,46 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.header;
+
+import java.util.List;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * A {@link HeaderWriter} that writes the same headers regardless of the request, adding
+ * each {@link Header} only when the {@link HttpServletResponse} does not already contain
+ * a header by that name.
+ *
+ * <p>
+ * Since the headers do not depend on the request, they can be computed once, ahead of
+ * time. See {@link HeaderWriterFilter#setPrecomputeConstantHeaders(boolean)}. Only the
+ * class that implements this interface is trusted to write constant headers: a subclass
+ * that overrides {@link #writeHeaders} or {@link #getHeaders} must implement this
+ * interface again to have its headers precomputed.
+ *
+ * @since 7.0
+ * @see HeaderWriterFilter
+ */
+public interface ConstantHeaderWriter extends HeaderWriter {
+
+	/**
+	 * Return the headers that this writer writes, in the order that it writes them
+	 * @return the headers, never {@code null}
+	 */
+	List<Header> getHeaders();
+
+}
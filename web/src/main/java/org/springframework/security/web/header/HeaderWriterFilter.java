@@ -17,6 +17,9 @@
 package org.springframework.security.web.header;
 
 import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import jakarta.servlet.FilterChain;
@@ -30,6 +33,7 @@ import jakarta.servlet.http.HttpServletResponse;
 
 import org.springframework.security.web.util.OnCommittedResponseWrapper;
 import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 /**
@@ -50,6 +54,13 @@ public class HeaderWriterFilter extends OncePerRequestFilter {
 	 */
 	private final List<HeaderWriter> headerWriters;
 
+	/**
+	 * The {@link HeaderWriter}s that are invoked for each request, which are either the
+	 * {@link #headerWriters} or those with their {@link ConstantHeaderWriter}s
+	 * precomputed.
+	 */
+	private List<HeaderWriter> writers;
+
 	/**
 	 * Indicates whether to write the headers at the beginning of the request.
 	 */
@@ -63,6 +74,7 @@ public class HeaderWriterFilter extends OncePerRequestFilter {
 	public HeaderWriterFilter(List<HeaderWriter> headerWriters) {
 		Assert.notEmpty(headerWriters, "headerWriters cannot be null or empty");
 		this.headerWriters = headerWriters;
+		this.writers = headerWriters;
 	}
 
 	@Override
@@ -95,7 +107,7 @@ public class HeaderWriterFilter extends OncePerRequestFilter {
 	}
 
 	void writeHeaders(HttpServletRequest request, HttpServletResponse response) {
-		for (HeaderWriter writer : this.headerWriters) {
+		for (HeaderWriter writer : this.writers) {
 			writer.writeHeaders(request, response);
 		}
 	}
@@ -110,6 +122,95 @@ public class HeaderWriterFilter extends OncePerRequestFilter {
 		this.shouldWriteHeadersEagerly = shouldWriteHeadersEagerly;
 	}
 
+	/**
+	 * Precompute the headers of consecutive {@link ConstantHeaderWriter}s into a single
+	 * array of header names and values that is written in one pass, while any other
+	 * {@link HeaderWriter} is still invoked for each request, in order. The headers are
+	 * computed when this method is invoked, so any {@link ConstantHeaderWriter} should be
+	 * fully configured beforehand. A subclass that overrides
+	 * {@link HeaderWriter#writeHeaders} or {@link ConstantHeaderWriter#getHeaders} of a
+	 * {@link ConstantHeaderWriter} without implementing {@link ConstantHeaderWriter}
+	 * itself is invoked for each request. Default is false.
+	 * @param precomputeConstantHeaders whether to precompute the headers of
+	 * {@link ConstantHeaderWriter}s
+	 * @since 7.0
+	 */
+	public void setPrecomputeConstantHeaders(boolean precomputeConstantHeaders) {
+		this.writers = precomputeConstantHeaders ? precompute(this.headerWriters) : this.headerWriters;
+	}
+
+	private static List<HeaderWriter> precompute(List<HeaderWriter> headerWriters) {
+		List<HeaderWriter> writers = new ArrayList<>();
+		List<Header> headers = new ArrayList<>();
+		for (HeaderWriter writer : headerWriters) {
+			if (writer instanceof ConstantHeaderWriter constant && isConstant(constant)) {
+				headers.addAll(constant.getHeaders());
+				continue;
+			}
+			if (!headers.isEmpty()) {
+				writers.add(new PrecomputedHeaderWriter(headers));
+				headers.clear();
+			}
+			writers.add(writer);
+		}
+		if (!headers.isEmpty()) {
+			writers.add(new PrecomputedHeaderWriter(headers));
+		}
+		return writers;
+	}
+
+	/**
+	 * Whether the class that declares {@link HeaderWriter#writeHeaders} is the one that
+	 * declares {@link ConstantHeaderWriter#getHeaders} and implements
+	 * {@link ConstantHeaderWriter}, so that a subclass writing headers per request is not
+	 * mistaken for a constant one.
+	 */
+	private static boolean isConstant(ConstantHeaderWriter writer) {
+		Method writeHeaders = ReflectionUtils.findMethod(writer.getClass(), "writeHeaders", HttpServletRequest.class,
+				HttpServletResponse.class);
+		Method getHeaders = ReflectionUtils.findMethod(writer.getClass(), "getHeaders");
+		if (writeHeaders == null || getHeaders == null) {
+			return false;
+		}
+		Class<?> declaringClass = writeHeaders.getDeclaringClass();
+		return declaringClass == getHeaders.getDeclaringClass()
+				&& Arrays.asList(declaringClass.getInterfaces()).contains(ConstantHeaderWriter.class);
+	}
+
+	/**
+	 * Writes the headers of consecutive {@link ConstantHeaderWriter}s, each only when the
+	 * response does not already contain a header by that name.
+	 */
+	private static final class PrecomputedHeaderWriter implements HeaderWriter {
+
+		private final String[] names;
+
+		private final String[][] values;
+
+		private PrecomputedHeaderWriter(List<Header> headers) {
+			this.names = new String[headers.size()];
+			this.values = new String[headers.size()][];
+			for (int i = 0; i < headers.size(); i++) {
+				Header header = headers.get(i);
+				this.names[i] = header.getName();
+				this.values[i] = header.getValues().toArray(new String[0]);
+			}
+		}
+
+		@Override
+		public void writeHeaders(HttpServletRequest request, HttpServletResponse response) {
+			for (int i = 0; i < this.names.length; i++) {
+				String name = this.names[i];
+				if (!response.containsHeader(name)) {
+					for (String value : this.values[i]) {
+						response.addHeader(name, value);
+					}
+				}
+			}
+		}
+
+	}
+
 	class HeaderWriterResponse extends OnCommittedResponseWrapper {
 
 		private final HttpServletRequest request;
@@ -16,10 +16,13 @@
 
 package org.springframework.security.web.header.writers;
 
+import java.util.List;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-import org.springframework.security.web.header.HeaderWriter;
+import org.springframework.security.web.header.ConstantHeaderWriter;
+import org.springframework.security.web.header.Header;
 import org.springframework.util.Assert;
 
 /**
@@ -81,7 +84,7 @@ import org.springframework.util.Assert;
  * @author Ankur Pathak
  * @since 4.1
  */
-public final class ContentSecurityPolicyHeaderWriter implements HeaderWriter {
+public final class ContentSecurityPolicyHeaderWriter implements ConstantHeaderWriter {
 
 	private static final String CONTENT_SECURITY_POLICY_HEADER = "Content-Security-Policy";
 
@@ -124,6 +127,13 @@ public final class ContentSecurityPolicyHeaderWriter implements HeaderWriter {
 		}
 	}
 
+	@Override
+	public List<Header> getHeaders() {
+		String headerName = (!this.reportOnly) ? CONTENT_SECURITY_POLICY_HEADER
+				: CONTENT_SECURITY_POLICY_REPORT_ONLY_HEADER;
+		return List.of(new Header(headerName, this.policyDirectives));
+	}
+
 	/**
 	 * Sets the security policy directive(s) to be used in the response header.
 	 * @param policyDirectives the security policy directive(s)
@@ -16,11 +16,14 @@
 
 package org.springframework.security.web.header.writers;
 
+import java.util.List;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.jspecify.annotations.Nullable;
 
-import org.springframework.security.web.header.HeaderWriter;
+import org.springframework.security.web.header.ConstantHeaderWriter;
+import org.springframework.security.web.header.Header;
 import org.springframework.util.Assert;
 
 /**
@@ -32,7 +35,7 @@ import org.springframework.util.Assert;
  * "https://developer.mozilla.org/en-US/docs/Web/HTTP/Headers/Cross-Origin-Opener-Policy">
  * Cross-Origin-Opener-Policy</a>
  */
-public final class CrossOriginOpenerPolicyHeaderWriter implements HeaderWriter {
+public final class CrossOriginOpenerPolicyHeaderWriter implements ConstantHeaderWriter {
 
 	private static final String OPENER_POLICY = "Cross-Origin-Opener-Policy";
 
@@ -55,6 +58,11 @@ public final class CrossOriginOpenerPolicyHeaderWriter implements HeaderWriter {
 		}
 	}
 
+	@Override
+	public List<Header> getHeaders() {
+		return (this.policy != null) ? List.of(new Header(OPENER_POLICY, this.policy.getPolicy())) : List.of();
+	}
+
 	public enum CrossOriginOpenerPolicy {
 
 		UNSAFE_NONE("unsafe-none"),
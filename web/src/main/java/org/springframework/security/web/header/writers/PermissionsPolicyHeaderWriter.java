@@ -16,11 +16,14 @@
 
 package org.springframework.security.web.header.writers;
 
+import java.util.List;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.jspecify.annotations.Nullable;
 
-import org.springframework.security.web.header.HeaderWriter;
+import org.springframework.security.web.header.ConstantHeaderWriter;
+import org.springframework.security.web.header.Header;
 import org.springframework.util.Assert;
 
 /**
@@ -36,7 +39,7 @@ import org.springframework.util.Assert;
  * @author Christophe Gilles
  * @since 5.5
  */
-public final class PermissionsPolicyHeaderWriter implements HeaderWriter {
+public final class PermissionsPolicyHeaderWriter implements ConstantHeaderWriter {
 
 	private static final String PERMISSIONS_POLICY_HEADER = "Permissions-Policy";
 
@@ -75,6 +78,11 @@ public final class PermissionsPolicyHeaderWriter implements HeaderWriter {
 		}
 	}
 
+	@Override
+	public List<Header> getHeaders() {
+		return (this.policy != null) ? List.of(new Header(PERMISSIONS_POLICY_HEADER, this.policy)) : List.of();
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getName() + " [policy=" + this.policy + "]";
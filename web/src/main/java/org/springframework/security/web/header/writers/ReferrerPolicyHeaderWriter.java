@@ -18,13 +18,15 @@ package org.springframework.security.web.header.writers;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.jspecify.annotations.Nullable;
 
-import org.springframework.security.web.header.HeaderWriter;
+import org.springframework.security.web.header.ConstantHeaderWriter;
+import org.springframework.security.web.header.Header;
 import org.springframework.util.Assert;
 
 /**
@@ -56,7 +58,7 @@ import org.springframework.util.Assert;
  * @author Ankur Pathak
  * @since 4.2
  */
-public class ReferrerPolicyHeaderWriter implements HeaderWriter {
+public class ReferrerPolicyHeaderWriter implements ConstantHeaderWriter {
 
 	private static final String REFERRER_POLICY_HEADER = "Referrer-Policy";
 
@@ -100,6 +102,11 @@ public class ReferrerPolicyHeaderWriter implements HeaderWriter {
 		}
 	}
 
+	@Override
+	public List<Header> getHeaders() {
+		return List.of(new Header(REFERRER_POLICY_HEADER, this.policy.getPolicy()));
+	}
+
 	public enum ReferrerPolicy {
 
 		NO_REFERRER("no-referrer"),
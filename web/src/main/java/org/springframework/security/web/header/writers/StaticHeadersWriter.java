@@ -22,8 +22,8 @@ import java.util.List;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.security.web.header.ConstantHeaderWriter;
 import org.springframework.security.web.header.Header;
-import org.springframework.security.web.header.HeaderWriter;
 import org.springframework.util.Assert;
 
 /**
@@ -34,7 +34,7 @@ import org.springframework.util.Assert;
  * @author Ankur Pathak
  * @since 3.2
  */
-public class StaticHeadersWriter implements HeaderWriter {
+public class StaticHeadersWriter implements ConstantHeaderWriter {
 
 	private final List<Header> headers;
 
@@ -67,6 +67,11 @@ public class StaticHeadersWriter implements HeaderWriter {
 		}
 	}
 
+	@Override
+	public List<Header> getHeaders() {
+		return Collections.unmodifiableList(this.headers);
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getName() + " [headers=" + this.headers + "]";
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.serializer;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.serializer.CompactCodec;
+import org.springframework.security.serializer.CompactCodecModule;
+import org.springframework.security.serializer.CompactCodecModules;
+import org.springframework.security.serializer.CompactInput;
+import org.springframework.security.serializer.CompactOutput;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+/**
+ * The {@link CompactCodecModule} for spring-security-web. This module has a codec for
+ * {@link WebAuthenticationDetails}.
+ *
+ * @since 7.0
+ * @see CompactCodecModules
+ */
+public final class WebCompactCodecModule implements CompactCodecModule {
+
+	@Override
+	public Collection<CompactCodec<?>> getCodecs() {
+		return List.of(CompactCodec.of(WebAuthenticationDetails.class, WebCompactCodecModule::writeDetails,
+				WebCompactCodecModule::readDetails));
+	}
+
+	private static void writeDetails(WebAuthenticationDetails details, CompactOutput output) throws IOException {
+		output.writeValue(details.getRemoteAddress());
+		output.writeValue(details.getSessionId());
+	}
+
+	private static WebAuthenticationDetails readDetails(CompactInput input) throws IOException {
+		return new WebAuthenticationDetails(input.readValue(String.class), input.readNullableValue(String.class));
+	}
+
+}
@@ -56,4 +56,8 @@ public class MatcherSecurityWebFilterChain implements SecurityWebFilterChain {
 		return Flux.fromIterable(this.filters);
 	}
 
+	ServerWebExchangeMatcher getMatcher() {
+		return this.matcher;
+	}
+
 }
@@ -16,10 +16,12 @@
 
 package org.springframework.security.web.server;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -29,6 +31,11 @@ import org.springframework.security.web.server.firewall.ServerExchangeRejectedEx
 import org.springframework.security.web.server.firewall.ServerExchangeRejectedHandler;
 import org.springframework.security.web.server.firewall.ServerWebExchangeFirewall;
 import org.springframework.security.web.server.firewall.StrictServerWebExchangeFirewall;
+import org.springframework.security.web.server.util.matcher.PathPatternParserServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher.MatchResult;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcherEntry;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcherIndex;
 import org.springframework.util.Assert;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
@@ -45,6 +52,8 @@ public class WebFilterChainProxy implements WebFilter {
 
 	private final List<SecurityWebFilterChain> filters;
 
+	private @Nullable ServerWebExchangeMatcherIndex<SecurityWebFilterChain> filterChainIndex;
+
 	private WebFilterChainDecorator filterChainDecorator = new DefaultWebFilterChainDecorator();
 
 	private ServerWebExchangeFirewall firewall = new StrictServerWebExchangeFirewall();
@@ -68,9 +77,7 @@ public class WebFilterChainProxy implements WebFilter {
 	}
 
 	private Mono<Void> filterFirewalledExchange(ServerWebExchange firewalledExchange, WebFilterChain chain) {
-		return Flux.fromIterable(this.filters)
-			.filterWhen((securityWebFilterChain) -> securityWebFilterChain.matches(firewalledExchange))
-			.next()
+		return getSecurityWebFilterChain(firewalledExchange)
 			.switchIfEmpty(Mono
 				.defer(() -> this.filterChainDecorator.decorate(chain).filter(firewalledExchange).then(Mono.empty())))
 			.flatMap((securityWebFilterChain) -> securityWebFilterChain.getWebFilters().collectList())
@@ -78,6 +85,51 @@ public class WebFilterChainProxy implements WebFilter {
 			.flatMap((securedChain) -> securedChain.filter(firewalledExchange));
 	}
 
+	private Mono<SecurityWebFilterChain> getSecurityWebFilterChain(ServerWebExchange exchange) {
+		if (this.filterChainIndex != null) {
+			return this.filterChainIndex.match(exchange).map(ServerWebExchangeMatcherIndex.Match::getEntry);
+		}
+		return Flux.fromIterable(this.filters)
+			.filterWhen((securityWebFilterChain) -> securityWebFilterChain.matches(exchange))
+			.next();
+	}
+
+	/**
+	 * Whether to index the configured {@link SecurityWebFilterChain}s by the literal path
+	 * segments and HTTP method of their {@link PathPatternParserServerWebExchangeMatcher}s.
+	 *
+	 * <p>
+	 * When enabled, each exchange is only matched against the chains that could possibly
+	 * match it, and path-based matchers are evaluated without subscribing to a
+	 * {@link Mono} per chain. Chains are still consulted in their declared order, so the
+	 * first matching chain is the same as without the index.
+	 *
+	 * <p>
+	 * The default is {@code false}.
+	 * @param indexFilterChains whether to index the filter chains
+	 * @since 7.0
+	 * @see ServerWebExchangeMatcherIndex
+	 */
+	public void setIndexFilterChains(boolean indexFilterChains) {
+		if (!indexFilterChains) {
+			this.filterChainIndex = null;
+			return;
+		}
+		List<ServerWebExchangeMatcherEntry<SecurityWebFilterChain>> entries = new ArrayList<>(this.filters.size());
+		for (SecurityWebFilterChain chain : this.filters) {
+			entries.add(new ServerWebExchangeMatcherEntry<>(matcher(chain), chain));
+		}
+		this.filterChainIndex = ServerWebExchangeMatcherIndex.build(entries);
+	}
+
+	private static ServerWebExchangeMatcher matcher(SecurityWebFilterChain chain) {
+		if (chain.getClass() == MatcherSecurityWebFilterChain.class) {
+			return ((MatcherSecurityWebFilterChain) chain).getMatcher();
+		}
+		return (exchange) -> chain.matches(exchange)
+			.flatMap((matches) -> matches ? MatchResult.match() : MatchResult.notMatch());
+	}
+
 	/**
 	 * Protects the application using the provided
 	 * {@link StrictServerWebExchangeFirewall}.
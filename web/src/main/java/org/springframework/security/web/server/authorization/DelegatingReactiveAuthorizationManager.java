@@ -21,6 +21,7 @@ import java.util.List;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -29,8 +30,10 @@ import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authorization.AuthorizationResult;
 import org.springframework.security.authorization.ReactiveAuthorizationManager;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.util.matcher.PathPatternParserServerWebExchangeMatcher;
 import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher.MatchResult;
 import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcherEntry;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcherIndex;
 import org.springframework.web.server.ServerWebExchange;
 
 /**
@@ -45,13 +48,23 @@ public final class DelegatingReactiveAuthorizationManager implements ReactiveAut
 
 	private final List<ServerWebExchangeMatcherEntry<ReactiveAuthorizationManager<AuthorizationContext>>> mappings;
 
+	private final @Nullable ServerWebExchangeMatcherIndex<ReactiveAuthorizationManager<AuthorizationContext>> index;
+
 	private DelegatingReactiveAuthorizationManager(
-			List<ServerWebExchangeMatcherEntry<ReactiveAuthorizationManager<AuthorizationContext>>> mappings) {
+			List<ServerWebExchangeMatcherEntry<ReactiveAuthorizationManager<AuthorizationContext>>> mappings,
+			boolean indexMatchers) {
 		this.mappings = mappings;
+		this.index = indexMatchers ? ServerWebExchangeMatcherIndex.build(mappings) : null;
 	}
 
 	@Override
 	public Mono<AuthorizationResult> authorize(Mono<Authentication> authentication, ServerWebExchange exchange) {
+		if (this.index != null) {
+			return this.index.matchAll(exchange)
+				.concatMap((match) -> authorize(authentication, exchange, match))
+				.next()
+				.switchIfEmpty(Mono.fromCallable(() -> new AuthorizationDecision(false)));
+		}
 		return Flux.fromIterable(this.mappings)
 			.concatMap((mapping) -> mapping.getMatcher()
 				.matches(exchange)
@@ -67,6 +80,13 @@ public final class DelegatingReactiveAuthorizationManager implements ReactiveAut
 			.switchIfEmpty(Mono.fromCallable(() -> new AuthorizationDecision(false)));
 	}
 
+	private Mono<AuthorizationResult> authorize(Mono<Authentication> authentication, ServerWebExchange exchange,
+			ServerWebExchangeMatcherIndex.Match<ReactiveAuthorizationManager<AuthorizationContext>> match) {
+		logger.debug(LogMessage.of(() -> "Checking authorization on '"
+				+ exchange.getRequest().getPath().pathWithinApplication() + "' using " + match.getEntry()));
+		return match.getEntry().authorize(authentication, new AuthorizationContext(exchange, match.getVariables()));
+	}
+
 	public static DelegatingReactiveAuthorizationManager.Builder builder() {
 		return new DelegatingReactiveAuthorizationManager.Builder();
 	}
@@ -75,6 +95,8 @@ public final class DelegatingReactiveAuthorizationManager implements ReactiveAut
 
 		private final List<ServerWebExchangeMatcherEntry<ReactiveAuthorizationManager<AuthorizationContext>>> mappings = new ArrayList<>();
 
+		private boolean indexMatchers;
+
 		private Builder() {
 		}
 
@@ -84,8 +106,32 @@ public final class DelegatingReactiveAuthorizationManager implements ReactiveAut
 			return this;
 		}
 
+		/**
+		 * Whether to index the {@link ServerWebExchangeMatcherEntry}s by the literal path
+		 * segments and HTTP method of any
+		 * {@link PathPatternParserServerWebExchangeMatcher}s so that each exchange is
+		 * only matched against the mappings that could possibly match it, without
+		 * subscribing to a {@link Mono} per path-based matcher.
+		 *
+		 * <p>
+		 * Mappings are still consulted in the order they were added, so the
+		 * {@link ReactiveAuthorizationManager} selected for an exchange is the same as
+		 * without the index.
+		 *
+		 * <p>
+		 * The default is {@code false}.
+		 * @param indexMatchers whether to index the matchers
+		 * @return the {@link Builder} for further customizations
+		 * @since 7.0
+		 * @see ServerWebExchangeMatcherIndex
+		 */
+		public DelegatingReactiveAuthorizationManager.Builder indexMatchers(boolean indexMatchers) {
+			this.indexMatchers = indexMatchers;
+			return this;
+		}
+
 		public DelegatingReactiveAuthorizationManager build() {
-			return new DelegatingReactiveAuthorizationManager(this.mappings);
+			return new DelegatingReactiveAuthorizationManager(this.mappings, this.indexMatchers);
 		}
 
 	}
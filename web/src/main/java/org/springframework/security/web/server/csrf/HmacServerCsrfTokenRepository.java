@@ -0,0 +1,297 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.server.csrf;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.crypto.SecretKey;
+
+import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.Mono;
+
+import org.springframework.http.HttpCookie;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.csrf.HmacCsrfTokenSigner;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * A stateless {@link ServerCsrfTokenRepository} that derives the {@link CsrfToken} as an
+ * HMAC of an identifier of the user and a time bucket, so that no session is needed to
+ * store it.
+ *
+ * <p>
+ * A token is accepted during the time bucket it was issued in and the one that follows.
+ * It is signed with the first of the configured keys and verified with any of them, so
+ * that keys can be rotated by adding the new key to the front of the list and removing
+ * the old one once its tokens have expired.
+ *
+ * <p>
+ * Since there is no stored token to compare to,
+ * {@link #loadToken(ServerWebExchange)} verifies the token submitted with the exchange,
+ * resolved using the same {@link ServerCsrfTokenRequestResolver} as
+ * {@link CsrfWebFilter}, and returns it when it is valid. Otherwise, it returns the token
+ * for the current time bucket.
+ *
+ * <p>
+ * By default, the identifier is the name of the current {@link Authentication}, or the
+ * empty string when the user is not authenticated. The identifier must resolve to the
+ * same value when the token is rendered and when {@link CsrfWebFilter} validates it. When
+ * the identifier is empty, the token is instead bound to a random nonce that is stored in
+ * an HttpOnly cookie, so that tokens issued to one unauthenticated client cannot be used
+ * by another one.
+ *
+ * @since 7.0
+ * @see XorServerCsrfTokenRequestAttributeHandler
+ */
+public final class HmacServerCsrfTokenRepository implements ServerCsrfTokenRepository {
+
+	private static final String DEFAULT_CSRF_PARAMETER_NAME = "_csrf";
+
+	private static final String DEFAULT_CSRF_HEADER_NAME = "X-CSRF-TOKEN";
+
+	private static final String DEFAULT_NONCE_COOKIE_NAME = "XSRF-NONCE";
+
+	private static final String NONCE_ATTRIBUTE_NAME = HmacServerCsrfTokenRepository.class.getName()
+		.concat(".NONCE");
+
+	private final HmacCsrfTokenSigner signer;
+
+	private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+	private String parameterName = DEFAULT_CSRF_PARAMETER_NAME;
+
+	private String headerName = DEFAULT_CSRF_HEADER_NAME;
+
+	private String nonceCookieName = DEFAULT_NONCE_COOKIE_NAME;
+
+	private Consumer<ResponseCookie.ResponseCookieBuilder> nonceCookieCustomizer = (builder) -> {
+	};
+
+	private ServerCsrfTokenRequestResolver requestResolver = new XorServerCsrfTokenRequestAttributeHandler();
+
+	private Function<ServerWebExchange, Mono<String>> identifierResolver = this::resolveIdentifier;
+
+	private Duration timeBucketDuration = Duration.ofMinutes(30);
+
+	private Clock clock = Clock.systemUTC();
+
+	/**
+	 * Creates a new instance
+	 * @param key the key used to sign and verify tokens
+	 */
+	public HmacServerCsrfTokenRepository(SecretKey key) {
+		this(List.of(key));
+	}
+
+	/**
+	 * Creates a new instance
+	 * @param keys the keys used to verify tokens, the first of which is also used to sign
+	 * them
+	 */
+	public HmacServerCsrfTokenRepository(List<SecretKey> keys) {
+		this.signer = new HmacCsrfTokenSigner(keys);
+	}
+
+	@Override
+	public Mono<CsrfToken> generateToken(ServerWebExchange exchange) {
+		return this.identifierResolver.apply(exchange).map((identifier) -> {
+			String nonce = "";
+			if (identifier.isEmpty()) {
+				nonce = loadNonce(exchange);
+				if (!StringUtils.hasLength(nonce)) {
+					nonce = this.signer.createNonce();
+				}
+				exchange.getAttributes().put(NONCE_ATTRIBUTE_NAME, nonce);
+			}
+			return createCsrfToken(this.signer.sign(identifier, nonce, currentBucket()));
+		});
+	}
+
+	/**
+	 * Writes the nonce cookie when the token was generated for a user without an
+	 * identifier, or removes it when the token is {@code null}. Otherwise, does nothing,
+	 * since tokens are derived rather than stored.
+	 */
+	@Override
+	public Mono<Void> saveToken(ServerWebExchange exchange, @Nullable CsrfToken token) {
+		return Mono.fromRunnable(() -> {
+			HttpCookie cookie = exchange.getRequest().getCookies().getFirst(this.nonceCookieName);
+			String nonce = exchange.getAttribute(NONCE_ATTRIBUTE_NAME);
+			if (token == null) {
+				if (cookie != null || StringUtils.hasLength(nonce)) {
+					writeNonceCookie("", exchange);
+				}
+				exchange.getAttributes().put(NONCE_ATTRIBUTE_NAME, "");
+			}
+			else if (StringUtils.hasLength(nonce) && (cookie == null || !nonce.equals(cookie.getValue()))) {
+				writeNonceCookie(nonce, exchange);
+			}
+		});
+	}
+
+	@Override
+	public Mono<CsrfToken> loadToken(ServerWebExchange exchange) {
+		return this.identifierResolver.apply(exchange).flatMap((identifier) -> {
+			String nonce = "";
+			if (identifier.isEmpty()) {
+				nonce = loadNonce(exchange);
+				if (!StringUtils.hasLength(nonce)) {
+					return Mono.empty();
+				}
+			}
+			String boundNonce = nonce;
+			long bucket = currentBucket();
+			CsrfToken current = createCsrfToken(this.signer.sign(identifier, boundNonce, bucket));
+			return this.requestResolver.resolveCsrfTokenValue(exchange, current)
+				.filter((actualToken) -> this.signer.verify(actualToken, identifier, boundNonce, bucket))
+				.map(this::createCsrfToken)
+				.defaultIfEmpty(current);
+		});
+	}
+
+	/**
+	 * Sets the parameter name that the {@link CsrfToken} is expected to appear on
+	 * @param parameterName the new parameter name to use
+	 */
+	public void setParameterName(String parameterName) {
+		Assert.hasLength(parameterName, "parameterName cannot be null or empty");
+		this.parameterName = parameterName;
+	}
+
+	/**
+	 * Sets the header name that the {@link CsrfToken} is expected to appear on
+	 * @param headerName the new header name to use
+	 */
+	public void setHeaderName(String headerName) {
+		Assert.hasLength(headerName, "headerName cannot be null or empty");
+		this.headerName = headerName;
+	}
+
+	/**
+	 * Sets the name of the cookie that the nonce of users without an identifier is stored
+	 * in. The default is {@code XSRF-NONCE}.
+	 * @param nonceCookieName the name of the cookie
+	 */
+	public void setNonceCookieName(String nonceCookieName) {
+		Assert.hasLength(nonceCookieName, "nonceCookieName cannot be null or empty");
+		this.nonceCookieName = nonceCookieName;
+	}
+
+	/**
+	 * Sets a {@link Consumer} for the {@code ResponseCookieBuilder} of the nonce cookie,
+	 * invoked just before the call to {@code build()}. By default, the cookie is
+	 * HttpOnly, scoped to the context path, and secure when the request is.
+	 * @param nonceCookieCustomizer the {@link Consumer} to use
+	 */
+	public void setNonceCookieCustomizer(Consumer<ResponseCookie.ResponseCookieBuilder> nonceCookieCustomizer) {
+		Assert.notNull(nonceCookieCustomizer, "nonceCookieCustomizer cannot be null");
+		this.nonceCookieCustomizer = nonceCookieCustomizer;
+	}
+
+	/**
+	 * Sets the {@link ServerCsrfTokenRequestResolver} used to resolve the token submitted
+	 * with the exchange. This should be the same as the
+	 * {@link ServerCsrfTokenRequestHandler} used by {@link CsrfWebFilter}. The default is
+	 * {@link XorServerCsrfTokenRequestAttributeHandler}.
+	 * @param requestResolver the {@link ServerCsrfTokenRequestResolver} to use
+	 */
+	public void setRequestResolver(ServerCsrfTokenRequestResolver requestResolver) {
+		Assert.notNull(requestResolver, "requestResolver cannot be null");
+		this.requestResolver = requestResolver;
+	}
+
+	/**
+	 * Sets the {@link Function} used to resolve the identifier of the user that tokens
+	 * are bound to. The default is the name of the current {@link Authentication}, or the
+	 * empty string when the user is not authenticated. Tokens of users whose identifier
+	 * is empty are bound to a nonce cookie instead.
+	 * @param identifierResolver the {@link Function} to use
+	 */
+	public void setIdentifierResolver(Function<ServerWebExchange, Mono<String>> identifierResolver) {
+		Assert.notNull(identifierResolver, "identifierResolver cannot be null");
+		this.identifierResolver = identifierResolver;
+	}
+
+	/**
+	 * Sets the duration of the time buckets that tokens are derived from. A token is
+	 * accepted during the bucket it was issued in and the one that follows. The default
+	 * is 30 minutes.
+	 * @param timeBucketDuration the duration of a time bucket
+	 */
+	public void setTimeBucketDuration(Duration timeBucketDuration) {
+		Assert.notNull(timeBucketDuration, "timeBucketDuration cannot be null");
+		Assert.isTrue(timeBucketDuration.toMillis() > 0, "timeBucketDuration must be positive");
+		this.timeBucketDuration = timeBucketDuration;
+	}
+
+	/**
+	 * Sets the {@link Clock} used to determine the current time bucket
+	 * @param clock the {@link Clock} to use
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private Mono<String> resolveIdentifier(ServerWebExchange exchange) {
+		return ReactiveSecurityContextHolder.getContext()
+			.mapNotNull(SecurityContext::getAuthentication)
+			.filter(this.trustResolver::isAuthenticated)
+			.map(Authentication::getName)
+			.defaultIfEmpty("");
+	}
+
+	private CsrfToken createCsrfToken(String token) {
+		return new DefaultCsrfToken(this.headerName, this.parameterName, token);
+	}
+
+	private long currentBucket() {
+		return this.clock.millis() / this.timeBucketDuration.toMillis();
+	}
+
+	private @Nullable String loadNonce(ServerWebExchange exchange) {
+		String nonce = exchange.getAttribute(NONCE_ATTRIBUTE_NAME);
+		if (nonce != null) {
+			return nonce;
+		}
+		HttpCookie cookie = exchange.getRequest().getCookies().getFirst(this.nonceCookieName);
+		return (cookie != null) ? cookie.getValue() : null;
+	}
+
+	private void writeNonceCookie(String nonce, ServerWebExchange exchange) {
+		String contextPath = exchange.getRequest().getPath().contextPath().value();
+		ResponseCookie.ResponseCookieBuilder cookie = ResponseCookie.from(this.nonceCookieName, nonce)
+			.secure(exchange.getRequest().getSslInfo() != null)
+			.path(StringUtils.hasLength(contextPath) ? contextPath : "/")
+			.maxAge(StringUtils.hasLength(nonce) ? -1 : 0)
+			.httpOnly(true);
+		this.nonceCookieCustomizer.accept(cookie);
+		exchange.getResponse().addCookie(cookie.build());
+	}
+
+}
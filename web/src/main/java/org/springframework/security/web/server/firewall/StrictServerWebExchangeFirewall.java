@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
@@ -38,6 +39,7 @@ import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.http.server.reactive.SslInfo;
+import org.springframework.security.web.firewall.UrlBlocklist;
 import org.springframework.util.Assert;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.server.ServerWebExchange;
@@ -83,6 +85,11 @@ import org.springframework.web.server.ServerWebExchangeDecorator;
  * <li>Reject parameter values that are not allowed. See
  * {@link #setAllowedParameterValues(Predicate)}</li>
  * </ul>
+ * <p>
+ * By default, header and parameter names and values are validated as they are accessed
+ * through the firewalled exchange. See {@link #setValidateEagerly(boolean)} to validate
+ * them once, up front, instead.
+ * </p>
  *
  * @author Rob Winch
  * @since 6.4
@@ -125,9 +132,21 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 	private static final List<String> FORBIDDEN_PARAGRAPH_SEPARATOR = Collections
 		.unmodifiableList(Arrays.asList("\u2029"));
 
-	private Set<String> encodedUrlBlocklist = new HashSet<>();
+	private static final int HEADER_NAME = 1;
+
+	private static final int HEADER_VALUE = 2;
+
+	/**
+	 * A character-class lookup table for the ASCII range, marking which characters the
+	 * default {@link #ALLOWED_HEADER_NAMES} and {@link #ALLOWED_HEADER_VALUES} accept.
+	 */
+	private static final byte[] HEADER_CHARACTER_CLASSES = createHeaderCharacterClasses();
+
+	private final UrlBlocklist encodedUrlBlocklist = new UrlBlocklist();
+
+	private final UrlBlocklist decodedUrlBlocklist = new UrlBlocklist();
 
-	private Set<String> decodedUrlBlocklist = new HashSet<>();
+	private boolean validateEagerly;
 
 	private Set<HttpMethod> allowedHttpMethods = createDefaultAllowedHttpMethods();
 
@@ -189,12 +208,16 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 		return Mono.fromCallable(() -> {
 			ServerHttpRequest request = exchange.getRequest();
 			rejectForbiddenHttpMethod(request);
-			rejectedBlocklistedUrls(request);
+			boolean normalized = scanUrl(request);
 			rejectedUntrustedHosts(request);
-			if (!isNormalized(request)) {
+			if (!normalized) {
 				throw new ServerExchangeRejectedException(
 						"The request was rejected because the URL was not normalized");
 			}
+			if (this.validateEagerly) {
+				validateHeaders(request.getHeaders());
+				validateQueryParams(request.getQueryParams());
+			}
 
 			exchange.getResponse().beforeCommit(() -> Mono.fromRunnable(() -> {
 				ServerHttpResponse response = exchange.getResponse();
@@ -205,7 +228,7 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 					}
 				});
 			}));
-			return new StrictFirewallServerWebExchange(exchange);
+			return this.validateEagerly ? exchange : new StrictFirewallServerWebExchange(exchange);
 		});
 	}
 
@@ -552,6 +575,25 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 		this.allowedHostnames = allowedHostnames;
 	}
 
+	/**
+	 * <p>
+	 * Determines if the header names and values and the parameter names and values of the
+	 * request are validated once, when the exchange is firewalled, rather than each time
+	 * they are accessed. The default is false.
+	 * </p>
+	 * <p>
+	 * When true, the exchange is passed on undecorated, so there is no validation
+	 * overhead on each access. Note that this validates every header and parameter the
+	 * request carries, whether or not the application reads it, and does not validate
+	 * headers that are added later by mutating the request.
+	 * </p>
+	 * @param validateEagerly whether to validate headers and parameters up front
+	 * @since 7.0
+	 */
+	public void setValidateEagerly(boolean validateEagerly) {
+		this.validateEagerly = validateEagerly;
+	}
+
 	private void urlBlocklistsAddAll(Collection<String> values) {
 		this.encodedUrlBlocklist.addAll(values);
 		this.decodedUrlBlocklist.addAll(values);
@@ -580,21 +622,24 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 		}
 	}
 
-	private void rejectedBlocklistedUrls(ServerHttpRequest request) {
-		for (String forbidden : this.encodedUrlBlocklist) {
-			if (encodedUrlContains(request, forbidden)) {
-				throw new ServerExchangeRejectedException(
-						"The request was rejected because the URL contained a potentially malicious String \""
-								+ forbidden + "\"");
-			}
-		}
-		for (String forbidden : this.decodedUrlBlocklist) {
-			if (decodedUrlContains(request, forbidden)) {
-				throw new ServerExchangeRejectedException(
-						"The request was rejected because the URL contained a potentially malicious String \""
-								+ forbidden + "\"");
-			}
-		}
+	/**
+	 * Scans the path, the raw path and the decoded path once each, rejecting blocklisted
+	 * values as soon as they are found.
+	 * @return whether all of the paths are normalized
+	 */
+	private boolean scanUrl(ServerHttpRequest request) {
+		Function<String, ServerExchangeRejectedException> reject = StrictServerWebExchangeFirewall::rejectBlocklisted;
+		URI uri = request.getURI();
+		int violations = this.encodedUrlBlocklist.scan(request.getPath().value(), reject);
+		violations |= this.encodedUrlBlocklist.scan(uri.getRawPath(), reject);
+		violations |= this.decodedUrlBlocklist.scan(uri.getPath(), reject);
+		return (violations & UrlBlocklist.NOT_NORMALIZED) == 0;
+	}
+
+	private static ServerExchangeRejectedException rejectBlocklisted(String forbidden) {
+		return new ServerExchangeRejectedException(
+				"The request was rejected because the URL contained a potentially malicious String \"" + forbidden
+						+ "\"");
 	}
 
 	private void rejectedUntrustedHosts(ServerHttpRequest request) {
@@ -617,28 +662,66 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 		return result;
 	}
 
-	private boolean isNormalized(ServerHttpRequest request) {
-		if (!isNormalized(request.getPath().value())) {
-			return false;
+	private static byte[] createHeaderCharacterClasses() {
+		byte[] classes = new byte[128];
+		for (int ch = '\u0020'; ch <= '\u007e'; ch++) {
+			classes[ch] = HEADER_NAME | HEADER_VALUE;
+		}
+		classes['\t'] = HEADER_VALUE;
+		return classes;
+	}
+
+	private void validateHeaders(HttpHeaders headers) {
+		headers.forEach((headerName, headerValues) -> {
+			validateAllowedHeaderName(headerName);
+			for (String headerValue : headerValues) {
+				validateAllowedHeaderValue(headerName, headerValue);
+			}
+		});
+	}
+
+	private void validateQueryParams(MultiValueMap<String, String> queryParams) {
+		for (Map.Entry<String, List<String>> paramEntry : queryParams.entrySet()) {
+			String paramName = paramEntry.getKey();
+			validateAllowedParameterName(paramName);
+			for (String paramValue : paramEntry.getValue()) {
+				validateAllowedParameterValue(paramName, paramValue);
+			}
 		}
-		if (!isNormalized(request.getURI().getRawPath())) {
-			return false;
+	}
+
+	/**
+	 * Tests a header name or value, consulting {@link #HEADER_CHARACTER_CLASSES} instead
+	 * of the default {@link Predicate} for as long as the value only contains ASCII
+	 * characters.
+	 */
+	private static boolean isAllowedHeader(Predicate<String> allowed, Predicate<String> defaultAllowed,
+			int characterClass, @Nullable String value) {
+		if (allowed != defaultAllowed || value == null) {
+			return allowed.test(value);
 		}
-		if (!isNormalized(request.getURI().getPath())) {
-			return false;
+		int length = value.length();
+		for (int i = 0; i < length; i++) {
+			char ch = value.charAt(i);
+			if (ch >= HEADER_CHARACTER_CLASSES.length) {
+				return allowed.test(value);
+			}
+			if ((HEADER_CHARACTER_CLASSES[ch] & characterClass) == 0) {
+				return false;
+			}
 		}
 		return true;
 	}
 
 	private void validateAllowedHeaderName(String headerNames) {
-		if (!StrictServerWebExchangeFirewall.this.allowedHeaderNames.test(headerNames)) {
+		if (!isAllowedHeader(this.allowedHeaderNames, ALLOWED_HEADER_NAMES, HEADER_NAME, headerNames)) {
 			throw new ServerExchangeRejectedException(
 					"The request was rejected because the header name \"" + headerNames + "\" is not allowed.");
 		}
 	}
 
 	private void validateAllowedHeaderValue(Object key, @Nullable String value) {
-		if (!StrictServerWebExchangeFirewall.this.allowedHeaderValues.test(value)) {
+		if (!isAllowedHeader(this.allowedHeaderValues, ALLOWED_HEADER_VALUES, HEADER_VALUE, value)) {
 			throw new ServerExchangeRejectedException("The request was rejected because the header: \"" + key
 					+ " \" has a value \"" + value + "\" that is not allowed.");
 		}
@@ -658,17 +741,6 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 		}
 	}
 
-	private static boolean encodedUrlContains(ServerHttpRequest request, String value) {
-		if (valueContains(request.getPath().value(), value)) {
-			return true;
-		}
-		return valueContains(request.getURI().getRawPath(), value);
-	}
-
-	private static boolean decodedUrlContains(ServerHttpRequest request, String value) {
-		return valueContains(request.getURI().getPath(), value);
-	}
-
 	private static boolean containsOnlyPrintableAsciiCharacters(String uri) {
 		if (uri == null) {
 			return true;
@@ -683,34 +755,6 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 		return true;
 	}
 
-	private static boolean valueContains(String value, String contains) {
-		return value != null && value.contains(contains);
-	}
-
-	/**
-	 * Checks whether a path is normalized (doesn't contain path traversal sequences like
-	 * "./", "/../" or "/.")
-	 * @param path the path to test
-	 * @return true if the path doesn't contain any path-traversal character sequences.
-	 */
-	private static boolean isNormalized(String path) {
-		if (path == null) {
-			return true;
-		}
-		for (int i = path.length(); i > 0;) {
-			int slashIndex = path.lastIndexOf('/', i - 1);
-			int gap = i - slashIndex;
-			if (gap == 2 && path.charAt(slashIndex + 1) == '.') {
-				return false; // ".", "/./" or "/."
-			}
-			if (gap == 3 && path.charAt(slashIndex + 1) == '.' && path.charAt(slashIndex + 2) == '.') {
-				return false;
-			}
-			i = slashIndex;
-		}
-		return true;
-	}
-
 	private final class StrictFirewallServerWebExchange extends ServerWebExchangeDecorator {
 
 		private StrictFirewallServerWebExchange(ServerWebExchange delegate) {
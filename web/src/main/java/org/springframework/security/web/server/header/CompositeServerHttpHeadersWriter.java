@@ -16,12 +16,16 @@
 
 package org.springframework.security.web.server.header;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.web.server.ServerWebExchange;
 
 /**
@@ -34,17 +38,124 @@ public class CompositeServerHttpHeadersWriter implements ServerHttpHeadersWriter
 
 	private final List<ServerHttpHeadersWriter> writers;
 
+	private List<ServerHttpHeadersWriter> delegates;
+
 	public CompositeServerHttpHeadersWriter(ServerHttpHeadersWriter... writers) {
 		this(Arrays.asList(writers));
 	}
 
 	public CompositeServerHttpHeadersWriter(List<ServerHttpHeadersWriter> writers) {
 		this.writers = writers;
+		this.delegates = writers;
 	}
 
 	@Override
 	public Mono<Void> writeHttpHeaders(ServerWebExchange exchange) {
-		return Flux.fromIterable(this.writers).concatMap((w) -> w.writeHttpHeaders(exchange)).then();
+		return Flux.fromIterable(this.delegates).concatMap((w) -> w.writeHttpHeaders(exchange)).then();
+	}
+
+	/**
+	 * Precompute the headers of consecutive {@link ConstantServerHttpHeadersWriter}s so
+	 * that they are written in a single pass, while any other
+	 * {@link ServerHttpHeadersWriter} is still invoked for each exchange, in order. The
+	 * headers are computed when this method is invoked, so any
+	 * {@link ConstantServerHttpHeadersWriter} should be fully configured beforehand.
+	 * Default is false.
+	 * @param precomputeConstantHeaders whether to precompute the headers of
+	 * {@link ConstantServerHttpHeadersWriter}s
+	 * @since 7.0
+	 */
+	public void setPrecomputeConstantHeaders(boolean precomputeConstantHeaders) {
+		this.delegates = precomputeConstantHeaders ? precompute(this.writers) : this.writers;
+	}
+
+	private static List<ServerHttpHeadersWriter> precompute(List<ServerHttpHeadersWriter> writers) {
+		List<ServerHttpHeadersWriter> delegates = new ArrayList<>();
+		List<HttpHeaders> headers = new ArrayList<>();
+		for (ServerHttpHeadersWriter writer : writers) {
+			if (writer instanceof ConstantServerHttpHeadersWriter constant && isConstant(constant)) {
+				headers.add(constant.getHeaders());
+				continue;
+			}
+			if (!headers.isEmpty()) {
+				delegates.add(new PrecomputedServerHttpHeadersWriter(headers));
+				headers.clear();
+			}
+			delegates.add(writer);
+		}
+		if (!headers.isEmpty()) {
+			delegates.add(new PrecomputedServerHttpHeadersWriter(headers));
+		}
+		return delegates;
+	}
+
+	/**
+	 * Whether the class that declares {@link ServerHttpHeadersWriter#writeHttpHeaders} is
+	 * the one that declares {@link ConstantServerHttpHeadersWriter#getHeaders} and
+	 * implements {@link ConstantServerHttpHeadersWriter}, so that a subclass writing
+	 * headers per exchange is not mistaken for a constant one.
+	 */
+	private static boolean isConstant(ConstantServerHttpHeadersWriter writer) {
+		Method writeHttpHeaders = ReflectionUtils.findMethod(writer.getClass(), "writeHttpHeaders",
+				ServerWebExchange.class);
+		Method getHeaders = ReflectionUtils.findMethod(writer.getClass(), "getHeaders");
+		if (writeHttpHeaders == null || getHeaders == null) {
+			return false;
+		}
+		Class<?> declaringClass = writeHttpHeaders.getDeclaringClass();
+		return declaringClass == getHeaders.getDeclaringClass()
+				&& Arrays.asList(declaringClass.getInterfaces()).contains(ConstantServerHttpHeadersWriter.class);
+	}
+
+	/**
+	 * Writes the headers of consecutive {@link ConstantServerHttpHeadersWriter}s, each
+	 * group only when the response contains none of its headers.
+	 */
+	private static final class PrecomputedServerHttpHeadersWriter implements ServerHttpHeadersWriter {
+
+		private final String[][] names;
+
+		private final List<String>[][] values;
+
+		@SuppressWarnings("unchecked")
+		private PrecomputedServerHttpHeadersWriter(List<HttpHeaders> groups) {
+			this.names = new String[groups.size()][];
+			this.values = new List[groups.size()][];
+			for (int i = 0; i < groups.size(); i++) {
+				HttpHeaders group = groups.get(i);
+				List<String> names = new ArrayList<>();
+				List<List<String>> values = new ArrayList<>();
+				group.forEach((name, groupValues) -> {
+					names.add(name);
+					values.add(List.copyOf(groupValues));
+				});
+				this.names[i] = names.toArray(new String[0]);
+				this.values[i] = values.toArray(new List[0]);
+			}
+		}
+
+		@Override
+		public Mono<Void> writeHttpHeaders(ServerWebExchange exchange) {
+			HttpHeaders headers = exchange.getResponse().getHeaders();
+			for (int i = 0; i < this.names.length; i++) {
+				if (containsNone(headers, this.names[i])) {
+					for (int j = 0; j < this.names[i].length; j++) {
+						headers.put(this.names[i][j], this.values[i][j]);
+					}
+				}
+			}
+			return Mono.empty();
+		}
+
+		private static boolean containsNone(HttpHeaders headers, String[] names) {
+			for (String name : names) {
+				if (headers.containsHeader(name)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
 	}
 
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.server.header;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A {@link ServerHttpHeadersWriter} that writes the same headers regardless of the
+ * exchange, adding all of them only when the response contains none of them.
+ *
+ * <p>
+ * Since the headers do not depend on the exchange, they can be computed once, ahead of
+ * time. See {@link CompositeServerHttpHeadersWriter#setPrecomputeConstantHeaders(boolean)}.
+ * Only the class that implements this interface is trusted to write constant headers: a
+ * subclass that overrides {@link #writeHttpHeaders} or {@link #getHeaders} must implement
+ * this interface again to have its headers precomputed.
+ *
+ * @since 7.0
+ * @see StaticServerHttpHeadersWriter
+ */
+public interface ConstantServerHttpHeadersWriter extends ServerHttpHeadersWriter {
+
+	/**
+	 * Return the headers that this writer writes
+	 * @return the headers, never {@code null}
+	 */
+	HttpHeaders getHeaders();
+
+}
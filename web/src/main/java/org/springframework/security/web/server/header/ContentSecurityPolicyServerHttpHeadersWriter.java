@@ -19,6 +19,7 @@ package org.springframework.security.web.server.header;
 import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Mono;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.web.server.header.StaticServerHttpHeadersWriter.Builder;
 import org.springframework.util.Assert;
 import org.springframework.web.server.ServerWebExchange;
@@ -30,7 +31,7 @@ import org.springframework.web.server.ServerWebExchange;
  * @author Vedran Pavic
  * @since 5.1
  */
-public final class ContentSecurityPolicyServerHttpHeadersWriter implements ServerHttpHeadersWriter {
+public final class ContentSecurityPolicyServerHttpHeadersWriter implements ConstantServerHttpHeadersWriter {
 
 	public static final String CONTENT_SECURITY_POLICY = "Content-Security-Policy";
 
@@ -40,13 +41,18 @@ public final class ContentSecurityPolicyServerHttpHeadersWriter implements Serve
 
 	private boolean reportOnly;
 
-	private @Nullable ServerHttpHeadersWriter delegate;
+	private @Nullable StaticServerHttpHeadersWriter delegate;
 
 	@Override
 	public Mono<Void> writeHttpHeaders(ServerWebExchange exchange) {
 		return (this.delegate != null) ? this.delegate.writeHttpHeaders(exchange) : Mono.empty();
 	}
 
+	@Override
+	public HttpHeaders getHeaders() {
+		return (this.delegate != null) ? this.delegate.getHeaders() : HttpHeaders.EMPTY;
+	}
+
 	/**
 	 * Set the policy directive(s) to be used in the response header.
 	 * @param policyDirectives the policy directive(s)
@@ -68,7 +74,7 @@ public final class ContentSecurityPolicyServerHttpHeadersWriter implements Serve
 		this.delegate = createDelegate();
 	}
 
-	private @Nullable ServerHttpHeadersWriter createDelegate() {
+	private @Nullable StaticServerHttpHeadersWriter createDelegate() {
 		if (this.policyDirectives == null) {
 			return null;
 		}
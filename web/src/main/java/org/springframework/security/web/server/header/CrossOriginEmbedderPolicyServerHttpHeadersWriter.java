@@ -19,6 +19,7 @@ package org.springframework.security.web.server.header;
 import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Mono;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.util.Assert;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -31,11 +32,11 @@ import org.springframework.web.server.ServerWebExchange;
  * "https://developer.mozilla.org/en-US/docs/Web/HTTP/Headers/Cross-Origin-Embedder-Policy">
  * Cross-Origin-Embedder-Policy</a>
  */
-public final class CrossOriginEmbedderPolicyServerHttpHeadersWriter implements ServerHttpHeadersWriter {
+public final class CrossOriginEmbedderPolicyServerHttpHeadersWriter implements ConstantServerHttpHeadersWriter {
 
 	public static final String EMBEDDER_POLICY = "Cross-Origin-Embedder-Policy";
 
-	private @Nullable ServerHttpHeadersWriter delegate;
+	private @Nullable StaticServerHttpHeadersWriter delegate;
 
 	/**
 	 * Sets the {@link CrossOriginEmbedderPolicy} value to be used in the
@@ -52,7 +53,12 @@ public final class CrossOriginEmbedderPolicyServerHttpHeadersWriter implements S
 		return (this.delegate != null) ? this.delegate.writeHttpHeaders(exchange) : Mono.empty();
 	}
 
-	private static ServerHttpHeadersWriter createDelegate(CrossOriginEmbedderPolicy embedderPolicy) {
+	@Override
+	public HttpHeaders getHeaders() {
+		return (this.delegate != null) ? this.delegate.getHeaders() : HttpHeaders.EMPTY;
+	}
+
+	private static StaticServerHttpHeadersWriter createDelegate(CrossOriginEmbedderPolicy embedderPolicy) {
 		StaticServerHttpHeadersWriter.Builder builder = StaticServerHttpHeadersWriter.builder();
 		builder.header(EMBEDDER_POLICY, embedderPolicy.getPolicy());
 		return builder.build();
@@ -19,6 +19,7 @@ package org.springframework.security.web.server.header;
 import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Mono;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.util.Assert;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -31,11 +32,11 @@ import org.springframework.web.server.ServerWebExchange;
  * "https://developer.mozilla.org/en-US/docs/Web/HTTP/Headers/Cross-Origin-Opener-Policy">
  * Cross-Origin-Opener-Policy</a>
  */
-public final class CrossOriginOpenerPolicyServerHttpHeadersWriter implements ServerHttpHeadersWriter {
+public final class CrossOriginOpenerPolicyServerHttpHeadersWriter implements ConstantServerHttpHeadersWriter {
 
 	public static final String OPENER_POLICY = "Cross-Origin-Opener-Policy";
 
-	private @Nullable ServerHttpHeadersWriter delegate;
+	private @Nullable StaticServerHttpHeadersWriter delegate;
 
 	/**
 	 * Sets the {@link CrossOriginOpenerPolicy} value to be used in the
@@ -52,7 +53,12 @@ public final class CrossOriginOpenerPolicyServerHttpHeadersWriter implements Ser
 		return (this.delegate != null) ? this.delegate.writeHttpHeaders(exchange) : Mono.empty();
 	}
 
-	private static ServerHttpHeadersWriter createDelegate(CrossOriginOpenerPolicy openerPolicy) {
+	@Override
+	public HttpHeaders getHeaders() {
+		return (this.delegate != null) ? this.delegate.getHeaders() : HttpHeaders.EMPTY;
+	}
+
+	private static StaticServerHttpHeadersWriter createDelegate(CrossOriginOpenerPolicy openerPolicy) {
 		StaticServerHttpHeadersWriter.Builder builder = StaticServerHttpHeadersWriter.builder();
 		builder.header(OPENER_POLICY, openerPolicy.getPolicy());
 		return builder.build();
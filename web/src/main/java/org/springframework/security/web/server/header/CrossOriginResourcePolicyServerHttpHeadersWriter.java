@@ -19,6 +19,7 @@ package org.springframework.security.web.server.header;
 import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Mono;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.util.Assert;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -31,11 +32,11 @@ import org.springframework.web.server.ServerWebExchange;
  * "https://developer.mozilla.org/en-US/docs/Web/HTTP/Headers/Cross-Origin-Resource-Policy">
  * Cross-Origin-Resource-Policy</a>
  */
-public final class CrossOriginResourcePolicyServerHttpHeadersWriter implements ServerHttpHeadersWriter {
+public final class CrossOriginResourcePolicyServerHttpHeadersWriter implements ConstantServerHttpHeadersWriter {
 
 	public static final String RESOURCE_POLICY = "Cross-Origin-Resource-Policy";
 
-	private @Nullable ServerHttpHeadersWriter delegate;
+	private @Nullable StaticServerHttpHeadersWriter delegate;
 
 	/**
 	 * Sets the {@link CrossOriginResourcePolicy} value to be used in the
@@ -52,7 +53,12 @@ public final class CrossOriginResourcePolicyServerHttpHeadersWriter implements S
 		return (this.delegate != null) ? this.delegate.writeHttpHeaders(exchange) : Mono.empty();
 	}
 
-	private static ServerHttpHeadersWriter createDelegate(CrossOriginResourcePolicy resourcePolicy) {
+	@Override
+	public HttpHeaders getHeaders() {
+		return (this.delegate != null) ? this.delegate.getHeaders() : HttpHeaders.EMPTY;
+	}
+
+	private static StaticServerHttpHeadersWriter createDelegate(CrossOriginResourcePolicy resourcePolicy) {
 		StaticServerHttpHeadersWriter.Builder builder = StaticServerHttpHeadersWriter.builder();
 		builder.header(RESOURCE_POLICY, resourcePolicy.getPolicy());
 		return builder.build();
@@ -19,6 +19,7 @@ package org.springframework.security.web.server.header;
 import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Mono;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.web.server.header.StaticServerHttpHeadersWriter.Builder;
 import org.springframework.util.Assert;
 import org.springframework.web.server.ServerWebExchange;
@@ -30,18 +31,23 @@ import org.springframework.web.server.ServerWebExchange;
  * @author Christophe Gilles
  * @since 5.5
  */
-public final class PermissionsPolicyServerHttpHeadersWriter implements ServerHttpHeadersWriter {
+public final class PermissionsPolicyServerHttpHeadersWriter implements ConstantServerHttpHeadersWriter {
 
 	public static final String PERMISSIONS_POLICY = "Permissions-Policy";
 
-	private @Nullable ServerHttpHeadersWriter delegate;
+	private @Nullable StaticServerHttpHeadersWriter delegate;
 
 	@Override
 	public Mono<Void> writeHttpHeaders(ServerWebExchange exchange) {
 		return (this.delegate != null) ? this.delegate.writeHttpHeaders(exchange) : Mono.empty();
 	}
 
-	private static ServerHttpHeadersWriter createDelegate(String policyDirectives) {
+	@Override
+	public HttpHeaders getHeaders() {
+		return (this.delegate != null) ? this.delegate.getHeaders() : HttpHeaders.EMPTY;
+	}
+
+	private static StaticServerHttpHeadersWriter createDelegate(String policyDirectives) {
 		Builder builder = StaticServerHttpHeadersWriter.builder();
 		builder.header(PERMISSIONS_POLICY, policyDirectives);
 		return builder.build();
@@ -22,6 +22,7 @@ import java.util.Map;
 
 import reactor.core.publisher.Mono;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.web.server.header.StaticServerHttpHeadersWriter.Builder;
 import org.springframework.util.Assert;
 import org.springframework.web.server.ServerWebExchange;
@@ -32,11 +33,11 @@ import org.springframework.web.server.ServerWebExchange;
  * @author Vedran Pavic
  * @since 5.1
  */
-public final class ReferrerPolicyServerHttpHeadersWriter implements ServerHttpHeadersWriter {
+public final class ReferrerPolicyServerHttpHeadersWriter implements ConstantServerHttpHeadersWriter {
 
 	public static final String REFERRER_POLICY = "Referrer-Policy";
 
-	private ServerHttpHeadersWriter delegate;
+	private StaticServerHttpHeadersWriter delegate;
 
 	public ReferrerPolicyServerHttpHeadersWriter() {
 		this.delegate = createDelegate(ReferrerPolicy.NO_REFERRER);
@@ -47,6 +48,11 @@ public final class ReferrerPolicyServerHttpHeadersWriter implements ServerHttpHe
 		return this.delegate.writeHttpHeaders(exchange);
 	}
 
+	@Override
+	public HttpHeaders getHeaders() {
+		return this.delegate.getHeaders();
+	}
+
 	/**
 	 * Set the policy to be used in the response header.
 	 * @param policy the policy
@@ -57,7 +63,7 @@ public final class ReferrerPolicyServerHttpHeadersWriter implements ServerHttpHe
 		this.delegate = createDelegate(policy);
 	}
 
-	private static ServerHttpHeadersWriter createDelegate(ReferrerPolicy policy) {
+	private static StaticServerHttpHeadersWriter createDelegate(ReferrerPolicy policy) {
 		Builder builder = StaticServerHttpHeadersWriter.builder();
 		builder.header(REFERRER_POLICY, policy.getPolicy());
 		return builder.build();
@@ -29,7 +29,7 @@ import org.springframework.web.server.ServerWebExchange;
  * @author Rob Winch
  * @since 5.0
  */
-public class StaticServerHttpHeadersWriter implements ServerHttpHeadersWriter {
+public class StaticServerHttpHeadersWriter implements ConstantServerHttpHeadersWriter {
 
 	private final HttpHeaders headersToAdd;
 
@@ -55,6 +55,11 @@ public class StaticServerHttpHeadersWriter implements ServerHttpHeadersWriter {
 		return Mono.empty();
 	}
 
+	@Override
+	public HttpHeaders getHeaders() {
+		return HttpHeaders.readOnlyHttpHeaders(this.headersToAdd);
+	}
+
 	public static Builder builder() {
 		return new Builder();
 	}
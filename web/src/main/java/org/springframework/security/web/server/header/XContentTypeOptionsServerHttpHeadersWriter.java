@@ -18,6 +18,7 @@ package org.springframework.security.web.server.header;
 
 import reactor.core.publisher.Mono;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.server.ServerWebExchange;
 
 /**
@@ -26,7 +27,7 @@ import org.springframework.web.server.ServerWebExchange;
  * @author Rob Winch
  * @since 5.0
  */
-public class XContentTypeOptionsServerHttpHeadersWriter implements ServerHttpHeadersWriter {
+public class XContentTypeOptionsServerHttpHeadersWriter implements ConstantServerHttpHeadersWriter {
 
 	public static final String X_CONTENT_OPTIONS = "X-Content-Type-Options";
 
@@ -35,7 +36,7 @@ public class XContentTypeOptionsServerHttpHeadersWriter implements ServerHttpHea
 	/**
 	 * The delegate to write all the cache control related headers
 	 */
-	private static final ServerHttpHeadersWriter CONTENT_TYPE_HEADERS = StaticServerHttpHeadersWriter.builder()
+	private static final StaticServerHttpHeadersWriter CONTENT_TYPE_HEADERS = StaticServerHttpHeadersWriter.builder()
 		.header(X_CONTENT_OPTIONS, NOSNIFF)
 		.build();
 
@@ -44,4 +45,9 @@ public class XContentTypeOptionsServerHttpHeadersWriter implements ServerHttpHea
 		return CONTENT_TYPE_HEADERS.writeHttpHeaders(exchange);
 	}
 
+	@Override
+	public HttpHeaders getHeaders() {
+		return CONTENT_TYPE_HEADERS.getHeaders();
+	}
+
 }
@@ -18,6 +18,7 @@ package org.springframework.security.web.server.header;
 
 import reactor.core.publisher.Mono;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.web.server.header.StaticServerHttpHeadersWriter.Builder;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -27,17 +28,22 @@ import org.springframework.web.server.ServerWebExchange;
  * @author Rob Winch
  * @since 5.0
  */
-public class XFrameOptionsServerHttpHeadersWriter implements ServerHttpHeadersWriter {
+public class XFrameOptionsServerHttpHeadersWriter implements ConstantServerHttpHeadersWriter {
 
 	public static final String X_FRAME_OPTIONS = "X-Frame-Options";
 
-	private ServerHttpHeadersWriter delegate = createDelegate(Mode.DENY);
+	private StaticServerHttpHeadersWriter delegate = createDelegate(Mode.DENY);
 
 	@Override
 	public Mono<Void> writeHttpHeaders(ServerWebExchange exchange) {
 		return this.delegate.writeHttpHeaders(exchange);
 	}
 
+	@Override
+	public HttpHeaders getHeaders() {
+		return this.delegate.getHeaders();
+	}
+
 	/**
 	 * Sets the X-Frame-Options mode. There is no support for ALLOW-FROM because not
 	 * <a href=
@@ -80,7 +86,7 @@ public class XFrameOptionsServerHttpHeadersWriter implements ServerHttpHeadersWr
 
 	}
 
-	private static ServerHttpHeadersWriter createDelegate(Mode mode) {
+	private static StaticServerHttpHeadersWriter createDelegate(Mode mode) {
 		Builder builder = StaticServerHttpHeadersWriter.builder();
 		builder.header(X_FRAME_OPTIONS, mode.name());
 		return builder.build();
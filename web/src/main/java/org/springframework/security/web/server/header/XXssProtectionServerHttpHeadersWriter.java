@@ -18,6 +18,7 @@ package org.springframework.security.web.server.header;
 
 import reactor.core.publisher.Mono;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.web.server.header.StaticServerHttpHeadersWriter.Builder;
 import org.springframework.util.Assert;
 import org.springframework.web.server.ServerWebExchange;
@@ -29,11 +30,11 @@ import org.springframework.web.server.ServerWebExchange;
  * @author Daniel Garnier-Moiroux
  * @since 5.0
  */
-public class XXssProtectionServerHttpHeadersWriter implements ServerHttpHeadersWriter {
+public class XXssProtectionServerHttpHeadersWriter implements ConstantServerHttpHeadersWriter {
 
 	public static final String X_XSS_PROTECTION = "X-XSS-Protection";
 
-	private ServerHttpHeadersWriter delegate;
+	private StaticServerHttpHeadersWriter delegate;
 
 	private HeaderValue headerValue;
 
@@ -50,6 +51,11 @@ public class XXssProtectionServerHttpHeadersWriter implements ServerHttpHeadersW
 		return this.delegate.writeHttpHeaders(exchange);
 	}
 
+	@Override
+	public HttpHeaders getHeaders() {
+		return this.delegate.getHeaders();
+	}
+
 	/**
 	 * Sets the value of the X-XSS-PROTECTION header. Defaults to
 	 * {@link HeaderValue#DISABLED}
@@ -62,6 +62,10 @@ public class OrServerWebExchangeMatcher implements ServerWebExchangeMatcher {
 			.doOnNext((matchResult) -> logger.debug(matchResult.isMatch() ? "matched" : "No matches found"));
 	}
 
+	List<ServerWebExchangeMatcher> getMatchers() {
+		return this.matchers;
+	}
+
 	@Override
 	public String toString() {
 		return "OrServerWebExchangeMatcher{matchers=" + this.matchers + '}';
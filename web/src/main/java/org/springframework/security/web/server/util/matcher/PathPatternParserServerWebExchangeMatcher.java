@@ -47,6 +47,8 @@ public final class PathPatternParserServerWebExchangeMatcher implements ServerWe
 
 	private final @Nullable HttpMethod method;
 
+	private final boolean caseSensitive;
+
 	public PathPatternParserServerWebExchangeMatcher(PathPattern pattern) {
 		this(pattern, null);
 	}
@@ -55,12 +57,15 @@ public final class PathPatternParserServerWebExchangeMatcher implements ServerWe
 		Assert.notNull(pattern, "pattern cannot be null");
 		this.pattern = pattern;
 		this.method = method;
+		// the parser of the pattern is unknown
+		this.caseSensitive = false;
 	}
 
 	public PathPatternParserServerWebExchangeMatcher(String pattern, @Nullable HttpMethod method) {
 		Assert.notNull(pattern, "pattern cannot be null");
 		this.pattern = parse(pattern);
 		this.method = method;
+		this.caseSensitive = PathPatternParser.defaultInstance.isCaseSensitive();
 	}
 
 	public PathPatternParserServerWebExchangeMatcher(String pattern) {
@@ -104,6 +109,28 @@ public final class PathPatternParserServerWebExchangeMatcher implements ServerWe
 		return MatchResult.match(variables);
 	}
 
+	@Nullable Map<String, Object> extractVariables(ServerWebExchange exchange) {
+		ServerHttpRequest request = exchange.getRequest();
+		if (this.method != null && !this.method.equals(request.getMethod())) {
+			return null;
+		}
+		PathContainer path = request.getPath().pathWithinApplication();
+		PathPattern.PathMatchInfo pathMatchInfo = this.pattern.matchAndExtract(path);
+		return (pathMatchInfo != null) ? new HashMap<>(pathMatchInfo.getUriVariables()) : null;
+	}
+
+	PathPattern getPattern() {
+		return this.pattern;
+	}
+
+	@Nullable HttpMethod getMethod() {
+		return this.method;
+	}
+
+	boolean isCaseSensitive() {
+		return this.caseSensitive;
+	}
+
 	@Override
 	public String toString() {
 		return "PathMatcherServerWebExchangeMatcher{" + "pattern='" + this.pattern + '\'' + ", method=" + this.method
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.server.util.matcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher.MatchResult;
+import org.springframework.security.web.util.matcher.PathPatternIndex;
+import org.springframework.util.Assert;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+
+/**
+ * A routing table over an ordered list of {@link ServerWebExchangeMatcherEntry}s that
+ * finds the first entry matching a given {@link ServerWebExchange}.
+ *
+ * <p>
+ * Entries whose {@link ServerWebExchangeMatcher} is a
+ * {@link PathPatternParserServerWebExchangeMatcher} created from a pattern string, and
+ * so known to be case-sensitive, or an {@link OrServerWebExchangeMatcher} of them, are
+ * placed in a trie keyed by the literal path segments that lead their patterns. Those
+ * created from a {@link PathPattern} are grouped by HTTP method only. These entries,
+ * along with {@link ServerWebExchangeMatchers#anyExchange()}, are also evaluated
+ * synchronously. Any other {@link ServerWebExchangeMatcher} is considered opaque; it is
+ * a candidate for every exchange and is evaluated through its reactive
+ * {@link ServerWebExchangeMatcher#matches(ServerWebExchange)} method.
+ *
+ * <p>
+ * Candidates are always evaluated in their original order, yielding the same result as
+ * evaluating each entry in turn.
+ *
+ * @param <T> the type of the entry
+ * @since 7.0
+ * @see PathPatternParserServerWebExchangeMatcher
+ * @see PathPatternIndex
+ */
+public final class ServerWebExchangeMatcherIndex<T> {
+
+	private static final Class<?> ANY_EXCHANGE = ServerWebExchangeMatchers.anyExchange().getClass();
+
+	private final PathPatternIndex<Candidate<T>> index;
+
+	private ServerWebExchangeMatcherIndex(PathPatternIndex<Candidate<T>> index) {
+		this.index = index;
+	}
+
+	/**
+	 * Construct a {@link ServerWebExchangeMatcherIndex} from this ordered list of entries
+	 * @param entries the entries to index, in order of precedence
+	 * @param <T> the type of the entry
+	 * @return the {@link ServerWebExchangeMatcherIndex}
+	 */
+	public static <T> ServerWebExchangeMatcherIndex<T> build(List<ServerWebExchangeMatcherEntry<T>> entries) {
+		Assert.notNull(entries, "entries cannot be null");
+		Assert.noNullElements(entries, "entries cannot contain null values");
+		PathPatternIndex.Builder<Candidate<T>> index = PathPatternIndex.builder();
+		for (ServerWebExchangeMatcherEntry<T> entry : entries) {
+			ServerWebExchangeMatcher matcher = entry.getMatcher();
+			Candidate<T> candidate = new Candidate<>(entry, synchronousMatcher(matcher));
+			String method = method(matcher);
+			List<PathPattern> patterns = caseSensitivePatterns(matcher);
+			if (patterns != null) {
+				index.add(candidate, patterns, method);
+			}
+			else {
+				index.add(candidate, method);
+			}
+		}
+		return new ServerWebExchangeMatcherIndex<>(index.build());
+	}
+
+	/**
+	 * Find the first entry that matches this {@link ServerWebExchange}
+	 * @param exchange the {@link ServerWebExchange} to match
+	 * @return the {@link Match} or empty if no entry matches
+	 */
+	public Mono<Match<T>> match(ServerWebExchange exchange) {
+		List<Candidate<T>> candidates = getCandidates(exchange);
+		for (int i = 0; i < candidates.size(); i++) {
+			Candidate<T> candidate = candidates.get(i);
+			if (candidate.synchronousMatcher == null) {
+				return Flux.fromIterable(candidates.subList(i, candidates.size()))
+					.concatMap((remaining) -> remaining.match(exchange))
+					.next();
+			}
+			Map<String, Object> variables = candidate.synchronousMatcher.match(exchange);
+			if (variables != null) {
+				return Mono.just(new Match<>(candidate.entry.getEntry(), variables));
+			}
+		}
+		return Mono.empty();
+	}
+
+	/**
+	 * Find all entries that match this {@link ServerWebExchange}, in their original
+	 * order. Entries are evaluated lazily, as the returned {@link Flux} is requested.
+	 * @param exchange the {@link ServerWebExchange} to match
+	 * @return the {@link Match}es
+	 */
+	public Flux<Match<T>> matchAll(ServerWebExchange exchange) {
+		return Flux.fromIterable(getCandidates(exchange)).concatMap((candidate) -> candidate.match(exchange));
+	}
+
+	private List<Candidate<T>> getCandidates(ServerWebExchange exchange) {
+		ServerHttpRequest request = exchange.getRequest();
+		return this.index.getCandidates(request, ServerWebExchangeMatcherIndex::pathWithinApplication,
+				request.getMethod().name());
+	}
+
+	private static PathContainer pathWithinApplication(ServerHttpRequest request) {
+		return request.getPath().pathWithinApplication();
+	}
+
+	private static @Nullable List<PathPattern> caseSensitivePatterns(ServerWebExchangeMatcher matcher) {
+		if (matcher instanceof PathPatternParserServerWebExchangeMatcher pathPattern) {
+			return pathPattern.isCaseSensitive() ? List.of(pathPattern.getPattern()) : null;
+		}
+		if (matcher.getClass() == OrServerWebExchangeMatcher.class) {
+			List<PathPattern> patterns = new ArrayList<>();
+			for (ServerWebExchangeMatcher delegate : ((OrServerWebExchangeMatcher) matcher).getMatchers()) {
+				List<PathPattern> delegatePatterns = caseSensitivePatterns(delegate);
+				if (delegatePatterns == null) {
+					return null;
+				}
+				patterns.addAll(delegatePatterns);
+			}
+			return patterns;
+		}
+		return null;
+	}
+
+	private static @Nullable String method(ServerWebExchangeMatcher matcher) {
+		if (matcher instanceof PathPatternParserServerWebExchangeMatcher pathPattern) {
+			HttpMethod method = pathPattern.getMethod();
+			return (method != null) ? method.name() : null;
+		}
+		if (matcher.getClass() == OrServerWebExchangeMatcher.class) {
+			String common = null;
+			for (ServerWebExchangeMatcher delegate : ((OrServerWebExchangeMatcher) matcher).getMatchers()) {
+				String method = method(delegate);
+				if (method == null || (common != null && !common.equals(method))) {
+					return null;
+				}
+				common = method;
+			}
+			return common;
+		}
+		return null;
+	}
+
+	private static @Nullable SynchronousMatcher synchronousMatcher(ServerWebExchangeMatcher matcher) {
+		if (matcher instanceof PathPatternParserServerWebExchangeMatcher pathPattern) {
+			return pathPattern::extractVariables;
+		}
+		if (matcher.getClass() == ANY_EXCHANGE) {
+			return (exchange) -> Collections.emptyMap();
+		}
+		if (matcher.getClass() == OrServerWebExchangeMatcher.class) {
+			List<SynchronousMatcher> delegates = new ArrayList<>();
+			for (ServerWebExchangeMatcher delegate : ((OrServerWebExchangeMatcher) matcher).getMatchers()) {
+				SynchronousMatcher synchronous = synchronousMatcher(delegate);
+				if (synchronous == null) {
+					return null;
+				}
+				delegates.add(synchronous);
+			}
+			return (exchange) -> {
+				for (SynchronousMatcher delegate : delegates) {
+					Map<String, Object> variables = delegate.match(exchange);
+					if (variables != null) {
+						return variables;
+					}
+				}
+				return null;
+			};
+		}
+		return null;
+	}
+
+	/**
+	 * The result of finding the first entry that matches a {@link ServerWebExchange}
+	 *
+	 * @param <T> the type of the entry
+	 */
+	public static final class Match<T> {
+
+		private final T entry;
+
+		private final Map<String, Object> variables;
+
+		private Match(T entry, Map<String, Object> variables) {
+			this.entry = entry;
+			this.variables = variables;
+		}
+
+		/**
+		 * The entry associated with the matching {@link ServerWebExchangeMatcher}
+		 * @return the entry
+		 */
+		public T getEntry() {
+			return this.entry;
+		}
+
+		/**
+		 * The variables extracted by the matching {@link ServerWebExchangeMatcher}
+		 * @return the variables
+		 */
+		public Map<String, Object> getVariables() {
+			return this.variables;
+		}
+
+	}
+
+	@FunctionalInterface
+	private interface SynchronousMatcher {
+
+		@Nullable Map<String, Object> match(ServerWebExchange exchange);
+
+	}
+
+	private static final class Candidate<T> {
+
+		private final ServerWebExchangeMatcherEntry<T> entry;
+
+		private final @Nullable SynchronousMatcher synchronousMatcher;
+
+		private Candidate(ServerWebExchangeMatcherEntry<T> entry, @Nullable SynchronousMatcher synchronousMatcher) {
+			this.entry = entry;
+			this.synchronousMatcher = synchronousMatcher;
+		}
+
+		private Mono<Match<T>> match(ServerWebExchange exchange) {
+			if (this.synchronousMatcher != null) {
+				Map<String, Object> variables = this.synchronousMatcher.match(exchange);
+				return (variables != null) ? Mono.just(new Match<>(this.entry.getEntry(), variables)) : Mono.empty();
+			}
+			return this.entry.getMatcher()
+				.matches(exchange)
+				.filter(MatchResult::isMatch)
+				.map((result) -> new Match<>(this.entry.getEntry(), result.getVariables()));
+		}
+
+	}
+
+}
@@ -58,6 +58,8 @@ public final class PathPatternRequestMatcher implements RequestMatcher {
 
 	private final RequestMatcher method;
 
+	private final boolean caseSensitive;
+
 	/**
 	 * Creates a {@link PathPatternRequestMatcher} that uses the provided {@code pattern}.
 	 * <p>
@@ -65,9 +67,10 @@ public final class PathPatternRequestMatcher implements RequestMatcher {
 	 * </p>
 	 * @param pattern the pattern used to match
 	 */
-	private PathPatternRequestMatcher(PathPattern pattern, RequestMatcher method) {
+	private PathPatternRequestMatcher(PathPattern pattern, RequestMatcher method, boolean caseSensitive) {
 		this.pattern = pattern;
 		this.method = method;
+		this.caseSensitive = caseSensitive;
 	}
 
 	/**
@@ -144,7 +147,19 @@ public final class PathPatternRequestMatcher implements RequestMatcher {
 		return (info != null) ? MatchResult.match(info.getUriVariables()) : MatchResult.notMatch();
 	}
 
-	private PathContainer getPathContainer(HttpServletRequest request) {
+	PathPattern getPattern() {
+		return this.pattern;
+	}
+
+	@Nullable HttpMethod getMethod() {
+		return (this.method instanceof HttpMethodRequestMatcher m) ? m.method : null;
+	}
+
+	boolean isCaseSensitive() {
+		return this.caseSensitive;
+	}
+
+	static PathContainer getPathContainer(HttpServletRequest request) {
 		RequestPath path;
 		if (ServletRequestPathUtils.hasParsedRequestPath(request)) {
 			path = ServletRequestPathUtils.getParsedRequestPath(request);
@@ -321,7 +336,8 @@ public final class PathPatternRequestMatcher implements RequestMatcher {
 			String prefix = ("/".equals(this.basePath)) ? "" : this.basePath;
 			PathPattern pathPattern = this.parser.parse(prefix + path);
 			return new PathPatternRequestMatcher(pathPattern,
-					(method != null) ? new HttpMethodRequestMatcher(method) : AnyRequestMatcher.INSTANCE);
+					(method != null) ? new HttpMethodRequestMatcher(method) : AnyRequestMatcher.INSTANCE,
+					this.parser.isCaseSensitive());
 		}
 
 	}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.servlet.util.matcher;
+
+import java.util.List;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.PathPatternIndex;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcherEntry;
+import org.springframework.util.Assert;
+
+/**
+ * An index over an ordered list of {@link RequestMatcherEntry}s that narrows down which
+ * entries could possibly match a given request.
+ *
+ * <p>
+ * Entries whose {@link RequestMatcher} is a case-sensitive
+ * {@link PathPatternRequestMatcher} are placed in a trie keyed by the literal path
+ * segments that lead their pattern, and are further grouped by HTTP method. Any other
+ * {@link RequestMatcher} is considered opaque and is a candidate for every request.
+ *
+ * <p>
+ * {@link #getCandidates(HttpServletRequest)} returns the candidates in their original
+ * order so that callers still evaluate each candidate's {@link RequestMatcher} and pick
+ * the first match, yielding the same result as a linear scan of all entries.
+ *
+ * @param <T> the type of the entry
+ * @since 7.0
+ * @see PathPatternRequestMatcher
+ * @see PathPatternIndex
+ */
+public final class RequestMatcherIndex<T> {
+
+	private final List<RequestMatcherEntry<T>> entries;
+
+	private final PathPatternIndex<RequestMatcherEntry<T>> index;
+
+	private RequestMatcherIndex(List<RequestMatcherEntry<T>> entries, PathPatternIndex<RequestMatcherEntry<T>> index) {
+		this.entries = entries;
+		this.index = index;
+	}
+
+	/**
+	 * Construct a {@link RequestMatcherIndex} from this ordered list of entries
+	 * @param entries the entries to index, in order of precedence
+	 * @param <T> the type of the entry
+	 * @return the {@link RequestMatcherIndex}
+	 */
+	public static <T> RequestMatcherIndex<T> build(List<RequestMatcherEntry<T>> entries) {
+		Assert.notNull(entries, "entries cannot be null");
+		Assert.noNullElements(entries, "entries cannot contain null values");
+		List<RequestMatcherEntry<T>> ordered = List.copyOf(entries);
+		PathPatternIndex.Builder<RequestMatcherEntry<T>> index = PathPatternIndex.builder();
+		for (RequestMatcherEntry<T> entry : ordered) {
+			if (entry.getRequestMatcher() instanceof PathPatternRequestMatcher pathPattern) {
+				HttpMethod method = pathPattern.getMethod();
+				String methodName = (method != null) ? method.name() : null;
+				if (pathPattern.isCaseSensitive()) {
+					index.add(entry, List.of(pathPattern.getPattern()), methodName);
+				}
+				else {
+					index.add(entry, methodName);
+				}
+			}
+			else {
+				index.add(entry, null);
+			}
+		}
+		return new RequestMatcherIndex<>(ordered, index.build());
+	}
+
+	/**
+	 * Return the entries that could match this request, in their original order. Callers
+	 * still need to consult each entry's {@link RequestMatcher}.
+	 * @param request the request
+	 * @return the candidate entries
+	 */
+	public List<RequestMatcherEntry<T>> getCandidates(HttpServletRequest request) {
+		return this.index.getCandidates(request, PathPatternRequestMatcher::getPathContainer, request.getMethod());
+	}
+
+	/**
+	 * Return all indexed entries, in their original order
+	 * @return the entries
+	 */
+	public List<RequestMatcherEntry<T>> getEntries() {
+		return this.entries;
+	}
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.util.matcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.Assert;
+import org.springframework.web.util.pattern.PathPattern;
+
+/**
+ * A trie over an ordered list of elements, keyed by the literal path segments that lead
+ * their {@link PathPattern}s, that narrows down which elements could possibly match a
+ * given path and HTTP method.
+ *
+ * <p>
+ * Elements without path patterns are candidates for every path, and elements without an
+ * HTTP method are candidates for every method. Candidates are always returned in the
+ * order their elements were added, so that evaluating them in turn yields the same
+ * result as evaluating every element.
+ *
+ * <p>
+ * The literal segments are compared case-sensitively, so only case-sensitive patterns
+ * should be added with {@link Builder#add(Object, List, String)}.
+ *
+ * @param <E> the type of the element
+ * @since 7.0
+ */
+public final class PathPatternIndex<E> {
+
+	private final Node<E> root;
+
+	private PathPatternIndex(Node<E> root) {
+		this.root = root;
+	}
+
+	/**
+	 * Create a {@link Builder} for a {@link PathPatternIndex}
+	 * @param <E> the type of the element
+	 * @return the {@link Builder}
+	 */
+	public static <E> Builder<E> builder() {
+		return new Builder<>();
+	}
+
+	/**
+	 * Return the elements that could match this path and HTTP method, in the order they
+	 * were added
+	 * @param request the request to extract the path from
+	 * @param path extracts the path from the request, only when there are literal
+	 * segments to compare
+	 * @param method the HTTP method, if any
+	 * @param <R> the type of the request
+	 * @return the candidate elements
+	 */
+	public <R> List<E> getCandidates(R request, Function<R, PathContainer> path, @Nullable String method) {
+		Node<E> node = this.root;
+		if (!node.children.isEmpty()) {
+			for (PathContainer.Element element : path.apply(request).elements()) {
+				if (!(element instanceof PathContainer.PathSegment segment)) {
+					continue;
+				}
+				String value = segment.valueToMatch();
+				if (value.isEmpty()) {
+					continue;
+				}
+				Node<E> child = node.children.get(value);
+				if (child == null) {
+					break;
+				}
+				node = child;
+			}
+		}
+		List<E> candidates = (method != null) ? node.candidatesByMethod.get(method) : null;
+		return (candidates != null) ? candidates : node.candidates;
+	}
+
+	private static List<String> literalSegments(PathPattern pattern) {
+		List<String> segments = new ArrayList<>();
+		for (String segment : pattern.getPatternString().split("/")) {
+			if (segment.isEmpty()) {
+				continue;
+			}
+			if (segment.indexOf('*') != -1 || segment.indexOf('?') != -1 || segment.indexOf('{') != -1) {
+				break;
+			}
+			segments.add(segment);
+		}
+		return segments;
+	}
+
+	/**
+	 * A builder for a {@link PathPatternIndex}, to which elements are added in order of
+	 * precedence
+	 *
+	 * @param <E> the type of the element
+	 */
+	public static final class Builder<E> {
+
+		private final List<E> elements = new ArrayList<>();
+
+		private final Map<Integer, String> methods = new HashMap<>();
+
+		private final Node<E> root = new Node<>();
+
+		private Builder() {
+		}
+
+		/**
+		 * Add an element that is a candidate for every path
+		 * @param element the element
+		 * @param method the HTTP method the element is restricted to, if any
+		 * @return the {@link Builder} for further customizations
+		 */
+		public Builder<E> add(E element, @Nullable String method) {
+			int position = addElement(element, method);
+			this.root.positions.add(position);
+			return this;
+		}
+
+		/**
+		 * Add an element that is a candidate for paths matching any of these
+		 * case-sensitive patterns
+		 * @param element the element
+		 * @param patterns the case-sensitive patterns of the element
+		 * @param method the HTTP method the element is restricted to, if any
+		 * @return the {@link Builder} for further customizations
+		 */
+		public Builder<E> add(E element, List<PathPattern> patterns, @Nullable String method) {
+			Assert.notEmpty(patterns, "patterns cannot be empty");
+			int position = addElement(element, method);
+			for (PathPattern pattern : patterns) {
+				Node<E> node = this.root;
+				for (String segment : literalSegments(pattern)) {
+					node = node.children.computeIfAbsent(segment, (key) -> new Node<>());
+				}
+				node.positions.add(position);
+			}
+			return this;
+		}
+
+		private int addElement(E element, @Nullable String method) {
+			Assert.notNull(element, "element cannot be null");
+			int position = this.elements.size();
+			this.elements.add(element);
+			if (method != null) {
+				this.methods.put(position, method);
+			}
+			return position;
+		}
+
+		/**
+		 * Build the {@link PathPatternIndex}
+		 * @return the {@link PathPatternIndex}
+		 */
+		public PathPatternIndex<E> build() {
+			Set<String> methods = new LinkedHashSet<>(this.methods.values());
+			this.root.compile(this.elements, this.methods, Collections.emptySet(), methods);
+			return new PathPatternIndex<>(this.root);
+		}
+
+	}
+
+	private static final class Node<E> {
+
+		private final Map<String, Node<E>> children = new HashMap<>();
+
+		private final Set<Integer> positions = new TreeSet<>();
+
+		private List<E> candidates = Collections.emptyList();
+
+		private Map<String, List<E>> candidatesByMethod = Collections.emptyMap();
+
+		private void compile(List<E> elements, Map<Integer, String> methods, Set<Integer> inherited,
+				Set<String> allMethods) {
+			Set<Integer> positions = new TreeSet<>(inherited);
+			positions.addAll(this.positions);
+			this.candidates = candidatesFor(elements, methods, positions, null);
+			Map<String, List<E>> candidatesByMethod = new HashMap<>();
+			for (String method : allMethods) {
+				candidatesByMethod.put(method, candidatesFor(elements, methods, positions, method));
+			}
+			this.candidatesByMethod = candidatesByMethod;
+			for (Node<E> child : this.children.values()) {
+				child.compile(elements, methods, positions, allMethods);
+			}
+		}
+
+		private static <E> List<E> candidatesFor(List<E> elements, Map<Integer, String> methods,
+				Set<Integer> positions, @Nullable String method) {
+			List<E> candidates = new ArrayList<>();
+			for (Integer position : positions) {
+				String required = methods.get(position);
+				if (required == null || required.equals(method)) {
+					candidates.add(elements.get(position));
+				}
+			}
+			return Collections.unmodifiableList(candidates);
+		}
+
+	}
+
+}
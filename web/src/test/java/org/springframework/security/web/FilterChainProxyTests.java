@@ -65,6 +65,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.springframework.security.web.servlet.TestMockHttpServletRequests.get;
+import static org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher.pathPattern;
 
 /**
  * @author Luke Taylor
@@ -499,6 +500,24 @@ public class FilterChainProxyTests {
 		assertFilterChainObservation(contexts.next(), "after", 3);
 	}
 
+	@Test
+	public void doFilterWhenIndexFilterChainsThenFirstMatchingChainInvoked() throws Exception {
+		given(this.matcher.matches(any())).willReturn(true);
+		Filter tenant = mockFilter();
+		Filter fallback = mockFilter();
+		SecurityFilterChain tenantChain = new DefaultSecurityFilterChain(pathPattern("/tenant/**"), tenant);
+		SecurityFilterChain otherChain = new DefaultSecurityFilterChain(pathPattern("/other/**"), this.filter);
+		SecurityFilterChain fallbackChain = new DefaultSecurityFilterChain(this.matcher, fallback);
+		FilterChainProxy fcp = new FilterChainProxy(List.of(otherChain, tenantChain, fallbackChain));
+		fcp.setIndexFilterChains(true);
+		fcp.doFilter(get("/tenant/resource").build(), this.response, this.chain);
+		verify(tenant).doFilter(any(), any(), any());
+		verifyNoMoreInteractions(this.filter, fallback);
+		fcp.doFilter(get("/unknown").build(), this.response, this.chain);
+		verify(fallback).doFilter(any(), any(), any());
+		verifyNoMoreInteractions(this.filter);
+	}
+
 	static void assertFilterChainObservation(Observation.Context context, String filterSection, int chainPosition) {
 		assertThat(context).isInstanceOf(ObservationFilterChainDecorator.FilterChainObservationContext.class);
 		ObservationFilterChainDecorator.FilterChainObservationContext filterChainObservationContext = (ObservationFilterChainDecorator.FilterChainObservationContext) context;
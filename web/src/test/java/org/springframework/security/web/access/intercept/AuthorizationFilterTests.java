@@ -17,12 +17,15 @@
 package org.springframework.security.web.access.intercept;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Supplier;
 
 import jakarta.servlet.DispatcherType;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.aopalliance.intercept.MethodInvocation;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,12 +35,19 @@ import org.springframework.mock.web.MockFilterChain;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthoritiesAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
 import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authorization.AuthorizationEventPublisher;
 import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResultCache;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.authorization.method.SecuredAuthorizationManager;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -144,6 +154,57 @@ public class AuthorizationFilterTests {
 		verifyNoInteractions(mockFilterChain);
 	}
 
+	@Test
+	public void filterWhenCacheAuthorizationResultsThenCacheBoundForRemainderOfChain() throws Exception {
+		AuthorizationFilter filter = new AuthorizationFilter(AuthenticatedAuthorizationManager.authenticated());
+		filter.setCacheAuthorizationResults(true);
+		TestingAuthenticationToken authenticationToken = new TestingAuthenticationToken("user", "password");
+		authenticationToken.setAuthenticated(true);
+		SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+		MockHttpServletRequest mockRequest = new MockHttpServletRequest(null, "/path");
+		MockHttpServletResponse mockResponse = new MockHttpServletResponse();
+		List<AuthorizationResultCache> caches = new ArrayList<>();
+		FilterChain chain = (request, response) -> caches.add(AuthorizationResultCache.getCurrent());
+		filter.doFilter(mockRequest, mockResponse, chain);
+		assertThat(caches).hasSize(1).doesNotContainNull();
+		assertThat(AuthorizationResultCache.getCurrent()).isNull();
+	}
+
+	@Test
+	public void filterWhenCacheAuthorizationResultsThenMethodSecurityReusesRequestCheck() throws Exception {
+		RoleHierarchy roleHierarchy = mock(RoleHierarchy.class);
+		given(roleHierarchy.getReachableGrantedAuthorities(any()))
+			.willAnswer((invocation) -> invocation.getArgument(0));
+		AuthorityAuthorizationManager<HttpServletRequest> requestManager = AuthorityAuthorizationManager
+			.hasRole("ADMIN");
+		requestManager.setRoleHierarchy(roleHierarchy);
+		AuthorizationFilter filter = new AuthorizationFilter(requestManager);
+		filter.setCacheAuthorizationResults(true);
+		AuthoritiesAuthorizationManager authoritiesManager = new AuthoritiesAuthorizationManager();
+		authoritiesManager.setRoleHierarchy(roleHierarchy);
+		SecuredAuthorizationManager securedManager = new SecuredAuthorizationManager();
+		securedManager.setAuthoritiesAuthorizationManager(authoritiesManager);
+		AuthorizationManagerBeforeMethodInterceptor interceptor = AuthorizationManagerBeforeMethodInterceptor
+			.secured(securedManager);
+		SecuredService service = new SecuredService();
+		MethodInvocation invocation = mock(MethodInvocation.class);
+		given(invocation.getMethod()).willReturn(SecuredService.class.getMethod("admin"));
+		given(invocation.getThis()).willReturn(service);
+		SecurityContextHolder.getContext()
+			.setAuthentication(new TestingAuthenticationToken("admin", "password", "ROLE_ADMIN"));
+		FilterChain chain = (request, response) -> {
+			try {
+				interceptor.invoke(invocation);
+			}
+			catch (Throwable ex) {
+				throw new ServletException(ex);
+			}
+		};
+		filter.doFilter(new MockHttpServletRequest(null, "/path"), new MockHttpServletResponse(), chain);
+		verify(invocation).proceed();
+		verify(roleHierarchy).getReachableGrantedAuthorities(any());
+	}
+
 	@Test
 	public void filterWhenAuthenticationNullThenAuthenticationCredentialsNotFoundException() {
 		AuthorizationFilter filter = new AuthorizationFilter(AuthenticatedAuthorizationManager.authenticated());
@@ -321,4 +382,12 @@ public class AuthorizationFilterTests {
 		this.request.setAttribute(ALREADY_FILTERED_ATTRIBUTE_NAME, Boolean.TRUE);
 	}
 
+	public static class SecuredService {
+
+		@Secured("ROLE_ADMIN")
+		public void admin() {
+		}
+
+	}
+
 }
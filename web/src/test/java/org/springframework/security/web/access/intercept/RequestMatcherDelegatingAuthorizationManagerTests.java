@@ -20,11 +20,13 @@ import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Test;
 
+import org.springframework.http.HttpMethod;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.authentication.TestAuthentication;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
 import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authorization.AuthorizationResult;
 import org.springframework.security.authorization.SingleResultAuthorizationManager;
 import org.springframework.security.core.Authentication;
@@ -118,6 +120,37 @@ public class RequestMatcherDelegatingAuthorizationManagerTests {
 		assertThat(unmapped.isGranted()).isFalse();
 	}
 
+	@Test
+	public void checkWhenIndexRequestMatchersThenDelegatesFirstMatchingManager() {
+		RequestMatcherDelegatingAuthorizationManager manager = RequestMatcherDelegatingAuthorizationManager.builder()
+			.indexRequestMatchers(true)
+			.add(pathPattern(HttpMethod.POST, "/api/**"), SingleResultAuthorizationManager.denyAll())
+			.add(pathPattern("/api/{resource}"), (authentication, context) -> new AuthorizationDecision(
+					"grant".equals(context.getVariables().get("resource"))))
+			.add(AnyRequestMatcher.INSTANCE, AuthorityAuthorizationManager.hasRole("ADMIN"))
+			.build();
+
+		Supplier<Authentication> authentication = () -> new TestingAuthenticationToken("user", "password", "ROLE_USER");
+
+		AuthorizationResult grant = manager.authorize(authentication, new MockHttpServletRequest("GET", "/api/grant"));
+		assertThat(grant).isNotNull();
+		assertThat(grant.isGranted()).isTrue();
+
+		AuthorizationResult post = manager.authorize(authentication, new MockHttpServletRequest("POST", "/api/grant"));
+		assertThat(post).isNotNull();
+		assertThat(post.isGranted()).isFalse();
+
+		AuthorizationResult variable = manager.authorize(authentication,
+				new MockHttpServletRequest("GET", "/api/deny"));
+		assertThat(variable).isNotNull();
+		assertThat(variable.isGranted()).isFalse();
+
+		AuthorizationResult unmapped = manager.authorize(authentication,
+				new MockHttpServletRequest("GET", "/unmapped"));
+		assertThat(unmapped).isNotNull();
+		assertThat(unmapped.isGranted()).isFalse();
+	}
+
 	@Test
 	public void addWhenMappingsConsumerNullThenException() {
 		assertThatIllegalArgumentException()
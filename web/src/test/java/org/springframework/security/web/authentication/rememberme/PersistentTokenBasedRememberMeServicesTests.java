@@ -16,6 +16,7 @@
 
 package org.springframework.security.web.authentication.rememberme;
 
+import java.security.SecureRandom;
 import java.util.Date;
 import java.util.concurrent.TimeUnit;
 
@@ -30,6 +31,11 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * @author Luke Taylor
@@ -115,6 +121,20 @@ public class PersistentTokenBasedRememberMeServicesTests {
 		assertThat(cookie[1]).isEqualTo(this.repo.getStoredToken().getTokenValue());
 	}
 
+	@Test
+	public void generateSeriesDataWhenCustomSecureRandomThenUsed() {
+		SecureRandom random = mock(SecureRandom.class);
+		this.services.setSecureRandom(random);
+		this.services.generateSeriesData();
+		this.services.generateTokenData();
+		verify(random, times(2)).nextBytes(any(byte[].class));
+	}
+
+	@Test
+	public void setSecureRandomWhenNullThenIllegalArgument() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.services.setSecureRandom(null));
+	}
+
 	@Test
 	public void logoutClearsUsersTokenAndCookie() {
 		Cookie cookie = new Cookie("mycookiename", "somevalue");
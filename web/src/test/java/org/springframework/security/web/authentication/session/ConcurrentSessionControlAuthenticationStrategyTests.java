@@ -19,6 +19,7 @@ package org.springframework.security.web.authentication.session;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,6 +33,7 @@ import org.springframework.mock.web.MockHttpSession;
 import org.springframework.mock.web.MockServletContext;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.session.CountingSessionRegistry;
 import org.springframework.security.core.session.SessionInformation;
 import org.springframework.security.core.session.SessionRegistry;
 
@@ -41,6 +43,9 @@ import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
 /**
@@ -111,6 +116,31 @@ public class ConcurrentSessionControlAuthenticationStrategyTests {
 			.isThrownBy(() -> this.strategy.onAuthentication(this.authentication, this.request, this.response));
 	}
 
+	@Test
+	public void onAuthenticationWhenCountingRegistryBelowMaximumThenSessionsNotLoaded() {
+		CountingSessionRegistry registry = mock(CountingSessionRegistry.class);
+		given(registry.getSessionCount(any(), anyBoolean())).willReturn(1);
+		ConcurrentSessionControlAuthenticationStrategy strategy = new ConcurrentSessionControlAuthenticationStrategy(
+				registry);
+		strategy.setMaximumSessions(2);
+		strategy.setExceptionIfMaximumExceeded(true);
+		strategy.onAuthentication(this.authentication, this.request, this.response);
+		verify(registry, never()).getAllSessions(any(), anyBoolean());
+	}
+
+	@Test
+	public void onAuthenticationWhenCountingRegistryAtMaximumThenSessionsLoaded() {
+		CountingSessionRegistry registry = mock(CountingSessionRegistry.class);
+		given(registry.getSessionCount(any(), anyBoolean())).willReturn(1);
+		given(registry.getAllSessions(any(), anyBoolean())).willReturn(List.of(this.sessionInformation));
+		ConcurrentSessionControlAuthenticationStrategy strategy = new ConcurrentSessionControlAuthenticationStrategy(
+				registry);
+		strategy.setMaximumSessions(1);
+		strategy.setExceptionIfMaximumExceeded(true);
+		assertThatExceptionOfType(SessionAuthenticationException.class)
+			.isThrownBy(() -> strategy.onAuthentication(this.authentication, this.request, this.response));
+	}
+
 	@Test
 	public void maxSessionsExpireExistingUser() {
 		given(this.sessionRegistry.getAllSessions(any(), anyBoolean()))
@@ -17,6 +17,7 @@
 package org.springframework.security.web.context;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -36,6 +37,8 @@ import jakarta.servlet.http.HttpSession;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.core.serializer.DefaultDeserializer;
+import org.springframework.core.serializer.DefaultSerializer;
 import org.springframework.mock.web.MockFilterChain;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
@@ -60,11 +63,14 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
@@ -801,6 +807,120 @@ public class HttpSessionSecurityContextRepositoryTests {
 		assertThat(request.getSession(false)).isNull();
 	}
 
+	@Test
+	public void saveContextWhenSaveOnlyChangedContextAndUnchangedThenDoesNotSetAttribute() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSaveOnlyChangedContext(true);
+		MockHttpSession session = new MockHttpSession();
+		session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+				createSecurityContext(PasswordEncodedUser.user()));
+		HttpSession spied = spy(session);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setSession(spied);
+		SecurityContext context = repo.loadDeferredContext(request).get();
+		repo.saveContext(context, request, new MockHttpServletResponse());
+		verify(spied, never()).setAttribute(eq(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY),
+				any());
+	}
+
+	@Test
+	public void saveContextWhenSaveOnlyChangedContextAndModifiedInPlaceThenSetAttribute() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSaveOnlyChangedContext(true);
+		MockHttpSession session = new MockHttpSession();
+		session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+				createSecurityContext(PasswordEncodedUser.user()));
+		HttpSession spied = spy(session);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setSession(spied);
+		SecurityContext context = repo.loadDeferredContext(request).get();
+		context.setAuthentication(createSecurityContext(PasswordEncodedUser.admin()).getAuthentication());
+		repo.saveContext(context, request, new MockHttpServletResponse());
+		verify(spied).setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
+	}
+
+	@Test
+	public void saveContextWhenSaveOnlyChangedContextAndNotLoadedThenSetAttribute() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSaveOnlyChangedContext(true);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		SecurityContext context = createSecurityContext(PasswordEncodedUser.user());
+		repo.saveContext(context, request, new MockHttpServletResponse());
+		assertThat(request.getSession().getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY))
+			.isSameAs(context);
+	}
+
+	@Test
+	public void saveContextWhenSerializerThenStoresBytesAndLoadsContext() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSecurityContextSerialization(new DefaultSerializer(),
+				HttpSessionSecurityContextRepositoryTests::deserialize);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		SecurityContext context = createSecurityContext(PasswordEncodedUser.user());
+		repo.saveContext(context, request, new MockHttpServletResponse());
+		assertThat(request.getSession().getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY))
+			.isInstanceOf(byte[].class);
+		assertThat(request.getSession()
+			.getAttribute("org.springframework.session.FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME"))
+			.isEqualTo(context.getAuthentication().getName());
+		MockHttpServletRequest next = new MockHttpServletRequest();
+		next.setSession(request.getSession());
+		assertThat(repo.loadDeferredContext(next).get()).isEqualTo(context);
+	}
+
+	@Test
+	public void saveContextWhenSerializerAndSaveOnlyChangedContextAndUnchangedThenDoesNotSetAttribute() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSaveOnlyChangedContext(true);
+		repo.setSecurityContextSerialization(new DefaultSerializer(),
+				HttpSessionSecurityContextRepositoryTests::deserialize);
+		MockHttpSession session = new MockHttpSession();
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setSession(session);
+		repo.saveContext(createSecurityContext(PasswordEncodedUser.user()), request, new MockHttpServletResponse());
+		HttpSession spied = spy(session);
+		MockHttpServletRequest next = new MockHttpServletRequest();
+		next.setSession(spied);
+		SecurityContext context = repo.loadDeferredContext(next).get();
+		repo.saveContext(context, next, new MockHttpServletResponse());
+		verify(spied, never()).setAttribute(eq(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY),
+				any());
+	}
+
+	@Test
+	public void saveContextWhenSerializerAndAnonymousThenPrincipalNameRemoved() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSecurityContextSerialization(new DefaultSerializer(),
+				HttpSessionSecurityContextRepositoryTests::deserialize);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		repo.saveContext(createSecurityContext(PasswordEncodedUser.user()), request, new MockHttpServletResponse());
+		MockHttpServletRequest next = new MockHttpServletRequest();
+		next.setSession(request.getSession());
+		HttpRequestResponseHolder holder = new HttpRequestResponseHolder(next, new MockHttpServletResponse());
+		repo.loadContext(holder);
+		SecurityContext anonymous = SecurityContextHolder.createEmptyContext();
+		anonymous.setAuthentication(new AnonymousAuthenticationToken("x", "x", this.testToken.getAuthorities()));
+		repo.saveContext(anonymous, holder.getRequest(), holder.getResponse());
+		assertThat(next.getSession().getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY))
+			.isNull();
+		assertThat(next.getSession()
+			.getAttribute("org.springframework.session.FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME"))
+			.isNull();
+	}
+
+	@Test
+	public void setSecurityContextSerializationWhenNullThenIllegalArgument() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> repo.setSecurityContextSerialization(null, new DefaultDeserializer()));
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> repo.setSecurityContextSerialization(new DefaultSerializer(), null));
+	}
+
+	private static SecurityContext deserialize(InputStream stream) throws IOException {
+		return (SecurityContext) new DefaultDeserializer().deserialize(stream);
+	}
+
 	private SecurityContext createSecurityContext(UserDetails userDetails) {
 		UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.authenticated(userDetails,
 				userDetails.getPassword(), userDetails.getAuthorities());
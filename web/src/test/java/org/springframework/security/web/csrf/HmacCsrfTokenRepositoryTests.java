@@ -0,0 +1,219 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.csrf;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link HmacCsrfTokenRepository}
+ */
+public class HmacCsrfTokenRepositoryTests {
+
+	private static final Instant NOW = Instant.parse("2025-01-01T00:10:00Z");
+
+	private final SecretKey key = key("first-key-with-at-least-32-bytes!");
+
+	private MockHttpServletRequest request;
+
+	private MockHttpServletResponse response;
+
+	private HmacCsrfTokenRepository repository;
+
+	@BeforeEach
+	public void setup() {
+		this.request = new MockHttpServletRequest("POST", "/");
+		this.response = new MockHttpServletResponse();
+		this.repository = new HmacCsrfTokenRepository(this.key);
+		this.repository.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+		authenticate("user");
+	}
+
+	@AfterEach
+	public void cleanup() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void constructorWhenEmptyKeysThenIllegalArgument() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new HmacCsrfTokenRepository(List.of()));
+	}
+
+	@Test
+	public void generateTokenWhenSameBucketThenSameToken() {
+		CsrfToken token = this.repository.generateToken(this.request);
+		assertThat(token.getParameterName()).isEqualTo("_csrf");
+		assertThat(token.getHeaderName()).isEqualTo("X-CSRF-TOKEN");
+		assertThat(this.repository.generateToken(new MockHttpServletRequest()).getToken())
+			.isEqualTo(token.getToken());
+	}
+
+	@Test
+	public void generateTokenWhenDifferentUserThenDifferentToken() {
+		SecurityContextHolder.clearContext();
+		String anonymous = this.repository.generateToken(this.request).getToken();
+		authenticate("user");
+		String user = this.repository.generateToken(this.request).getToken();
+		authenticate("admin");
+		assertThat(user).isNotEqualTo(anonymous).isNotEqualTo(this.repository.generateToken(this.request).getToken());
+	}
+
+	@Test
+	public void saveTokenWhenAuthenticatedThenNoSessionOrCookie() {
+		CsrfToken token = this.repository.generateToken(this.request);
+		this.repository.saveToken(token, this.request, this.response);
+		assertThat(this.request.getSession(false)).isNull();
+		assertThat(this.response.getCookies()).isEmpty();
+	}
+
+	@Test
+	public void loadTokenWhenMaskedTokenFromPreviousBucketThenSubmittedToken() {
+		String masked = mask(this.repository.generateToken(this.request));
+		this.repository.setClock(Clock.fixed(NOW.plus(Duration.ofMinutes(30)), ZoneOffset.UTC));
+		this.request.setParameter("_csrf", masked);
+		CsrfToken loaded = this.repository.loadToken(this.request);
+		assertThat(loaded.getToken()).isNotEqualTo(this.repository.generateToken(this.request).getToken());
+		assertThat(new XorCsrfTokenRequestAttributeHandler().resolveCsrfTokenValue(this.request, loaded))
+			.isEqualTo(loaded.getToken());
+	}
+
+	@Test
+	public void loadTokenWhenExpiredThenCurrentToken() {
+		String masked = mask(this.repository.generateToken(this.request));
+		this.repository.setClock(Clock.fixed(NOW.plus(Duration.ofMinutes(60)), ZoneOffset.UTC));
+		this.request.setParameter("_csrf", masked);
+		CsrfToken loaded = this.repository.loadToken(this.request);
+		assertThat(loaded.getToken()).isEqualTo(this.repository.generateToken(this.request).getToken());
+		assertThat(new XorCsrfTokenRequestAttributeHandler().resolveCsrfTokenValue(this.request, loaded))
+			.isNotEqualTo(loaded.getToken());
+	}
+
+	@Test
+	public void loadTokenWhenOtherUserThenCurrentToken() {
+		String masked = mask(this.repository.generateToken(this.request));
+		authenticate("admin");
+		this.request.setParameter("_csrf", masked);
+		CsrfToken loaded = this.repository.loadToken(this.request);
+		assertThat(loaded.getToken()).isEqualTo(this.repository.generateToken(this.request).getToken());
+	}
+
+	@Test
+	public void loadTokenWhenSignedWithRotatedKeyThenSubmittedToken() {
+		String masked = mask(this.repository.generateToken(this.request));
+		HmacCsrfTokenRepository rotated = new HmacCsrfTokenRepository(
+				List.of(key("second-key-with-at-least-32-bytes"), this.key));
+		rotated.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+		this.request.setParameter("_csrf", masked);
+		CsrfToken loaded = rotated.loadToken(this.request);
+		assertThat(loaded.getToken()).isNotEqualTo(rotated.generateToken(this.request).getToken());
+		HmacCsrfTokenRepository removed = new HmacCsrfTokenRepository(key("second-key-with-at-least-32-bytes"));
+		removed.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+		assertThat(removed.loadToken(this.request).getToken())
+			.isEqualTo(removed.generateToken(this.request).getToken());
+	}
+
+	@Test
+	public void loadTokenWhenNoTokenSubmittedThenCurrentToken() {
+		assertThat(this.repository.loadToken(this.request).getToken())
+			.isEqualTo(this.repository.generateToken(this.request).getToken());
+	}
+
+	@Test
+	public void generateTokenWhenAnonymousClientsThenDifferentTokens() {
+		SecurityContextHolder.clearContext();
+		String first = this.repository.generateToken(new MockHttpServletRequest()).getToken();
+		String second = this.repository.generateToken(new MockHttpServletRequest()).getToken();
+		assertThat(first).isNotEqualTo(second);
+	}
+
+	@Test
+	public void loadTokenWhenAnonymousAndNoNonceCookieThenNull() {
+		SecurityContextHolder.clearContext();
+		assertThat(this.repository.loadToken(this.request)).isNull();
+	}
+
+	@Test
+	public void saveTokenWhenAnonymousThenNonceCookie() {
+		SecurityContextHolder.clearContext();
+		CsrfToken token = this.repository.generateToken(this.request);
+		this.repository.saveToken(token, this.request, this.response);
+		Cookie nonce = this.response.getCookie("XSRF-NONCE");
+		assertThat(nonce).isNotNull();
+		assertThat(nonce.getValue()).isNotEmpty();
+		assertThat(nonce.isHttpOnly()).isTrue();
+		MockHttpServletRequest next = new MockHttpServletRequest("POST", "/");
+		next.setCookies(nonce);
+		assertThat(this.repository.loadToken(next).getToken()).isEqualTo(token.getToken());
+	}
+
+	@Test
+	public void loadTokenWhenAnonymousTokenOfOtherClientThenCurrentToken() {
+		SecurityContextHolder.clearContext();
+		String masked = mask(this.repository.generateToken(this.request));
+		MockHttpServletRequest other = new MockHttpServletRequest("POST", "/");
+		other.setCookies(new Cookie("XSRF-NONCE", "other-nonce"));
+		other.setParameter("_csrf", masked);
+		CsrfToken loaded = this.repository.loadToken(other);
+		assertThat(new XorCsrfTokenRequestAttributeHandler().resolveCsrfTokenValue(other, loaded))
+			.isNotEqualTo(loaded.getToken());
+	}
+
+	@Test
+	public void saveTokenWhenNullThenRemovesNonceCookie() {
+		SecurityContextHolder.clearContext();
+		this.request.setCookies(new Cookie("XSRF-NONCE", "nonce"));
+		this.repository.saveToken(null, this.request, this.response);
+		assertThat(this.response.getCookie("XSRF-NONCE").getMaxAge()).isZero();
+		assertThat(this.repository.loadToken(this.request)).isNull();
+	}
+
+	private String mask(CsrfToken token) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		new XorCsrfTokenRequestAttributeHandler().handle(request, new MockHttpServletResponse(), () -> token);
+		return ((CsrfToken) request.getAttribute(CsrfToken.class.getName())).getToken();
+	}
+
+	private static void authenticate(String name) {
+		SecurityContextHolder.getContext()
+			.setAuthentication(new TestingAuthenticationToken(name, "password", "ROLE_USER"));
+	}
+
+	private static SecretKey key(String value) {
+		return new SecretKeySpec(value.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+	}
+
+}
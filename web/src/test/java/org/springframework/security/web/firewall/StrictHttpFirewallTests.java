@@ -702,6 +702,37 @@ public class StrictHttpFirewallTests {
 		this.firewall.getFirewalledRequest(request);
 	}
 
+	@Test
+	public void getFirewalledRequestWhenBlocklistModifiedAfterRequestThenModificationApplied() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "");
+		request.setPathInfo("/a/secret/c");
+		this.firewall.getFirewalledRequest(request);
+		this.firewall.getDecodedUrlBlocklist().add("secret");
+		assertThatExceptionOfType(RequestRejectedException.class)
+			.isThrownBy(() -> this.firewall.getFirewalledRequest(request))
+			.withMessageContaining("\"secret\"");
+		this.firewall.getDecodedUrlBlocklist().removeIf("secret"::equals);
+		this.firewall.getFirewalledRequest(request);
+	}
+
+	@Test
+	public void getFirewalledRequestWhenBlocklistedAndUntrustedDomainThenBlocklistRejected() {
+		this.request.setRequestURI("/a;b");
+		this.request.addHeader("Host", "example.org");
+		this.firewall.setAllowedHostnames((hostname) -> hostname.equals("myexample.org"));
+		assertThatExceptionOfType(RequestRejectedException.class)
+			.isThrownBy(() -> this.firewall.getFirewalledRequest(this.request))
+			.withMessageContaining("potentially malicious String \";\"");
+	}
+
+	@Test
+	public void getFirewalledRequestWhenNotNormalizedAndNotPrintableThenNotNormalizedRejected() {
+		this.request.setRequestURI("/a/../b\u00e9");
+		assertThatExceptionOfType(RequestRejectedException.class)
+			.isThrownBy(() -> this.firewall.getFirewalledRequest(this.request))
+			.withMessageContaining("not normalized");
+	}
+
 	@Test
 	public void getFirewalledRequestWhenTrustedDomainThenNoException() {
 		this.request.addHeader("Host", "example.org");
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.firewall;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link UrlBlocklist}
+ */
+public class UrlBlocklistTests {
+
+	@Test
+	public void scanWhenBlocklistedThenRejects() {
+		UrlBlocklist blocklist = new UrlBlocklist();
+		blocklist.add(";");
+		assertThatExceptionOfType(RequestRejectedException.class)
+			.isThrownBy(() -> blocklist.scan("/path;jsessionid=1", RequestRejectedException::new))
+			.withMessage(";");
+	}
+
+	@Test
+	public void scanWhenRemovedThenAllows() {
+		UrlBlocklist blocklist = new UrlBlocklist();
+		blocklist.add(";");
+		assertThat(blocklist.scan("/path", RequestRejectedException::new)).isZero();
+		blocklist.remove(";");
+		assertThat(blocklist.scan("/path;jsessionid=1", RequestRejectedException::new)).isZero();
+	}
+
+	@Test
+	public void scanWhenDotSegmentThenNotNormalized() {
+		UrlBlocklist blocklist = new UrlBlocklist();
+		assertThat(blocklist.scan("/a/../b", RequestRejectedException::new)).isEqualTo(UrlBlocklist.NOT_NORMALIZED);
+		assertThat(blocklist.scan("/a/..", RequestRejectedException::new)).isEqualTo(UrlBlocklist.NOT_NORMALIZED);
+		assertThat(blocklist.scan("/a/..b", RequestRejectedException::new)).isZero();
+	}
+
+	@Test
+	public void scanWhenNotPrintableThenNotPrintable() {
+		UrlBlocklist blocklist = new UrlBlocklist();
+		assertThat(blocklist.scan("/aä", RequestRejectedException::new)).isEqualTo(UrlBlocklist.NOT_PRINTABLE);
+	}
+
+	@Test
+	public void scanWhenNullThenNoViolations() {
+		assertThat(new UrlBlocklist().scan(null, RequestRejectedException::new)).isZero();
+	}
+
+}
@@ -31,6 +31,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockFilterChain;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.header.writers.ContentSecurityPolicyHeaderWriter;
+import org.springframework.security.web.header.writers.StaticHeadersWriter;
+import org.springframework.security.web.header.writers.XContentTypeOptionsHeaderWriter;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
@@ -124,4 +127,41 @@ public class HeaderWriterFilterTests {
 		verifyNoMoreInteractions(this.writer1);
 	}
 
+	@Test
+	public void doFilterWhenPrecomputeConstantHeadersThenSameHeadersWritten() throws Exception {
+		List<HeaderWriter> headerWriters = List.of(new StaticHeadersWriter("X-Custom", "one", "two"),
+				new XContentTypeOptionsHeaderWriter(), this.writer1, new ContentSecurityPolicyHeaderWriter(),
+				new StaticHeadersWriter("X-Custom", "three"));
+		HeaderWriterFilter filter = new HeaderWriterFilter(headerWriters);
+		filter.setPrecomputeConstantHeaders(true);
+		filter.setShouldWriteHeadersEagerly(true);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.setHeader("Content-Security-Policy", "default-src 'none'");
+		filter.doFilter(request, response, new MockFilterChain());
+		verify(this.writer1).writeHeaders(any(HttpServletRequest.class), any(HttpServletResponse.class));
+		assertThat(response.getHeaders("X-Custom")).containsExactly("one", "two");
+		assertThat(response.getHeader("X-Content-Type-Options")).isEqualTo("nosniff");
+		assertThat(response.getHeader("Content-Security-Policy")).isEqualTo("default-src 'none'");
+	}
+
+	@Test
+	public void doFilterWhenPrecomputeConstantHeadersAndSubclassOverridesWriteHeadersThenInvoked() throws Exception {
+		StaticHeadersWriter perRequest = new StaticHeadersWriter("X-Custom", "static") {
+
+			@Override
+			public void writeHeaders(HttpServletRequest request, HttpServletResponse response) {
+				response.setHeader("X-Custom", request.getRequestURI());
+			}
+
+		};
+		HeaderWriterFilter filter = new HeaderWriterFilter(List.of(perRequest));
+		filter.setPrecomputeConstantHeaders(true);
+		filter.setShouldWriteHeadersEagerly(true);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/path");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		assertThat(response.getHeader("X-Custom")).isEqualTo("/path");
+	}
+
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.serializer;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.serializer.CompactCodecModules;
+import org.springframework.security.serializer.CompactSecuritySerializer;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link WebCompactCodecModule}
+ */
+public class WebCompactCodecModuleTests {
+
+	@Test
+	public void getModulesThenContainsWebModule() {
+		assertThat(CompactCodecModules.getModules(getClass().getClassLoader()))
+			.hasAtLeastOneElementOfType(WebCompactCodecModule.class);
+	}
+
+	@Test
+	public void serializeWhenWebAuthenticationDetailsThenRoundTrips() throws IOException {
+		CompactSecuritySerializer serializer = new CompactSecuritySerializer();
+		serializer.setJavaSerializationEnabled(false);
+		UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated("user",
+				null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+		authentication.setDetails(new WebAuthenticationDetails("127.0.0.1", "session"));
+		SecurityContext context = new SecurityContextImpl(authentication);
+		SecurityContext result = (SecurityContext) serializer
+			.deserializeFromByteArray(serializer.serializeToByteArray(context));
+		assertThat(result).isEqualTo(context);
+		assertThat(result.getAuthentication().getDetails())
+			.isEqualTo(new WebAuthenticationDetails("127.0.0.1", "session"));
+	}
+
+}
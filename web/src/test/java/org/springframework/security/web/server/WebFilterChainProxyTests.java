@@ -39,6 +39,7 @@ import org.springframework.security.web.server.firewall.ServerExchangeRejectedHa
 import org.springframework.security.web.server.firewall.ServerWebExchangeFirewall;
 import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
 import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher.MatchResult;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
@@ -219,6 +220,23 @@ public class WebFilterChainProxyTests {
 		verify(handler).handle(any(), any());
 	}
 
+	@Test
+	void filterWhenIndexFilterChainsThenFirstMatchingChainInvoked() {
+		ServerWebExchangeMatcher opaque = mock(ServerWebExchangeMatcher.class);
+		given(opaque.matches(any())).willReturn(MatchResult.match());
+		MatcherSecurityWebFilterChain api = new MatcherSecurityWebFilterChain(
+				ServerWebExchangeMatchers.pathMatchers("/api/**"), List.of(new Http200WebFilter()));
+		MatcherSecurityWebFilterChain fallback = new MatcherSecurityWebFilterChain(opaque,
+				List.of(new PassthroughWebFilter()));
+		WebFilterChainProxy filter = new WebFilterChainProxy(api, fallback);
+		filter.setIndexFilterChains(true);
+		WebTestClient client = WebTestClient.bindToController(new Object()).webFilter(filter).build();
+		client.get().uri("/api/resource").exchange().expectStatus().isForbidden();
+		verifyNoInteractions(opaque);
+		client.get().uri("/other").exchange().expectStatus().isNotFound();
+		verify(opaque).matches(any());
+	}
+
 	static void assertFilterChainObservation(Observation.Context context, String filterSection, int chainPosition) {
 		assertThat(context).isInstanceOf(WebFilterChainObservationContext.class);
 		WebFilterChainObservationContext filterChainObservationContext = (WebFilterChainObservationContext) context;
@@ -18,6 +18,7 @@ package org.springframework.security.web.server.authorization;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import reactor.core.publisher.Mono;
@@ -29,12 +30,14 @@ import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
 import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcherEntry;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
 import org.springframework.web.server.ServerWebExchange;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 /**
@@ -95,4 +98,33 @@ public class DelegatingReactiveAuthorizationManagerTests {
 		verifyNoMoreInteractions(this.delegate1);
 	}
 
+	@Test
+	public void checkWhenIndexMatchersThenDelegatesToFirstMatchingManager() {
+		DelegatingReactiveAuthorizationManager manager = DelegatingReactiveAuthorizationManager.builder()
+			.indexMatchers(true)
+			.add(new ServerWebExchangeMatcherEntry<>(ServerWebExchangeMatchers.pathMatchers("/other/**"),
+					this.delegate1))
+			.add(new ServerWebExchangeMatcherEntry<>(ServerWebExchangeMatchers.pathMatchers("/{path}"),
+					this.delegate2))
+			.build();
+		given(this.delegate2.authorize(eq(this.authentication), any(AuthorizationContext.class)))
+			.willReturn(Mono.just(this.decision));
+		assertThat(manager.authorize(this.authentication, this.exchange).block()).isEqualTo(this.decision);
+		ArgumentCaptor<AuthorizationContext> context = ArgumentCaptor.forClass(AuthorizationContext.class);
+		verify(this.delegate2).authorize(eq(this.authentication), context.capture());
+		assertThat(context.getValue().getVariables()).containsEntry("path", "test");
+		verifyNoMoreInteractions(this.delegate1);
+	}
+
+	@Test
+	public void checkWhenIndexMatchersAndNoMatchThenDenied() {
+		DelegatingReactiveAuthorizationManager manager = DelegatingReactiveAuthorizationManager.builder()
+			.indexMatchers(true)
+			.add(new ServerWebExchangeMatcherEntry<>(ServerWebExchangeMatchers.pathMatchers("/other/**"),
+					this.delegate1))
+			.build();
+		assertThat(manager.authorize(this.authentication, this.exchange).block().isGranted()).isFalse();
+		verifyNoMoreInteractions(this.delegate1);
+	}
+
 }
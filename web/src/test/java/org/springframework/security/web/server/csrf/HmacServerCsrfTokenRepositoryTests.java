@@ -0,0 +1,211 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.server.csrf;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.http.HttpCookie;
+import org.springframework.http.ResponseCookie;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link HmacServerCsrfTokenRepository}
+ */
+public class HmacServerCsrfTokenRepositoryTests {
+
+	private static final Instant NOW = Instant.parse("2025-01-01T00:10:00Z");
+
+	private static final HttpCookie NONCE = new HttpCookie("XSRF-NONCE", "nonce");
+
+	private final SecretKey key = key("first-key-with-at-least-32-bytes!");
+
+	private HmacServerCsrfTokenRepository repository;
+
+	@BeforeEach
+	public void setup() {
+		this.repository = new HmacServerCsrfTokenRepository(this.key);
+		this.repository.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+	}
+
+	@Test
+	public void constructorWhenEmptyKeysThenIllegalArgument() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new HmacServerCsrfTokenRepository(List.of()));
+	}
+
+	@Test
+	public void generateTokenWhenSameBucketThenSameToken() {
+		CsrfToken token = this.repository.generateToken(exchange()).block();
+		assertThat(token.getParameterName()).isEqualTo("_csrf");
+		assertThat(token.getHeaderName()).isEqualTo("X-CSRF-TOKEN");
+		assertThat(this.repository.generateToken(exchange()).block().getToken()).isEqualTo(token.getToken());
+	}
+
+	@Test
+	public void generateTokenWhenAuthenticatedThenBoundToUser() {
+		String anonymous = this.repository.generateToken(exchange()).block().getToken();
+		String user = authenticated(this.repository.generateToken(exchange()), "user").block().getToken();
+		String admin = authenticated(this.repository.generateToken(exchange()), "admin").block().getToken();
+		assertThat(user).isNotEqualTo(anonymous).isNotEqualTo(admin);
+	}
+
+	@Test
+	public void saveTokenThenNoSession() {
+		ServerWebExchange exchange = exchange();
+		CsrfToken token = this.repository.generateToken(exchange).block();
+		this.repository.saveToken(exchange, token).block();
+		assertThat(exchange.getSession().block().isStarted()).isFalse();
+		assertThat(exchange.getResponse().getCookies()).isEmpty();
+	}
+
+	@Test
+	public void loadTokenWhenMaskedTokenFromPreviousBucketThenSubmittedToken() {
+		String masked = mask(this.repository.generateToken(exchange()).block());
+		this.repository.setClock(Clock.fixed(NOW.plus(Duration.ofMinutes(30)), ZoneOffset.UTC));
+		ServerWebExchange exchange = exchange(masked);
+		CsrfToken loaded = this.repository.loadToken(exchange).block();
+		assertThat(loaded.getToken()).isNotEqualTo(this.repository.generateToken(exchange).block().getToken());
+		assertThat(new XorServerCsrfTokenRequestAttributeHandler().resolveCsrfTokenValue(exchange, loaded).block())
+			.isEqualTo(loaded.getToken());
+	}
+
+	@Test
+	public void loadTokenWhenExpiredThenCurrentToken() {
+		String masked = mask(this.repository.generateToken(exchange()).block());
+		this.repository.setClock(Clock.fixed(NOW.plus(Duration.ofMinutes(60)), ZoneOffset.UTC));
+		ServerWebExchange exchange = exchange(masked);
+		CsrfToken loaded = this.repository.loadToken(exchange).block();
+		assertThat(loaded.getToken()).isEqualTo(this.repository.generateToken(exchange).block().getToken());
+	}
+
+	@Test
+	public void loadTokenWhenOtherUserThenCurrentToken() {
+		String masked = mask(this.repository.generateToken(exchange()).block());
+		ServerWebExchange exchange = exchange(masked);
+		CsrfToken loaded = authenticated(this.repository.loadToken(exchange), "user").block();
+		assertThat(loaded.getToken())
+			.isEqualTo(authenticated(this.repository.generateToken(exchange), "user").block().getToken());
+	}
+
+	@Test
+	public void loadTokenWhenSignedWithRotatedKeyThenSubmittedToken() {
+		String masked = mask(this.repository.generateToken(exchange()).block());
+		HmacServerCsrfTokenRepository rotated = new HmacServerCsrfTokenRepository(
+				List.of(key("second-key-with-at-least-32-bytes"), this.key));
+		rotated.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+		ServerWebExchange exchange = exchange(masked);
+		assertThat(rotated.loadToken(exchange).block().getToken())
+			.isNotEqualTo(rotated.generateToken(exchange).block().getToken());
+		HmacServerCsrfTokenRepository removed = new HmacServerCsrfTokenRepository(
+				key("second-key-with-at-least-32-bytes"));
+		removed.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+		assertThat(removed.loadToken(exchange).block().getToken())
+			.isEqualTo(removed.generateToken(exchange).block().getToken());
+	}
+
+	@Test
+	public void generateTokenWhenAnonymousClientsThenDifferentTokens() {
+		String first = this.repository.generateToken(anonymousExchange()).block().getToken();
+		String second = this.repository.generateToken(anonymousExchange()).block().getToken();
+		assertThat(first).isNotEqualTo(second);
+	}
+
+	@Test
+	public void loadTokenWhenNoNonceCookieThenEmpty() {
+		assertThat(this.repository.loadToken(anonymousExchange()).block()).isNull();
+	}
+
+	@Test
+	public void saveTokenWhenNoNonceCookieThenNonceCookie() {
+		ServerWebExchange exchange = anonymousExchange();
+		CsrfToken token = this.repository.generateToken(exchange).block();
+		this.repository.saveToken(exchange, token).block();
+		ResponseCookie nonce = exchange.getResponse().getCookies().getFirst("XSRF-NONCE");
+		assertThat(nonce).isNotNull();
+		assertThat(nonce.isHttpOnly()).isTrue();
+		ServerWebExchange next = MockServerWebExchange
+			.from(MockServerHttpRequest.post("/").cookie(new HttpCookie(nonce.getName(), nonce.getValue())));
+		assertThat(this.repository.loadToken(next).block().getToken()).isEqualTo(token.getToken());
+	}
+
+	@Test
+	public void loadTokenWhenTokenOfOtherAnonymousClientThenCurrentToken() {
+		String masked = mask(this.repository.generateToken(exchange()).block());
+		ServerWebExchange other = MockServerWebExchange.from(MockServerHttpRequest.post("/")
+			.cookie(new HttpCookie("XSRF-NONCE", "other-nonce"))
+			.header("X-CSRF-TOKEN", masked));
+		CsrfToken loaded = this.repository.loadToken(other).block();
+		assertThat(new XorServerCsrfTokenRequestAttributeHandler().resolveCsrfTokenValue(other, loaded).block())
+			.isNotEqualTo(loaded.getToken());
+	}
+
+	@Test
+	public void saveTokenWhenNullThenRemovesNonceCookie() {
+		ServerWebExchange exchange = exchange();
+		this.repository.saveToken(exchange, null).block();
+		assertThat(exchange.getResponse().getCookies().getFirst("XSRF-NONCE").getMaxAge()).isZero();
+		assertThat(this.repository.loadToken(exchange).block()).isNull();
+	}
+
+	private static String mask(CsrfToken token) {
+		ServerWebExchange exchange = exchange();
+		new XorServerCsrfTokenRequestAttributeHandler().handle(exchange, Mono.just(token));
+		Mono<CsrfToken> masked = exchange.getAttribute(CsrfToken.class.getName());
+		return masked.block().getToken();
+	}
+
+	private static <T> Mono<T> authenticated(Mono<T> mono, String name) {
+		return mono.contextWrite(ReactiveSecurityContextHolder
+			.withAuthentication(new TestingAuthenticationToken(name, "password", "ROLE_USER")));
+	}
+
+	private static ServerWebExchange anonymousExchange() {
+		return MockServerWebExchange.from(MockServerHttpRequest.post("/"));
+	}
+
+	private static ServerWebExchange exchange() {
+		return MockServerWebExchange.from(MockServerHttpRequest.post("/").cookie(NONCE));
+	}
+
+	private static ServerWebExchange exchange(String token) {
+		return MockServerWebExchange
+			.from(MockServerHttpRequest.post("/").cookie(NONCE).header("X-CSRF-TOKEN", token));
+	}
+
+	private static SecretKey key(String value) {
+		return new SecretKeySpec(value.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+	}
+
+}
@@ -506,6 +506,38 @@ class StrictServerWebExchangeFirewallTests {
 		assertThatExceptionOfType(ServerExchangeRejectedException.class).isThrownBy(() -> request.getQueryParams());
 	}
 
+	@Test
+	void getFirewalledExchangeWhenValidateEagerlyAndControlCharacterInHeaderValueThenException() {
+		this.firewall.setValidateEagerly(true);
+		this.request.header("Something", "bad\0value");
+		assertThatExceptionOfType(ServerExchangeRejectedException.class).isThrownBy(() -> getFirewalledExchange());
+	}
+
+	@Test
+	void getFirewalledExchangeWhenValidateEagerlyAndUndefinedCharacterInHeaderNameThenException() {
+		this.firewall.setValidateEagerly(true);
+		this.request.header("Bad\uFFFEName", "some value");
+		assertThatExceptionOfType(ServerExchangeRejectedException.class).isThrownBy(() -> getFirewalledExchange());
+	}
+
+	@Test
+	void getFirewalledExchangeWhenValidateEagerlyAndNotAllowedInParameterNameThenException() {
+		this.firewall.setValidateEagerly(true);
+		this.firewall.setAllowedParameterNames((value) -> !value.equals("bad name"));
+		this.request.queryParam("bad name", "good value");
+		assertThatExceptionOfType(ServerExchangeRejectedException.class).isThrownBy(() -> getFirewalledExchange());
+	}
+
+	@Test
+	void getFirewalledExchangeWhenValidateEagerlyThenExchangeNotDecorated() {
+		this.firewall.setValidateEagerly(true);
+		this.request.header("Something", "tab\tvalue\u00e9");
+		MockServerWebExchange exchange = MockServerWebExchange.from(this.request.build());
+		ServerWebExchange firewalled = this.firewall.getFirewalledExchange(exchange).block();
+		assertThat(firewalled).isSameAs(exchange);
+		assertThat(firewalled.getRequest().getHeaders().getFirst("Something")).isEqualTo("tab\tvalue\u00e9");
+	}
+
 	// gh-9598
 	@Test
 	void getFirewalledExchangeGetHeaderWhenNameIsNullThenNull() {
@@ -30,6 +30,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
@@ -101,4 +102,40 @@ public class CompositeServerHttpHeadersWriterTests {
 		assertThat(latch.await(3, TimeUnit.SECONDS)).isTrue();
 	}
 
+	@Test
+	public void writeHttpHeadersWhenPrecomputeConstantHeadersThenSameHeadersWritten() {
+		given(this.writer1.writeHttpHeaders(this.exchange)).willReturn(Mono.empty());
+		CompositeServerHttpHeadersWriter writer = new CompositeServerHttpHeadersWriter(
+				StaticServerHttpHeadersWriter.builder().header("X-Custom", "one", "two").build(),
+				new XContentTypeOptionsServerHttpHeadersWriter(), this.writer1,
+				new ReferrerPolicyServerHttpHeadersWriter());
+		writer.setPrecomputeConstantHeaders(true);
+		this.exchange.getResponse().getHeaders().set(ReferrerPolicyServerHttpHeadersWriter.REFERRER_POLICY, "origin");
+		StepVerifier.create(writer.writeHttpHeaders(this.exchange)).expectComplete().verify();
+		verify(this.writer1).writeHttpHeaders(this.exchange);
+		HttpHeaders headers = this.exchange.getResponse().getHeaders();
+		assertThat(headers.get("X-Custom")).containsExactly("one", "two");
+		assertThat(headers.getFirst(XContentTypeOptionsServerHttpHeadersWriter.X_CONTENT_OPTIONS))
+			.isEqualTo(XContentTypeOptionsServerHttpHeadersWriter.NOSNIFF);
+		assertThat(headers.getFirst(ReferrerPolicyServerHttpHeadersWriter.REFERRER_POLICY)).isEqualTo("origin");
+	}
+
+	@Test
+	public void writeHttpHeadersWhenPrecomputeConstantHeadersAndSubclassOverridesThenInvoked() {
+		StaticServerHttpHeadersWriter perExchange = new StaticServerHttpHeadersWriter(new HttpHeaders()) {
+
+			@Override
+			public Mono<Void> writeHttpHeaders(ServerWebExchange exchange) {
+				exchange.getResponse().getHeaders().set("X-Custom", exchange.getRequest().getPath().value());
+				return Mono.empty();
+			}
+
+		};
+		CompositeServerHttpHeadersWriter writer = new CompositeServerHttpHeadersWriter(perExchange);
+		writer.setPrecomputeConstantHeaders(true);
+		StepVerifier.create(writer.writeHttpHeaders(this.exchange)).expectComplete().verify();
+		assertThat(this.exchange.getResponse().getHeaders().getFirst("X-Custom"))
+			.isEqualTo(this.exchange.getRequest().getPath().value());
+	}
+
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.server.util.matcher;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher.MatchResult;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Tests for {@link ServerWebExchangeMatcherIndex}
+ */
+public class ServerWebExchangeMatcherIndexTests {
+
+	@Test
+	public void buildWhenNullEntriesThenIllegalArgument() {
+		assertThatIllegalArgumentException().isThrownBy(() -> ServerWebExchangeMatcherIndex.build(null));
+	}
+
+	@Test
+	public void matchWhenLiteralPrefixThenMatchingEntry() {
+		ServerWebExchangeMatcherIndex<String> index = ServerWebExchangeMatcherIndex
+			.build(List.of(entry(ServerWebExchangeMatchers.pathMatchers("/tenant-a/**"), "a"),
+					entry(ServerWebExchangeMatchers.pathMatchers("/tenant-b/**", "/b/**"), "b"),
+					entry(ServerWebExchangeMatchers.anyExchange(), "any")));
+		assertThat(index.match(exchange(HttpMethod.GET, "/tenant-b/resource")).block().getEntry()).isEqualTo("b");
+		assertThat(index.match(exchange(HttpMethod.GET, "/b/resource")).block().getEntry()).isEqualTo("b");
+		assertThat(index.match(exchange(HttpMethod.GET, "/tenant-a")).block().getEntry()).isEqualTo("a");
+		assertThat(index.match(exchange(HttpMethod.GET, "/tenant-c")).block().getEntry()).isEqualTo("any");
+	}
+
+	@Test
+	public void matchWhenPathVariablesThenVariables() {
+		ServerWebExchangeMatcherIndex<String> index = ServerWebExchangeMatcherIndex
+			.build(List.of(entry(new PathPatternParserServerWebExchangeMatcher("/users/{id}"), "user")));
+		ServerWebExchangeMatcherIndex.Match<String> match = index.match(exchange(HttpMethod.GET, "/users/1")).block();
+		assertThat(match.getVariables()).containsEntry("id", "1");
+		assertThat(index.match(exchange(HttpMethod.GET, "/users")).block()).isNull();
+	}
+
+	@Test
+	public void matchWhenHttpMethodThenOnlyEntriesForThatMethod() {
+		ServerWebExchangeMatcherIndex<String> index = ServerWebExchangeMatcherIndex
+			.build(List.of(entry(ServerWebExchangeMatchers.pathMatchers(HttpMethod.POST, "/api/**"), "post"),
+					entry(ServerWebExchangeMatchers.pathMatchers("/api/**"), "api")));
+		assertThat(index.match(exchange(HttpMethod.POST, "/api/users")).block().getEntry()).isEqualTo("post");
+		assertThat(index.match(exchange(HttpMethod.GET, "/api/users")).block().getEntry()).isEqualTo("api");
+	}
+
+	@Test
+	public void matchWhenCaseInsensitiveThenMatches() {
+		PathPatternParser parser = new PathPatternParser();
+		parser.setCaseSensitive(false);
+		ServerWebExchangeMatcherIndex<String> index = ServerWebExchangeMatcherIndex
+			.build(List.of(entry(ServerWebExchangeMatchers.pathMatchers("/other/**"), "other"),
+					entry(ServerWebExchangeMatchers.pathMatchers(parser.parse("/API/**")), "api")));
+		assertThat(index.match(exchange(HttpMethod.GET, "/api/users")).block().getEntry()).isEqualTo("api");
+	}
+
+	@Test
+	public void matchWhenOpaqueMatcherThenEvaluatedInOrder() {
+		ServerWebExchangeMatcher opaque = mock(ServerWebExchangeMatcher.class);
+		given(opaque.matches(any())).willReturn(MatchResult.match());
+		ServerWebExchangeMatcherIndex<String> index = ServerWebExchangeMatcherIndex
+			.build(List.of(entry(ServerWebExchangeMatchers.pathMatchers("/api/**"), "api"), entry(opaque, "opaque"),
+					entry(ServerWebExchangeMatchers.anyExchange(), "any")));
+		assertThat(index.match(exchange(HttpMethod.GET, "/api/users")).block().getEntry()).isEqualTo("api");
+		verifyNoInteractions(opaque);
+		assertThat(index.match(exchange(HttpMethod.GET, "/other")).block().getEntry()).isEqualTo("opaque");
+		verify(opaque).matches(any());
+	}
+
+	@Test
+	public void matchAllWhenMultipleMatchesThenOriginalOrder() {
+		ServerWebExchangeMatcherIndex<String> index = ServerWebExchangeMatcherIndex
+			.build(List.of(entry(ServerWebExchangeMatchers.pathMatchers("/api/admin/**"), "admin"),
+					entry(ServerWebExchangeMatchers.pathMatchers("/{tenant}/**"), "tenant"),
+					entry(ServerWebExchangeMatchers.pathMatchers("/api/**"), "api"),
+					entry(ServerWebExchangeMatchers.pathMatchers("/other/**"), "other")));
+		assertThat(index.matchAll(exchange(HttpMethod.GET, "/api/admin/users"))
+			.map(ServerWebExchangeMatcherIndex.Match::getEntry)
+			.collectList()
+			.block()).containsExactly("admin", "tenant", "api");
+	}
+
+	private static ServerWebExchangeMatcherEntry<String> entry(ServerWebExchangeMatcher matcher, String value) {
+		return new ServerWebExchangeMatcherEntry<>(matcher, value);
+	}
+
+	private static ServerWebExchange exchange(HttpMethod method, String path) {
+		return MockServerWebExchange.from(MockServerHttpRequest.method(method, path).build());
+	}
+
+}
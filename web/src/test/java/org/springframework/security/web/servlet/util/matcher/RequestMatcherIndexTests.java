@@ -0,0 +1,141 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.servlet.util.matcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcherEntry;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher.pathPattern;
+
+/**
+ * Tests for {@link RequestMatcherIndex}
+ */
+public class RequestMatcherIndexTests {
+
+	@Test
+	void buildWhenNullEntriesThenIllegalArgument() {
+		assertThatIllegalArgumentException().isThrownBy(() -> RequestMatcherIndex.build(null));
+	}
+
+	@Test
+	void getCandidatesWhenNoPathPatternsThenAllEntries() {
+		RequestMatcher opaque = (request) -> true;
+		RequestMatcherIndex<String> index = RequestMatcherIndex
+			.build(List.of(entry(opaque, "one"), entry(AnyRequestMatcher.INSTANCE, "two")));
+		assertThat(entries(index.getCandidates(request("GET", "/any")))).containsExactly("one", "two");
+	}
+
+	@Test
+	void getCandidatesWhenLiteralPrefixThenOnlyMatchingBranch() {
+		RequestMatcherIndex<String> index = RequestMatcherIndex.build(List.of(entry(pathPattern("/tenant-a/**"), "a"),
+				entry(pathPattern("/tenant-b/**"), "b"), entry(pathPattern("/tenant-c/api/**"), "c")));
+		assertThat(entries(index.getCandidates(request("GET", "/tenant-b/resource")))).containsExactly("b");
+		assertThat(entries(index.getCandidates(request("GET", "/tenant-c/api/resource")))).containsExactly("c");
+		assertThat(entries(index.getCandidates(request("GET", "/tenant-c/other")))).isEmpty();
+		assertThat(entries(index.getCandidates(request("GET", "/unknown")))).isEmpty();
+	}
+
+	@Test
+	void getCandidatesWhenMixedWithOpaqueMatchersThenOriginalOrder() {
+		RequestMatcher opaque = (request) -> true;
+		List<RequestMatcherEntry<String>> entries = List.of(entry(pathPattern("/api/admin/**"), "admin"),
+				entry(opaque, "opaque"), entry(pathPattern("/api/**"), "api"),
+				entry(pathPattern("/{tenant}/**"), "tenant"), entry(pathPattern("/other/**"), "other"));
+		RequestMatcherIndex<String> index = RequestMatcherIndex.build(entries);
+		assertThat(entries(index.getCandidates(request("GET", "/api/admin/users")))).containsExactly("admin",
+				"opaque", "api", "tenant");
+		assertThat(entries(index.getCandidates(request("GET", "/api/users")))).containsExactly("opaque", "api",
+				"tenant");
+		assertThat(entries(index.getCandidates(request("GET", "/other")))).containsExactly("opaque", "tenant",
+				"other");
+	}
+
+	@Test
+	void getCandidatesWhenHttpMethodThenOnlyEntriesForThatMethod() {
+		RequestMatcherIndex<String> index = RequestMatcherIndex
+			.build(List.of(entry(pathPattern(HttpMethod.POST, "/api/**"), "post"),
+					entry(pathPattern(HttpMethod.GET, "/api/**"), "get"), entry(pathPattern("/api/**"), "any")));
+		assertThat(entries(index.getCandidates(request("GET", "/api/users")))).containsExactly("get", "any");
+		assertThat(entries(index.getCandidates(request("POST", "/api/users")))).containsExactly("post", "any");
+		assertThat(entries(index.getCandidates(request("DELETE", "/api/users")))).containsExactly("any");
+	}
+
+	@Test
+	void getCandidatesWhenCaseInsensitiveThenCandidateForEveryRequest() {
+		PathPatternParser parser = new PathPatternParser();
+		parser.setCaseSensitive(false);
+		RequestMatcher insensitive = PathPatternRequestMatcher.withPathPatternParser(parser).matcher("/API/**");
+		RequestMatcherIndex<String> index = RequestMatcherIndex
+			.build(List.of(entry(pathPattern("/other/**"), "other"), entry(insensitive, "api")));
+		assertThat(entries(index.getCandidates(request("GET", "/api/users")))).containsExactly("api");
+	}
+
+	@Test
+	void getCandidatesWhenFirstMatchThenSameAsLinearScan() {
+		List<RequestMatcherEntry<String>> entries = List.of(entry(pathPattern("/api/v1/{id}"), "id"),
+				entry(pathPattern(HttpMethod.GET, "/api/v1/**"), "v1-get"), entry(pathPattern("/api/**"), "api"),
+				entry(pathPattern("/**"), "all"));
+		RequestMatcherIndex<String> index = RequestMatcherIndex.build(entries);
+		for (String uri : List.of("/api/v1/1", "/api/v1/1/2", "/api/v2", "/", "/static/app.js")) {
+			for (String method : List.of("GET", "POST")) {
+				MockHttpServletRequest request = request(method, uri);
+				assertThat(firstMatch(index.getCandidates(request), request))
+					.isEqualTo(firstMatch(entries, request));
+			}
+		}
+	}
+
+	private static RequestMatcherEntry<String> entry(RequestMatcher matcher, String value) {
+		return new RequestMatcherEntry<>(matcher, value);
+	}
+
+	private static List<String> entries(List<RequestMatcherEntry<String>> candidates) {
+		List<String> entries = new ArrayList<>();
+		for (RequestMatcherEntry<String> candidate : candidates) {
+			entries.add(candidate.getEntry());
+		}
+		return entries;
+	}
+
+	private static String firstMatch(List<RequestMatcherEntry<String>> entries, MockHttpServletRequest request) {
+		for (RequestMatcherEntry<String> entry : entries) {
+			if (entry.getRequestMatcher().matches(request)) {
+				return entry.getEntry();
+			}
+		}
+		return null;
+	}
+
+	private static MockHttpServletRequest request(String method, String uri) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+		ServletRequestPathUtils.parseAndCache(request);
+		return request;
+	}
+
+}
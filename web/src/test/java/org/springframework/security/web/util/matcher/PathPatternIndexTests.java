@@ -0,0 +1,86 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.util.matcher;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link PathPatternIndex}
+ */
+public class PathPatternIndexTests {
+
+	@Test
+	public void addWhenNoPatternsThenIllegalArgument() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> PathPatternIndex.<String>builder().add("a", List.of(), null));
+	}
+
+	@Test
+	public void getCandidatesWhenLiteralPrefixThenOnlyMatchingPrefixesInOrder() {
+		PathPatternIndex<String> index = PathPatternIndex.<String>builder()
+			.add("api", List.of(parse("/api/**")), null)
+			.add("any", null)
+			.add("admin", List.of(parse("/api/admin/**"), parse("/admin/**")), null)
+			.add("other", List.of(parse("/other/**")), null)
+			.build();
+		assertThat(getCandidates(index, "/api/admin/users", "GET")).containsExactly("api", "any", "admin");
+		assertThat(getCandidates(index, "/admin", "GET")).containsExactly("any", "admin");
+		assertThat(getCandidates(index, "/unknown", "GET")).containsExactly("any");
+	}
+
+	@Test
+	public void getCandidatesWhenHttpMethodThenOnlyEntriesForThatMethod() {
+		PathPatternIndex<String> index = PathPatternIndex.<String>builder()
+			.add("post", List.of(parse("/api/**")), "POST")
+			.add("api", List.of(parse("/api/**")), null)
+			.add("delete", "DELETE")
+			.build();
+		assertThat(getCandidates(index, "/api/users", "POST")).containsExactly("post", "api");
+		assertThat(getCandidates(index, "/api/users", "GET")).containsExactly("api");
+		assertThat(getCandidates(index, "/other", "DELETE")).containsExactly("delete");
+		assertThat(getCandidates(index, "/api/users", null)).containsExactly("api");
+	}
+
+	@Test
+	public void getCandidatesWhenNoLiteralPrefixesThenPathNotExtracted() {
+		PathPatternIndex<String> index = PathPatternIndex.<String>builder()
+			.add("variable", List.of(parse("/{tenant}/**")), null)
+			.add("any", null)
+			.build();
+		assertThat(index.getCandidates("/api", (path) -> {
+			throw new AssertionError("path extracted");
+		}, "GET")).containsExactly("variable", "any");
+	}
+
+	private static List<String> getCandidates(PathPatternIndex<String> index, String path, String method) {
+		return index.getCandidates(path, PathContainer::parsePath, method);
+	}
+
+	private static PathPattern parse(String pattern) {
+		return PathPatternParser.defaultInstance.parse(pattern);
+	}
+
+}